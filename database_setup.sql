@@ -1,5 +1,8 @@
 -- Laundry Management System Database Setup
--- Run this script in MySQL to create the database and tables
+-- Run this script in MySQL to create the database and tables.
+-- It matches the schema the application creates on startup and can be run
+-- again on an existing database: missing tables, columns and indexes are added,
+-- existing data is kept.
 
 -- Create database
 CREATE DATABASE IF NOT EXISTS laundry_system;
@@ -14,6 +17,7 @@ CREATE TABLE IF NOT EXISTS users (
     address TEXT NOT NULL,
     role ENUM('ADMIN', 'MEMBER') NOT NULL,
     points INT DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
@@ -30,9 +34,201 @@ CREATE TABLE IF NOT EXISTS orders (
     total DECIMAL(10,2) NOT NULL,
     pickup_time DATETIME,
     order_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    customer_id INT
+    customer_id INT,
+    version BIGINT NOT NULL DEFAULT 0,
+    status_changed_at DATETIME(3) NULL,
+    INDEX idx_orders_order_time (order_time),
+    INDEX idx_orders_customer_time (customer_name, order_time),
+    INDEX idx_orders_status_time (status, order_time),
+    INDEX idx_orders_phone (phone)
 );
 
+-- Columns added after the first release. MySQL has no ADD COLUMN IF NOT EXISTS,
+-- so each ALTER only runs when information_schema does not list the column yet.
+-- New columns go last, which keeps orders and orders_archive in the same order.
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0', 'DO 0')
+            FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'version');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0', 'DO 0')
+            FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'orders' AND column_name = 'version');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders ADD COLUMN status_changed_at DATETIME(3) NULL', 'DO 0')
+            FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'orders' AND column_name = 'status_changed_at');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+-- Cold tier for old Completed/Cancelled orders, same layout as orders
+CREATE TABLE IF NOT EXISTS orders_archive LIKE orders;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders_archive ADD COLUMN version BIGINT NOT NULL DEFAULT 0', 'DO 0')
+            FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'orders_archive' AND column_name = 'version');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders_archive ADD COLUMN status_changed_at DATETIME(3) NULL', 'DO 0')
+            FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'orders_archive' AND column_name = 'status_changed_at');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+-- Indexes behind the admin grid, customer history and search. Tables created
+-- before they were part of the definition get them here.
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders ADD INDEX idx_orders_order_time (order_time)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_order_time');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders ADD INDEX idx_orders_customer_time (customer_name, order_time)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_customer_time');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders ADD INDEX idx_orders_status_time (status, order_time)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_status_time');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders ADD INDEX idx_orders_phone (phone)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_phone');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders_archive ADD INDEX idx_orders_order_time (order_time)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders_archive' AND index_name = 'idx_orders_order_time');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders_archive ADD INDEX idx_orders_customer_time (customer_name, order_time)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders_archive' AND index_name = 'idx_orders_customer_time');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders_archive ADD INDEX idx_orders_status_time (status, order_time)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders_archive' AND index_name = 'idx_orders_status_time');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE orders_archive ADD INDEX idx_orders_phone (phone)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'orders_archive' AND index_name = 'idx_orders_phone');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+-- Create pricing tables (empty tables fall back to pricing.properties)
+CREATE TABLE IF NOT EXISTS price_matrix (
+    laundry_type VARCHAR(50) NOT NULL,
+    service_tier VARCHAR(50) NOT NULL,
+    price_per_kg DECIMAL(10,2) NOT NULL,
+    PRIMARY KEY (laundry_type, service_tier)
+);
+
+CREATE TABLE IF NOT EXISTS price_weight_brackets (
+    min_weight DECIMAL(5,2) PRIMARY KEY,
+    percent INT NOT NULL
+);
+
+-- Create rollup tables maintained by the application on every order write
+CREATE TABLE IF NOT EXISTS order_stats_hourly (
+    stat_hour DATETIME NOT NULL,
+    service VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0,
+    weight DECIMAL(12,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (stat_hour, service, status)
+);
+
+CREATE TABLE IF NOT EXISTS order_stats_daily (
+    stat_date DATE NOT NULL,
+    service VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0,
+    weight DECIMAL(12,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (stat_date, service, status)
+);
+
+-- Per-customer summary for the member dashboard
+CREATE TABLE IF NOT EXISTS customer_stats (
+    customer_name VARCHAR(100) PRIMARY KEY,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    lifetime_spend DECIMAL(14,2) NOT NULL DEFAULT 0,
+    open_orders BIGINT NOT NULL DEFAULT 0,
+    last_order_id VARCHAR(20),
+    last_order_time TIMESTAMP NULL
+);
+
+-- Append-only status history; each row says when the left status was entered
+CREATE TABLE IF NOT EXISTS order_status_history (
+    history_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id VARCHAR(20) NOT NULL,
+    from_status VARCHAR(20) NOT NULL,
+    to_status VARCHAR(20) NOT NULL,
+    entered_at DATETIME(3) NOT NULL,
+    changed_at DATETIME(3) NOT NULL,
+    INDEX idx_status_history_order (order_id, changed_at),
+    INDEX idx_status_history_dwell (changed_at, from_status, entered_at)
+);
+
+-- Booked pickups per slot; reservations are conditional increments
+CREATE TABLE IF NOT EXISTS pickup_slots (
+    slot_start DATETIME PRIMARY KEY,
+    reserved INT NOT NULL DEFAULT 0
+);
+
+-- Append-only loyalty points ledger and its compacted balances
+CREATE TABLE IF NOT EXISTS points_ledger (
+    entry_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    order_id VARCHAR(20),
+    entry_type VARCHAR(10) NOT NULL,
+    points INT NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    compacted TINYINT NOT NULL DEFAULT 0,
+    UNIQUE KEY uk_points_order (order_id, entry_type),
+    INDEX idx_points_user (username, entry_id),
+    INDEX idx_points_created (created_at),
+    INDEX idx_points_compacted (compacted, created_at)
+);
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE points_ledger ADD COLUMN compacted TINYINT NOT NULL DEFAULT 0', 'DO 0')
+            FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'points_ledger' AND column_name = 'compacted');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE points_ledger ADD INDEX idx_points_compacted (compacted, created_at)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'points_ledger' AND index_name = 'idx_points_compacted');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+CREATE TABLE IF NOT EXISTS points_balance (
+    username VARCHAR(50) PRIMARY KEY,
+    balance INT NOT NULL DEFAULT 0
+);
+
+-- Balances from before per-entry compaction kept a per-member watermark:
+-- mark the entries it covered as folded, then drop it.
+SET @has_watermark = (SELECT COUNT(*) FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'points_balance' AND column_name = 'compacted_through');
+SET @ddl = IF(@has_watermark = 0, 'DO 0',
+            'UPDATE points_ledger l JOIN points_balance b ON b.username = l.username SET l.compacted = 2 WHERE l.entry_id <= b.compacted_through');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF(@has_watermark = 0, 'DO 0', 'ALTER TABLE points_balance DROP COLUMN compacted_through');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
+-- Carry points earned before the ledger existed over as opening balances
+INSERT IGNORE INTO points_balance (username, balance)
+SELECT username, points FROM users WHERE points <> 0;
+
+-- Stamped by the primary so replicas can tell how far behind they are
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id TINYINT PRIMARY KEY,
+    beat DATETIME(3) NOT NULL
+);
+INSERT IGNORE INTO replication_heartbeat (id, beat) VALUES (1, NOW(3));
+
 -- Insert default admin user
 INSERT IGNORE INTO users (username, password, full_name, phone, address, role)
 VALUES ('admin', 'admin', 'Administrator', '081234567890', 'Admin Office', 'ADMIN');
@@ -45,4 +241,4 @@ VALUES ('john', '123', 'John Doe', '081234567891', 'Jl. Merdeka No. 1', 'MEMBER'
 INSERT IGNORE INTO orders (order_id, customer_name, phone, address, laundry_type, service, status, weight, total, pickup_time, customer_id)
 VALUES ('ORD001', 'John Doe', '081234567891', 'Jl. Merdeka No. 1', 'Cuci Setrika', 'Regular', 'Processing', 2.5, 25000, DATE_ADD(NOW(), INTERVAL 2 HOUR), 1);
 
-SELECT 'Database setup completed successfully!' as message;
\ No newline at end of file
+SELECT 'Database setup completed successfully!' as message;
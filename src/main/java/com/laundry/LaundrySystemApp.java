@@ -113,8 +113,7 @@ public class LaundrySystemApp extends JFrame {
         // Update panels when shown
         switch (panelName) {
             case "ADMIN":
-                adminPanel.refreshTable();
-                adminPanel.updateStats();
+                adminPanel.refreshDashboard();
                 break;
             case "MEMBER":
                 memberPanel.updateDashboard();
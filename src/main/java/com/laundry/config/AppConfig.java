@@ -1,11 +1,46 @@
 package com.laundry.config;
 
+import com.laundry.model.PriceMatrix;
+import com.laundry.repository.CoalescingOrderRepository;
+import com.laundry.repository.CoalescingUserRepository;
+import com.laundry.repository.CustomerStatsRepository;
+import com.laundry.repository.DatabaseCustomerStatsRepository;
 import com.laundry.repository.DatabaseOrderRepository;
+import com.laundry.repository.DatabaseOrderStatsRepository;
+import com.laundry.repository.DatabaseOrderStatusHistoryRepository;
+import com.laundry.repository.DatabasePickupSlotRepository;
+import com.laundry.repository.DatabasePointsLedgerRepository;
+import com.laundry.repository.DatabasePriceMatrixRepository;
 import com.laundry.repository.DatabaseUserRepository;
+import com.laundry.repository.DirectUnitOfWork;
 import com.laundry.repository.OrderRepository;
+import com.laundry.repository.OrderStatsRepository;
+import com.laundry.repository.OrderStatusHistoryRepository;
+import com.laundry.repository.PickupSlotRepository;
+import com.laundry.repository.RemoteOrderRepository;
+import com.laundry.repository.RemoteUserRepository;
+import com.laundry.repository.ShardedOrderRepository;
+import com.laundry.repository.SingleFlight;
+import com.laundry.repository.UnitOfWork;
 import com.laundry.repository.UserRepository;
+import com.laundry.server.RpcClient;
 import com.laundry.service.AuthenticationService;
+import com.laundry.service.LedgerPointsService;
+import com.laundry.service.LoadPlanner;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderArchiver;
 import com.laundry.service.OrderService;
+import com.laundry.service.OrderServiceAsync;
+import com.laundry.service.PickupScheduler;
+import com.laundry.service.PricingEngine;
+import com.laundry.service.RemoteAuthenticationService;
+import com.laundry.service.RemoteOrderService;
+import com.laundry.service.TaskExecutors;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Application configuration class that manages dependency injection
@@ -17,42 +52,198 @@ public class AppConfig {
     // Repositories
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final SingleFlight readCoalescer;
     
     // Services
     private final AuthenticationService authenticationService;
     private final OrderService orderService;
+    private final OrderServiceAsync orderServiceAsync;
+    private final OrderArchiver orderArchiver;
+    
+    // False when running as a thin client or on the in-memory fallback
+    private final boolean databaseMode;
     
     private AppConfig() {
         System.out.println("Initializing application with database configuration...");
         
         UserRepository tempUserRepo = null;
         OrderRepository tempOrderRepo = null;
+        PricingEngine tempPricingEngine = null;
+        UnitOfWork tempUnitOfWork = null;
+        OrderStatsRepository tempStatsRepo = null;
+        CustomerStatsRepository tempCustomerStatsRepo = null;
+        LedgerPointsService tempPointsService = null;
+        OrderStatusHistoryRepository tempHistoryRepo = null;
+        PickupScheduler tempPickupScheduler = null;
+        RpcClient client = null;
+        int maxConcurrency;
+        boolean databaseMode;
         
-        try {
-            // Try to initialize database repositories
-            tempUserRepo = new DatabaseUserRepository();
-            tempOrderRepo = new DatabaseOrderRepository();
-            System.out.println("Successfully connected to database.");
-        } catch (Exception e) {
-            System.err.println("Failed to connect to database: " + e.getMessage());
-            System.out.println("Falling back to in-memory repositories...");
-            
-            // Use fallback configuration
-            FallbackAppConfig fallback = FallbackAppConfig.getInstance();
-            tempUserRepo = fallback.getUserRepository();
-            tempOrderRepo = fallback.getOrderRepository();
+        DatabaseConfigManager settings = DatabaseConfigManager.getInstance();
+        boolean remoteMode = settings.getServerUrl() != null;
+        
+        if (remoteMode) {
+            // Thin client: orders and users live on the order server
+            System.out.println("Using order server at " + settings.getServerUrl());
+            if (settings.getServerToken() == null) {
+                System.err.println("server.url is set but server.token is empty.");
+                throw new IllegalStateException("server.token must be set to use the order server");
+            }
+            client = new RpcClient(settings.getServerUrl(), settings.getServerToken(),
+                Duration.ofMillis(settings.getServerBatchMillis()), settings.getServerBatchSize(),
+                Duration.ofMillis(settings.getServerTimeoutMillis()));
+            tempUserRepo = new RemoteUserRepository(client);
+            tempOrderRepo = new RemoteOrderRepository(client);
+            // Points, pickup slots, history and rollups stay on the server; see RemoteOrderService
+            maxConcurrency = settings.getServerBatchSize();
+            databaseMode = false;
+        } else {
+            try {
+                // Try to initialize database repositories
+                tempUserRepo = new DatabaseUserRepository();
+                tempOrderRepo = databaseOrderRepository(settings);
+                tempPricingEngine = new PricingEngine(databasePriceMatrix(new DatabasePriceMatrixRepository()));
+                tempUnitOfWork = DatabaseConfig.getInstance().newUnitOfWork();
+                tempStatsRepo = new DatabaseOrderStatsRepository();
+                tempCustomerStatsRepo = new DatabaseCustomerStatsRepository();
+                tempPointsService = new LedgerPointsService(new DatabasePointsLedgerRepository(), tempUnitOfWork);
+                tempHistoryRepo = new DatabaseOrderStatusHistoryRepository();
+                tempPickupScheduler = pickupScheduler(new DatabasePickupSlotRepository());
+                maxConcurrency = settings.getMaximumPoolSize();
+                databaseMode = true;
+                System.out.println("Successfully connected to database.");
+            } catch (Exception e) {
+                System.err.println("Failed to connect to database: " + e.getMessage());
+                System.out.println("Falling back to in-memory repositories...");
+                
+                // Use fallback configuration
+                FallbackAppConfig fallback = FallbackAppConfig.getInstance();
+                tempUserRepo = fallback.getUserRepository();
+                tempOrderRepo = fallback.getOrderRepository();
+                tempPricingEngine = fallback.getOrderService().getPricingEngine();
+                tempUnitOfWork = new DirectUnitOfWork();
+                tempStatsRepo = fallback.getOrderStatsRepository();
+                tempCustomerStatsRepo = fallback.getCustomerStatsRepository();
+                tempPointsService = fallback.getPointsService();
+                tempHistoryRepo = fallback.getStatusHistoryRepository();
+                tempPickupScheduler = fallback.getPickupScheduler();
+                maxConcurrency = Runtime.getRuntime().availableProcessors();
+                databaseMode = false;
+            }
+        }
+        
+        // Identical reads fired at the same moment share one query
+        this.readCoalescer = new SingleFlight(Duration.ofMillis(settings.getReadShareMillis()));
+        if (settings.isReadCoalescingEnabled()) {
+            tempUserRepo = new CoalescingUserRepository(tempUserRepo, readCoalescer);
+            tempOrderRepo = new CoalescingOrderRepository(tempOrderRepo, readCoalescer);
         }
         
         this.userRepository = tempUserRepo;
         this.orderRepository = tempOrderRepo;
         
         // Initialize services with dependency injection
-        this.authenticationService = new AuthenticationService(userRepository);
-        this.orderService = new OrderService(orderRepository, userRepository);
+        // Stored passwords stay on the order server, so terminals log in through it
+        this.authenticationService = client != null
+            ? new RemoteAuthenticationService(userRepository, client)
+            : new AuthenticationService(userRepository);
+        if (client != null) {
+            // Order writes, points, bookings and reports run in the server's service,
+            // so every terminal shares one ledger, one slot book and one set of rollups
+            this.orderService = new RemoteOrderService(orderRepository, client);
+        } else {
+            LoadPlanner loadPlanner = new LoadPlanner(settings.getLoadCapacityKg(), settings.getLoadCapacitiesByType());
+            this.orderService = LocalOrderService.builder(orderRepository, userRepository)
+                .pricingEngine(tempPricingEngine)
+                .unitOfWork(tempUnitOfWork)
+                .statsRepository(tempStatsRepo)
+                .customerStatsRepository(tempCustomerStatsRepo)
+                .pointsService(tempPointsService)
+                .historyRepository(tempHistoryRepo)
+                .pickupScheduler(tempPickupScheduler)
+                .loadPlanner(loadPlanner)
+                .build();
+            
+            // Plan machine loads for the orders already waiting
+            orderService.replanLoads();
+        }
+        this.orderServiceAsync = new OrderServiceAsync(orderService, userRepository, maxConcurrency);
+        this.databaseMode = databaseMode;
+        
+        // Move old Completed/Cancelled orders to the archive tier in the background
+        this.orderArchiver = new OrderArchiver(orderService,
+            Duration.ofDays(settings.getArchiveMaxAgeDays()),
+            settings.getArchiveBatchSize(),
+            Duration.ofMillis(settings.getArchivePauseMillis()));
+        if (databaseMode && settings.isArchiveEnabled()) {
+            orderArchiver.start(Duration.ofMinutes(settings.getArchiveIntervalMinutes()));
+        }
+        
+        // Fold settled points ledger entries into the cached balances
+        if (databaseMode) {
+            tempPointsService.startCompaction(Duration.ofMinutes(settings.getPointsCompactionIntervalMinutes()));
+        }
+        
+        // Pick up price changes made in the database without a restart
+        if (databaseMode && settings.getPricingReloadMinutes() > 0) {
+            tempPricingEngine.startRefresh(Duration.ofMinutes(settings.getPricingReloadMinutes()));
+        }
         
         System.out.println("Application configuration completed.");
     }
     
+    /**
+     * Builds the pickup scheduler from the pickup.* settings.
+     */
+    private static PickupScheduler pickupScheduler(PickupSlotRepository repository) {
+        DatabaseConfigManager settings = DatabaseConfigManager.getInstance();
+        return PickupScheduler.builder(repository)
+            .slotMinutes(settings.getPickupSlotMinutes())
+            .capacity(settings.getPickupSlotCapacity())
+            .openingHours(settings.getPickupOpenHour(), settings.getPickupCloseHour())
+            .horizonDays(settings.getPickupHorizonDays())
+            .leadTime("Regular", Duration.ofHours(settings.getPickupLeadHours("Regular", 48)))
+            .leadTime("Express", Duration.ofHours(settings.getPickupLeadHours("Express", 24)))
+            .leadTime("Premium", Duration.ofHours(settings.getPickupLeadHours("Premium", 6)))
+            .build();
+    }
+    
+    /**
+     * Builds the order repository: the primary database alone, or a router
+     * over one shard per branch when shards are configured.
+     */
+    private static OrderRepository databaseOrderRepository(DatabaseConfigManager settings) {
+        List<String> branches = settings.getShardBranches();
+        if (branches.isEmpty()) {
+            return new DatabaseOrderRepository();
+        }
+        DatabaseConfig primary = DatabaseConfig.getInstance();
+        Map<String, OrderRepository> shards = new LinkedHashMap<>();
+        for (String branch : branches) {
+            shards.put(branch, new DatabaseOrderRepository(primary.getShard(branch)));
+        }
+        return new ShardedOrderRepository(settings.getBranchCode(), shards,
+            TaskExecutors.newTaskExecutor("order-shards", branches.size()));
+    }
+    
+    /**
+     * Builds a price matrix source that reads the database table and falls
+     * back to the bundled pricing.properties when the table is empty.
+     */
+    private static Supplier<PriceMatrix> databasePriceMatrix(DatabasePriceMatrixRepository repository) {
+        return () -> {
+            try {
+                PriceMatrix matrix = repository.load();
+                if (matrix != null) {
+                    return matrix;
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Using bundled prices: " + e.getMessage());
+            }
+            return PricingEngine.loadClasspathMatrix();
+        };
+    }
+    
     /**
      * Gets the singleton instance of AppConfig.
      * @return AppConfig instance
@@ -75,6 +266,15 @@ public class AppConfig {
         return orderRepository;
     }
     
+    /**
+     * Gets the single-flight layer in front of the repositories, for its
+     * duplicate-suppression counts.
+     * @return Read coalescer; unused when reads.coalesce.enabled is false
+     */
+    public SingleFlight getReadCoalescer() {
+        return readCoalescer;
+    }
+    
     public AuthenticationService getAuthenticationService() {
         return authenticationService;
     }
@@ -82,4 +282,21 @@ public class AppConfig {
     public OrderService getOrderService() {
         return orderService;
     }
+    
+    public OrderServiceAsync getOrderServiceAsync() {
+        return orderServiceAsync;
+    }
+    
+    public OrderArchiver getOrderArchiver() {
+        return orderArchiver;
+    }
+    
+    /**
+     * Checks whether the stores are the configured database, rather than the
+     * order server or the in-memory fallback.
+     * @return true if orders persist in the database
+     */
+    public boolean isDatabaseMode() {
+        return databaseMode;
+    }
 }
\ No newline at end of file
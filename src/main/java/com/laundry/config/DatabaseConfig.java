@@ -4,8 +4,14 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Database configuration class for managing database connections
@@ -14,13 +20,37 @@ import java.sql.Statement;
 public class DatabaseConfig {
     private static DatabaseConfig instance;
     private HikariDataSource dataSource;
+    private HikariDataSource replicaDataSource;
+    private ReplicaRouter replicaRouter;
     
     private final DatabaseConfigManager configManager;
+    private final String branchCode;
+    // Pools of other branches' order shards, by branch code
+    private final Map<String, DatabaseConfig> shards = new LinkedHashMap<>();
     
     private DatabaseConfig() {
         this.configManager = DatabaseConfigManager.getInstance();
+        this.branchCode = configManager.getBranchCode();
         configManager.printConfiguration();
-        initializeDataSource();
+        this.dataSource = createDataSource(poolName(""), configManager.getCompleteJdbcUrl(),
+            configManager.getDatabaseUsername(), configManager.getDatabasePassword(),
+            configManager.getMaximumPoolSize());
+        if (configManager.isAutoCreateTables()) {
+            createTables();
+        }
+        initializeReplica();
+    }
+    
+    /**
+     * Creates the pool for another branch's order shard.
+     */
+    private DatabaseConfig(DatabaseConfigManager configManager, String branchCode) {
+        this.configManager = configManager;
+        this.branchCode = branchCode;
+        System.out.println("Connecting order shard " + branchCode + "...");
+        this.dataSource = createDataSource(poolName(""), configManager.getShardJdbcUrl(branchCode),
+            configManager.getShardUsername(branchCode), configManager.getShardPassword(branchCode),
+            configManager.getShardPoolSize());
         if (configManager.isAutoCreateTables()) {
             createTables();
         }
@@ -38,32 +68,145 @@ public class DatabaseConfig {
     }
     
     /**
-     * Initializes the HikariCP data source using configuration manager.
+     * Connects the read replica, if one is configured, and starts watching
+     * its lag.
      */
-    private void initializeDataSource() {
+    private void initializeReplica() {
+        String replicaUrl = configManager.getReplicaJdbcUrl();
+        if (replicaUrl == null) {
+            return;
+        }
+        System.out.println("Connecting read replica...");
+        this.replicaDataSource = createDataSource(poolName("replica"), replicaUrl,
+            configManager.getReplicaUsername(), configManager.getReplicaPassword(),
+            configManager.getReplicaPoolSize());
+        this.replicaRouter = new ReplicaRouter(dataSource, replicaDataSource,
+            Duration.ofMillis(configManager.getReplicaMaxLagMillis()),
+            Duration.ofMillis(configManager.getReplicaStickyMillis()));
+        replicaRouter.start(Duration.ofMillis(configManager.getReplicaLagCheckMillis()));
+    }
+    
+    private String poolName(String suffix) {
+        String name = branchCode.isEmpty() ? "laundry" : "laundry-" + branchCode.toLowerCase(Locale.ROOT);
+        return suffix.isEmpty() ? name : name + "-" + suffix;
+    }
+    
+    /**
+     * Creates a HikariCP data source using configuration manager.
+     */
+    private HikariDataSource createDataSource(String poolName, String jdbcUrl, String username, String password,
+                                              int maximumPoolSize) {
         HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(configManager.getCompleteJdbcUrl());
-        config.setUsername(configManager.getDatabaseUsername());
-        config.setPassword(configManager.getDatabasePassword());
+        config.setPoolName(poolName);
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
         config.setDriverClassName(configManager.getDatabaseDriver());
         
         // Connection pool settings from configuration
-        config.setMaximumPoolSize(configManager.getMaximumPoolSize());
-        config.setMinimumIdle(configManager.getMinimumIdle());
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(Math.min(configManager.getMinimumIdle(), maximumPoolSize));
         config.setConnectionTimeout(configManager.getConnectionTimeout());
         config.setIdleTimeout(configManager.getIdleTimeout());
         config.setMaxLifetime(configManager.getMaxLifetime());
         
-        this.dataSource = new HikariDataSource(config);
+        // Let the driver send JDBC batches as multi-row inserts
+        config.addDataSourceProperty("rewriteBatchedStatements", configManager.isRewriteBatchedStatements());
+        
+        // Stream large result sets through a server-side cursor when a fetch size is set
+        config.addDataSourceProperty("useCursorFetch", configManager.isCursorFetchEnabled());
+        
+        // Prepare each statement on the server once per connection and keep it for reuse
+        config.addDataSourceProperty("useServerPrepStmts", configManager.isUseServerPrepStmts());
+        config.addDataSourceProperty("cachePrepStmts", configManager.isCachePrepStmts());
+        config.addDataSourceProperty("prepStmtCacheSize", configManager.getPrepStmtCacheSize());
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", configManager.getPrepStmtCacheSqlLimit());
+        
+        return new HikariDataSource(config);
     }
     
     /**
      * Gets a database connection from the pool.
+     * Inside a {@link JdbcUnitOfWork} the connection bound to the current
+     * thread is returned instead, so repositories join its transaction.
      * @return Database connection
      * @throws SQLException if connection fails
      */
     public Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+        Connection bound = TransactionContext.join(dataSource);
+        return bound != null ? bound : dataSource.getConnection();
+    }
+    
+    /**
+     * Gets a connection for a read-only query that tolerates slightly stale
+     * data, such as dashboard polling. With a read replica configured the
+     * {@link ReplicaRouter} decides where it goes; otherwise, and inside a
+     * unit of work, this is {@link #getConnection()}.
+     * @return Database connection
+     * @throws SQLException if connection fails
+     */
+    public Connection getReadConnection() throws SQLException {
+        return replicaRouter != null ? replicaRouter.getReadConnection() : getConnection();
+    }
+    
+    /**
+     * Notes that this terminal wrote to the primary, so its reads see the
+     * write rather than a replica that has not caught up yet.
+     */
+    public void recordWrite() {
+        if (replicaRouter != null) {
+            replicaRouter.recordWrite();
+        }
+    }
+    
+    /**
+     * Gets the replica router.
+     * @return Router, or null when no read replica is configured
+     */
+    public ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+    
+    /**
+     * Gets the number of rows streaming queries fetch per round trip.
+     * @return Fetch size
+     */
+    public int getFetchSize() {
+        return configManager.getFetchSize();
+    }
+    
+    /**
+     * Creates a unit of work whose transactions run on this pool.
+     * @return JDBC unit of work
+     */
+    public JdbcUnitOfWork newUnitOfWork() {
+        return new JdbcUnitOfWork(dataSource);
+    }
+    
+    /**
+     * Gets the pool holding a branch's orders. This branch's orders live in
+     * the primary database, so its shard is this pool and its writes keep
+     * joining units of work here. Every other branch gets a pool of its own,
+     * created on first use; units of work never span pools, because
+     * {@link TransactionContext} only hands its connection to the pool it
+     * was borrowed from.
+     * @param branch Branch code
+     * @return Pool for the branch's shard
+     */
+    public synchronized DatabaseConfig getShard(String branch) {
+        String code = branch.trim().toUpperCase(Locale.ROOT);
+        if (code.equals(branchCode)) {
+            return this;
+        }
+        return shards.computeIfAbsent(code, key -> new DatabaseConfig(configManager, key));
+    }
+    
+    /**
+     * Gets the code of the branch whose orders this pool holds.
+     * @return Branch code, empty when orders are not sharded
+     */
+    public String getBranchCode() {
+        return branchCode;
     }
     
     /**
@@ -82,9 +225,11 @@ public class DatabaseConfig {
                 "address TEXT NOT NULL," +
                 "role ENUM('ADMIN', 'MEMBER') NOT NULL," +
                 "points INT DEFAULT 0," +
+                "version BIGINT NOT NULL DEFAULT 0," +
                 "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
                 ")";
             stmt.executeUpdate(createUsersTable);
+            addColumnIfMissing(conn, stmt, "users", "version", "BIGINT NOT NULL DEFAULT 0");
             
             // Create orders table
             String createOrdersTable = "CREATE TABLE IF NOT EXISTS orders (" +
@@ -99,9 +244,129 @@ public class DatabaseConfig {
                 "total DECIMAL(10,2) NOT NULL," +
                 "pickup_time DATETIME," +
                 "order_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                "customer_id INT" +
+                "customer_id INT," +
+                "version BIGINT NOT NULL DEFAULT 0," +
+                "status_changed_at DATETIME(3) NULL," +
+                "INDEX idx_orders_order_time (order_time)," +
+                "INDEX idx_orders_customer_time (customer_name, order_time)," +
+                "INDEX idx_orders_status_time (status, order_time)," +
+                "INDEX idx_orders_phone (phone)" +
                 ")";
             stmt.executeUpdate(createOrdersTable);
+            addColumnIfMissing(conn, stmt, "orders", "version", "BIGINT NOT NULL DEFAULT 0");
+            addColumnIfMissing(conn, stmt, "orders", "status_changed_at", "DATETIME(3) NULL");
+            addOrderIndexesIfMissing(conn, stmt, "orders");
+            
+            // Cold tier for old Completed/Cancelled orders, same layout as orders
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS orders_archive LIKE orders");
+            addColumnIfMissing(conn, stmt, "orders_archive", "version", "BIGINT NOT NULL DEFAULT 0");
+            addColumnIfMissing(conn, stmt, "orders_archive", "status_changed_at", "DATETIME(3) NULL");
+            addOrderIndexesIfMissing(conn, stmt, "orders_archive");
+            
+            // Create pricing tables (empty tables fall back to pricing.properties)
+            String createPriceMatrixTable = "CREATE TABLE IF NOT EXISTS price_matrix (" +
+                "laundry_type VARCHAR(50) NOT NULL," +
+                "service_tier VARCHAR(50) NOT NULL," +
+                "price_per_kg DECIMAL(10,2) NOT NULL," +
+                "PRIMARY KEY (laundry_type, service_tier)" +
+                ")";
+            stmt.executeUpdate(createPriceMatrixTable);
+            
+            String createWeightBracketsTable = "CREATE TABLE IF NOT EXISTS price_weight_brackets (" +
+                "min_weight DECIMAL(5,2) PRIMARY KEY," +
+                "percent INT NOT NULL" +
+                ")";
+            stmt.executeUpdate(createWeightBracketsTable);
+            
+            // Create rollup tables maintained by OrderService on every order write
+            String createHourlyStatsTable = "CREATE TABLE IF NOT EXISTS order_stats_hourly (" +
+                "stat_hour DATETIME NOT NULL," +
+                "service VARCHAR(50) NOT NULL," +
+                "status VARCHAR(20) NOT NULL," +
+                "order_count BIGINT NOT NULL DEFAULT 0," +
+                "revenue DECIMAL(14,2) NOT NULL DEFAULT 0," +
+                "weight DECIMAL(12,2) NOT NULL DEFAULT 0," +
+                "PRIMARY KEY (stat_hour, service, status)" +
+                ")";
+            stmt.executeUpdate(createHourlyStatsTable);
+            
+            String createDailyStatsTable = "CREATE TABLE IF NOT EXISTS order_stats_daily (" +
+                "stat_date DATE NOT NULL," +
+                "service VARCHAR(50) NOT NULL," +
+                "status VARCHAR(20) NOT NULL," +
+                "order_count BIGINT NOT NULL DEFAULT 0," +
+                "revenue DECIMAL(14,2) NOT NULL DEFAULT 0," +
+                "weight DECIMAL(12,2) NOT NULL DEFAULT 0," +
+                "PRIMARY KEY (stat_date, service, status)" +
+                ")";
+            stmt.executeUpdate(createDailyStatsTable);
+            
+            // Per-customer summary for the member dashboard
+            String createCustomerStatsTable = "CREATE TABLE IF NOT EXISTS customer_stats (" +
+                "customer_name VARCHAR(100) PRIMARY KEY," +
+                "order_count BIGINT NOT NULL DEFAULT 0," +
+                "lifetime_spend DECIMAL(14,2) NOT NULL DEFAULT 0," +
+                "open_orders BIGINT NOT NULL DEFAULT 0," +
+                "last_order_id VARCHAR(20)," +
+                "last_order_time TIMESTAMP NULL" +
+                ")";
+            stmt.executeUpdate(createCustomerStatsTable);
+            
+            // Append-only status history; each row says when the left status was entered
+            String createStatusHistoryTable = "CREATE TABLE IF NOT EXISTS order_status_history (" +
+                "history_id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                "order_id VARCHAR(20) NOT NULL," +
+                "from_status VARCHAR(20) NOT NULL," +
+                "to_status VARCHAR(20) NOT NULL," +
+                "entered_at DATETIME(3) NOT NULL," +
+                "changed_at DATETIME(3) NOT NULL," +
+                "INDEX idx_status_history_order (order_id, changed_at)," +
+                "INDEX idx_status_history_dwell (changed_at, from_status, entered_at)" +
+                ")";
+            stmt.executeUpdate(createStatusHistoryTable);
+            
+            // Booked pickups per slot; reservations are conditional increments
+            String createPickupSlotsTable = "CREATE TABLE IF NOT EXISTS pickup_slots (" +
+                "slot_start DATETIME PRIMARY KEY," +
+                "reserved INT NOT NULL DEFAULT 0" +
+                ")";
+            stmt.executeUpdate(createPickupSlotsTable);
+            
+            // Append-only loyalty points ledger and its compacted balances
+            String createPointsLedgerTable = "CREATE TABLE IF NOT EXISTS points_ledger (" +
+                "entry_id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                "username VARCHAR(50) NOT NULL," +
+                "order_id VARCHAR(20)," +
+                "entry_type VARCHAR(10) NOT NULL," +
+                "points INT NOT NULL," +
+                "created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)," +
+                "compacted TINYINT NOT NULL DEFAULT 0," +
+                "UNIQUE KEY uk_points_order (order_id, entry_type)," +
+                "INDEX idx_points_user (username, entry_id)," +
+                "INDEX idx_points_created (created_at)," +
+                "INDEX idx_points_compacted (compacted, created_at)" +
+                ")";
+            stmt.executeUpdate(createPointsLedgerTable);
+            addColumnIfMissing(conn, stmt, "points_ledger", "compacted", "TINYINT NOT NULL DEFAULT 0");
+            addIndexIfMissing(conn, stmt, "points_ledger", "idx_points_compacted", "compacted, created_at");
+            
+            String createPointsBalanceTable = "CREATE TABLE IF NOT EXISTS points_balance (" +
+                "username VARCHAR(50) PRIMARY KEY," +
+                "balance INT NOT NULL DEFAULT 0" +
+                ")";
+            stmt.executeUpdate(createPointsBalanceTable);
+            migratePointsWatermark(conn, stmt);
+            
+            // Carry points earned before the ledger existed over as opening balances
+            stmt.executeUpdate("INSERT IGNORE INTO points_balance (username, balance) " +
+                "SELECT username, points FROM users WHERE points <> 0");
+            
+            // Stamped by the primary so replicas can tell how far behind they are
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS replication_heartbeat (" +
+                "id TINYINT PRIMARY KEY," +
+                "beat DATETIME(3) NOT NULL" +
+                ")");
+            stmt.executeUpdate("INSERT IGNORE INTO replication_heartbeat (id, beat) VALUES (1, NOW(3))");
             
             // Insert sample data if enabled in configuration
             if (configManager.isAutoInsertSampleData()) {
@@ -126,10 +391,84 @@ public class DatabaseConfig {
         }
     }
     
+    /**
+     * Adds a column to a table created by an older version of the application.
+     * New columns go last, which keeps orders and orders_archive in the same
+     * column order for {@code INSERT ... SELECT *}.
+     */
+    private void addColumnIfMissing(Connection conn, Statement stmt, String table, String column,
+                                    String definition) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, column)) {
+            if (rs.next()) {
+                return;
+            }
+        }
+        stmt.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+    }
+    
+    /**
+     * Moves a points_balance table from the old per-member compaction
+     * watermark to the per-entry state: entries at or below a member's
+     * watermark are marked folded, then the watermark column is dropped.
+     */
+    private void migratePointsWatermark(Connection conn, Statement stmt) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "points_balance",
+                "compacted_through")) {
+            if (!rs.next()) {
+                return;
+            }
+        }
+        System.out.println("Moving points compaction to per-entry state...");
+        stmt.executeUpdate("UPDATE points_ledger l JOIN points_balance b ON b.username = l.username " +
+            "SET l.compacted = 2 WHERE l.entry_id <= b.compacted_through");
+        stmt.executeUpdate("ALTER TABLE points_balance DROP COLUMN compacted_through");
+    }
+    
+    /**
+     * Adds the indexes behind the admin grid, customer history and search to
+     * an orders table created before they were part of its definition.
+     */
+    private void addOrderIndexesIfMissing(Connection conn, Statement stmt, String table) throws SQLException {
+        addIndexIfMissing(conn, stmt, table, "idx_orders_order_time", "order_time");
+        addIndexIfMissing(conn, stmt, table, "idx_orders_customer_time", "customer_name, order_time");
+        addIndexIfMissing(conn, stmt, table, "idx_orders_status_time", "status, order_time");
+        addIndexIfMissing(conn, stmt, table, "idx_orders_phone", "phone");
+    }
+    
+    /**
+     * Adds an index to a table created by an older version of the application.
+     */
+    private void addIndexIfMissing(Connection conn, Statement stmt, String table, String index,
+                                   String columns) throws SQLException {
+        try (PreparedStatement check = conn.prepareStatement(
+                "SELECT 1 FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? LIMIT 1")) {
+            check.setString(1, table);
+            check.setString(2, index);
+            try (ResultSet rs = check.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        System.out.println("Adding index " + index + " to " + table + "...");
+        stmt.executeUpdate("ALTER TABLE " + table + " ADD INDEX " + index + " (" + columns + ")");
+    }
+    
     /**
      * Closes the data source and all connections.
      */
     public void close() {
+        synchronized (this) {
+            shards.values().forEach(DatabaseConfig::close);
+            shards.clear();
+        }
+        if (replicaRouter != null) {
+            replicaRouter.stop();
+        }
+        if (replicaDataSource != null && !replicaDataSource.isClosed()) {
+            replicaDataSource.close();
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
         }
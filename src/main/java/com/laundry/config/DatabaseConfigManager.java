@@ -2,6 +2,11 @@ package com.laundry.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -110,6 +115,244 @@ public class DatabaseConfigManager {
         return Boolean.parseBoolean(properties.getProperty("db.auto.insert.sample.data", "true"));
     }
     
+    public boolean isRewriteBatchedStatements() {
+        return Boolean.parseBoolean(properties.getProperty("db.rewrite.batched.statements", "true"));
+    }
+    
+    public boolean isCursorFetchEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("db.cursor.fetch", "true"));
+    }
+    
+    public int getFetchSize() {
+        return Integer.parseInt(properties.getProperty("db.fetch.size", "1000"));
+    }
+    
+    public boolean isCachePrepStmts() {
+        return Boolean.parseBoolean(properties.getProperty("db.cache.prep.stmts", "true"));
+    }
+    
+    public boolean isUseServerPrepStmts() {
+        return Boolean.parseBoolean(properties.getProperty("db.use.server.prep.stmts", "true"));
+    }
+    
+    public int getPrepStmtCacheSize() {
+        return Integer.parseInt(properties.getProperty("db.prep.stmt.cache.size", "250"));
+    }
+    
+    public int getPrepStmtCacheSqlLimit() {
+        return Integer.parseInt(properties.getProperty("db.prep.stmt.cache.sql.limit", "2048"));
+    }
+    
+    public boolean isArchiveEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("archive.enabled", "true"));
+    }
+    
+    public int getArchiveMaxAgeDays() {
+        return Integer.parseInt(properties.getProperty("archive.max.age.days", "90"));
+    }
+    
+    public int getArchiveBatchSize() {
+        return Integer.parseInt(properties.getProperty("archive.batch.size", "500"));
+    }
+    
+    public long getArchivePauseMillis() {
+        return Long.parseLong(properties.getProperty("archive.pause.millis", "200"));
+    }
+    
+    public long getArchiveIntervalMinutes() {
+        return Long.parseLong(properties.getProperty("archive.interval.minutes", "60"));
+    }
+    
+    public long getPointsCompactionIntervalMinutes() {
+        return Long.parseLong(properties.getProperty("points.compaction.interval.minutes", "15"));
+    }
+    
+    public long getPricingReloadMinutes() {
+        return Long.parseLong(properties.getProperty("pricing.reload.minutes", "15"));
+    }
+    
+    public int getPickupSlotMinutes() {
+        return Integer.parseInt(properties.getProperty("pickup.slot.minutes", "60"));
+    }
+    
+    public int getPickupSlotCapacity() {
+        return Integer.parseInt(properties.getProperty("pickup.slot.capacity", "10"));
+    }
+    
+    public int getPickupOpenHour() {
+        return Integer.parseInt(properties.getProperty("pickup.open.hour", "8"));
+    }
+    
+    public int getPickupCloseHour() {
+        return Integer.parseInt(properties.getProperty("pickup.close.hour", "20"));
+    }
+    
+    public int getPickupHorizonDays() {
+        return Integer.parseInt(properties.getProperty("pickup.horizon.days", "14"));
+    }
+    
+    /**
+     * Gets how many hours after ordering a service tier can be picked up.
+     * @param tier Service tier, e.g. Regular
+     * @param defaultHours Hours to use when the tier is not configured
+     * @return Lead time in hours
+     */
+    public long getPickupLeadHours(String tier, long defaultHours) {
+        String value = properties.getProperty("pickup.lead.hours." + tier.toLowerCase());
+        return value != null ? Long.parseLong(value.trim()) : defaultHours;
+    }
+    
+    public double getLoadCapacityKg() {
+        return Double.parseDouble(properties.getProperty("loads.capacity.kg", "8"));
+    }
+    
+    /**
+     * Gets the machine capacities set for particular laundry types.
+     * @return Capacity in kg by laundry type key, e.g. dry-clean
+     */
+    public Map<String, Double> getLoadCapacitiesByType() {
+        String prefix = "loads.capacity.kg.";
+        Map<String, Double> capacities = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                capacities.put(key.substring(prefix.length()), Double.parseDouble(properties.getProperty(key).trim()));
+            }
+        }
+        return capacities;
+    }
+    
+    /**
+     * Gets the JDBC URL of the read replica, with SSL settings.
+     * @return Complete JDBC URL, or null when no replica is configured
+     */
+    public String getReplicaJdbcUrl() {
+        String url = properties.getProperty("db.replica.url", "").trim();
+        return url.isEmpty() ? null : withSslOptions(url);
+    }
+    
+    public String getReplicaUsername() {
+        return properties.getProperty("db.replica.username", getDatabaseUsername());
+    }
+    
+    public String getReplicaPassword() {
+        return properties.getProperty("db.replica.password", getDatabasePassword());
+    }
+    
+    public int getReplicaPoolSize() {
+        return Integer.parseInt(properties.getProperty("db.replica.pool.maximum", String.valueOf(getMaximumPoolSize())));
+    }
+    
+    public long getReplicaMaxLagMillis() {
+        return Long.parseLong(properties.getProperty("db.replica.max.lag.millis", "5000"));
+    }
+    
+    public long getReplicaStickyMillis() {
+        return Long.parseLong(properties.getProperty("db.replica.sticky.millis", "3000"));
+    }
+    
+    public long getReplicaLagCheckMillis() {
+        return Long.parseLong(properties.getProperty("db.replica.lag.check.millis", "1000"));
+    }
+    
+    /**
+     * Gets the code of the branch this installation belongs to. Its orders
+     * live in the primary database.
+     * @return Upper-case branch code, empty if not set
+     */
+    public String getBranchCode() {
+        return properties.getProperty("branch.code", "").trim().toUpperCase(Locale.ROOT);
+    }
+    
+    /**
+     * Gets the branches the order store is sharded over, including this one.
+     * @return Upper-case branch codes, empty when orders are not sharded
+     */
+    public List<String> getShardBranches() {
+        List<String> branches = new ArrayList<>();
+        for (String branch : properties.getProperty("shards", "").split(",")) {
+            if (!branch.trim().isEmpty()) {
+                branches.add(branch.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return branches;
+    }
+    
+    /**
+     * Gets the JDBC URL of a branch's shard, with SSL settings.
+     * @param branch Branch code
+     * @return Complete JDBC URL; the primary's when the shard has none
+     */
+    public String getShardJdbcUrl(String branch) {
+        String url = properties.getProperty(shardKey(branch, "url"));
+        return url != null ? withSslOptions(url.trim()) : getCompleteJdbcUrl();
+    }
+    
+    public String getShardUsername(String branch) {
+        return properties.getProperty(shardKey(branch, "username"), getDatabaseUsername());
+    }
+    
+    public String getShardPassword(String branch) {
+        return properties.getProperty(shardKey(branch, "password"), getDatabasePassword());
+    }
+    
+    public int getShardPoolSize() {
+        return Integer.parseInt(properties.getProperty("shard.pool.maximum", "4"));
+    }
+    
+    private static String shardKey(String branch, String setting) {
+        return "shard." + branch.toLowerCase(Locale.ROOT) + "." + setting;
+    }
+
+    /**
+     * Gets the URL of the order server this terminal works through.
+     * @return Base URL, or null when the terminal uses the database directly
+     */
+    public String getServerUrl() {
+        String url = properties.getProperty("server.url", "").trim();
+        return url.isEmpty() ? null : url;
+    }
+
+    /**
+     * Gets the shared secret the order server requires on every request.
+     * @return Token, or null when none is configured
+     */
+    public String getServerToken() {
+        String token = properties.getProperty("server.token", "").trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    public String getServerBindAddress() {
+        return properties.getProperty("server.bind.address", "127.0.0.1").trim();
+    }
+
+    public int getServerPort() {
+        return Integer.parseInt(properties.getProperty("server.port", "8085"));
+    }
+
+    public int getServerThreads() {
+        return Integer.parseInt(properties.getProperty("server.threads", "64"));
+    }
+
+    public long getServerBatchMillis() {
+        return Long.parseLong(properties.getProperty("server.batch.millis", "2"));
+    }
+
+    public int getServerBatchSize() {
+        return Integer.parseInt(properties.getProperty("server.batch.max", "64"));
+    }
+
+    public long getServerTimeoutMillis() {
+        return Long.parseLong(properties.getProperty("server.timeout.millis", "10000"));
+    }
+
+    public boolean isReadCoalescingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("reads.coalesce.enabled", "true"));
+    }
+
+    public long getReadShareMillis() {
+        return Long.parseLong(properties.getProperty("reads.share.millis", "250"));
+    }
+
     public boolean isSslEnabled() {
         return Boolean.parseBoolean(properties.getProperty("db.ssl.enabled", "false"));
     }
@@ -119,8 +362,10 @@ public class DatabaseConfigManager {
      * @return Complete JDBC URL
      */
     public String getCompleteJdbcUrl() {
-        String baseUrl = getDatabaseUrl();
-        
+        return withSslOptions(getDatabaseUrl());
+    }
+    
+    private String withSslOptions(String baseUrl) {
         if (!isSslEnabled()) {
             if (baseUrl.contains("?")) {
                 baseUrl += "&useSSL=false&allowPublicKeyRetrieval=true";
@@ -145,6 +390,9 @@ public class DatabaseConfigManager {
         System.out.println("Auto Create Tables: " + isAutoCreateTables());
         System.out.println("Auto Insert Sample Data: " + isAutoInsertSampleData());
         System.out.println("SSL Enabled: " + isSslEnabled());
+        System.out.println("Read Replica: " + properties.getProperty("db.replica.url", "").trim());
+        System.out.println("Server Prepared Statements: " + isUseServerPrepStmts()
+            + " (cache " + (isCachePrepStmts() ? getPrepStmtCacheSize() : 0) + ")");
         System.out.println("==============================");
     }
 }
\ No newline at end of file
@@ -1,13 +1,25 @@
 package com.laundry.config;
 
 import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
 import com.laundry.model.User;
+import com.laundry.repository.CustomerStatsRepository;
+import com.laundry.repository.DirectUnitOfWork;
+import com.laundry.repository.InMemoryCustomerStatsRepository;
 import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryOrderStatsRepository;
+import com.laundry.repository.InMemoryOrderStatusHistoryRepository;
+import com.laundry.repository.InMemoryPickupSlotRepository;
+import com.laundry.repository.InMemoryPointsLedgerRepository;
 import com.laundry.repository.InMemoryUserRepository;
 import com.laundry.repository.OrderRepository;
+import com.laundry.repository.OrderStatsRepository;
+import com.laundry.repository.OrderStatusHistoryRepository;
 import com.laundry.repository.UserRepository;
 import com.laundry.service.AuthenticationService;
-import com.laundry.service.OrderService;
+import com.laundry.service.LedgerPointsService;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.PickupScheduler;
 import java.time.LocalDateTime;
 
 /**
@@ -20,10 +32,15 @@ public class FallbackAppConfig {
     // Repositories
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final OrderStatsRepository orderStatsRepository;
+    private final CustomerStatsRepository customerStatsRepository;
+    private final OrderStatusHistoryRepository statusHistoryRepository;
+    private final PickupScheduler pickupScheduler;
     
     // Services
     private final AuthenticationService authenticationService;
-    private final OrderService orderService;
+    private final LedgerPointsService pointsService;
+    private final LocalOrderService orderService;
     
     private FallbackAppConfig() {
         System.out.println("[FALLBACK MODE] Using in-memory repositories due to database connection failure.");
@@ -31,10 +48,21 @@ public class FallbackAppConfig {
         // Initialize in-memory repositories
         this.userRepository = new InMemoryUserRepository();
         this.orderRepository = new InMemoryOrderRepository();
+        this.orderStatsRepository = new InMemoryOrderStatsRepository();
+        this.customerStatsRepository = new InMemoryCustomerStatsRepository();
+        this.statusHistoryRepository = new InMemoryOrderStatusHistoryRepository();
+        this.pickupScheduler = PickupScheduler.builder(new InMemoryPickupSlotRepository()).build();
         
         // Initialize services with dependency injection
         this.authenticationService = new AuthenticationService(userRepository);
-        this.orderService = new OrderService(orderRepository, userRepository);
+        this.pointsService = new LedgerPointsService(new InMemoryPointsLedgerRepository(), new DirectUnitOfWork());
+        this.orderService = LocalOrderService.builder(orderRepository, userRepository)
+            .pointsService(pointsService)
+            .statsRepository(orderStatsRepository)
+            .customerStatsRepository(customerStatsRepository)
+            .historyRepository(statusHistoryRepository)
+            .pickupScheduler(pickupScheduler)
+            .build();
         
         // Initialize sample data
         initializeSampleData();
@@ -69,8 +97,9 @@ public class FallbackAppConfig {
         Order sampleOrder = orderService.createOrder("John Doe", "081234567891", 
                                                     "Jl. Merdeka No. 1", "Cuci Setrika", 
                                                     "Regular", 2.5);
-        sampleOrder.setStatus("Processing");
         sampleOrder.setPickupTime(LocalDateTime.now().plusHours(2));
+        orderRepository.updateOrder(sampleOrder);
+        orderService.updateOrderStatus(sampleOrder.getOrderId(), OrderStatus.PROCESSING);
     }
     
     // Getters for dependency injection
@@ -78,6 +107,22 @@ public class FallbackAppConfig {
         return userRepository;
     }
     
+    public OrderStatsRepository getOrderStatsRepository() {
+        return orderStatsRepository;
+    }
+    
+    public CustomerStatsRepository getCustomerStatsRepository() {
+        return customerStatsRepository;
+    }
+    
+    public OrderStatusHistoryRepository getStatusHistoryRepository() {
+        return statusHistoryRepository;
+    }
+    
+    public PickupScheduler getPickupScheduler() {
+        return pickupScheduler;
+    }
+    
     public OrderRepository getOrderRepository() {
         return orderRepository;
     }
@@ -86,7 +131,11 @@ public class FallbackAppConfig {
         return authenticationService;
     }
     
-    public OrderService getOrderService() {
+    public LedgerPointsService getPointsService() {
+        return pointsService;
+    }
+    
+    public LocalOrderService getOrderService() {
         return orderService;
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.laundry.config;
+
+import com.laundry.repository.UnitOfWork;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * UnitOfWork backed by a single JDBC transaction.
+ * Borrows one connection for the whole unit, binds it to the thread so the
+ * Database repositories join it, and commits or rolls back atomically.
+ * Nested units join the outer one. Records latency and the number of pool
+ * borrows the shared connection saved.
+ */
+public class JdbcUnitOfWork implements UnitOfWork {
+    private final DataSource dataSource;
+    
+    private final AtomicLong units = new AtomicLong();
+    private final AtomicLong rollbacks = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong connectionRequests = new AtomicLong();
+    
+    public JdbcUnitOfWork(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+    
+    @Override
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionContext.current() != null) {
+            return work.get();
+        }
+        
+        long start = System.nanoTime();
+        TransactionContext context;
+        try {
+            context = TransactionContext.begin(dataSource);
+        } catch (SQLException e) {
+            System.err.println("Error starting transaction: " + e.getMessage());
+            throw new RuntimeException("Failed to start transaction", e);
+        }
+        
+        try {
+            T result = work.get();
+            context.commit();
+            return result;
+        } catch (SQLException e) {
+            context.rollback();
+            rollbacks.incrementAndGet();
+            System.err.println("Error committing transaction: " + e.getMessage());
+            throw new RuntimeException("Failed to commit transaction", e);
+        } catch (RuntimeException | Error e) {
+            context.rollback();
+            rollbacks.incrementAndGet();
+            throw e;
+        } finally {
+            context.end();
+            units.incrementAndGet();
+            totalNanos.addAndGet(System.nanoTime() - start);
+            connectionRequests.addAndGet(context.getJoinCount());
+        }
+    }
+    
+    public long getUnitCount() {
+        return units.get();
+    }
+    
+    public long getRollbackCount() {
+        return rollbacks.get();
+    }
+    
+    /**
+     * Gets the mean wall time of a unit of work, including commit.
+     * @return Average latency in milliseconds
+     */
+    public double getAverageLatencyMillis() {
+        long count = units.get();
+        return count == 0 ? 0 : totalNanos.get() / 1_000_000.0 / count;
+    }
+    
+    /**
+     * Gets how many pool borrows were avoided: every repository call inside a
+     * unit would otherwise have taken its own connection.
+     * @return Connections saved
+     */
+    public long getConnectionsSaved() {
+        return Math.max(connectionRequests.get() - units.get(), 0);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("units=%d rollbacks=%d avgLatency=%.2fms connectionsSaved=%d",
+            getUnitCount(), getRollbackCount(), getAverageLatencyMillis(), getConnectionsSaved());
+    }
+}
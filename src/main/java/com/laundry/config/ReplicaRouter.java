@@ -0,0 +1,173 @@
+package com.laundry.config;
+
+import com.laundry.service.TaskExecutors;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses between the primary and a read replica for read-only queries.
+ * A read goes to the replica only when that cannot show stale data the
+ * caller would notice:
+ * <ul>
+ *   <li>inside a unit of work reads join the primary transaction;</li>
+ *   <li>for a short window after this terminal writes, reads stay on the
+ *       primary, so a terminal always sees its own changes;</li>
+ *   <li>while the replica lags further behind than allowed, or its lag is
+ *       unknown, reads stay on the primary.</li>
+ * </ul>
+ * Lag is measured with a heartbeat row: the primary stamps it with its
+ * clock and the replica reports how old the stamp it has is.
+ */
+public class ReplicaRouter {
+    private static final String BEAT_SQL = "UPDATE replication_heartbeat SET beat = NOW(3) WHERE id = 1";
+    private static final String LAG_SQL =
+        "SELECT TIMESTAMPDIFF(MICROSECOND, beat, NOW(3)) DIV 1000 FROM replication_heartbeat WHERE id = 1";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final long stickyNanos;
+
+    // Unknown until the first check
+    private volatile long replicaLagMillis = Long.MAX_VALUE;
+    private volatile long primaryUntilNanos = System.nanoTime();
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+    private ScheduledExecutorService monitor;
+
+    /**
+     * @param primary Pool of the primary database
+     * @param replica Pool of the read replica
+     * @param maxLag Lag beyond which reads go back to the primary
+     * @param stickyWindow How long reads stay on the primary after a write
+     */
+    public ReplicaRouter(DataSource primary, DataSource replica, Duration maxLag, Duration stickyWindow) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLag.toMillis();
+        this.stickyNanos = stickyWindow.toNanos();
+    }
+
+    /**
+     * Gets a connection for a read-only query.
+     * @return Replica connection when safe, otherwise a primary one
+     * @throws SQLException if no connection can be obtained
+     */
+    public Connection getReadConnection() throws SQLException {
+        Connection bound = TransactionContext.join(primary);
+        if (bound != null) {
+            primaryReads.incrementAndGet();
+            return bound;
+        }
+        if (isReplicaUsable()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.incrementAndGet();
+                return connection;
+            } catch (SQLException e) {
+                System.err.println("Replica unavailable, reading from primary: " + e.getMessage());
+                replicaLagMillis = Long.MAX_VALUE;
+            }
+        }
+        primaryReads.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    /**
+     * Notes a write by this terminal, keeping its reads on the primary for
+     * the sticky window.
+     */
+    public void recordWrite() {
+        primaryUntilNanos = System.nanoTime() + stickyNanos;
+    }
+
+    /**
+     * Sets the measured replication lag.
+     * @param lagMillis Lag in milliseconds, or Long.MAX_VALUE if unknown
+     */
+    public void recordLag(long lagMillis) {
+        replicaLagMillis = lagMillis;
+    }
+
+    /**
+     * Checks whether reads outside a unit of work would go to the replica now.
+     * @return true if the replica is fresh enough and no write is recent
+     */
+    public boolean isReplicaUsable() {
+        return replicaLagMillis <= maxLagMillis && System.nanoTime() - primaryUntilNanos >= 0;
+    }
+
+    /**
+     * Stamps the heartbeat on the primary and reads back the replica's lag.
+     */
+    public void checkLag() {
+        try (Connection conn = primary.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(BEAT_SQL);
+        } catch (SQLException e) {
+            System.err.println("Error writing replication heartbeat: " + e.getMessage());
+        }
+
+        try (Connection conn = replica.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(LAG_SQL)) {
+            recordLag(rs.next() ? Math.max(rs.getLong(1), 0) : Long.MAX_VALUE);
+        } catch (SQLException e) {
+            System.err.println("Error reading replica lag: " + e.getMessage());
+            recordLag(Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Starts checking the lag in the background.
+     * @param interval Time between checks
+     */
+    public synchronized void start(Duration interval) {
+        if (monitor != null) {
+            return;
+        }
+        monitor = Executors.newSingleThreadScheduledExecutor(TaskExecutors.daemonThreads("replica-lag"));
+        monitor.scheduleWithFixedDelay(this::checkLag, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background lag checks.
+     */
+    public synchronized void stop() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+            monitor = null;
+        }
+    }
+
+    /**
+     * Gets the last measured replication lag.
+     * @return Lag in milliseconds, or Long.MAX_VALUE if unknown
+     */
+    public long getReplicaLagMillis() {
+        return replicaLagMillis;
+    }
+
+    public long getReplicaReadCount() {
+        return replicaReads.get();
+    }
+
+    public long getPrimaryReadCount() {
+        return primaryReads.get();
+    }
+
+    @Override
+    public String toString() {
+        long lag = replicaLagMillis;
+        return String.format("replicaReads=%d primaryReads=%d lag=%s",
+            getReplicaReadCount(), getPrimaryReadCount(), lag == Long.MAX_VALUE ? "unknown" : lag + "ms");
+    }
+}
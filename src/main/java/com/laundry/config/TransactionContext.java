@@ -0,0 +1,149 @@
+package com.laundry.config;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection bound to the current thread for the length of a unit of work.
+ * While a context is active, {@link DatabaseConfig#getConnection()} hands out
+ * this connection, wrapped so that close() is a no-op, instead of borrowing
+ * another one from the pool. Actions registered with
+ * {@link #afterCompletion(Runnable)} run once the transaction has committed
+ * or rolled back and the connection is released.
+ */
+public final class TransactionContext {
+    private static final ThreadLocal<TransactionContext> CURRENT = new ThreadLocal<>();
+    
+    private final DataSource dataSource;
+    private final Connection connection;
+    private final Connection sharedConnection;
+    private int joinCount;
+    private final List<Runnable> completionActions = new ArrayList<>();
+    
+    private TransactionContext(DataSource dataSource, Connection connection) {
+        this.dataSource = dataSource;
+        this.connection = connection;
+        this.sharedConnection = (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName())) {
+                    return null; // Released when the unit of work ends
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+    
+    /**
+     * Borrows a connection, starts a transaction on it and binds it to this thread.
+     * @param dataSource Pool to borrow from
+     * @return New context
+     * @throws SQLException if no connection can be obtained
+     */
+    static TransactionContext begin(DataSource dataSource) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        TransactionContext context = new TransactionContext(dataSource, connection);
+        CURRENT.set(context);
+        return context;
+    }
+    
+    /**
+     * Gets the context bound to this thread.
+     * @return Active context, or null
+     */
+    static TransactionContext current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Checks whether a unit of work is active on this thread.
+     * @return true inside a unit of work
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+    
+    /**
+     * Runs an action after the unit of work on this thread has committed or
+     * rolled back, such as dropping cached reads its writes made stale.
+     * Without an active unit of work the action runs right away.
+     * @param action Action to run
+     */
+    public static void afterCompletion(Runnable action) {
+        TransactionContext context = CURRENT.get();
+        if (context == null) {
+            action.run();
+        } else {
+            context.completionActions.add(action);
+        }
+    }
+    
+    /**
+     * Returns the bound connection if it belongs to the given pool.
+     * @param dataSource Pool the caller would borrow from
+     * @return Shared connection, or null if no matching context is active
+     */
+    static Connection join(DataSource dataSource) {
+        TransactionContext context = CURRENT.get();
+        if (context == null || context.dataSource != dataSource) {
+            return null;
+        }
+        context.joinCount++;
+        return context.sharedConnection;
+    }
+    
+    void commit() throws SQLException {
+        connection.commit();
+    }
+    
+    void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            System.err.println("Error rolling back transaction: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Unbinds the context, returns the connection to the pool and runs the
+     * completion actions.
+     */
+    void end() {
+        CURRENT.remove();
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.err.println("Error resetting auto-commit: " + e.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error releasing connection: " + e.getMessage());
+        }
+        for (Runnable action : completionActions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error running transaction completion action: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Gets how many connection requests were served by the bound connection.
+     * @return Number of joins
+     */
+    public int getJoinCount() {
+        return joinCount;
+    }
+}
@@ -0,0 +1,68 @@
+package com.laundry.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dictionary-encoded value for the catalogue fields of an order
+ * (laundry type and service). Each distinct label is interned once and
+ * given a dense int code, so orders share instances and compare by identity.
+ */
+public final class CatalogCode {
+    private static final ConcurrentMap<String, CatalogCode> BY_LABEL = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_CODE = new AtomicInteger();
+    
+    // Service tiers
+    public static final CatalogCode REGULAR = of("Regular");
+    public static final CatalogCode EXPRESS = of("Express");
+    public static final CatalogCode PREMIUM = of("Premium");
+    
+    // Laundry services
+    public static final CatalogCode WASH_AND_DRY = of("Wash & Dry");
+    public static final CatalogCode DRY_CLEAN = of("Dry Clean");
+    public static final CatalogCode WASH_ONLY = of("Wash Only");
+    public static final CatalogCode CUCI_SETRIKA = of("Cuci Setrika");
+    public static final CatalogCode CUCI_KERING = of("Cuci Kering");
+    public static final CatalogCode SETRIKA_SAJA = of("Setrika Saja");
+    
+    private final int code;
+    private final String label;
+    
+    private CatalogCode(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+    
+    /**
+     * Gets the interned entry for a label, registering it on first use.
+     * @param label Catalogue label
+     * @return Shared entry, or null for a null label
+     */
+    public static CatalogCode of(String label) {
+        if (label == null) {
+            return null;
+        }
+        CatalogCode existing = BY_LABEL.get(label);
+        if (existing != null) {
+            return existing;
+        }
+        return BY_LABEL.computeIfAbsent(label, l -> new CatalogCode(NEXT_CODE.getAndIncrement(), l));
+    }
+    
+    /**
+     * Gets the number of codes assigned so far. Codes are in [0, count).
+     * @return Code count
+     */
+    public static int count() {
+        return NEXT_CODE.get();
+    }
+    
+    public int getCode() { return code; }
+    public String getLabel() { return label; }
+    
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,75 @@
+package com.laundry.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-customer order summary shown on the member dashboard: order count,
+ * lifetime spend (cancelled orders excluded), open orders and the most
+ * recent order. Also used for signed deltas applied to the summary.
+ */
+public final class CustomerStats {
+    private final String customerName;
+    private final long orderCount;
+    private final long spendCents;
+    private final long openOrders;
+    private final String lastOrderId;
+    private final LocalDateTime lastOrderTime;
+
+    public CustomerStats(String customerName, long orderCount, long spendCents, long openOrders,
+                         String lastOrderId, LocalDateTime lastOrderTime) {
+        this.customerName = customerName;
+        this.orderCount = orderCount;
+        this.spendCents = spendCents;
+        this.openOrders = openOrders;
+        this.lastOrderId = lastOrderId;
+        this.lastOrderTime = lastOrderTime;
+    }
+
+    /**
+     * Gets the summary of a customer with no orders.
+     * @param customerName Customer name
+     * @return Empty summary
+     */
+    public static CustomerStats empty(String customerName) {
+        return new CustomerStats(customerName, 0, 0, 0, null, null);
+    }
+
+    public String getCustomerName() { return customerName; }
+    public long getOrderCount() { return orderCount; }
+    public long getSpendCents() { return spendCents; }
+    public Money getLifetimeSpend() { return Money.ofCents(spendCents); }
+    public long getOpenOrders() { return openOrders; }
+    public String getLastOrderId() { return lastOrderId; }
+    public LocalDateTime getLastOrderTime() { return lastOrderTime; }
+
+    /**
+     * Adds a delta to this summary. The last order is whichever of the two
+     * was placed later; a delta without one keeps the current last order.
+     * @param other Summary or delta to add
+     * @return Combined summary
+     */
+    public CustomerStats plus(CustomerStats other) {
+        boolean otherIsLater = other.lastOrderTime != null
+            && (lastOrderTime == null || !other.lastOrderTime.isBefore(lastOrderTime));
+        return new CustomerStats(customerName,
+            orderCount + other.orderCount,
+            spendCents + other.spendCents,
+            openOrders + other.openOrders,
+            otherIsLater ? other.lastOrderId : lastOrderId,
+            otherIsLater ? other.lastOrderTime : lastOrderTime);
+    }
+
+    /**
+     * Checks whether the summary carries no changes.
+     * @return true if every measure is zero and there is no last order
+     */
+    public boolean isEmpty() {
+        return orderCount == 0 && spendCents == 0 && openOrders == 0 && lastOrderTime == null;
+    }
+
+    @Override
+    public String toString() {
+        return customerName + ": " + orderCount + " orders, " + Money.format(spendCents)
+            + ", " + openOrders + " open, last " + lastOrderId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.laundry.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One planned washer/dryer load: Pending orders of the same laundry type and
+ * service tier that go into the machine together.
+ */
+public final class MachineLoad {
+    private final long loadId;
+    private final String laundryType;
+    private final String service;
+    private final double capacityKg;
+    private final double weightKg;
+    private final List<String> orderIds;
+
+    public MachineLoad(long loadId, String laundryType, String service, double capacityKg,
+                       double weightKg, List<String> orderIds) {
+        this.loadId = loadId;
+        this.laundryType = laundryType;
+        this.service = service;
+        this.capacityKg = capacityKg;
+        this.weightKg = weightKg;
+        this.orderIds = Collections.unmodifiableList(orderIds);
+    }
+
+    public long getLoadId() { return loadId; }
+    public String getLaundryType() { return laundryType; }
+    public String getService() { return service; }
+    public double getCapacityKg() { return capacityKg; }
+    public double getWeightKg() { return weightKg; }
+    public List<String> getOrderIds() { return orderIds; }
+
+    /**
+     * Gets how full the machine is.
+     * @return Load weight over capacity; above 1 for a single oversized order
+     */
+    public double getFill() {
+        return weightKg / capacityKg;
+    }
+}
@@ -0,0 +1,95 @@
+package com.laundry.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable amount of Rupiah held as a whole number of cents (sen),
+ * so sums are exact and cheap.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+    
+    private final long cents;
+    
+    private Money(long cents) {
+        this.cents = cents;
+    }
+    
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+    
+    /**
+     * Converts a Rupiah amount, rounding half up to the nearest cent.
+     * @param rupiah Amount in Rupiah
+     * @return Money value
+     */
+    public static Money ofRupiah(double rupiah) {
+        return ofCents(Math.round(rupiah * 100));
+    }
+    
+    public static Money of(BigDecimal rupiah) {
+        return ofCents(rupiah.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+    
+    public long getCents() { return cents; }
+    
+    public double toRupiah() {
+        return cents / 100.0;
+    }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+    
+    /**
+     * Multiplies by a quantity such as a weight in kg, rounding half up.
+     * @param factor Multiplier
+     * @return Product
+     */
+    public Money times(double factor) {
+        return ofCents(Math.round(cents * factor));
+    }
+    
+    /**
+     * Formats the amount for display, e.g. "Rp 25,000".
+     * @return Display string
+     */
+    public String format() {
+        return format(cents);
+    }
+    
+    /**
+     * Formats a cent amount for display without allocating a Money.
+     * @param cents Amount in cents
+     * @return Display string
+     */
+    public static String format(long cents) {
+        return "Rp " + String.format("%,.0f", cents / 100.0);
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).cents == cents;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+    
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
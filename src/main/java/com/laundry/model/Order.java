@@ -5,40 +5,113 @@ import java.time.LocalDateTime;
 /**
  * Order entity class representing a laundry order in the system.
  * Contains all order details with proper encapsulation and validation.
+ * Status, laundry type and service are held as shared codes and the total as
+ * integer cents; the String/double accessors are views over those fields.
  */
 public class Order {
     private String orderId;
     private String customerName;
     private String phone;
     private String address;
-    private String laundryType;
-    private String service;
-    private String status;
+    private CatalogCode laundryType;
+    private CatalogCode service;
+    private OrderStatus status;
     private double weight;
-    private double total;
+    private long totalCents;
     private LocalDateTime pickupTime;
     private LocalDateTime orderTime;
     private int customerId;
+    // Row version for optimistic concurrency, bumped by every successful update
+    private long version;
+    // When the order entered its current status; null means at order time
+    private LocalDateTime statusChangedAt;
     
     public Order(String orderId) {
         this.orderId = orderId;
         this.orderTime = LocalDateTime.now();
-        this.status = "Pending";
+        this.status = OrderStatus.PENDING;
     }
     
+    private Order(String orderId, OrderStatus status, LocalDateTime orderTime) {
+        this.orderId = orderId;
+        this.status = status;
+        this.orderTime = orderTime;
+    }
+    
+    /**
+     * Rebuilds a stored order from its column values in one step, without
+     * the setters' validation. Meant for repositories mapping rows they wrote
+     * themselves; new orders go through the constructor and setters.
+     * @param status Stored status
+     * @param orderTime Stored order time, or null for now
+     * @return Order holding exactly the given values
+     * @throws IllegalArgumentException if the status is missing
+     */
+    public static Order restore(String orderId, String customerName, String phone, String address,
+                                CatalogCode laundryType, CatalogCode service, OrderStatus status,
+                                double weight, long totalCents, LocalDateTime pickupTime,
+                                LocalDateTime orderTime, int customerId, long version,
+                                LocalDateTime statusChangedAt) {
+        if (status == null) {
+            // Defaulting would count the order as Pending and write that back on its next update
+            throw new IllegalArgumentException("Order " + orderId + " has no status");
+        }
+        Order order = new Order(orderId, status, orderTime != null ? orderTime : LocalDateTime.now());
+        order.customerName = customerName;
+        order.phone = phone;
+        order.address = address;
+        order.laundryType = laundryType;
+        order.service = service;
+        order.weight = weight;
+        order.totalCents = totalCents;
+        order.pickupTime = pickupTime;
+        order.customerId = customerId;
+        order.version = version;
+        order.statusChangedAt = statusChangedAt;
+        return order;
+    }
+
+    /**
+     * Creates an independent copy of this order, version included, so a
+     * caller's changes never reach the stored instance.
+     * @return Copy of this order
+     */
+    public Order copy() {
+        Order copy = new Order(orderId, status, orderTime);
+        copy.customerName = customerName;
+        copy.phone = phone;
+        copy.address = address;
+        copy.laundryType = laundryType;
+        copy.service = service;
+        copy.weight = weight;
+        copy.totalCents = totalCents;
+        copy.pickupTime = pickupTime;
+        copy.customerId = customerId;
+        copy.version = version;
+        copy.statusChangedAt = statusChangedAt;
+        return copy;
+    }
+
     // Getters
     public String getOrderId() { return orderId; }
     public String getCustomerName() { return customerName; }
     public String getPhone() { return phone; }
     public String getAddress() { return address; }
-    public String getLaundryType() { return laundryType; }
-    public String getService() { return service; }
-    public String getStatus() { return status; }
+    public String getLaundryType() { return laundryType != null ? laundryType.getLabel() : null; }
+    public String getService() { return service != null ? service.getLabel() : null; }
+    public String getStatus() { return status.getLabel(); }
+    public CatalogCode getLaundryTypeCode() { return laundryType; }
+    public CatalogCode getServiceCode() { return service; }
+    public OrderStatus getOrderStatus() { return status; }
     public double getWeight() { return weight; }
-    public double getTotal() { return total; }
+    public double getTotal() { return totalCents / 100.0; }
+    public long getTotalCents() { return totalCents; }
+    public Money getTotalAmount() { return Money.ofCents(totalCents); }
     public LocalDateTime getPickupTime() { return pickupTime; }
     public LocalDateTime getOrderTime() { return orderTime; }
     public int getCustomerId() { return customerId; }
+    public long getVersion() { return version; }
+    public LocalDateTime getStatusChangedAt() { return statusChangedAt != null ? statusChangedAt : orderTime; }
     
     // Setters with validation
     public void setCustomerName(String customerName) {
@@ -61,18 +134,33 @@ public class Order {
     
     public void setLaundryType(String laundryType) {
         if (laundryType != null && !laundryType.trim().isEmpty()) {
-            this.laundryType = laundryType;
+            this.laundryType = CatalogCode.of(laundryType);
         }
     }
     
     public void setService(String service) {
         if (service != null && !service.trim().isEmpty()) {
-            this.service = service;
+            this.service = CatalogCode.of(service);
         }
     }
     
+    /**
+     * Sets the status from its label. Blank labels are ignored.
+     * @param status Status label
+     * @throws IllegalArgumentException if the label is not a known status
+     */
     public void setStatus(String status) {
         if (status != null && !status.trim().isEmpty()) {
+            OrderStatus parsed = OrderStatus.fromLabel(status);
+            if (parsed == null) {
+                throw new IllegalArgumentException("Unknown order status: " + status);
+            }
+            this.status = parsed;
+        }
+    }
+    
+    public void setStatus(OrderStatus status) {
+        if (status != null) {
             this.status = status;
         }
     }
@@ -82,14 +170,32 @@ public class Order {
     }
     
     public void setTotal(double total) {
-        this.total = total;
+        this.totalCents = Math.round(total * 100);
+    }
+    
+    public void setTotal(Money total) {
+        this.totalCents = total.getCents();
     }
     
     public void setPickupTime(LocalDateTime pickupTime) {
         this.pickupTime = pickupTime;
     }
     
+    public void setOrderTime(LocalDateTime orderTime) {
+        if (orderTime != null) {
+            this.orderTime = orderTime;
+        }
+    }
+    
     public void setCustomerId(int customerId) {
         this.customerId = customerId;
     }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
+    public void setStatusChangedAt(LocalDateTime statusChangedAt) {
+        this.statusChangedAt = statusChangedAt;
+    }
 }
\ No newline at end of file
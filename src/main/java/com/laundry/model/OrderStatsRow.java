@@ -0,0 +1,59 @@
+package com.laundry.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the order rollups: order count, revenue and weight for the
+ * orders placed in one time bucket (an hour or a day) with a given service
+ * and current status. Also used for signed deltas applied to the rollups.
+ */
+public final class OrderStatsRow {
+    private final LocalDateTime bucket;
+    private final String service;
+    private final OrderStatus status;
+    private final long orderCount;
+    private final long revenueCents;
+    private final double weight;
+    
+    public OrderStatsRow(LocalDateTime bucket, String service, OrderStatus status,
+                         long orderCount, long revenueCents, double weight) {
+        this.bucket = bucket;
+        this.service = service;
+        this.status = status;
+        this.orderCount = orderCount;
+        this.revenueCents = revenueCents;
+        this.weight = weight;
+    }
+    
+    public LocalDateTime getBucket() { return bucket; }
+    public String getService() { return service; }
+    public OrderStatus getStatus() { return status; }
+    public long getOrderCount() { return orderCount; }
+    public long getRevenueCents() { return revenueCents; }
+    public Money getRevenue() { return Money.ofCents(revenueCents); }
+    public double getWeight() { return weight; }
+    
+    /**
+     * Adds another row's measures to this one, keeping this row's key.
+     * @param other Row or delta to add
+     * @return Combined row
+     */
+    public OrderStatsRow plus(OrderStatsRow other) {
+        return new OrderStatsRow(bucket, service, status,
+            orderCount + other.orderCount, revenueCents + other.revenueCents, weight + other.weight);
+    }
+    
+    /**
+     * Checks whether the row carries no orders and no revenue.
+     * @return true if every measure is zero
+     */
+    public boolean isEmpty() {
+        return orderCount == 0 && revenueCents == 0 && Math.abs(weight) < 1e-9;
+    }
+    
+    @Override
+    public String toString() {
+        return bucket + " " + service + " " + status + ": " + orderCount + " orders, "
+            + Money.format(revenueCents) + ", " + weight + " kg";
+    }
+}
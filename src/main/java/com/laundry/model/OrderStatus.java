@@ -0,0 +1,90 @@
+package com.laundry.model;
+
+/**
+ * Lifecycle status of a laundry order.
+ * Stored as its label in the database and compared by identity in memory.
+ */
+public enum OrderStatus {
+    PENDING("Pending"),
+    PROCESSING("Processing"),
+    READY("Ready"),
+    COMPLETED("Completed"),
+    CANCELLED("Cancelled");
+    
+    private static final OrderStatus[] VALUES = values();
+    
+    // Allowed moves as one bitmask per status, bit n set if VALUES[n] may follow.
+    // Orders only move forward, may skip stages, and can be cancelled until closed.
+    private static final int[] TRANSITIONS = new int[VALUES.length];
+    
+    static {
+        allow(PENDING, PROCESSING, READY, COMPLETED, CANCELLED);
+        allow(PROCESSING, READY, COMPLETED, CANCELLED);
+        allow(READY, COMPLETED, CANCELLED);
+    }
+    
+    private final String label;
+    
+    OrderStatus(String label) {
+        this.label = label;
+    }
+    
+    /**
+     * Gets the display and storage label of the status.
+     * @return Status label
+     */
+    public String getLabel() {
+        return label;
+    }
+    
+    /**
+     * Checks whether an order in this status is still being worked on.
+     * @return true unless the order is Completed or Cancelled
+     */
+    public boolean isOpen() {
+        return this != COMPLETED && this != CANCELLED;
+    }
+    
+    /**
+     * Checks whether an order may move from this status to another.
+     * Staying in the same status is always allowed.
+     * @param next Status to move to
+     * @return true if the transition table allows the move
+     */
+    public boolean canMoveTo(OrderStatus next) {
+        return next == this || (TRANSITIONS[ordinal()] & (1 << next.ordinal())) != 0;
+    }
+    
+    /**
+     * Resolves a status from its label, ignoring case.
+     * The legacy label "In Progress" maps to PROCESSING.
+     * @param label Status label
+     * @return Matching status, or null if the label is blank or unknown
+     */
+    public static OrderStatus fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        String trimmed = label.trim();
+        for (OrderStatus status : VALUES) {
+            if (status.label.equalsIgnoreCase(trimmed)) {
+                return status;
+            }
+        }
+        if ("In Progress".equalsIgnoreCase(trimmed)) {
+            return PROCESSING;
+        }
+        return null;
+    }
+    
+    private static void allow(OrderStatus from, OrderStatus... to) {
+        for (OrderStatus next : to) {
+            TRANSITIONS[from.ordinal()] |= 1 << next.ordinal();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return label;
+    }
+}
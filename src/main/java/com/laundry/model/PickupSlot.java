@@ -0,0 +1,39 @@
+package com.laundry.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A pickup window and how many more pickups it can take.
+ */
+public final class PickupSlot {
+    private static final DateTimeFormatter LABEL_FORMAT = DateTimeFormatter.ofPattern("EEE dd MMM HH:mm");
+    private static final DateTimeFormatter END_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final int remaining;
+
+    public PickupSlot(LocalDateTime start, LocalDateTime end, int remaining) {
+        this.start = start;
+        this.end = end;
+        this.remaining = remaining;
+    }
+
+    public LocalDateTime getStart() { return start; }
+    public LocalDateTime getEnd() { return end; }
+    public int getRemaining() { return remaining; }
+
+    /**
+     * Gets the slot as shown in pickup pickers, e.g. "Mon 04 Mar 10:00-11:00".
+     * @return Display label
+     */
+    public String getLabel() {
+        return start.format(LABEL_FORMAT) + "-" + end.format(END_FORMAT);
+    }
+
+    @Override
+    public String toString() {
+        return getLabel() + " (" + remaining + " left)";
+    }
+}
@@ -0,0 +1,60 @@
+package com.laundry.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One immutable entry of the loyalty points ledger. Earned points are
+ * positive, redeemed points negative, adjustments either. Earn and redeem
+ * entries are keyed by the order they belong to, so each order earns and
+ * redeems at most once.
+ */
+public final class PointsEntry {
+
+    /**
+     * Kind of ledger entry.
+     */
+    public enum Type {
+        EARN, REDEEM, ADJUST
+    }
+
+    private final long entryId;
+    private final String username;
+    private final String orderId;
+    private final Type type;
+    private final int points;
+    private final LocalDateTime createdAt;
+
+    public PointsEntry(long entryId, String username, String orderId, Type type, int points,
+                       LocalDateTime createdAt) {
+        this.entryId = entryId;
+        this.username = username;
+        this.orderId = orderId;
+        this.type = type;
+        this.points = points;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Creates an unsaved entry; the ledger assigns its ID.
+     * @param username Member the points belong to
+     * @param orderId Order the entry belongs to, null for adjustments
+     * @param type Entry kind
+     * @param points Signed points
+     * @return New entry
+     */
+    public static PointsEntry of(String username, String orderId, Type type, int points) {
+        return new PointsEntry(0, username, orderId, type, points, LocalDateTime.now());
+    }
+
+    public long getEntryId() { return entryId; }
+    public String getUsername() { return username; }
+    public String getOrderId() { return orderId; }
+    public Type getType() { return type; }
+    public int getPoints() { return points; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    @Override
+    public String toString() {
+        return createdAt + " " + type + " " + points + (orderId != null ? " (" + orderId + ")" : "");
+    }
+}
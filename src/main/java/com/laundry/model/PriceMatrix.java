@@ -0,0 +1,204 @@
+package com.laundry.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Immutable price table of laundry type x service tier, plus weight brackets.
+ * Lookups go through arrays indexed by {@link CatalogCode#getCode()}, so
+ * quoting an order does no hashing or string comparison.
+ */
+public final class PriceMatrix {
+    private static final int MISSING = -1;
+    
+    private final int[] rowByCode;
+    private final int[] columnByCode;
+    private final int columns;
+    private final int fallbackColumn;
+    private final long[] centsPerKg;
+    private final long defaultCentsPerKg;
+    private final double[] bracketMinKg;
+    private final int[] bracketPercent;
+    
+    private PriceMatrix(Builder builder) {
+        List<CatalogCode> rows = builder.laundryTypes;
+        List<CatalogCode> cols = builder.tiers;
+        this.columns = cols.size();
+        this.rowByCode = indexOf(rows);
+        this.columnByCode = indexOf(cols);
+        this.fallbackColumn = Math.max(cols.indexOf(CatalogCode.REGULAR), 0);
+        this.centsPerKg = new long[rows.size() * columns];
+        Arrays.fill(centsPerKg, MISSING);
+        for (Entry entry : builder.entries) {
+            centsPerKg[rows.indexOf(entry.laundryType) * columns + cols.indexOf(entry.tier)] = entry.centsPerKg;
+        }
+        this.defaultCentsPerKg = builder.defaultCentsPerKg;
+        
+        builder.brackets.sort((a, b) -> Double.compare(a[0], b[0]));
+        this.bracketMinKg = new double[builder.brackets.size()];
+        this.bracketPercent = new int[builder.brackets.size()];
+        for (int i = 0; i < bracketMinKg.length; i++) {
+            bracketMinKg[i] = builder.brackets.get(i)[0];
+            bracketPercent[i] = (int) builder.brackets.get(i)[1];
+        }
+    }
+    
+    /**
+     * Gets the price per kg in cents for a laundry type and service tier.
+     * Arguments given the other way round (tier first) are accepted too.
+     * @param laundryType Laundry type, e.g. Cuci Setrika or Wash &amp; Dry
+     * @param tier Service tier, e.g. Regular or Express
+     * @return Price per kg in cents, or the default price for unknown combinations.
+     *         An unknown tier is priced as Regular.
+     */
+    public long centsPerKg(CatalogCode laundryType, CatalogCode tier) {
+        if (isTier(laundryType) && !isTier(tier)) {
+            CatalogCode swap = laundryType;
+            laundryType = tier;
+            tier = swap;
+        }
+        int row = lookup(rowByCode, laundryType);
+        if (row == MISSING) {
+            return defaultCentsPerKg;
+        }
+        int column = lookup(columnByCode, tier);
+        long price = centsPerKg[row * columns + (column == MISSING ? fallbackColumn : column)];
+        return price == MISSING ? defaultCentsPerKg : price;
+    }
+    
+    /**
+     * Quotes the total for an order of the given weight.
+     * @param laundryType Laundry type
+     * @param tier Service tier
+     * @param weight Weight in kg
+     * @return Total in cents, rounded half up
+     */
+    public long quoteCents(CatalogCode laundryType, CatalogCode tier, double weight) {
+        return Math.round(centsPerKg(laundryType, tier) * weight * bracketPercent(weight) / 100.0);
+    }
+    
+    /**
+     * Gets the percentage of the list price charged at a weight.
+     * @param weight Weight in kg
+     * @return Percentage, 100 when no bracket applies
+     */
+    public int bracketPercent(double weight) {
+        int percent = 100;
+        for (int i = 0; i < bracketMinKg.length && weight >= bracketMinKg[i]; i++) {
+            percent = bracketPercent[i];
+        }
+        return percent;
+    }
+    
+    public boolean isTier(CatalogCode code) {
+        return lookup(columnByCode, code) != MISSING;
+    }
+    
+    private static int lookup(int[] index, CatalogCode code) {
+        if (code == null || code.getCode() >= index.length) {
+            return MISSING;
+        }
+        return index[code.getCode()];
+    }
+    
+    private static int[] indexOf(List<CatalogCode> codes) {
+        int size = 0;
+        for (CatalogCode code : codes) {
+            size = Math.max(size, code.getCode() + 1);
+        }
+        int[] index = new int[size];
+        Arrays.fill(index, MISSING);
+        for (int i = 0; i < codes.size(); i++) {
+            index[codes.get(i).getCode()] = i;
+        }
+        return index;
+    }
+    
+    /**
+     * Parses a matrix from properties of the form
+     * {@code price.N=laundryType,tier,pricePerKg}, {@code bracket.N=minKg,percent}
+     * and {@code price.default=pricePerKg}. Prices are in Rupiah.
+     * @param properties Source properties
+     * @return Parsed matrix
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public static PriceMatrix fromProperties(Properties properties) {
+        Builder builder = builder()
+            .defaultPrice(Money.ofRupiah(Double.parseDouble(properties.getProperty("price.default", "5000"))));
+        
+        for (String key : properties.stringPropertyNames()) {
+            String[] parts = properties.getProperty(key).split(",");
+            if (key.startsWith("price.") && !key.equals("price.default")) {
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Malformed price entry " + key);
+                }
+                builder.price(parts[0].trim(), parts[1].trim(), Money.ofRupiah(Double.parseDouble(parts[2].trim())));
+            } else if (key.startsWith("bracket.")) {
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Malformed bracket entry " + key);
+                }
+                builder.bracket(Double.parseDouble(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+        }
+        return builder.build();
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Collects prices before freezing them into a PriceMatrix.
+     */
+    public static final class Builder {
+        private final List<CatalogCode> laundryTypes = new ArrayList<>();
+        private final List<CatalogCode> tiers = new ArrayList<>();
+        private final List<Entry> entries = new ArrayList<>();
+        private final List<double[]> brackets = new ArrayList<>();
+        private long defaultCentsPerKg = Money.ofRupiah(5000).getCents();
+        
+        private Builder() {
+        }
+        
+        public Builder price(String laundryType, String tier, Money pricePerKg) {
+            CatalogCode type = CatalogCode.of(laundryType);
+            CatalogCode level = CatalogCode.of(tier);
+            if (!laundryTypes.contains(type)) {
+                laundryTypes.add(type);
+            }
+            if (!tiers.contains(level)) {
+                tiers.add(level);
+            }
+            entries.add(new Entry(type, level, pricePerKg.getCents()));
+            return this;
+        }
+        
+        public Builder bracket(double minKg, int percent) {
+            brackets.add(new double[]{minKg, percent});
+            return this;
+        }
+        
+        public Builder defaultPrice(Money pricePerKg) {
+            this.defaultCentsPerKg = pricePerKg.getCents();
+            return this;
+        }
+        
+        public PriceMatrix build() {
+            return new PriceMatrix(this);
+        }
+    }
+    
+    private static final class Entry {
+        final CatalogCode laundryType;
+        final CatalogCode tier;
+        final long centsPerKg;
+        
+        Entry(CatalogCode laundryType, CatalogCode tier, long centsPerKg) {
+            this.laundryType = laundryType;
+            this.tier = tier;
+            this.centsPerKg = centsPerKg;
+        }
+    }
+}
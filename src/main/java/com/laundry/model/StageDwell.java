@@ -0,0 +1,40 @@
+package com.laundry.model;
+
+import java.time.Duration;
+
+/**
+ * Time orders spent in one status over a reporting window: how many stints
+ * ended in the window, their total and their longest.
+ */
+public final class StageDwell {
+    private final OrderStatus status;
+    private final long count;
+    private final long totalMillis;
+    private final long maxMillis;
+
+    public StageDwell(OrderStatus status, long count, long totalMillis, long maxMillis) {
+        this.status = status;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Adds one stint in the status.
+     * @param dwell Time spent in the status
+     * @return New totals
+     */
+    public StageDwell plus(Duration dwell) {
+        long millis = dwell.toMillis();
+        return new StageDwell(status, count + 1, totalMillis + millis, Math.max(maxMillis, millis));
+    }
+
+    public OrderStatus getStatus() { return status; }
+    public long getCount() { return count; }
+    public Duration getTotal() { return Duration.ofMillis(totalMillis); }
+    public Duration getMax() { return Duration.ofMillis(maxMillis); }
+
+    public Duration getAverage() {
+        return count == 0 ? Duration.ZERO : Duration.ofMillis(totalMillis / count);
+    }
+}
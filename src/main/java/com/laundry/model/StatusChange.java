@@ -0,0 +1,40 @@
+package com.laundry.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * One immutable row of the order status history. Besides the move itself it
+ * records when the order entered the status it is leaving, so the time spent
+ * in that stage is known from the row alone.
+ */
+public final class StatusChange {
+    private final String orderId;
+    private final OrderStatus fromStatus;
+    private final OrderStatus toStatus;
+    private final LocalDateTime enteredAt;
+    private final LocalDateTime changedAt;
+
+    public StatusChange(String orderId, OrderStatus fromStatus, OrderStatus toStatus,
+                        LocalDateTime enteredAt, LocalDateTime changedAt) {
+        this.orderId = orderId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.enteredAt = enteredAt;
+        this.changedAt = changedAt;
+    }
+
+    public String getOrderId() { return orderId; }
+    public OrderStatus getFromStatus() { return fromStatus; }
+    public OrderStatus getToStatus() { return toStatus; }
+    public LocalDateTime getEnteredAt() { return enteredAt; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+
+    /**
+     * Gets how long the order stayed in the status it left.
+     * @return Time between entering and leaving the from-status
+     */
+    public Duration getDwell() {
+        return Duration.between(enteredAt, changedAt);
+    }
+}
@@ -12,6 +12,8 @@ public class User {
     private String address;
     private String role;
     private int points;
+    // Row version for optimistic concurrency, bumped by every successful update
+    private long version;
     
     public User(String username, String password, String fullName, String phone, String address, String role) {
         this.username = username;
@@ -31,6 +33,7 @@ public class User {
     public String getAddress() { return address; }
     public String getRole() { return role; }
     public int getPoints() { return points; }
+    public long getVersion() { return version; }
     
     // Setters with validation
     public void setPassword(String password) {
@@ -57,6 +60,10 @@ public class User {
         }
     }
     
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
     public void addPoints(int points) {
         if (points > 0) {
             this.points += points;
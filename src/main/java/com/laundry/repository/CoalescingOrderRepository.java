@@ -0,0 +1,208 @@
+package com.laundry.repository;
+
+import com.laundry.config.TransactionContext;
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sends list, count and total reads through a {@link SingleFlight}, so a
+ * dashboard refresh, the auto-refresh timer and a panel switch firing the
+ * same query at once run it once. Writes go straight to the delegate and
+ * invalidate the shared results; a write inside a unit of work stops all
+ * sharing until it commits or rolls back, so no other caller keeps a result
+ * read before the commit. Reads inside a unit of work are never shared:
+ * they may see that transaction's uncommitted rows.
+ * <p>
+ * Single-order lookups, paged queries and streams pass through unchanged;
+ * they are rarely identical across callers.
+ */
+public class CoalescingOrderRepository implements OrderRepository {
+    private static final UnaryOperator<Long> SAME_LONG = UnaryOperator.identity();
+    private static final UnaryOperator<Money> SAME_MONEY = UnaryOperator.identity();
+
+    private final OrderRepository delegate;
+    private final SingleFlight flights;
+
+    public CoalescingOrderRepository(OrderRepository delegate, SingleFlight flights) {
+        this.delegate = delegate;
+        this.flights = flights;
+    }
+
+    /**
+     * Gets the repository reads are shared in front of.
+     * @return Wrapped repository
+     */
+    public OrderRepository getDelegate() {
+        return delegate;
+    }
+
+    public SingleFlight getSingleFlight() {
+        return flights;
+    }
+
+    @Override
+    public void addOrder(Order order) {
+        write(() -> {
+            delegate.addOrder(order);
+            return null;
+        });
+    }
+
+    @Override
+    public void save(Order order) {
+        write(() -> {
+            delegate.save(order);
+            return null;
+        });
+    }
+
+    @Override
+    public void saveAll(List<Order> orders) {
+        write(() -> {
+            delegate.saveAll(orders);
+            return null;
+        });
+    }
+
+    @Override
+    public UpdateResult updateOrder(Order order) {
+        return write(() -> delegate.updateOrder(order));
+    }
+
+    @Override
+    public Set<String> updateStatuses(Collection<Order> orders, OrderStatus status, LocalDateTime changedAt) {
+        return write(() -> delegate.updateStatuses(orders, status, changedAt));
+    }
+
+    @Override
+    public List<Order> getAllOrders() {
+        return shareOrders(delegate::getAllOrders, "getAllOrders");
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return shareOrders(delegate::findAll, "findAll");
+    }
+
+    @Override
+    public List<Order> getOrdersByCustomer(String username) {
+        return shareOrders(() -> delegate.getOrdersByCustomer(username), "getOrdersByCustomer", username);
+    }
+
+    @Override
+    public Order findById(String orderId) {
+        return delegate.findById(orderId);
+    }
+
+    @Override
+    public List<Order> findByIds(Collection<String> orderIds) {
+        return delegate.findByIds(orderIds);
+    }
+
+    @Override
+    public List<Order> findByCustomerName(String customerName) {
+        return shareOrders(() -> delegate.findByCustomerName(customerName), "findByCustomerName", customerName);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return shareOrders(() -> delegate.findByStatus(status), "findByStatus", status);
+    }
+
+    @Override
+    public void streamOrders(OrderFilter filter, Consumer<Order> sink) {
+        delegate.streamOrders(filter, sink);
+    }
+
+    @Override
+    public OrderPage query(OrderQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public List<Order> findCustomerHistory(String customerName) {
+        return shareOrders(() -> delegate.findCustomerHistory(customerName), "findCustomerHistory", customerName);
+    }
+
+    @Override
+    public List<Order> search(String query, int limit) {
+        return shareOrders(() -> delegate.search(query, limit), "search", query, limit);
+    }
+
+    @Override
+    public int archiveOrders(Set<OrderStatus> statuses, LocalDateTime olderThan, int limit) {
+        return write(() -> delegate.archiveOrders(statuses, olderThan, limit));
+    }
+
+    @Override
+    public long countArchived() {
+        return share(delegate::countArchived, SAME_LONG, "countArchived");
+    }
+
+    @Override
+    public long countAll() {
+        return share(delegate::countAll, SAME_LONG, "countAll");
+    }
+
+    @Override
+    public long countByStatus(OrderStatus status) {
+        return share(() -> delegate.countByStatus(status), SAME_LONG, "countByStatus", status);
+    }
+
+    @Override
+    public Money sumTotals() {
+        return share(delegate::sumTotals, SAME_MONEY, "sumTotals");
+    }
+
+    @Override
+    public long[] revenueCentsByDay(LocalDate from, int days) {
+        return share(() -> delegate.revenueCentsByDay(from, days), long[]::clone, "revenueCentsByDay", from, days);
+    }
+
+    @Override
+    public String generateOrderId() {
+        return delegate.generateOrderId();
+    }
+
+    private <T> T write(Supplier<T> write) {
+        if (!TransactionContext.isActive()) {
+            T result = write.get();
+            flights.invalidate();
+            return result;
+        }
+        flights.beginWrite();
+        TransactionContext.afterCompletion(flights::endWrite);
+        return write.get();
+    }
+
+    private List<Order> shareOrders(Supplier<List<Order>> read, Object... key) {
+        return share(read, CoalescingOrderRepository::copyOrders, key);
+    }
+
+    private <T> T share(Supplier<T> read, UnaryOperator<T> copy, Object... key) {
+        if (TransactionContext.isActive()) {
+            return read.get();
+        }
+        // Keyed apart from user reads sharing the same flights
+        return flights.execute(Arrays.asList("orders", Arrays.asList(key)), read, copy);
+    }
+
+    private static List<Order> copyOrders(List<Order> orders) {
+        List<Order> copies = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            copies.add(order.copy());
+        }
+        return copies;
+    }
+}
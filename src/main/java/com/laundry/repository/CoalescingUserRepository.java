@@ -0,0 +1,105 @@
+package com.laundry.repository;
+
+import com.laundry.config.TransactionContext;
+import com.laundry.model.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sends user reads through a {@link SingleFlight}, so identical concurrent
+ * reads such as the dashboard's member list run once. Writes go straight to
+ * the delegate and invalidate the shared results, after commit when they
+ * run inside a unit of work, as in {@link CoalescingOrderRepository}.
+ */
+public class CoalescingUserRepository implements UserRepository {
+    private final UserRepository delegate;
+    private final SingleFlight flights;
+
+    public CoalescingUserRepository(UserRepository delegate, SingleFlight flights) {
+        this.delegate = delegate;
+        this.flights = flights;
+    }
+
+    /**
+     * Gets the repository reads are shared in front of.
+     * @return Wrapped repository
+     */
+    public UserRepository getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void addUser(User user) {
+        write(() -> {
+            delegate.addUser(user);
+            return null;
+        });
+    }
+
+    @Override
+    public User getUser(String username) {
+        return share(() -> delegate.getUser(username), CoalescingUserRepository::copy, "getUser", username);
+    }
+
+    @Override
+    public boolean userExists(String username) {
+        return share(() -> delegate.userExists(username), UnaryOperator.identity(), "userExists", username);
+    }
+
+    @Override
+    public Collection<User> getAllMembers() {
+        return share(delegate::getAllMembers, CoalescingUserRepository::copyUsers, "getAllMembers");
+    }
+
+    @Override
+    public User findMemberByPhone(String phone) {
+        return share(() -> delegate.findMemberByPhone(phone), CoalescingUserRepository::copy, "findMemberByPhone", phone);
+    }
+
+    @Override
+    public UpdateResult updateUser(User user) {
+        return write(() -> delegate.updateUser(user));
+    }
+
+    private <T> T write(Supplier<T> write) {
+        if (!TransactionContext.isActive()) {
+            T result = write.get();
+            flights.invalidate();
+            return result;
+        }
+        flights.beginWrite();
+        TransactionContext.afterCompletion(flights::endWrite);
+        return write.get();
+    }
+
+    private <T> T share(Supplier<T> read, UnaryOperator<T> copy, Object... key) {
+        if (TransactionContext.isActive()) {
+            return read.get();
+        }
+        // Keyed apart from order reads sharing the same flights
+        return flights.execute(Arrays.asList("users", Arrays.asList(key)), read, copy);
+    }
+
+    private static Collection<User> copyUsers(Collection<User> users) {
+        List<User> copies = new ArrayList<>(users.size());
+        for (User user : users) {
+            copies.add(copy(user));
+        }
+        return copies;
+    }
+
+    private static User copy(User user) {
+        if (user == null) {
+            return null;
+        }
+        User copy = new User(user.getUsername(), user.getPassword(), user.getFullName(), user.getPhone(),
+            user.getAddress(), user.getRole());
+        copy.addPoints(user.getPoints());
+        copy.setVersion(user.getVersion());
+        return copy;
+    }
+}
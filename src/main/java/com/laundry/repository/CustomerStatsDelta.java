@@ -0,0 +1,76 @@
+package com.laundry.repository;
+
+import com.laundry.model.CustomerStats;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates the changes a write makes to the per-customer summaries, so one
+ * operation updates each affected customer row once.
+ */
+public final class CustomerStatsDelta {
+    private final Map<String, CustomerStats> byCustomer = new LinkedHashMap<>();
+
+    /**
+     * Counts a new order for its customer.
+     * @param order Order being added
+     * @return This delta
+     */
+    public CustomerStatsDelta add(Order order) {
+        OrderStatus status = order.getOrderStatus();
+        return merge(new CustomerStats(order.getCustomerName(), 1,
+            status != OrderStatus.CANCELLED ? order.getTotalCents() : 0,
+            status.isOpen() ? 1 : 0,
+            order.getOrderId(), order.getOrderTime()));
+    }
+
+    /**
+     * Moves an order's open count and spend from its previous status to its current one.
+     * @param order Order whose status changed
+     * @param previous Status before the change
+     * @return This delta
+     */
+    public CustomerStatsDelta moveStatus(Order order, OrderStatus previous) {
+        OrderStatus current = order.getOrderStatus();
+        if (previous == current) {
+            return this;
+        }
+        long open = (current.isOpen() ? 1 : 0) - (previous.isOpen() ? 1 : 0);
+        long spend = 0;
+        if (current == OrderStatus.CANCELLED) {
+            spend = -order.getTotalCents();
+        } else if (previous == OrderStatus.CANCELLED) {
+            spend = order.getTotalCents();
+        }
+        return merge(new CustomerStats(order.getCustomerName(), 0, spend, open, null, null));
+    }
+
+    public boolean isEmpty() {
+        return byCustomer.isEmpty();
+    }
+
+    /**
+     * Gets the change per customer, omitting customers whose changes cancel out.
+     * @return Delta rows
+     */
+    public List<CustomerStats> rows() {
+        List<CustomerStats> rows = new ArrayList<>(byCustomer.size());
+        for (CustomerStats row : byCustomer.values()) {
+            if (!row.isEmpty()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private CustomerStatsDelta merge(CustomerStats row) {
+        if (row.getCustomerName() != null) {
+            byCustomer.merge(row.getCustomerName(), row, CustomerStats::plus);
+        }
+        return this;
+    }
+}
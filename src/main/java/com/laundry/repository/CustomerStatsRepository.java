@@ -0,0 +1,12 @@
+package com.laundry.repository;
+
+import com.laundry.model.CustomerStats;
+
+/**
+ * Repository interface for the per-customer order summary (customer_stats).
+ */
+public interface CustomerStatsRepository {
+    void apply(CustomerStatsDelta delta);
+    CustomerStats find(String customerName);
+    void rebuild(OrderRepository orders);
+}
@@ -0,0 +1,124 @@
+package com.laundry.repository;
+
+import com.laundry.config.DatabaseConfig;
+import com.laundry.model.CustomerStats;
+import com.laundry.model.Money;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Database implementation of CustomerStatsRepository.
+ * Deltas are applied as batched {@code INSERT ... ON DUPLICATE KEY UPDATE}
+ * increments, so inside a unit of work they commit or roll back together
+ * with the order write that caused them.
+ */
+public class DatabaseCustomerStatsRepository implements CustomerStatsRepository {
+    // last_order_id is assigned before last_order_time so it still compares against the old time
+    private static final String UPSERT_SQL = "INSERT INTO customer_stats "
+        + "(customer_name, order_count, lifetime_spend, open_orders, last_order_id, last_order_time) "
+        + "VALUES (?, ?, ?, ?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+        + "lifetime_spend = lifetime_spend + VALUES(lifetime_spend), "
+        + "open_orders = open_orders + VALUES(open_orders), "
+        + "last_order_id = IF(VALUES(last_order_time) IS NOT NULL "
+        + "AND (last_order_time IS NULL OR VALUES(last_order_time) >= last_order_time), "
+        + "VALUES(last_order_id), last_order_id), "
+        + "last_order_time = GREATEST(COALESCE(last_order_time, VALUES(last_order_time)), "
+        + "COALESCE(VALUES(last_order_time), last_order_time))";
+
+    private final DatabaseConfig databaseConfig;
+
+    public DatabaseCustomerStatsRepository() {
+        this.databaseConfig = DatabaseConfig.getInstance();
+    }
+
+    @Override
+    public void apply(CustomerStatsDelta delta) {
+        List<CustomerStats> rows = delta.rows();
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_SQL)) {
+
+            for (CustomerStats row : rows) {
+                stmt.setString(1, row.getCustomerName());
+                stmt.setLong(2, row.getOrderCount());
+                stmt.setBigDecimal(3, row.getLifetimeSpend().toBigDecimal());
+                stmt.setLong(4, row.getOpenOrders());
+                stmt.setString(5, row.getLastOrderId());
+                stmt.setTimestamp(6, row.getLastOrderTime() != null ? Timestamp.valueOf(row.getLastOrderTime()) : null);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+        } catch (SQLException e) {
+            System.err.println("Error updating customer stats: " + e.getMessage());
+            throw new RuntimeException("Failed to update customer stats", e);
+        }
+    }
+
+    @Override
+    public CustomerStats find(String customerName) {
+        String sql = "SELECT * FROM customer_stats WHERE customer_name = ?";
+
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, customerName);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                Timestamp lastOrderTime = rs.getTimestamp("last_order_time");
+                return new CustomerStats(
+                    rs.getString("customer_name"),
+                    rs.getLong("order_count"),
+                    Money.of(rs.getBigDecimal("lifetime_spend")).getCents(),
+                    rs.getLong("open_orders"),
+                    rs.getString("last_order_id"),
+                    lastOrderTime != null ? lastOrderTime.toLocalDateTime() : null);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading customer stats: " + e.getMessage());
+            throw new RuntimeException("Failed to read customer stats", e);
+        }
+
+        return CustomerStats.empty(customerName);
+    }
+
+    /**
+     * Recomputes every summary from the live and archived orders with set-based SQL.
+     * Runs as a delete and insert rather than TRUNCATE so that, inside a
+     * unit of work, readers never see empty summaries.
+     * @param orders Unused; the database summaries always rebuild from the order tables
+     */
+    @Override
+    public void rebuild(OrderRepository orders) {
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            stmt.executeUpdate("DELETE FROM customer_stats");
+            stmt.executeUpdate("INSERT INTO customer_stats "
+                + "(customer_name, order_count, lifetime_spend, open_orders, last_order_id, last_order_time) "
+                + "SELECT customer_name, COUNT(*), "
+                + "SUM(CASE WHEN status <> 'Cancelled' THEN total ELSE 0 END), "
+                + "SUM(CASE WHEN status NOT IN ('Completed', 'Cancelled') THEN 1 ELSE 0 END), "
+                + "SUBSTRING_INDEX(GROUP_CONCAT(order_id ORDER BY order_time DESC), ',', 1), "
+                + "MAX(order_time) FROM ("
+                + "SELECT customer_name, order_id, status, total, order_time FROM orders UNION ALL "
+                + "SELECT customer_name, order_id, status, total, order_time FROM orders_archive) o "
+                + "GROUP BY customer_name");
+
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding customer stats: " + e.getMessage());
+            throw new RuntimeException("Failed to rebuild customer stats", e);
+        }
+    }
+}
@@ -1,25 +1,110 @@
 package com.laundry.repository;
 
 import com.laundry.config.DatabaseConfig;
+import com.laundry.model.Money;
 import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Database implementation of OrderRepository.
  * Uses MySQL database with prepared statements for secure data access.
+ * List, search and dashboard reads may be served by the read replica; single
+ * order lookups, which usually precede a write, always read the primary.
+ * Every statement is declared once below and run through {@link SqlExecutor}.
  */
 public class DatabaseOrderRepository implements OrderRepository {
+    private static final int ID_LIST_CHUNK = 500;
+    
+    private static final SqlStatement INSERT = SqlStatement.primary("orders.insert",
+        "INSERT INTO orders (order_id, customer_name, phone, address, laundry_type, service, status, weight, total, pickup_time, order_time, customer_id, status_changed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+    private static final SqlStatement FIND_ALL = SqlStatement.replicaSafe("orders.findAll",
+        "SELECT * FROM orders ORDER BY order_time DESC");
+    private static final SqlStatement FIND_BY_ID = SqlStatement.primary("orders.findById",
+        "SELECT * FROM orders WHERE order_id = ?");
+    private static final SqlStatement FIND_BY_CUSTOMER = SqlStatement.replicaSafe("orders.findByCustomer",
+        "SELECT * FROM orders WHERE customer_name = ? ORDER BY order_time DESC");
+    private static final SqlStatement FIND_BY_STATUS = SqlStatement.replicaSafe("orders.findByStatus",
+        "SELECT * FROM orders WHERE status = ? ORDER BY order_time DESC");
+    private static final SqlStatement COUNT_ALL = SqlStatement.replicaSafe("orders.countAll",
+        "SELECT COUNT(*) FROM orders");
+    private static final SqlStatement COUNT_BY_STATUS = SqlStatement.replicaSafe("orders.countByStatus",
+        "SELECT COUNT(*) FROM orders WHERE status = ?");
+    private static final SqlStatement SUM_TOTALS = SqlStatement.replicaSafe("orders.sumTotals",
+        "SELECT COALESCE(SUM(total), 0) FROM orders");
+    private static final SqlStatement REVENUE_BY_DAY = SqlStatement.replicaSafe("orders.revenueByDay",
+        "SELECT DATE(order_time) AS day, SUM(total) AS revenue FROM orders " +
+        "WHERE order_time >= ? AND order_time < ? GROUP BY DATE(order_time)");
+    // Count both tiers so IDs of archived orders are never handed out again
+    private static final SqlStatement NEXT_ID = SqlStatement.primary("orders.nextId",
+        "SELECT (SELECT COUNT(*) FROM orders) + (SELECT COUNT(*) FROM orders_archive) + 1 as next_id");
+    // The version check rides on the update itself: no rows matched means a conflict
+    private static final SqlStatement UPDATE = SqlStatement.primary("orders.update",
+        "UPDATE orders SET customer_name = ?, phone = ?, address = ?, laundry_type = ?, service = ?, status = ?, weight = ?, total = ?, pickup_time = ?, customer_id = ?, status_changed_at = ?, version = version + 1 WHERE order_id = ? AND version = ?");
+    private static final SqlStatement DELETE = SqlStatement.primary("orders.delete",
+        "DELETE FROM orders WHERE order_id = ?");
+    private static final SqlStatement FIND_HISTORY = SqlStatement.primary("orders.findCustomerHistory",
+        "SELECT * FROM orders WHERE customer_name = ? "
+        + "UNION ALL SELECT * FROM orders_archive WHERE customer_name = ? "
+        + "ORDER BY order_time DESC");
+    // Search columns in rank order; each has an index a prefix LIKE can use
+    private static final SqlStatement[] SEARCH = {
+        SqlStatement.replicaSafe("orders.searchById",
+            "SELECT * FROM orders WHERE order_id LIKE ? ORDER BY order_time DESC LIMIT ?"),
+        SqlStatement.replicaSafe("orders.searchByPhone",
+            "SELECT * FROM orders WHERE phone LIKE ? ORDER BY order_time DESC LIMIT ?"),
+        SqlStatement.replicaSafe("orders.searchByName",
+            "SELECT * FROM orders WHERE customer_name LIKE ? ORDER BY order_time DESC LIMIT ?")
+    };
+    private static final SqlStatement COUNT_ARCHIVED = SqlStatement.primary("orders.countArchived",
+        "SELECT COUNT(*) FROM orders_archive");
+    
+    // Built per call; the SQL here is the shape, withSql supplies the actual text
+    private static final SqlStatement ARCHIVE_SELECT = SqlStatement.primary("orders.archive.select",
+        "SELECT order_id FROM orders WHERE status IN (?) AND order_time < ? ORDER BY order_time LIMIT ?");
+    private static final SqlStatement ARCHIVE_COPY = SqlStatement.primary("orders.archive.copy",
+        "INSERT IGNORE INTO orders_archive SELECT * FROM orders WHERE order_id IN (?)");
+    private static final SqlStatement ARCHIVE_DELETE = SqlStatement.primary("orders.archive.delete",
+        "DELETE FROM orders WHERE order_id IN (?)");
+    private static final SqlStatement FIND_BY_IDS = SqlStatement.primary("orders.findByIds",
+        "SELECT * FROM orders WHERE order_id IN (?)");
+    private static final SqlStatement UPDATE_STATUSES = SqlStatement.primary("orders.updateStatuses",
+        "UPDATE orders SET status = ?, status_changed_at = ?, version = version + 1 WHERE order_id = ? AND version = ?");
+    private static final SqlStatement STREAM = SqlStatement.primary("orders.stream",
+        "SELECT * FROM orders WHERE 1 = 1 ORDER BY order_time");
+    private static final SqlStatement QUERY_COUNT = SqlStatement.replicaSafe("orders.query.count",
+        "SELECT COUNT(*) FROM orders WHERE 1 = 1");
+    private static final SqlStatement QUERY_PAGE = SqlStatement.replicaSafe("orders.query.page",
+        "SELECT * FROM orders WHERE 1 = 1 ORDER BY order_time DESC LIMIT ? OFFSET ?");
+    
     private final DatabaseConfig databaseConfig;
+    private final SqlExecutor sql;
     
     public DatabaseOrderRepository() {
-        this.databaseConfig = DatabaseConfig.getInstance();
+        this(DatabaseConfig.getInstance());
+    }
+    
+    /**
+     * Creates a repository over a particular pool, such as a branch's shard.
+     * @param databaseConfig Pool holding the orders
+     */
+    public DatabaseOrderRepository(DatabaseConfig databaseConfig) {
+        this.databaseConfig = databaseConfig;
+        this.sql = new SqlExecutor(databaseConfig);
     }
     
     @Override
@@ -29,32 +114,9 @@ public class DatabaseOrderRepository implements OrderRepository {
     
     @Override
     public void save(Order order) {
-        String sql = "INSERT INTO orders (order_id, customer_name, phone, address, laundry_type, service, status, weight, total, pickup_time, order_time, customer_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, order.getOrderId());
-            stmt.setString(2, order.getCustomerName());
-            stmt.setString(3, order.getPhone());
-            stmt.setString(4, order.getAddress());
-            stmt.setString(5, order.getLaundryType());
-            stmt.setString(6, order.getService());
-            stmt.setString(7, order.getStatus());
-            stmt.setDouble(8, order.getWeight());
-            stmt.setDouble(9, order.getTotal());
-            
-            // Handle pickup time (can be null)
-            if (order.getPickupTime() != null) {
-                stmt.setTimestamp(10, Timestamp.valueOf(order.getPickupTime()));
-            } else {
-                stmt.setTimestamp(10, null);
-            }
-            
-            stmt.setTimestamp(11, Timestamp.valueOf(order.getOrderTime()));
-            stmt.setInt(12, order.getCustomerId());
-            
-            stmt.executeUpdate();
+        try {
+            sql.update(INSERT, stmt -> bindInsert(stmt, order));
+            databaseConfig.recordWrite();
             
         } catch (SQLException e) {
             System.err.println("Error saving order: " + e.getMessage());
@@ -62,6 +124,49 @@ public class DatabaseOrderRepository implements OrderRepository {
         }
     }
     
+    /**
+     * Inserts many orders as one JDBC batch on a single connection.
+     * @param orders Orders to insert
+     */
+    @Override
+    public void saveAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        
+        try {
+            sql.batch(INSERT, orders, this::bindInsert);
+            databaseConfig.recordWrite();
+            
+        } catch (SQLException e) {
+            System.err.println("Error saving order batch: " + e.getMessage());
+            throw new RuntimeException("Failed to save order batch", e);
+        }
+    }
+    
+    private void bindInsert(PreparedStatement stmt, Order order) throws SQLException {
+        stmt.setString(1, order.getOrderId());
+        stmt.setString(2, order.getCustomerName());
+        stmt.setString(3, order.getPhone());
+        stmt.setString(4, order.getAddress());
+        stmt.setString(5, order.getLaundryType());
+        stmt.setString(6, order.getService());
+        stmt.setString(7, order.getStatus());
+        stmt.setDouble(8, order.getWeight());
+        stmt.setBigDecimal(9, order.getTotalAmount().toBigDecimal());
+        
+        // Handle pickup time (can be null)
+        if (order.getPickupTime() != null) {
+            stmt.setTimestamp(10, Timestamp.valueOf(order.getPickupTime()));
+        } else {
+            stmt.setTimestamp(10, null);
+        }
+        
+        stmt.setTimestamp(11, Timestamp.valueOf(order.getOrderTime()));
+        stmt.setInt(12, order.getCustomerId());
+        stmt.setTimestamp(13, Timestamp.valueOf(order.getStatusChangedAt()));
+    }
+    
     @Override
     public List<Order> getAllOrders() {
         return findAll();
@@ -69,24 +174,13 @@ public class DatabaseOrderRepository implements OrderRepository {
     
     @Override
     public List<Order> findAll() {
-        String sql = "SELECT * FROM orders ORDER BY order_time DESC";
-        List<Order> orders = new ArrayList<>();
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                orders.add(mapResultSetToOrder(rs));
-            }
+        try {
+            return sql.list(FIND_ALL, SqlStatement.Binder.NONE, OrderRowMapper::forResultSet);
             
         } catch (SQLException e) {
             System.err.println("Error getting all orders: " + e.getMessage());
             throw new RuntimeException("Failed to get all orders", e);
         }
-        
-        return orders;
     }
     
     @Override
@@ -96,61 +190,93 @@ public class DatabaseOrderRepository implements OrderRepository {
     
     @Override
     public Order findById(String orderId) {
-        String sql = "SELECT * FROM orders WHERE order_id = ?";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, orderId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return mapResultSetToOrder(rs);
-            }
+        try {
+            return sql.first(FIND_BY_ID, stmt -> stmt.setString(1, orderId), OrderRowMapper::forResultSet);
             
         } catch (SQLException e) {
             System.err.println("Error finding order by ID: " + e.getMessage());
             throw new RuntimeException("Failed to find order by ID", e);
         }
-        
-        return null;
     }
     
     @Override
     public List<Order> findByCustomerName(String customerName) {
-        String sql = "SELECT * FROM orders WHERE customer_name = ? ORDER BY order_time DESC";
-        List<Order> orders = new ArrayList<>();
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, customerName);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                orders.add(mapResultSetToOrder(rs));
-            }
+        try {
+            return sql.list(FIND_BY_CUSTOMER, stmt -> stmt.setString(1, customerName), OrderRowMapper::forResultSet);
             
         } catch (SQLException e) {
             System.err.println("Error finding orders by customer name: " + e.getMessage());
             throw new RuntimeException("Failed to find orders by customer name", e);
         }
-        
-        return orders;
     }
     
     @Override
-    public String generateOrderId() {
-        String sql = "SELECT COUNT(*) + 1 as next_id FROM orders";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    public long countAll() {
+        try {
+            return sql.count(COUNT_ALL, SqlStatement.Binder.NONE);
+            
+        } catch (SQLException e) {
+            System.err.println("Error counting orders: " + e.getMessage());
+            throw new RuntimeException("Failed to count orders", e);
+        }
+    }
+    
+    @Override
+    public long countByStatus(OrderStatus status) {
+        try {
+            return sql.count(COUNT_BY_STATUS, stmt -> stmt.setString(1, status.getLabel()));
             
-            ResultSet rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            System.err.println("Error counting orders by status: " + e.getMessage());
+            throw new RuntimeException("Failed to count orders by status", e);
+        }
+    }
+    
+    @Override
+    public Money sumTotals() {
+        try {
+            return sql.query(SUM_TOTALS, SqlStatement.Binder.NONE,
+                rs -> rs.next() ? Money.of(rs.getBigDecimal(1)) : Money.ZERO);
+            
+        } catch (SQLException e) {
+            System.err.println("Error summing order totals: " + e.getMessage());
+            throw new RuntimeException("Failed to sum order totals", e);
+        }
+    }
+    
+    @Override
+    public long[] revenueCentsByDay(LocalDate from, int days) {
+        long[] revenue = new long[Math.max(days, 0)];
+        
+        try {
+            sql.query(REVENUE_BY_DAY, stmt -> {
+                stmt.setTimestamp(1, Timestamp.valueOf(from.atStartOfDay()));
+                stmt.setTimestamp(2, Timestamp.valueOf(from.plusDays(revenue.length).atStartOfDay()));
+            }, rs -> {
+                while (rs.next()) {
+                    int index = (int) (rs.getDate("day").toLocalDate().toEpochDay() - from.toEpochDay());
+                    if (index >= 0 && index < revenue.length) {
+                        revenue[index] = Money.of(rs.getBigDecimal("revenue")).getCents();
+                    }
+                }
+                return revenue;
+            });
             
-            if (rs.next()) {
-                int nextId = rs.getInt("next_id");
-                return "ORD" + String.format("%03d", nextId);
+        } catch (SQLException e) {
+            System.err.println("Error getting revenue by day: " + e.getMessage());
+            throw new RuntimeException("Failed to get revenue by day", e);
+        }
+        
+        return revenue;
+    }
+    
+    @Override
+    public String generateOrderId() {
+        try {
+            String orderId = sql.query(NEXT_ID, SqlStatement.Binder.NONE,
+                rs -> rs.next() ? "ORD" + String.format("%03d", rs.getInt("next_id")) : null);
+            if (orderId != null) {
+                return orderId;
             }
             
         } catch (SQLException e) {
@@ -165,32 +291,37 @@ public class DatabaseOrderRepository implements OrderRepository {
      * Updates an existing order in the database.
      * @param order Order to update
      */
-    public void updateOrder(Order order) {
-        String sql = "UPDATE orders SET customer_name = ?, phone = ?, address = ?, laundry_type = ?, service = ?, status = ?, weight = ?, total = ?, pickup_time = ?, customer_id = ? WHERE order_id = ?";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, order.getCustomerName());
-            stmt.setString(2, order.getPhone());
-            stmt.setString(3, order.getAddress());
-            stmt.setString(4, order.getLaundryType());
-            stmt.setString(5, order.getService());
-            stmt.setString(6, order.getStatus());
-            stmt.setDouble(7, order.getWeight());
-            stmt.setDouble(8, order.getTotal());
-            
-            // Handle pickup time (can be null)
-            if (order.getPickupTime() != null) {
-                stmt.setTimestamp(9, Timestamp.valueOf(order.getPickupTime()));
-            } else {
-                stmt.setTimestamp(9, null);
+    @Override
+    public UpdateResult updateOrder(Order order) {
+        try {
+            int updated = sql.update(UPDATE, stmt -> {
+                stmt.setString(1, order.getCustomerName());
+                stmt.setString(2, order.getPhone());
+                stmt.setString(3, order.getAddress());
+                stmt.setString(4, order.getLaundryType());
+                stmt.setString(5, order.getService());
+                stmt.setString(6, order.getStatus());
+                stmt.setDouble(7, order.getWeight());
+                stmt.setBigDecimal(8, order.getTotalAmount().toBigDecimal());
+                
+                // Handle pickup time (can be null)
+                if (order.getPickupTime() != null) {
+                    stmt.setTimestamp(9, Timestamp.valueOf(order.getPickupTime()));
+                } else {
+                    stmt.setTimestamp(9, null);
+                }
+                
+                stmt.setInt(10, order.getCustomerId());
+                stmt.setTimestamp(11, Timestamp.valueOf(order.getStatusChangedAt()));
+                stmt.setString(12, order.getOrderId());
+                stmt.setLong(13, order.getVersion());
+            });
+            if (updated == 0) {
+                return UpdateResult.CONFLICT;
             }
-            
-            stmt.setInt(10, order.getCustomerId());
-            stmt.setString(11, order.getOrderId());
-            
-            stmt.executeUpdate();
+            databaseConfig.recordWrite();
+            order.setVersion(order.getVersion() + 1);
+            return UpdateResult.UPDATED;
             
         } catch (SQLException e) {
             System.err.println("Error updating order: " + e.getMessage());
@@ -199,76 +330,379 @@ public class DatabaseOrderRepository implements OrderRepository {
     }
     
     /**
-     * Deletes an order from the database.
-     * @param orderId ID of order to delete
+     * Gets a customer's full order history from both the live and archive tables.
+     * @param customerName Customer name
+     * @return Orders, newest first
      */
-    public void deleteOrder(String orderId) {
-        String sql = "DELETE FROM orders WHERE order_id = ?";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, orderId);
-            stmt.executeUpdate();
+    @Override
+    public List<Order> findCustomerHistory(String customerName) {
+        try {
+            return sql.list(FIND_HISTORY, stmt -> {
+                stmt.setString(1, customerName);
+                stmt.setString(2, customerName);
+            }, OrderRowMapper::forResultSet);
             
         } catch (SQLException e) {
-            System.err.println("Error deleting order: " + e.getMessage());
-            throw new RuntimeException("Failed to delete order", e);
+            System.err.println("Error finding customer history: " + e.getMessage());
+            throw new RuntimeException("Failed to find customer history", e);
         }
     }
     
     /**
-     * Gets orders by status.
-     * @param status Order status to filter by
-     * @return List of orders with the specified status
+     * Prefix search over order ID, phone and customer name. Each column is
+     * queried with an indexed {@code LIKE 'x%'}; order ID hits rank first, then
+     * phone, then name, newest first within each.
+     * @param query Search text
+     * @param limit Maximum number of results
+     * @return Matching live orders
      */
-    public List<Order> findByStatus(String status) {
-        String sql = "SELECT * FROM orders WHERE status = ? ORDER BY order_time DESC";
-        List<Order> orders = new ArrayList<>();
+    @Override
+    public List<Order> search(String query, int limit) {
+        String term = query != null ? query.trim() : "";
+        if (term.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        String pattern = escapeLike(term) + "%";
+        Map<String, Order> results = new LinkedHashMap<>();
+
+        try (Connection conn = sql.connect(SEARCH[0])) {
+            for (SqlStatement statement : SEARCH) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                statement.query(conn, stmt -> {
+                    stmt.setString(1, pattern);
+                    // Rows found by an earlier column may repeat, so fetch a full page
+                    stmt.setInt(2, limit);
+                }, rs -> {
+                    OrderRowMapper mapper = OrderRowMapper.forResultSet(rs);
+                    while (rs.next() && results.size() < limit) {
+                        Order order = mapper.mapRow(rs);
+                        results.putIfAbsent(order.getOrderId(), order);
+                    }
+                    return results;
+                });
+            }
+        } catch (SQLException e) {
+            System.err.println("Error searching orders: " + e.getMessage());
+            throw new RuntimeException("Failed to search orders", e);
+        }
+
+        return new ArrayList<>(results.values());
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Moves up to {@code limit} of the oldest matching orders into orders_archive.
+     * Selects the IDs first, then copies and deletes exactly those rows, so the
+     * chunk is well defined. Inside a unit of work on this pool the move is
+     * part of it; otherwise, as for another branch's shard or a call from the
+     * order server, it runs as its own transaction. Rows already in the
+     * archive are not copied again, so a chunk left behind by an earlier
+     * failure is simply deleted from orders on the next run.
+     * @param statuses Statuses eligible for archiving
+     * @param olderThan Only orders placed before this time are moved
+     * @param limit Maximum number of orders to move
+     * @return Number of orders moved
+     */
+    @Override
+    public int archiveOrders(Set<OrderStatus> statuses, LocalDateTime olderThan, int limit) {
+        if (statuses.isEmpty() || limit <= 0) {
+            return 0;
+        }
         
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, status);
-            ResultSet rs = stmt.executeQuery();
-            
+        try (Connection conn = sql.connect(ARCHIVE_SELECT)) {
+            // A connection joined to a unit of work is not in auto-commit; its owner commits
+            boolean ownTransaction = conn.getAutoCommit();
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+            try {
+                int moved = moveToArchive(conn, statuses, olderThan, limit);
+                if (ownTransaction) {
+                    conn.commit();
+                }
+                if (moved > 0) {
+                    databaseConfig.recordWrite();
+                }
+                return moved;
+            } catch (SQLException | RuntimeException e) {
+                if (ownTransaction) {
+                    conn.rollback();
+                }
+                throw e;
+            } finally {
+                if (ownTransaction) {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error archiving orders: " + e.getMessage());
+            throw new RuntimeException("Failed to archive orders", e);
+        }
+    }
+    
+    private int moveToArchive(Connection conn, Set<OrderStatus> statuses, LocalDateTime olderThan,
+                              int limit) throws SQLException {
+        String selectSql = "SELECT order_id FROM orders WHERE status IN ("
+            + String.join(", ", Collections.nCopies(statuses.size(), "?"))
+            + ") AND order_time < ? ORDER BY order_time LIMIT ?";
+        List<String> ids = ARCHIVE_SELECT.withSql(selectSql).query(conn, stmt -> {
+            int index = 1;
+            for (OrderStatus status : statuses) {
+                stmt.setString(index++, status.getLabel());
+            }
+            stmt.setTimestamp(index++, Timestamp.valueOf(olderThan));
+            stmt.setInt(index, limit);
+        }, rs -> {
+            List<String> selected = new ArrayList<>(limit);
             while (rs.next()) {
-                orders.add(mapResultSetToOrder(rs));
+                selected.add(rs.getString(1));
             }
+            return selected;
+        });
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        String idList = idPlaceholders(ids.size());
+        ARCHIVE_COPY.withSql("INSERT IGNORE INTO orders_archive SELECT * FROM orders WHERE order_id IN (" + idList + ")")
+            .update(conn, stmt -> bindIds(stmt, 1, ids));
+        return ARCHIVE_DELETE.withSql("DELETE FROM orders WHERE order_id IN (" + idList + ")")
+            .update(conn, stmt -> bindIds(stmt, 1, ids));
+    }
+    
+    @Override
+    public long countArchived() {
+        try {
+            return sql.count(COUNT_ARCHIVED, SqlStatement.Binder.NONE);
             
         } catch (SQLException e) {
-            System.err.println("Error finding orders by status: " + e.getMessage());
-            throw new RuntimeException("Failed to find orders by status", e);
+            System.err.println("Error counting archived orders: " + e.getMessage());
+            throw new RuntimeException("Failed to count archived orders", e);
+        }
+    }
+    
+    /**
+     * Loads many orders by ID with one {@code SELECT ... WHERE order_id IN (...)}
+     * per chunk of IDs.
+     * @param orderIds IDs to load
+     * @return Orders found, in no particular order
+     */
+    @Override
+    public List<Order> findByIds(Collection<String> orderIds) {
+        List<String> ids = new ArrayList<>(orderIds);
+        List<Order> orders = new ArrayList<>(ids.size());
+        
+        try (Connection conn = sql.connect(FIND_BY_IDS)) {
+            for (int from = 0; from < ids.size(); from += ID_LIST_CHUNK) {
+                List<String> chunk = ids.subList(from, Math.min(from + ID_LIST_CHUNK, ids.size()));
+                String chunkSql = "SELECT * FROM orders WHERE order_id IN (" + idPlaceholders(chunk.size()) + ")";
+                orders.addAll(FIND_BY_IDS.withSql(chunkSql).query(conn, stmt -> bindIds(stmt, 1, chunk),
+                    SqlStatement.rows(OrderRowMapper::forResultSet)));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding orders by ID: " + e.getMessage());
+            throw new RuntimeException("Failed to find orders by ID", e);
         }
         
         return orders;
     }
     
     /**
-     * Maps a ResultSet row to an Order object.
-     * @param rs ResultSet containing order data
-     * @return Order object
-     * @throws SQLException if database access error occurs
+     * Sets the status of many orders with one version-checked
+     * {@code UPDATE ... WHERE order_id = ? AND version = ?} per order, all
+     * sent as a single JDBC batch. An order whose version moved on is
+     * skipped. The given orders are left as they are.
+     * @param orders Orders carrying the version they were read with
+     * @param status New status
+     * @param changedAt When the orders entered the new status
+     * @return IDs of the orders written
      */
-    private Order mapResultSetToOrder(ResultSet rs) throws SQLException {
-        Order order = new Order(rs.getString("order_id"));
+    @Override
+    public Set<String> updateStatuses(Collection<Order> orders, OrderStatus status, LocalDateTime changedAt) {
+        List<Order> pending = new ArrayList<>(orders);
+        Set<String> updated = new LinkedHashSet<>();
+        if (pending.isEmpty()) {
+            return updated;
+        }
         
-        order.setCustomerName(rs.getString("customer_name"));
-        order.setPhone(rs.getString("phone"));
-        order.setAddress(rs.getString("address"));
-        order.setLaundryType(rs.getString("laundry_type"));
-        order.setService(rs.getString("service"));
-        order.setStatus(rs.getString("status"));
-        order.setWeight(rs.getDouble("weight"));
-        order.setTotal(rs.getDouble("total"));
-        order.setCustomerId(rs.getInt("customer_id"));
+        try {
+            // One version-checked UPDATE per order, sent as a single batch
+            int[] counts = sql.batch(UPDATE_STATUSES, pending, (stmt, order) -> {
+                stmt.setString(1, status.getLabel());
+                stmt.setTimestamp(2, Timestamp.valueOf(changedAt));
+                stmt.setString(3, order.getOrderId());
+                stmt.setLong(4, order.getVersion());
+            });
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    updated.add(pending.get(i).getOrderId());
+                }
+            }
+            databaseConfig.recordWrite();
+        } catch (SQLException e) {
+            System.err.println("Error updating order statuses: " + e.getMessage());
+            throw new RuntimeException("Failed to update order statuses", e);
+        }
         
-        // Handle pickup time (can be null)
-        Timestamp pickupTimestamp = rs.getTimestamp("pickup_time");
-        if (pickupTimestamp != null) {
-            order.setPickupTime(pickupTimestamp.toLocalDateTime());
+        return updated;
+    }
+    
+    /**
+     * Placeholders for an IN list of IDs, rounded up to a power of two so
+     * lists of similar length share one cached prepared statement instead of
+     * each length preparing its own.
+     */
+    private static String idPlaceholders(int count) {
+        return String.join(", ", Collections.nCopies(paddedLength(count), "?"));
+    }
+    
+    private static int paddedLength(int count) {
+        return count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+    }
+    
+    /**
+     * Binds an ID list from {@code first} on, repeating the last ID in the
+     * padding slots; IN ignores the duplicates.
+     */
+    private static void bindIds(PreparedStatement stmt, int first, List<String> ids) throws SQLException {
+        int length = paddedLength(ids.size());
+        for (int i = 0; i < length; i++) {
+            stmt.setString(first + i, ids.get(Math.min(i, ids.size() - 1)));
         }
+    }
+    
+    /**
+     * Streams matching orders, oldest first, without materializing them.
+     * Uses a forward-only, read-only statement with a fetch size so the
+     * driver pulls rows from a server-side cursor (useCursorFetch) in chunks.
+     * @param filter Order-time range and statuses to include
+     * @param sink Receives each order in turn
+     */
+    @Override
+    public void streamOrders(OrderFilter filter, Consumer<Order> sink) {
+        StringBuilder streamSql = new StringBuilder("SELECT * FROM orders WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        appendFilter(streamSql, params, filter);
+        if (filter.isIncludeArchived()) {
+            // Filter each tier separately so both use their own indexes
+            streamSql.append(" UNION ALL SELECT * FROM orders_archive WHERE 1 = 1");
+            appendFilter(streamSql, params, filter);
+        }
+        streamSql.append(" ORDER BY order_time");
         
-        return order;
+        try (Connection conn = sql.connect(STREAM)) {
+            STREAM.withSql(streamSql.toString()).query(conn, databaseConfig.getFetchSize(),
+                stmt -> bindParams(stmt, params), SqlStatement.eachRow(OrderRowMapper::forResultSet, sink));
+            
+        } catch (SQLException e) {
+            System.err.println("Error streaming orders: " + e.getMessage());
+            throw new RuntimeException("Failed to stream orders", e);
+        }
+    }
+    
+    /**
+     * Reads one page of live orders. The count and the page share the filter;
+     * the page is ordered by the query's indexed sort column with order time
+     * as the tie-breaker, so each maps onto an index scan.
+     * @param query Validated query spec
+     * @return Page of orders and the total match count
+     */
+    @Override
+    public OrderPage query(OrderQuery query) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        appendFilter(where, params, query.getFilter());
+        
+        String direction = query.isAscending() ? " ASC" : " DESC";
+        StringBuilder pageSql = new StringBuilder("SELECT * FROM orders").append(where).append(" ORDER BY ");
+        if (query.getSortField() != OrderQuery.SortField.ORDER_TIME) {
+            pageSql.append(query.getSortField().getColumn()).append(direction).append(", ");
+        }
+        pageSql.append("order_time").append(direction).append(" LIMIT ? OFFSET ?");
+        
+        List<Order> orders;
+        long total;
+        // Count and page share a connection so both see the same server
+        try (Connection conn = sql.connect(QUERY_PAGE)) {
+            total = QUERY_COUNT.withSql("SELECT COUNT(*) FROM orders" + where)
+                .query(conn, stmt -> bindParams(stmt, params), SqlStatement.firstLong());
+            orders = QUERY_PAGE.withSql(pageSql.toString()).query(conn, stmt -> {
+                bindParams(stmt, params);
+                stmt.setInt(params.size() + 1, query.getLimit());
+                stmt.setInt(params.size() + 2, query.getOffset());
+            }, SqlStatement.rows(OrderRowMapper::forResultSet));
+        } catch (SQLException e) {
+            System.err.println("Error querying orders: " + e.getMessage());
+            throw new RuntimeException("Failed to query orders", e);
+        }
+        
+        return new OrderPage(orders, total, query.getOffset());
+    }
+    
+    private static void appendFilter(StringBuilder sql, List<Object> params, OrderFilter filter) {
+        if (filter.getFrom() != null) {
+            sql.append(" AND order_time >= ?");
+            params.add(Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getUntil() != null) {
+            sql.append(" AND order_time < ?");
+            params.add(Timestamp.valueOf(filter.getUntil()));
+        }
+        if (!filter.getStatuses().isEmpty()) {
+            sql.append(" AND status IN (")
+               .append(String.join(", ", Collections.nCopies(filter.getStatuses().size(), "?")))
+               .append(")");
+            for (OrderStatus status : filter.getStatuses()) {
+                params.add(status.getLabel());
+            }
+        }
+        if (!filter.getServices().isEmpty()) {
+            sql.append(" AND service IN (")
+               .append(String.join(", ", Collections.nCopies(filter.getServices().size(), "?")))
+               .append(")");
+            params.addAll(filter.getServices());
+        }
+    }
+    
+    private static void bindParams(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+    
+    /**
+     * Deletes an order from the database.
+     * @param orderId ID of order to delete
+     */
+    public void deleteOrder(String orderId) {
+        try {
+            sql.update(DELETE, stmt -> stmt.setString(1, orderId));
+            databaseConfig.recordWrite();
+            
+        } catch (SQLException e) {
+            System.err.println("Error deleting order: " + e.getMessage());
+            throw new RuntimeException("Failed to delete order", e);
+        }
+    }
+    
+    /**
+     * Gets orders by status.
+     * @param status Order status to filter by
+     * @return List of orders with the specified status
+     */
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        try {
+            return sql.list(FIND_BY_STATUS, stmt -> stmt.setString(1, status.getLabel()), OrderRowMapper::forResultSet);
+            
+        } catch (SQLException e) {
+            System.err.println("Error finding orders by status: " + e.getMessage());
+            throw new RuntimeException("Failed to find orders by status", e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.laundry.repository;
+
+import com.laundry.config.DatabaseConfig;
+import com.laundry.model.Money;
+import com.laundry.model.OrderStatsRow;
+import com.laundry.model.OrderStatus;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Database implementation of OrderStatsRepository.
+ * Deltas are applied as batched {@code INSERT ... ON DUPLICATE KEY UPDATE}
+ * increments, so inside a unit of work they commit or roll back together
+ * with the order write that caused them.
+ */
+public class DatabaseOrderStatsRepository implements OrderStatsRepository {
+    private static final String UPSERT_HOURLY_SQL = "INSERT INTO order_stats_hourly "
+        + "(stat_hour, service, status, order_count, revenue, weight) VALUES (?, ?, ?, ?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+        + "revenue = revenue + VALUES(revenue), weight = weight + VALUES(weight)";
+    private static final String UPSERT_DAILY_SQL = "INSERT INTO order_stats_daily "
+        + "(stat_date, service, status, order_count, revenue, weight) VALUES (?, ?, ?, ?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+        + "revenue = revenue + VALUES(revenue), weight = weight + VALUES(weight)";
+    
+    private final DatabaseConfig databaseConfig;
+    
+    public DatabaseOrderStatsRepository() {
+        this.databaseConfig = DatabaseConfig.getInstance();
+    }
+    
+    @Override
+    public void apply(OrderStatsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = databaseConfig.getConnection()) {
+            upsert(conn, UPSERT_HOURLY_SQL, delta.hourlyRows(), false);
+            upsert(conn, UPSERT_DAILY_SQL, delta.dailyRows(), true);
+        } catch (SQLException e) {
+            System.err.println("Error updating order stats: " + e.getMessage());
+            throw new RuntimeException("Failed to update order stats", e);
+        }
+    }
+    
+    @Override
+    public List<OrderStatsRow> findDaily(LocalDate first, LocalDate last) {
+        String sql = "SELECT stat_date, service, status, order_count, revenue, weight FROM order_stats_daily "
+            + "WHERE stat_date BETWEEN ? AND ? ORDER BY stat_date, service, status";
+        List<OrderStatsRow> rows = new ArrayList<>();
+        
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setObject(1, first);
+            stmt.setObject(2, last);
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                rows.add(mapRow(rs, rs.getDate("stat_date").toLocalDate().atStartOfDay()));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error reading daily order stats: " + e.getMessage());
+            throw new RuntimeException("Failed to read daily order stats", e);
+        }
+        
+        return rows;
+    }
+    
+    @Override
+    public List<OrderStatsRow> findHourly(LocalDateTime from, LocalDateTime until) {
+        String sql = "SELECT stat_hour, service, status, order_count, revenue, weight FROM order_stats_hourly "
+            + "WHERE stat_hour >= ? AND stat_hour < ? ORDER BY stat_hour, service, status";
+        List<OrderStatsRow> rows = new ArrayList<>();
+        
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setTimestamp(1, Timestamp.valueOf(from));
+            stmt.setTimestamp(2, Timestamp.valueOf(until));
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                rows.add(mapRow(rs, rs.getTimestamp("stat_hour").toLocalDateTime()));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error reading hourly order stats: " + e.getMessage());
+            throw new RuntimeException("Failed to read hourly order stats", e);
+        }
+        
+        return rows;
+    }
+    
+    /**
+     * Recomputes both rollups from the live and archived orders with set-based SQL.
+     * Runs as deletes and inserts rather than TRUNCATE so that, inside a
+     * unit of work, readers never see empty rollups.
+     * @param orders Unused; the database rollups always rebuild from the order tables
+     */
+    @Override
+    public void rebuild(OrderRepository orders) {
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            
+            stmt.executeUpdate("DELETE FROM order_stats_hourly");
+            stmt.executeUpdate("DELETE FROM order_stats_daily");
+            stmt.executeUpdate("INSERT INTO order_stats_hourly "
+                + "(stat_hour, service, status, order_count, revenue, weight) "
+                + "SELECT DATE_FORMAT(order_time, '%Y-%m-%d %H:00:00'), service, status, "
+                + "COUNT(*), SUM(total), SUM(weight) FROM ("
+                + "SELECT order_time, service, status, total, weight FROM orders UNION ALL "
+                + "SELECT order_time, service, status, total, weight FROM orders_archive) o "
+                + "GROUP BY DATE_FORMAT(order_time, '%Y-%m-%d %H:00:00'), service, status");
+            stmt.executeUpdate("INSERT INTO order_stats_daily "
+                + "(stat_date, service, status, order_count, revenue, weight) "
+                + "SELECT DATE(stat_hour), service, status, SUM(order_count), SUM(revenue), SUM(weight) "
+                + "FROM order_stats_hourly GROUP BY DATE(stat_hour), service, status");
+            
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding order stats: " + e.getMessage());
+            throw new RuntimeException("Failed to rebuild order stats", e);
+        }
+    }
+    
+    private static void upsert(Connection conn, String sql, List<OrderStatsRow> rows, boolean daily)
+            throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (OrderStatsRow row : rows) {
+                if (daily) {
+                    stmt.setObject(1, row.getBucket().toLocalDate());
+                } else {
+                    stmt.setTimestamp(1, Timestamp.valueOf(row.getBucket()));
+                }
+                stmt.setString(2, row.getService());
+                stmt.setString(3, row.getStatus().getLabel());
+                stmt.setLong(4, row.getOrderCount());
+                stmt.setBigDecimal(5, row.getRevenue().toBigDecimal());
+                stmt.setDouble(6, row.getWeight());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+    
+    private static OrderStatsRow mapRow(ResultSet rs, LocalDateTime bucket) throws SQLException {
+        return new OrderStatsRow(
+            bucket,
+            rs.getString("service"),
+            OrderStatus.fromLabel(rs.getString("status")),
+            rs.getLong("order_count"),
+            Money.of(rs.getBigDecimal("revenue")).getCents(),
+            rs.getDouble("weight"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.laundry.repository;
+
+import com.laundry.config.DatabaseConfig;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.StageDwell;
+import com.laundry.model.StatusChange;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Database implementation of OrderStatusHistoryRepository.
+ * Changes are inserted as one batch, so inside a unit of work they commit or
+ * roll back together with the status write. Dwell queries are answered from
+ * the (changed_at, from_status, entered_at) index without touching the table.
+ */
+public class DatabaseOrderStatusHistoryRepository implements OrderStatusHistoryRepository {
+    private static final String INSERT_SQL = "INSERT INTO order_status_history "
+        + "(order_id, from_status, to_status, entered_at, changed_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String DWELL_SQL = "SELECT from_status, COUNT(*), "
+        + "SUM(TIMESTAMPDIFF(MICROSECOND, entered_at, changed_at)) DIV 1000, "
+        + "MAX(TIMESTAMPDIFF(MICROSECOND, entered_at, changed_at)) DIV 1000 "
+        + "FROM order_status_history WHERE changed_at >= ? AND changed_at < ? GROUP BY from_status";
+
+    private final DatabaseConfig databaseConfig;
+
+    public DatabaseOrderStatusHistoryRepository() {
+        this.databaseConfig = DatabaseConfig.getInstance();
+    }
+
+    @Override
+    public void append(List<StatusChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+
+            for (StatusChange change : changes) {
+                stmt.setString(1, change.getOrderId());
+                stmt.setString(2, change.getFromStatus().getLabel());
+                stmt.setString(3, change.getToStatus().getLabel());
+                stmt.setTimestamp(4, Timestamp.valueOf(change.getEnteredAt()));
+                stmt.setTimestamp(5, Timestamp.valueOf(change.getChangedAt()));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+        } catch (SQLException e) {
+            System.err.println("Error appending status history: " + e.getMessage());
+            throw new RuntimeException("Failed to append status history", e);
+        }
+    }
+
+    @Override
+    public List<StatusChange> findByOrder(String orderId) {
+        String sql = "SELECT * FROM order_status_history WHERE order_id = ? ORDER BY changed_at, history_id";
+        List<StatusChange> changes = new ArrayList<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, orderId);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                changes.add(new StatusChange(
+                    rs.getString("order_id"),
+                    OrderStatus.fromLabel(rs.getString("from_status")),
+                    OrderStatus.fromLabel(rs.getString("to_status")),
+                    rs.getTimestamp("entered_at").toLocalDateTime(),
+                    rs.getTimestamp("changed_at").toLocalDateTime()));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading status history: " + e.getMessage());
+            throw new RuntimeException("Failed to read status history", e);
+        }
+
+        return changes;
+    }
+
+    @Override
+    public Map<OrderStatus, StageDwell> dwellTimes(LocalDateTime from, LocalDateTime to) {
+        Map<OrderStatus, StageDwell> dwell = new EnumMap<>(OrderStatus.class);
+
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DWELL_SQL)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(from));
+            stmt.setTimestamp(2, Timestamp.valueOf(to));
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                OrderStatus status = OrderStatus.fromLabel(rs.getString(1));
+                if (status != null) {
+                    dwell.put(status, new StageDwell(status, rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading dwell times: " + e.getMessage());
+            throw new RuntimeException("Failed to read dwell times", e);
+        }
+
+        return dwell;
+    }
+}
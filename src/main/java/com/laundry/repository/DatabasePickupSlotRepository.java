@@ -0,0 +1,95 @@
+package com.laundry.repository;
+
+import com.laundry.config.DatabaseConfig;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Database implementation of PickupSlotRepository.
+ * A reservation is one conditional {@code UPDATE ... WHERE reserved < ?}, so
+ * the row lock taken by the update is the only coordination between
+ * terminals and a full slot is detected without reading it first. The new
+ * count comes back through LAST_INSERT_ID, which is per connection.
+ */
+public class DatabasePickupSlotRepository implements PickupSlotRepository {
+    private final DatabaseConfig databaseConfig;
+
+    public DatabasePickupSlotRepository() {
+        this.databaseConfig = DatabaseConfig.getInstance();
+    }
+
+    @Override
+    public int reserve(LocalDateTime slotStart, int capacity) {
+        try (Connection conn = databaseConfig.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT IGNORE INTO pickup_slots (slot_start, reserved) VALUES (?, 0)")) {
+                stmt.setTimestamp(1, Timestamp.valueOf(slotStart));
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE pickup_slots SET reserved = LAST_INSERT_ID(reserved + 1) "
+                    + "WHERE slot_start = ? AND reserved < ?")) {
+                stmt.setTimestamp(1, Timestamp.valueOf(slotStart));
+                stmt.setInt(2, capacity);
+                if (stmt.executeUpdate() == 0) {
+                    return -1;
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT LAST_INSERT_ID()")) {
+                ResultSet rs = stmt.executeQuery();
+                return rs.next() ? rs.getInt(1) : capacity;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reserving pickup slot: " + e.getMessage());
+            throw new RuntimeException("Failed to reserve pickup slot", e);
+        }
+    }
+
+    @Override
+    public void release(LocalDateTime slotStart) {
+        String sql = "UPDATE pickup_slots SET reserved = reserved - 1 WHERE slot_start = ? AND reserved > 0";
+
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(slotStart));
+            stmt.executeUpdate();
+
+        } catch (SQLException e) {
+            System.err.println("Error releasing pickup slot: " + e.getMessage());
+            throw new RuntimeException("Failed to release pickup slot", e);
+        }
+    }
+
+    @Override
+    public Map<LocalDateTime, Integer> findReserved(LocalDateTime from, LocalDateTime to) {
+        String sql = "SELECT slot_start, reserved FROM pickup_slots "
+            + "WHERE slot_start >= ? AND slot_start < ? AND reserved > 0";
+        Map<LocalDateTime, Integer> reserved = new HashMap<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(from));
+            stmt.setTimestamp(2, Timestamp.valueOf(to));
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                reserved.put(rs.getTimestamp(1).toLocalDateTime(), rs.getInt(2));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading pickup slots: " + e.getMessage());
+            throw new RuntimeException("Failed to read pickup slots", e);
+        }
+
+        return reserved;
+    }
+}
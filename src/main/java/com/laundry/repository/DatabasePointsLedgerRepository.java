@@ -0,0 +1,218 @@
+package com.laundry.repository;
+
+import com.laundry.config.DatabaseConfig;
+import com.laundry.model.PointsEntry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Database implementation of PointsLedgerRepository.
+ * Earning is a plain insert into points_ledger and never touches users or
+ * points_balance, so concurrent orders do not contend on a member row.
+ * Redemption locks the member's points_balance row, which serializes it
+ * with other redemptions and with compaction for that member only.
+ * The unique key on (order_id, entry_type) makes earn and redeem
+ * idempotent per order. Each entry carries its own compaction state, so an
+ * entry committed late or stamped by a slow clock is folded by a later run
+ * instead of being skipped.
+ */
+public class DatabasePointsLedgerRepository implements PointsLedgerRepository {
+    private static final String INSERT_ENTRY_SQL =
+        "INSERT INTO points_ledger (username, order_id, entry_type, points, created_at) VALUES (?, ?, ?, ?, ?)";
+    // Compaction state of a ledger entry. FOLDING only exists inside a
+    // compaction's transaction, so other sessions see PENDING or FOLDED.
+    private static final int PENDING = 0;
+    private static final int FOLDING = 1;
+    private static final int FOLDED = 2;
+    private static final String COMPACTION_LOCK = "laundry_points_compaction";
+
+    private static final String BALANCE_SQL = "SELECT COALESCE(b.balance, 0) + COALESCE(("
+        + "SELECT SUM(l.points) FROM points_ledger l WHERE l.username = ? AND l.compacted <> " + FOLDED + "), 0) "
+        + "FROM (SELECT ? AS username) u LEFT JOIN points_balance b ON b.username = u.username";
+
+    private final DatabaseConfig databaseConfig;
+
+    public DatabasePointsLedgerRepository() {
+        this(DatabaseConfig.getInstance());
+    }
+
+    /**
+     * Creates a repository over the given pool.
+     * @param databaseConfig Pool to run statements on
+     */
+    public DatabasePointsLedgerRepository(DatabaseConfig databaseConfig) {
+        this.databaseConfig = databaseConfig;
+    }
+
+    @Override
+    public boolean append(PointsEntry entry) {
+        try (Connection conn = databaseConfig.getConnection()) {
+            return insert(conn, entry);
+        } catch (SQLException e) {
+            System.err.println("Error appending points entry: " + e.getMessage());
+            throw new RuntimeException("Failed to append points entry", e);
+        }
+    }
+
+    @Override
+    public boolean redeem(String username, String orderId, int points) {
+        try (Connection conn = databaseConfig.getConnection()) {
+            // Make sure the balance row exists so there is a row to lock
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT IGNORE INTO points_balance (username, balance) VALUES (?, 0)")) {
+                stmt.setString(1, username);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT balance FROM points_balance WHERE username = ? FOR UPDATE")) {
+                stmt.setString(1, username);
+                stmt.executeQuery().close();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT 1 FROM points_ledger WHERE order_id = ? AND entry_type = ?")) {
+                stmt.setString(1, orderId);
+                stmt.setString(2, PointsEntry.Type.REDEEM.name());
+                if (stmt.executeQuery().next()) {
+                    return true;
+                }
+            }
+            if (balance(conn, username) < points) {
+                return false;
+            }
+            return insert(conn, PointsEntry.of(username, orderId, PointsEntry.Type.REDEEM, -points));
+
+        } catch (SQLException e) {
+            System.err.println("Error redeeming points: " + e.getMessage());
+            throw new RuntimeException("Failed to redeem points", e);
+        }
+    }
+
+    @Override
+    public int getBalance(String username) {
+        try (Connection conn = databaseConfig.getConnection()) {
+            return balance(conn, username);
+        } catch (SQLException e) {
+            System.err.println("Error reading points balance: " + e.getMessage());
+            throw new RuntimeException("Failed to read points balance", e);
+        }
+    }
+
+    @Override
+    public List<PointsEntry> findEntries(String username, int limit) {
+        String sql = "SELECT * FROM points_ledger WHERE username = ? ORDER BY entry_id DESC LIMIT ?";
+        List<PointsEntry> entries = new ArrayList<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, username);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                entries.add(new PointsEntry(
+                    rs.getLong("entry_id"),
+                    rs.getString("username"),
+                    rs.getString("order_id"),
+                    PointsEntry.Type.valueOf(rs.getString("entry_type")),
+                    rs.getInt("points"),
+                    rs.getTimestamp("created_at").toLocalDateTime()));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading points entries: " + e.getMessage());
+            throw new RuntimeException("Failed to read points entries", e);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Folds pending entries older than the cutoff into points_balance: claims
+     * them, adds their sums with one set-based upsert and marks them folded,
+     * all in the caller's unit of work. Entries still uncommitted or stamped
+     * after the cutoff stay pending for the next run. Only one session
+     * compacts at a time; others find the lock taken and fold nothing.
+     */
+    @Override
+    public long compact(LocalDateTime createdBefore) {
+        try (Connection conn = databaseConfig.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                stmt.setString(1, COMPACTION_LOCK);
+                ResultSet rs = stmt.executeQuery();
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    return 0;
+                }
+            }
+            try {
+                return fold(conn, createdBefore);
+            } finally {
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    stmt.setString(1, COMPACTION_LOCK);
+                    stmt.executeQuery().close();
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error compacting points ledger: " + e.getMessage());
+            throw new RuntimeException("Failed to compact points ledger", e);
+        }
+    }
+
+    private static long fold(Connection conn, LocalDateTime createdBefore) throws SQLException {
+        int claimed;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE points_ledger SET compacted = " + FOLDING
+                + " WHERE compacted = " + PENDING + " AND created_at < ?")) {
+            stmt.setTimestamp(1, Timestamp.valueOf(createdBefore));
+            claimed = stmt.executeUpdate();
+        }
+        if (claimed == 0) {
+            return 0;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO points_balance (username, balance) "
+                + "SELECT username, SUM(points) FROM points_ledger WHERE compacted = " + FOLDING
+                + " GROUP BY username "
+                + "ON DUPLICATE KEY UPDATE balance = balance + VALUES(balance)")) {
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE points_ledger SET compacted = " + FOLDED + " WHERE compacted = " + FOLDING)) {
+            stmt.executeUpdate();
+        }
+        return claimed;
+    }
+
+    private static boolean insert(Connection conn, PointsEntry entry) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_ENTRY_SQL)) {
+            stmt.setString(1, entry.getUsername());
+            stmt.setString(2, entry.getOrderId());
+            stmt.setString(3, entry.getType().name());
+            stmt.setInt(4, entry.getPoints());
+            stmt.setTimestamp(5, Timestamp.valueOf(entry.getCreatedAt()));
+            stmt.executeUpdate();
+            return true;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // The order already has an entry of this type
+            return false;
+        }
+    }
+
+    private static int balance(Connection conn, String username) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(BALANCE_SQL)) {
+            stmt.setString(1, username);
+            stmt.setString(2, username);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.laundry.repository;
+
+import com.laundry.config.DatabaseConfig;
+import com.laundry.model.Money;
+import com.laundry.model.PriceMatrix;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Loads the price matrix from the price_matrix and price_weight_brackets tables.
+ */
+public class DatabasePriceMatrixRepository {
+    private final DatabaseConfig databaseConfig;
+    
+    public DatabasePriceMatrixRepository() {
+        this.databaseConfig = DatabaseConfig.getInstance();
+    }
+    
+    /**
+     * Reads the price matrix from the database.
+     * @return Matrix, or null if the price_matrix table is empty
+     */
+    public PriceMatrix load() {
+        String pricesSql = "SELECT laundry_type, service_tier, price_per_kg FROM price_matrix";
+        String bracketsSql = "SELECT min_weight, percent FROM price_weight_brackets";
+        PriceMatrix.Builder builder = PriceMatrix.builder();
+        boolean hasPrices = false;
+        
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement pricesStmt = conn.prepareStatement(pricesSql);
+             PreparedStatement bracketsStmt = conn.prepareStatement(bracketsSql)) {
+            
+            ResultSet rs = pricesStmt.executeQuery();
+            while (rs.next()) {
+                String laundryType = rs.getString("laundry_type");
+                Money price = Money.of(rs.getBigDecimal("price_per_kg"));
+                if ("*".equals(laundryType)) {
+                    builder.defaultPrice(price);
+                } else {
+                    builder.price(laundryType, rs.getString("service_tier"), price);
+                    hasPrices = true;
+                }
+            }
+            
+            rs = bracketsStmt.executeQuery();
+            while (rs.next()) {
+                builder.bracket(rs.getDouble("min_weight"), rs.getInt("percent"));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error loading price matrix: " + e.getMessage());
+            throw new RuntimeException("Failed to load price matrix", e);
+        }
+        
+        return hasPrices ? builder.build() : null;
+    }
+}
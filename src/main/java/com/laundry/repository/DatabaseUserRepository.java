@@ -2,41 +2,53 @@ package com.laundry.repository;
 
 import com.laundry.config.DatabaseConfig;
 import com.laundry.model.User;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 /**
  * Database implementation of UserRepository.
  * Uses MySQL database with prepared statements for secure data access.
+ * The member list may be served by the read replica; everything else reads
+ * the primary.
  */
 public class DatabaseUserRepository implements UserRepository {
+    private static final SqlStatement INSERT = SqlStatement.primary("users.insert",
+        "INSERT INTO users (username, password, full_name, phone, address, role, points) VALUES (?, ?, ?, ?, ?, ?, ?)");
+    private static final SqlStatement FIND_BY_USERNAME = SqlStatement.primary("users.findByUsername",
+        "SELECT * FROM users WHERE username = ?");
+    private static final SqlStatement COUNT_BY_USERNAME = SqlStatement.primary("users.countByUsername",
+        "SELECT COUNT(*) FROM users WHERE username = ?");
+    private static final SqlStatement FIND_MEMBERS = SqlStatement.replicaSafe("users.findMembers",
+        "SELECT * FROM users WHERE role = 'MEMBER' ORDER BY full_name");
+    private static final SqlStatement FIND_MEMBER_BY_PHONE = SqlStatement.primary("users.findMemberByPhone",
+        "SELECT * FROM users WHERE phone = ? AND role = 'MEMBER' LIMIT 1");
+    // Points live in the points ledger; the legacy column is never overwritten
+    private static final SqlStatement UPDATE = SqlStatement.primary("users.update",
+        "UPDATE users SET password = ?, full_name = ?, phone = ?, address = ?, version = version + 1 WHERE username = ? AND version = ?");
+    private static final SqlStatement DELETE = SqlStatement.primary("users.delete",
+        "DELETE FROM users WHERE username = ?");
+    
     private final DatabaseConfig databaseConfig;
+    private final SqlExecutor sql;
     
     public DatabaseUserRepository() {
         this.databaseConfig = DatabaseConfig.getInstance();
+        this.sql = new SqlExecutor(databaseConfig);
     }
     
     @Override
     public void addUser(User user) {
-        String sql = "INSERT INTO users (username, password, full_name, phone, address, role, points) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, user.getUsername());
-            stmt.setString(2, user.getPassword());
-            stmt.setString(3, user.getFullName());
-            stmt.setString(4, user.getPhone());
-            stmt.setString(5, user.getAddress());
-            stmt.setString(6, user.getRole());
-            stmt.setInt(7, user.getPoints());
-            
-            stmt.executeUpdate();
+        try {
+            sql.update(INSERT, stmt -> {
+                stmt.setString(1, user.getUsername());
+                stmt.setString(2, user.getPassword());
+                stmt.setString(3, user.getFullName());
+                stmt.setString(4, user.getPhone());
+                stmt.setString(5, user.getAddress());
+                stmt.setString(6, user.getRole());
+                stmt.setInt(7, user.getPoints());
+            });
+            databaseConfig.recordWrite();
             
         } catch (SQLException e) {
             System.err.println("Error adding user: " + e.getMessage());
@@ -46,88 +58,71 @@ public class DatabaseUserRepository implements UserRepository {
     
     @Override
     public User getUser(String username) {
-        String sql = "SELECT * FROM users WHERE username = ?";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return mapResultSetToUser(rs);
-            }
+        try {
+            return sql.first(FIND_BY_USERNAME, stmt -> stmt.setString(1, username), UserRowMapper::forResultSet);
             
         } catch (SQLException e) {
             System.err.println("Error getting user: " + e.getMessage());
             throw new RuntimeException("Failed to get user", e);
         }
-        
-        return null;
     }
     
     @Override
     public boolean userExists(String username) {
-        String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
-            }
+        try {
+            return sql.count(COUNT_BY_USERNAME, stmt -> stmt.setString(1, username)) > 0;
             
         } catch (SQLException e) {
             System.err.println("Error checking user existence: " + e.getMessage());
             throw new RuntimeException("Failed to check user existence", e);
         }
-        
-        return false;
     }
     
     @Override
     public Collection<User> getAllMembers() {
-        String sql = "SELECT * FROM users WHERE role = 'MEMBER' ORDER BY full_name";
-        List<User> members = new ArrayList<>();
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                members.add(mapResultSetToUser(rs));
-            }
+        try {
+            return sql.list(FIND_MEMBERS, SqlStatement.Binder.NONE, UserRowMapper::forResultSet);
             
         } catch (SQLException e) {
             System.err.println("Error getting all members: " + e.getMessage());
             throw new RuntimeException("Failed to get all members", e);
         }
-        
-        return members;
+    }
+    
+    @Override
+    public User findMemberByPhone(String phone) {
+        try {
+            return sql.first(FIND_MEMBER_BY_PHONE, stmt -> stmt.setString(1, phone), UserRowMapper::forResultSet);
+            
+        } catch (SQLException e) {
+            System.err.println("Error finding member by phone: " + e.getMessage());
+            throw new RuntimeException("Failed to find member by phone", e);
+        }
     }
     
     /**
-     * Updates user information in the database.
+     * Updates user information in the database if the row still has the
+     * version the user was read with.
      * @param user User to update
+     * @return CONFLICT if the row changed since it was read
      */
-    public void updateUser(User user) {
-        String sql = "UPDATE users SET password = ?, full_name = ?, phone = ?, address = ?, points = ? WHERE username = ?";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, user.getPassword());
-            stmt.setString(2, user.getFullName());
-            stmt.setString(3, user.getPhone());
-            stmt.setString(4, user.getAddress());
-            stmt.setInt(5, user.getPoints());
-            stmt.setString(6, user.getUsername());
-            
-            stmt.executeUpdate();
+    @Override
+    public UpdateResult updateUser(User user) {
+        try {
+            int updated = sql.update(UPDATE, stmt -> {
+                stmt.setString(1, user.getPassword());
+                stmt.setString(2, user.getFullName());
+                stmt.setString(3, user.getPhone());
+                stmt.setString(4, user.getAddress());
+                stmt.setString(5, user.getUsername());
+                stmt.setLong(6, user.getVersion());
+            });
+            if (updated == 0) {
+                return UpdateResult.CONFLICT;
+            }
+            databaseConfig.recordWrite();
+            user.setVersion(user.getVersion() + 1);
+            return UpdateResult.UPDATED;
             
         } catch (SQLException e) {
             System.err.println("Error updating user: " + e.getMessage());
@@ -140,39 +135,13 @@ public class DatabaseUserRepository implements UserRepository {
      * @param username Username of user to delete
      */
     public void deleteUser(String username) {
-        String sql = "DELETE FROM users WHERE username = ?";
-        
-        try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, username);
-            stmt.executeUpdate();
+        try {
+            sql.update(DELETE, stmt -> stmt.setString(1, username));
+            databaseConfig.recordWrite();
             
         } catch (SQLException e) {
             System.err.println("Error deleting user: " + e.getMessage());
             throw new RuntimeException("Failed to delete user", e);
         }
     }
-    
-    /**
-     * Maps a ResultSet row to a User object.
-     * @param rs ResultSet containing user data
-     * @return User object
-     * @throws SQLException if database access error occurs
-     */
-    private User mapResultSetToUser(ResultSet rs) throws SQLException {
-        User user = new User(
-            rs.getString("username"),
-            rs.getString("password"),
-            rs.getString("full_name"),
-            rs.getString("phone"),
-            rs.getString("address"),
-            rs.getString("role")
-        );
-        
-        // Set points separately since it's not in the constructor
-        user.addPoints(rs.getInt("points"));
-        
-        return user;
-    }
 }
\ No newline at end of file
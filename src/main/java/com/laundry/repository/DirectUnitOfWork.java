@@ -0,0 +1,13 @@
+package com.laundry.repository;
+
+import java.util.function.Supplier;
+
+/**
+ * UnitOfWork that simply runs the work, for repositories without transactions.
+ */
+public class DirectUnitOfWork implements UnitOfWork {
+    @Override
+    public <T> T execute(Supplier<T> work) {
+        return work.get();
+    }
+}
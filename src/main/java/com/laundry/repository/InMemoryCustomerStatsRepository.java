@@ -0,0 +1,40 @@
+package com.laundry.repository;
+
+import com.laundry.model.CustomerStats;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory implementation of CustomerStatsRepository.
+ * One summary per customer name, merged in place with each delta.
+ */
+public class InMemoryCustomerStatsRepository implements CustomerStatsRepository {
+    private final ConcurrentMap<String, CustomerStats> byCustomer = new ConcurrentHashMap<>();
+
+    @Override
+    public void apply(CustomerStatsDelta delta) {
+        for (CustomerStats row : delta.rows()) {
+            byCustomer.merge(row.getCustomerName(), row, CustomerStats::plus);
+        }
+    }
+
+    @Override
+    public CustomerStats find(String customerName) {
+        CustomerStats stats = customerName != null ? byCustomer.get(customerName) : null;
+        return stats != null ? stats : CustomerStats.empty(customerName);
+    }
+
+    /**
+     * Recomputes every summary by streaming every live and archived order from the source.
+     * @param orders Source of truth
+     */
+    @Override
+    public void rebuild(OrderRepository orders) {
+        CustomerStatsDelta delta = new CustomerStatsDelta();
+        orders.streamOrders(OrderFilter.builder().includeArchived().build(), delta::add);
+        synchronized (this) {
+            byCustomer.clear();
+            apply(delta);
+        }
+    }
+}
@@ -1,71 +1,585 @@
 package com.laundry.repository;
 
+import com.laundry.model.Money;
 import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * In-memory implementation of OrderRepository.
- * Stores order data in an ArrayList for demonstration purposes.
+ * Keeps a primary map by order ID plus secondary indexes by customer, by status
+ * and by order time so lookups never scan the whole store. All structures are
+ * concurrent, so the auto-refresh timer and user actions can share one instance.
+ * Archived orders live in a separate cold map that normal reads never touch.
+ * The admin search box is served by an {@link OrderSearchIndex}.
+ * Aggregations are answered from an {@link OrderColumnStore} kept in step with writes.
+ * Like a database, the store keeps its own copies: writes store a copy of the
+ * caller's order and reads hand out copies, so a caller holding an order keeps
+ * the version it read until it writes.
  */
 public class InMemoryOrderRepository implements OrderRepository {
-    private final List<Order> orders = new ArrayList<>();
-    private int orderIdCounter = 1;
-    
+    private final ConcurrentMap<String, IndexEntry> ordersById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<OrderKey, Order> timeline = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, NavigableSet<OrderKey>> byCustomer = new ConcurrentSkipListMap<>();
+    private final NavigableSet<String> orderIdIndex = new ConcurrentSkipListSet<>();
+    private final ConcurrentMap<OrderStatus, NavigableSet<OrderKey>> byStatus = new ConcurrentHashMap<>();
+    private final OrderColumnStore columnStore = new OrderColumnStore();
+    private final OrderSearchIndex searchIndex = new OrderSearchIndex();
+    private final AtomicInteger orderIdCounter = new AtomicInteger(1);
+
+    // Cold tier: archived orders, only read when explicitly asked for
+    private final ConcurrentSkipListMap<OrderKey, Order> archive = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, NavigableSet<OrderKey>> archiveByCustomer = new ConcurrentHashMap<>();
+
     @Override
     public void addOrder(Order order) {
-        orders.add(order);
+        save(order);
     }
-    
+
     @Override
     public void save(Order order) {
-        orders.add(order);
+        ordersById.compute(order.getOrderId(), (id, previous) -> reindex(previous, order.copy()));
+    }
+
+    @Override
+    public void saveAll(List<Order> orders) {
+        for (Order order : orders) {
+            save(order);
+        }
+    }
+
+    @Override
+    public UpdateResult updateOrder(Order order) {
+        UpdateResult[] result = {UpdateResult.CONFLICT};
+        ordersById.computeIfPresent(order.getOrderId(), (id, previous) -> {
+            if (order.getVersion() != previous.version) {
+                return previous;
+            }
+            order.setVersion(previous.version + 1);
+            result[0] = UpdateResult.UPDATED;
+            return reindex(previous, order.copy());
+        });
+        return result[0];
     }
-    
+
     @Override
-    public void updateOrder(Order order) {
-        for (int i = 0; i < orders.size(); i++) {
-            if (orders.get(i).getOrderId().equals(order.getOrderId())) {
-                orders.set(i, order);
-                return;
+    public Set<String> updateStatuses(Collection<Order> orders, OrderStatus status, LocalDateTime changedAt) {
+        Set<String> updated = new LinkedHashSet<>();
+        for (Order order : orders) {
+            boolean[] written = new boolean[1];
+            ordersById.computeIfPresent(order.getOrderId(), (id, previous) -> {
+                if (previous.version != order.getVersion()) {
+                    return previous;
+                }
+                written[0] = true;
+                Order next = previous.order.copy();
+                next.setStatus(status);
+                next.setStatusChangedAt(changedAt);
+                next.setVersion(previous.version + 1);
+                return reindex(previous, next);
+            });
+            if (written[0]) {
+                updated.add(order.getOrderId());
             }
         }
+        return updated;
     }
-    
+
     @Override
     public List<Order> getAllOrders() {
-        return new ArrayList<>(orders);
+        return findAll();
     }
-    
+
     @Override
     public List<Order> findAll() {
-        return new ArrayList<>(orders);
+        return copies(timeline.values());
     }
-    
+
     @Override
     public List<Order> getOrdersByCustomer(String username) {
-        return orders.stream()
-                .filter(o -> username.equals(o.getCustomerName()))
-                .toList();
+        return findByCustomerName(username);
     }
-    
+
     @Override
     public Order findById(String orderId) {
-        return orders.stream()
-                .filter(o -> orderId.equals(o.getOrderId()))
-                .findFirst()
-                .orElse(null);
+        IndexEntry entry = ordersById.get(orderId);
+        return entry != null ? entry.order.copy() : null;
     }
-    
+
+    @Override
+    public List<Order> findByIds(Collection<String> orderIds) {
+        List<Order> orders = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            IndexEntry entry = ordersById.get(orderId);
+            if (entry != null) {
+                orders.add(entry.order.copy());
+            }
+        }
+        return orders;
+    }
+
     @Override
     public List<Order> findByCustomerName(String customerName) {
-        return orders.stream()
-                .filter(o -> customerName.equals(o.getCustomerName()))
-                .toList();
+        return resolve(byCustomer.get(customerName));
     }
-    
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return resolve(byStatus.get(status));
+    }
+
+    @Override
+    public void streamOrders(OrderFilter filter, Consumer<Order> sink) {
+        // Oldest first, matching the database export order
+        Iterable<Order> orders = timeline.descendingMap().values();
+        if (filter.isIncludeArchived()) {
+            ConcurrentSkipListMap<OrderKey, Order> both = new ConcurrentSkipListMap<>(archive);
+            both.putAll(timeline);
+            orders = both.descendingMap().values();
+        }
+        for (Order order : orders) {
+            if (filter.matches(order)) {
+                sink.accept(order.copy());
+            }
+        }
+    }
+
+    /**
+     * Answers a page query by walking the index matching its sort: the sorted
+     * order ID set, the customer or status groups, or the timeline (merged
+     * across the status sets when statuses are filtered). Each walk is
+     * narrowed to the time range; remaining conditions are checked per order.
+     */
+    @Override
+    public OrderPage query(OrderQuery query) {
+        OrderFilter filter = query.getFilter();
+        boolean ascending = query.isAscending();
+        List<Order> rows = new ArrayList<>(Math.min(query.getLimit(), 256));
+        long[] matched = {0};
+        Consumer<Order> collect = order -> {
+            if (filter.matches(order)) {
+                if (matched[0] >= query.getOffset() && rows.size() < query.getLimit()) {
+                    rows.add(order.copy());
+                }
+                matched[0]++;
+            }
+        };
+
+        switch (query.getSortField()) {
+            case ORDER_ID:
+                for (String orderId : ascending ? orderIdIndex : orderIdIndex.descendingSet()) {
+                    IndexEntry entry = ordersById.get(orderId);
+                    if (entry != null) {
+                        collect.accept(entry.order);
+                    }
+                }
+                break;
+            case CUSTOMER:
+                for (NavigableSet<OrderKey> keys : (ascending ? byCustomer : byCustomer.descendingMap()).values()) {
+                    visit(slice(keys, filter, ascending), collect);
+                }
+                break;
+            case STATUS:
+                for (OrderStatus status : statusesByLabel(filter, ascending)) {
+                    visit(slice(byStatus.get(status), filter, ascending), collect);
+                }
+                break;
+            default:
+                if (filter.getStatuses().isEmpty()) {
+                    visit(slice(timeline.keySet(), filter, ascending), collect);
+                } else {
+                    List<Iterable<OrderKey>> runs = new ArrayList<>();
+                    for (OrderStatus status : filter.getStatuses()) {
+                        runs.add(slice(byStatus.get(status), filter, ascending));
+                    }
+                    visitMerged(runs, ascending ? Collections.reverseOrder() : Comparator.naturalOrder(), collect);
+                }
+                break;
+        }
+        return new OrderPage(rows, matched[0], query.getOffset());
+    }
+
+    @Override
+    public List<Order> findCustomerHistory(String customerName) {
+        List<Order> history = findByCustomerName(customerName);
+        NavigableSet<OrderKey> archivedKeys = archiveByCustomer.get(customerName);
+        if (archivedKeys != null) {
+            for (OrderKey key : archivedKeys) {
+                Order order = archive.get(key);
+                if (order != null) {
+                    history.add(order.copy());
+                }
+            }
+            history.sort((a, b) -> new OrderKey(a.getOrderTime(), a.getOrderId())
+                .compareTo(new OrderKey(b.getOrderTime(), b.getOrderId())));
+        }
+        return history;
+    }
+
+    /**
+     * Moves the oldest matching orders from the live indexes to the archive.
+     * Each order moves inside the primary map's compute, so a concurrent
+     * update either lands before the move or finds the order gone.
+     */
+    @Override
+    public int archiveOrders(Set<OrderStatus> statuses, LocalDateTime olderThan, int limit) {
+        List<OrderKey> candidates = new ArrayList<>();
+        for (OrderStatus status : statuses) {
+            NavigableSet<OrderKey> keys = byStatus.get(status);
+            if (keys != null) {
+                // Keys are newest first; the tail holds the oldest orders
+                int taken = 0;
+                for (OrderKey key : keys.descendingSet()) {
+                    if (taken == limit || !key.orderTime.isBefore(olderThan)) {
+                        break;
+                    }
+                    candidates.add(key);
+                    taken++;
+                }
+            }
+        }
+        candidates.sort(Collections.reverseOrder());
+
+        int moved = 0;
+        for (OrderKey key : candidates) {
+            if (moved == limit) {
+                break;
+            }
+            boolean[] archived = {false};
+            ordersById.computeIfPresent(key.orderId, (id, entry) -> {
+                Order order = entry.order;
+                if (!entry.key.equals(key) || !statuses.contains(order.getOrderStatus())) {
+                    return entry;
+                }
+                timeline.remove(entry.key);
+                removeFromIndex(byCustomer, entry.customerName, entry.key);
+                removeFromIndex(byStatus, entry.status, entry.key);
+                orderIdIndex.remove(id);
+                columnStore.remove(id);
+                searchIndex.remove(id);
+                archive.put(entry.key, order);
+                addToIndex(archiveByCustomer, entry.customerName, entry.key);
+                archived[0] = true;
+                return null;
+            });
+            if (archived[0]) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Ranks live orders against the prefix index: best score first, then newest.
+     */
+    @Override
+    public List<Order> search(String query, int limit) {
+        Map<String, Integer> scores = searchIndex.search(query);
+        if (scores.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Keep only the best {@code limit} hits; the head is the worst kept hit
+        Comparator<Map.Entry<Order, Integer>> rank = Comparator
+            .comparing((Map.Entry<Order, Integer> e) -> e.getValue())
+            .thenComparing(e -> new OrderKey(e.getKey().getOrderTime(), e.getKey().getOrderId()),
+                Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<Order, Integer>> best = new PriorityQueue<>(limit + 1, rank);
+        for (Map.Entry<String, Integer> hit : scores.entrySet()) {
+            IndexEntry entry = ordersById.get(hit.getKey());
+            if (entry != null) {
+                best.add(new AbstractMap.SimpleImmutableEntry<>(entry.order, hit.getValue()));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Order> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(best.poll().getKey().copy());
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    @Override
+    public long countArchived() {
+        return archive.size();
+    }
+
+    @Override
+    public long countAll() {
+        return ordersById.size();
+    }
+
+    @Override
+    public long countByStatus(OrderStatus status) {
+        return columnStore.countByStatus(status);
+    }
+
+    @Override
+    public Money sumTotals() {
+        return Money.ofCents(columnStore.totalRevenueCents());
+    }
+
+    @Override
+    public long[] revenueCentsByDay(LocalDate from, int days) {
+        return columnStore.revenueCentsByDay(from, days);
+    }
+
     @Override
     public String generateOrderId() {
-        return "ORD" + String.format("%03d", orderIdCounter++);
+        return "ORD" + String.format("%03d", orderIdCounter.getAndIncrement());
+    }
+
+    /**
+     * Gets the columnar copy of the orders used for analytics.
+     * @return Column store backing the aggregate queries
+     */
+    public OrderColumnStore getColumnStore() {
+        return columnStore;
+    }
+
+    /**
+     * Returns the number of orders currently stored.
+     * @return Order count
+     */
+    public int size() {
+        return ordersById.size();
+    }
+
+    /**
+     * Returns the newest orders first, up to the given limit.
+     * @param limit Maximum number of orders to return
+     * @return Newest orders
+     */
+    public List<Order> findRecent(int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Order> recent = new ArrayList<>(Math.min(limit, ordersById.size()));
+        for (Order order : timeline.values()) {
+            if (recent.size() == limit) {
+                break;
+            }
+            recent.add(order.copy());
+        }
+        return recent;
+    }
+
+    /**
+     * Moves an order between secondary indexes. Runs inside the primary map's
+     * compute so concurrent writers to the same order ID are serialized.
+     * @param previous Entry currently stored for the order ID, or null
+     * @param order Order being written
+     * @return New primary entry
+     */
+    private IndexEntry reindex(IndexEntry previous, Order order) {
+        IndexEntry next = new IndexEntry(order);
+
+        if (previous != null) {
+            timeline.remove(previous.key);
+            removeFromIndex(byCustomer, previous.customerName, previous.key);
+            removeFromIndex(byStatus, previous.status, previous.key);
+        }
+
+        timeline.put(next.key, order);
+        orderIdIndex.add(order.getOrderId());
+        addToIndex(byCustomer, next.customerName, next.key);
+        addToIndex(byStatus, next.status, next.key);
+        columnStore.upsert(order);
+        searchIndex.update(order);
+        return next;
+    }
+
+    private void visit(Iterable<OrderKey> keys, Consumer<Order> sink) {
+        for (OrderKey key : keys) {
+            visit(key, sink);
+        }
+    }
+
+    private void visit(OrderKey key, Consumer<Order> sink) {
+        IndexEntry entry = ordersById.get(key.orderId);
+        if (entry != null && entry.key.equals(key)) {
+            sink.accept(entry.order);
+        }
+    }
+
+    /**
+     * Narrows a newest-first key set to the filter's order-time range.
+     * @param keys Index keys, may be null
+     * @param filter Filter supplying the range
+     * @param oldestFirst Whether to walk the range oldest first
+     * @return Keys in range, in the requested direction
+     */
+    private static Iterable<OrderKey> slice(NavigableSet<OrderKey> keys, OrderFilter filter, boolean oldestFirst) {
+        if (keys == null) {
+            return Collections.emptyList();
+        }
+        // Newest first, so the upper time bound starts the range; "" sorts before any ID
+        OrderKey start = filter.getUntil() != null ? new OrderKey(filter.getUntil(), "") : null;
+        OrderKey end = filter.getFrom() != null ? new OrderKey(filter.getFrom().minusNanos(1), "") : null;
+        NavigableSet<OrderKey> range;
+        if (start != null && end != null) {
+            if (start.compareTo(end) > 0) {
+                return Collections.emptyList();
+            }
+            range = keys.subSet(start, true, end, false);
+        } else if (start != null) {
+            range = keys.tailSet(start, true);
+        } else if (end != null) {
+            range = keys.headSet(end, false);
+        } else {
+            range = keys;
+        }
+        return oldestFirst ? range.descendingSet() : range;
+    }
+
+    /**
+     * Visits sorted key runs as one sorted sequence, holding only the head of
+     * each run.
+     */
+    private void visitMerged(List<Iterable<OrderKey>> runs, Comparator<OrderKey> order, Consumer<Order> sink) {
+        PriorityQueue<Map.Entry<OrderKey, Iterator<OrderKey>>> heads =
+            new PriorityQueue<>(Math.max(1, runs.size()), Map.Entry.comparingByKey(order));
+        for (Iterable<OrderKey> run : runs) {
+            Iterator<OrderKey> it = run.iterator();
+            if (it.hasNext()) {
+                heads.add(new AbstractMap.SimpleImmutableEntry<>(it.next(), it));
+            }
+        }
+        while (!heads.isEmpty()) {
+            Map.Entry<OrderKey, Iterator<OrderKey>> head = heads.poll();
+            visit(head.getKey(), sink);
+            Iterator<OrderKey> it = head.getValue();
+            if (it.hasNext()) {
+                heads.add(new AbstractMap.SimpleImmutableEntry<>(it.next(), it));
+            }
+        }
+    }
+
+    /**
+     * Lists the statuses to walk in label order, matching how the database
+     * sorts the status column.
+     */
+    private static List<OrderStatus> statusesByLabel(OrderFilter filter, boolean ascending) {
+        List<OrderStatus> statuses = new ArrayList<>(filter.getStatuses().isEmpty()
+            ? EnumSet.allOf(OrderStatus.class) : filter.getStatuses());
+        Comparator<OrderStatus> byLabel = Comparator.comparing(OrderStatus::getLabel);
+        statuses.sort(ascending ? byLabel : byLabel.reversed());
+        return statuses;
+    }
+
+    private List<Order> resolve(NavigableSet<OrderKey> keys) {
+        if (keys == null) {
+            return new ArrayList<>();
+        }
+        List<Order> orders = new ArrayList<>(keys.size());
+        for (OrderKey key : keys) {
+            IndexEntry entry = ordersById.get(key.orderId);
+            if (entry != null && entry.key.equals(key)) {
+                orders.add(entry.order.copy());
+            }
+        }
+        return orders;
+    }
+
+    private static List<Order> copies(Collection<Order> orders) {
+        List<Order> copies = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            copies.add(order.copy());
+        }
+        return copies;
+    }
+
+    private static <K> void addToIndex(Map<K, NavigableSet<OrderKey>> index, K value, OrderKey key) {
+        if (value != null) {
+            index.compute(value, (v, keys) -> {
+                NavigableSet<OrderKey> target = keys != null ? keys : new ConcurrentSkipListSet<>();
+                target.add(key);
+                return target;
+            });
+        }
+    }
+
+    private static <K> void removeFromIndex(Map<K, NavigableSet<OrderKey>> index, K value, OrderKey key) {
+        if (value != null) {
+            index.computeIfPresent(value, (v, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /**
+     * Snapshot of the indexed fields of an order at the time it was written.
+     */
+    private static final class IndexEntry {
+        final Order order;
+        final OrderKey key;
+        final String customerName;
+        final OrderStatus status;
+        final long version;
+
+        IndexEntry(Order order) {
+            this.order = order;
+            this.key = new OrderKey(order.getOrderTime(), order.getOrderId());
+            this.customerName = order.getCustomerName();
+            this.status = order.getOrderStatus();
+            this.version = order.getVersion();
+        }
+    }
+
+    /**
+     * Sort key ordering orders newest first, ties broken by order ID.
+     */
+    private static final class OrderKey implements Comparable<OrderKey> {
+        final LocalDateTime orderTime;
+        final String orderId;
+
+        OrderKey(LocalDateTime orderTime, String orderId) {
+            this.orderTime = orderTime != null ? orderTime : LocalDateTime.MIN;
+            this.orderId = orderId;
+        }
+
+        @Override
+        public int compareTo(OrderKey other) {
+            int byTime = other.orderTime.compareTo(orderTime);
+            return byTime != 0 ? byTime : orderId.compareTo(other.orderId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof OrderKey)) return false;
+            OrderKey other = (OrderKey) o;
+            return orderTime.equals(other.orderTime) && orderId.equals(other.orderId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * orderTime.hashCode() + orderId.hashCode();
+        }
     }
-}
\ No newline at end of file
+}
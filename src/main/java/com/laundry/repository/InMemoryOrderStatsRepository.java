@@ -0,0 +1,108 @@
+package com.laundry.repository;
+
+import com.laundry.model.OrderStatsRow;
+import com.laundry.model.OrderStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory implementation of OrderStatsRepository.
+ * Keeps hourly and daily rows in sorted maps keyed by (bucket, service, status),
+ * so a date-range report is a sub-map view.
+ */
+public class InMemoryOrderStatsRepository implements OrderStatsRepository {
+    private final ConcurrentSkipListMap<RowKey, OrderStatsRow> hourly = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<RowKey, OrderStatsRow> daily = new ConcurrentSkipListMap<>();
+    
+    @Override
+    public void apply(OrderStatsDelta delta) {
+        merge(hourly, delta.hourlyRows());
+        merge(daily, delta.dailyRows());
+    }
+    
+    @Override
+    public List<OrderStatsRow> findDaily(LocalDate first, LocalDate last) {
+        return range(daily, first.atStartOfDay(), last.plusDays(1).atStartOfDay());
+    }
+    
+    @Override
+    public List<OrderStatsRow> findHourly(LocalDateTime from, LocalDateTime until) {
+        return range(hourly, from, until);
+    }
+    
+    /**
+     * Recomputes both rollups by streaming every live and archived order from the source.
+     * @param orders Source of truth
+     */
+    @Override
+    public void rebuild(OrderRepository orders) {
+        OrderStatsDelta delta = new OrderStatsDelta();
+        orders.streamOrders(OrderFilter.builder().includeArchived().build(), delta::add);
+        synchronized (this) {
+            hourly.clear();
+            daily.clear();
+            apply(delta);
+        }
+    }
+    
+    private static void merge(ConcurrentSkipListMap<RowKey, OrderStatsRow> rollup, List<OrderStatsRow> rows) {
+        for (OrderStatsRow row : rows) {
+            rollup.compute(new RowKey(row.getBucket(), row.getService(), row.getStatus()), (key, current) -> {
+                OrderStatsRow next = current != null ? current.plus(row) : row;
+                return next.isEmpty() ? null : next;
+            });
+        }
+    }
+    
+    private static List<OrderStatsRow> range(ConcurrentSkipListMap<RowKey, OrderStatsRow> rollup,
+                                             LocalDateTime from, LocalDateTime until) {
+        if (!from.isBefore(until)) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(rollup.subMap(RowKey.lowest(from), RowKey.lowest(until)).values());
+    }
+    
+    /**
+     * Rollup key ordered by bucket, then service, then status. A key with a
+     * null service and status sorts before every real key in its bucket.
+     */
+    private static final class RowKey implements Comparable<RowKey> {
+        private static final Comparator<RowKey> ORDER = Comparator
+            .comparing((RowKey k) -> k.bucket)
+            .thenComparing(k -> k.service, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(k -> k.status, Comparator.nullsFirst(Comparator.naturalOrder()));
+        
+        final LocalDateTime bucket;
+        final String service;
+        final OrderStatus status;
+        
+        RowKey(LocalDateTime bucket, String service, OrderStatus status) {
+            this.bucket = bucket;
+            this.service = service;
+            this.status = status;
+        }
+        
+        static RowKey lowest(LocalDateTime bucket) {
+            return new RowKey(bucket, null, null);
+        }
+        
+        @Override
+        public int compareTo(RowKey other) {
+            return ORDER.compare(this, other);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RowKey && compareTo((RowKey) o) == 0;
+        }
+        
+        @Override
+        public int hashCode() {
+            return bucket.hashCode() * 31 + (service != null ? service.hashCode() : 0);
+        }
+    }
+}
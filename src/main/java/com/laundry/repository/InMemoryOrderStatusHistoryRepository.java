@@ -0,0 +1,52 @@
+package com.laundry.repository;
+
+import com.laundry.model.OrderStatus;
+import com.laundry.model.StageDwell;
+import com.laundry.model.StatusChange;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory implementation of OrderStatusHistoryRepository.
+ * Changes are indexed by order and by the time they happened, so dwell
+ * queries only visit the changes inside the requested range.
+ */
+public class InMemoryOrderStatusHistoryRepository implements OrderStatusHistoryRepository {
+    private final ConcurrentMap<String, Queue<StatusChange>> byOrder = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDateTime, Queue<StatusChange>> byChangedAt = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void append(List<StatusChange> changes) {
+        for (StatusChange change : changes) {
+            byOrder.computeIfAbsent(change.getOrderId(), id -> new ConcurrentLinkedQueue<>()).add(change);
+            byChangedAt.computeIfAbsent(change.getChangedAt(), time -> new ConcurrentLinkedQueue<>()).add(change);
+        }
+    }
+
+    @Override
+    public List<StatusChange> findByOrder(String orderId) {
+        Queue<StatusChange> changes = byOrder.get(orderId);
+        return changes == null ? Collections.emptyList() : new ArrayList<>(changes);
+    }
+
+    @Override
+    public Map<OrderStatus, StageDwell> dwellTimes(LocalDateTime from, LocalDateTime to) {
+        Map<OrderStatus, StageDwell> dwell = new EnumMap<>(OrderStatus.class);
+        for (Queue<StatusChange> changes : byChangedAt.subMap(from, true, to, false).values()) {
+            for (StatusChange change : changes) {
+                OrderStatus status = change.getFromStatus();
+                dwell.put(status, dwell.getOrDefault(status, new StageDwell(status, 0, 0, 0)).plus(change.getDwell()));
+            }
+        }
+        return dwell;
+    }
+}
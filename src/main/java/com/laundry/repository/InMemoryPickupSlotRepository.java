@@ -0,0 +1,39 @@
+package com.laundry.repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory implementation of PickupSlotRepository.
+ * Each slot counter is checked and incremented atomically inside the map's
+ * compute, so concurrent reservations cannot exceed the capacity.
+ */
+public class InMemoryPickupSlotRepository implements PickupSlotRepository {
+    private final ConcurrentSkipListMap<LocalDateTime, Integer> reserved = new ConcurrentSkipListMap<>();
+
+    @Override
+    public int reserve(LocalDateTime slotStart, int capacity) {
+        int[] result = {-1};
+        reserved.compute(slotStart, (start, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= capacity) {
+                return count;
+            }
+            result[0] = current + 1;
+            return current + 1;
+        });
+        return result[0];
+    }
+
+    @Override
+    public void release(LocalDateTime slotStart) {
+        reserved.computeIfPresent(slotStart, (start, count) -> count > 1 ? count - 1 : null);
+    }
+
+    @Override
+    public Map<LocalDateTime, Integer> findReserved(LocalDateTime from, LocalDateTime to) {
+        return new HashMap<>(reserved.subMap(from, true, to, false));
+    }
+}
@@ -0,0 +1,125 @@
+package com.laundry.repository;
+
+import com.laundry.model.PointsEntry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory implementation of PointsLedgerRepository.
+ * Each member has an account holding their entries in append order and the
+ * balance of the compacted prefix; an account is locked only while one of
+ * its own entries is written or folded.
+ */
+public class InMemoryPointsLedgerRepository implements PointsLedgerRepository {
+    private final ConcurrentMap<String, Account> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PointsEntry> byOrder = new ConcurrentHashMap<>();
+    private final AtomicLong entryIds = new AtomicLong();
+
+    @Override
+    public boolean append(PointsEntry entry) {
+        Account account = account(entry.getUsername());
+        synchronized (account) {
+            return appendLocked(account, entry);
+        }
+    }
+
+    @Override
+    public boolean redeem(String username, String orderId, int points) {
+        Account account = account(username);
+        synchronized (account) {
+            if (byOrder.containsKey(orderKey(orderId, PointsEntry.Type.REDEEM))) {
+                return true;
+            }
+            if (account.balance() < points) {
+                return false;
+            }
+            return appendLocked(account, PointsEntry.of(username, orderId, PointsEntry.Type.REDEEM, -points));
+        }
+    }
+
+    @Override
+    public int getBalance(String username) {
+        Account account = accounts.get(username);
+        if (account == null) {
+            return 0;
+        }
+        synchronized (account) {
+            return account.balance();
+        }
+    }
+
+    @Override
+    public List<PointsEntry> findEntries(String username, int limit) {
+        List<PointsEntry> recent = new ArrayList<>();
+        Account account = accounts.get(username);
+        if (account == null) {
+            return recent;
+        }
+        synchronized (account) {
+            for (int i = account.entries.size() - 1; i >= 0 && recent.size() < limit; i--) {
+                recent.add(account.entries.get(i));
+            }
+        }
+        return recent;
+    }
+
+    @Override
+    public long compact(LocalDateTime createdBefore) {
+        long folded = 0;
+        for (Account account : accounts.values()) {
+            synchronized (account) {
+                while (account.compactedCount < account.entries.size()) {
+                    PointsEntry entry = account.entries.get(account.compactedCount);
+                    if (!entry.getCreatedAt().isBefore(createdBefore)) {
+                        break;
+                    }
+                    account.compactedBalance += entry.getPoints();
+                    account.compactedCount++;
+                    folded++;
+                }
+            }
+        }
+        return folded;
+    }
+
+    private boolean appendLocked(Account account, PointsEntry entry) {
+        PointsEntry stored = new PointsEntry(entryIds.incrementAndGet(), entry.getUsername(),
+            entry.getOrderId(), entry.getType(), entry.getPoints(), entry.getCreatedAt());
+        if (entry.getOrderId() != null
+                && byOrder.putIfAbsent(orderKey(entry.getOrderId(), entry.getType()), stored) != null) {
+            return false;
+        }
+        account.entries.add(stored);
+        return true;
+    }
+
+    private Account account(String username) {
+        return accounts.computeIfAbsent(username, u -> new Account());
+    }
+
+    private static String orderKey(String orderId, PointsEntry.Type type) {
+        return orderId + "|" + type.name();
+    }
+
+    /**
+     * One member's entries; the first {@code compactedCount} are folded
+     * into {@code compactedBalance}.
+     */
+    private static final class Account {
+        final List<PointsEntry> entries = new ArrayList<>();
+        int compactedCount;
+        int compactedBalance;
+
+        int balance() {
+            int balance = compactedBalance;
+            for (int i = compactedCount; i < entries.size(); i++) {
+                balance += entries.get(i).getPoints();
+            }
+            return balance;
+        }
+    }
+}
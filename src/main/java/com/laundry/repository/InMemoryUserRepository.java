@@ -11,10 +11,13 @@ import java.util.Map;
  */
 public class InMemoryUserRepository implements UserRepository {
     private final Map<String, User> users = new HashMap<>();
+    // Version each user was last written with, checked by updateUser
+    private final Map<String, Long> versions = new HashMap<>();
     
     @Override
-    public void addUser(User user) {
+    public synchronized void addUser(User user) {
         users.put(user.getUsername(), user);
+        versions.put(user.getUsername(), user.getVersion());
     }
     
     @Override
@@ -35,7 +38,22 @@ public class InMemoryUserRepository implements UserRepository {
     }
     
     @Override
-    public void updateUser(User user) {
+    public User findMemberByPhone(String phone) {
+        return users.values().stream()
+                .filter(u -> "MEMBER".equals(u.getRole()) && phone.equals(u.getPhone()))
+                .findFirst()
+                .orElse(null);
+    }
+    
+    @Override
+    public synchronized UpdateResult updateUser(User user) {
+        Long stored = versions.get(user.getUsername());
+        if (stored == null || stored != user.getVersion()) {
+            return UpdateResult.CONFLICT;
+        }
+        user.setVersion(stored + 1);
+        versions.put(user.getUsername(), user.getVersion());
         users.put(user.getUsername(), user);
+        return UpdateResult.UPDATED;
     }
 }
\ No newline at end of file
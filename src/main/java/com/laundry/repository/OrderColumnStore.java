@@ -0,0 +1,257 @@
+package com.laundry.repository;
+
+import com.laundry.model.CatalogCode;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the in-memory orders used for analytics.
+ * Numeric fields live in parallel primitive arrays and status, service and
+ * laundry type are stored as their int codes (enum ordinal / CatalogCode),
+ * so aggregations run as plain loops over arrays without touching Order objects.
+ */
+public class OrderColumnStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int ABSENT = -1;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rowByOrderId = new HashMap<>();
+
+    private int size;
+    private String[] orderIdByRow = new String[INITIAL_CAPACITY];
+    private double[] weight = new double[INITIAL_CAPACITY];
+    private long[] totalCents = new long[INITIAL_CAPACITY];
+    private long[] orderTimeMillis = new long[INITIAL_CAPACITY];
+    private int[] statusCode = new int[INITIAL_CAPACITY];
+    private int[] serviceCode = new int[INITIAL_CAPACITY];
+    private int[] laundryTypeCode = new int[INITIAL_CAPACITY];
+
+    /**
+     * Inserts an order row or overwrites the row already held for its ID.
+     * @param order Order to copy into the columns
+     */
+    public void upsert(Order order) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByOrderId.get(order.getOrderId());
+            if (row == null) {
+                ensureCapacity(size + 1);
+                row = size++;
+                rowByOrderId.put(order.getOrderId(), row);
+                orderIdByRow[row] = order.getOrderId();
+            }
+            weight[row] = order.getWeight();
+            totalCents[row] = order.getTotalCents();
+            orderTimeMillis[row] = toMillis(order.getOrderTime());
+            statusCode[row] = order.getOrderStatus().ordinal();
+            serviceCode[row] = codeOf(order.getServiceCode());
+            laundryTypeCode[row] = codeOf(order.getLaundryTypeCode());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an order row, moving the last row into its slot.
+     * @param orderId ID of the order to remove
+     * @return true if a row was removed
+     */
+    public boolean remove(String orderId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByOrderId.remove(orderId);
+            if (row == null) {
+                return false;
+            }
+            int last = --size;
+            if (row != last) {
+                weight[row] = weight[last];
+                totalCents[row] = totalCents[last];
+                orderTimeMillis[row] = orderTimeMillis[last];
+                statusCode[row] = statusCode[last];
+                serviceCode[row] = serviceCode[last];
+                laundryTypeCode[row] = laundryTypeCode[last];
+                orderIdByRow[row] = orderIdByRow[last];
+                rowByOrderId.put(orderIdByRow[row], row);
+            }
+            orderIdByRow[last] = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of rows in the store.
+     * @return Row count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sums the total of every order.
+     * @return Total revenue in cents
+     */
+    public long totalRevenueCents() {
+        lock.readLock().lock();
+        try {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += totalCents[i];
+            }
+            return sum;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts orders with the given status.
+     * @param status Status to count
+     * @return Number of orders with that status
+     */
+    public int countByStatus(OrderStatus status) {
+        lock.readLock().lock();
+        try {
+            int code = status.ordinal();
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (statusCode[i] == code) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts orders for every status.
+     * @return Map of status to order count
+     */
+    public Map<OrderStatus, Integer> countsByStatus() {
+        lock.readLock().lock();
+        try {
+            int[] counts = new int[STATUSES.length];
+            for (int i = 0; i < size; i++) {
+                counts[statusCode[i]]++;
+            }
+            Map<OrderStatus, Integer> result = new EnumMap<>(OrderStatus.class);
+            for (OrderStatus status : STATUSES) {
+                result.put(status, counts[status.ordinal()]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sums order totals per calendar day.
+     * @param from First day of the range
+     * @param days Number of days in the range
+     * @return Revenue in cents per day, index 0 being {@code from}
+     */
+    public long[] revenueCentsByDay(LocalDate from, int days) {
+        long[] revenue = new long[Math.max(days, 0)];
+        long start = from.toEpochDay() * MILLIS_PER_DAY;
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                long day = Math.floorDiv(orderTimeMillis[i] - start, MILLIS_PER_DAY);
+                if (day >= 0 && day < revenue.length) {
+                    revenue[(int) day] += totalCents[i];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return revenue;
+    }
+
+    /**
+     * Sums order totals for one service.
+     * @param service Service to sum
+     * @return Revenue in cents for that service
+     */
+    public long revenueCentsByService(CatalogCode service) {
+        lock.readLock().lock();
+        try {
+            int code = codeOf(service);
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                if (serviceCode[i] == code) {
+                    sum += totalCents[i];
+                }
+            }
+            return sum;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sums the weight of orders for one laundry type.
+     * @param laundryType Laundry type to sum
+     * @return Total weight in kg
+     */
+    public double weightByLaundryType(CatalogCode laundryType) {
+        lock.readLock().lock();
+        try {
+            int code = codeOf(laundryType);
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                if (laundryTypeCode[i] == code) {
+                    sum += weight[i];
+                }
+            }
+            return sum;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= weight.length) {
+            return;
+        }
+        int capacity = Math.max(required, weight.length * 2);
+        orderIdByRow = Arrays.copyOf(orderIdByRow, capacity);
+        weight = Arrays.copyOf(weight, capacity);
+        totalCents = Arrays.copyOf(totalCents, capacity);
+        orderTimeMillis = Arrays.copyOf(orderTimeMillis, capacity);
+        statusCode = Arrays.copyOf(statusCode, capacity);
+        serviceCode = Arrays.copyOf(serviceCode, capacity);
+        laundryTypeCode = Arrays.copyOf(laundryTypeCode, capacity);
+    }
+
+    private static int codeOf(CatalogCode value) {
+        return value != null ? value.getCode() : ABSENT;
+    }
+
+    /**
+     * Converts a local date-time to millis on a UTC clock, so day buckets
+     * line up with local calendar days.
+     */
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,161 @@
+package com.laundry.repository;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Immutable order filter: an order-time range, a set of statuses and a set of
+ * services. Unset bounds and empty sets match everything. Archived orders
+ * are only included when asked for explicitly.
+ */
+public final class OrderFilter {
+    private static final OrderFilter ALL = new Builder().build();
+    
+    private final LocalDateTime from;
+    private final LocalDateTime until;
+    private final Set<OrderStatus> statuses;
+    private final Set<String> services;
+    private final boolean includeArchived;
+    
+    private OrderFilter(Builder builder) {
+        this.from = builder.from;
+        this.includeArchived = builder.includeArchived;
+        this.until = builder.until;
+        this.statuses = builder.statuses.isEmpty()
+            ? Collections.emptySet()
+            : Collections.unmodifiableSet(EnumSet.copyOf(builder.statuses));
+        this.services = Collections.unmodifiableSet(new LinkedHashSet<>(builder.services));
+    }
+    
+    /**
+     * Gets the filter that matches every order.
+     * @return Match-all filter
+     */
+    public static OrderFilter all() {
+        return ALL;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Gets the inclusive lower bound on order time.
+     * @return Lower bound, or null if unbounded
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    /**
+     * Gets the exclusive upper bound on order time.
+     * @return Upper bound, or null if unbounded
+     */
+    public LocalDateTime getUntil() {
+        return until;
+    }
+    
+    /**
+     * Gets the statuses to include.
+     * @return Statuses, empty for all
+     */
+    public Set<OrderStatus> getStatuses() {
+        return statuses;
+    }
+    
+    /**
+     * Gets the services to include.
+     * @return Service labels, empty for all
+     */
+    public Set<String> getServices() {
+        return services;
+    }
+    
+    /**
+     * Checks whether archived orders should be read as well as live ones.
+     * @return true to cover both tiers
+     */
+    public boolean isIncludeArchived() {
+        return includeArchived;
+    }
+    
+    /**
+     * Checks an order against the filter.
+     * @param order Order to test
+     * @return true if the order matches
+     */
+    public boolean matches(Order order) {
+        LocalDateTime time = order.getOrderTime();
+        if (from != null && (time == null || time.isBefore(from))) {
+            return false;
+        }
+        if (until != null && (time == null || !time.isBefore(until))) {
+            return false;
+        }
+        if (!statuses.isEmpty() && !statuses.contains(order.getOrderStatus())) {
+            return false;
+        }
+        return services.isEmpty() || services.contains(order.getService());
+    }
+    
+    /**
+     * Builder for OrderFilter.
+     */
+    public static final class Builder {
+        private LocalDateTime from;
+        private LocalDateTime until;
+        private final Set<OrderStatus> statuses = EnumSet.noneOf(OrderStatus.class);
+        private final Set<String> services = new LinkedHashSet<>();
+        private boolean includeArchived;
+        
+        private Builder() {
+        }
+        
+        public Builder from(LocalDateTime from) {
+            this.from = from;
+            return this;
+        }
+        
+        public Builder until(LocalDateTime until) {
+            this.until = until;
+            return this;
+        }
+        
+        /**
+         * Restricts the filter to whole calendar days.
+         * @param first First day, inclusive
+         * @param last Last day, inclusive
+         * @return This builder
+         */
+        public Builder days(LocalDate first, LocalDate last) {
+            this.from = first != null ? first.atStartOfDay() : null;
+            this.until = last != null ? last.plusDays(1).atStartOfDay() : null;
+            return this;
+        }
+        
+        public Builder status(OrderStatus... statuses) {
+            Collections.addAll(this.statuses, statuses);
+            return this;
+        }
+        
+        public Builder service(String... services) {
+            Collections.addAll(this.services, services);
+            return this;
+        }
+        
+        public Builder includeArchived() {
+            this.includeArchived = true;
+            return this;
+        }
+        
+        public OrderFilter build() {
+            return new OrderFilter(this);
+        }
+    }
+}
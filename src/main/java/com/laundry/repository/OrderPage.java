@@ -0,0 +1,45 @@
+package com.laundry.repository;
+
+import com.laundry.model.Order;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of orders answering an {@link OrderQuery}, with the total number
+ * of matching orders so the grid can show its position.
+ */
+public final class OrderPage {
+    private final List<Order> orders;
+    private final long totalCount;
+    private final int offset;
+
+    public OrderPage(List<Order> orders, long totalCount, int offset) {
+        this.orders = Collections.unmodifiableList(orders);
+        this.totalCount = totalCount;
+        this.offset = offset;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Gets the number of orders matching the filter across all pages.
+     * @return Total match count
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public boolean hasPreviousPage() {
+        return offset > 0;
+    }
+
+    public boolean hasNextPage() {
+        return offset + orders.size() < totalCount;
+    }
+}
@@ -0,0 +1,150 @@
+package com.laundry.repository;
+
+/**
+ * Immutable query spec for one page of orders: a filter, a sort and a page
+ * window. Built specs are validated so every repository can answer them from
+ * an index: the sort column must be indexed, the page size is capped, and
+ * archived orders are not paged (stream them instead).
+ */
+public final class OrderQuery {
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Sortable columns of the order grid and the index each sort walks.
+     * Columns without an index cannot be sorted server-side.
+     */
+    public enum SortField {
+        ORDER_TIME("order_time", "idx_orders_order_time"),
+        ORDER_ID("order_id", "PRIMARY"),
+        CUSTOMER("customer_name", "idx_orders_customer_time"),
+        STATUS("status", "idx_orders_status_time"),
+        PHONE("phone", null),
+        SERVICE("service", null),
+        TOTAL("total", null);
+
+        private final String column;
+        private final String index;
+
+        SortField(String column, String index) {
+            this.column = column;
+            this.index = index;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        /**
+         * Gets the index that returns rows in this column's order.
+         * @return Index name, or null if the column is not indexed
+         */
+        public String getIndex() {
+            return index;
+        }
+
+        public boolean isIndexed() {
+            return index != null;
+        }
+    }
+
+    private final OrderFilter filter;
+    private final SortField sortField;
+    private final boolean ascending;
+    private final int offset;
+    private final int limit;
+
+    private OrderQuery(Builder builder) {
+        this.filter = builder.filter;
+        this.sortField = builder.sortField;
+        this.ascending = builder.ascending;
+        this.offset = builder.offset;
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public OrderFilter getFilter() {
+        return filter;
+    }
+
+    public SortField getSortField() {
+        return sortField;
+    }
+
+    /**
+     * Checks the sort direction. Ties are broken by order time in the same
+     * direction, so ascending means oldest first within a group.
+     * @return true for ascending
+     */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Gets the number of matching orders skipped before the page.
+     * @return Row offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the page size.
+     * @return Maximum number of orders returned
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Builder for OrderQuery. Defaults to every live order, newest first,
+     * first page of 100.
+     */
+    public static final class Builder {
+        private OrderFilter filter = OrderFilter.all();
+        private SortField sortField = SortField.ORDER_TIME;
+        private boolean ascending;
+        private int offset;
+        private int limit = 100;
+
+        private Builder() {
+        }
+
+        public Builder filter(OrderFilter filter) {
+            this.filter = filter != null ? filter : OrderFilter.all();
+            return this;
+        }
+
+        public Builder sortBy(SortField sortField, boolean ascending) {
+            this.sortField = sortField;
+            this.ascending = ascending;
+            return this;
+        }
+
+        public Builder page(int offset, int limit) {
+            this.offset = offset;
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Builds the query.
+         * @return Validated query
+         * @throws IllegalArgumentException if the spec cannot be answered from an index
+         */
+        public OrderQuery build() {
+            if (sortField == null || !sortField.isIndexed()) {
+                throw new IllegalArgumentException("Cannot sort by unindexed column: " + sortField);
+            }
+            if (offset < 0 || limit <= 0 || limit > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("Invalid page: offset " + offset + ", limit " + limit);
+            }
+            if (filter.isIncludeArchived()) {
+                throw new IllegalArgumentException("Paged queries cover live orders only");
+            }
+            return new OrderQuery(this);
+        }
+    }
+}
@@ -1,20 +1,60 @@
 package com.laundry.repository;
 
+import com.laundry.model.Money;
 import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for Order data access operations.
- * Defines the contract for order data persistence.
+ * Defines the contract for order data persistence. Reads cover live orders
+ * only; archived orders are reached through findCustomerHistory and
+ * filters that include the archive.
  */
 public interface OrderRepository {
     void addOrder(Order order);
     void save(Order order);
-    void updateOrder(Order order);
+    void saveAll(List<Order> orders);
+
+    /**
+     * Writes an order back if it still has the version it was read with, and
+     * bumps the version on success.
+     * @param order Order carrying the version it was read with
+     * @return CONFLICT if the stored order changed or went away since it was read
+     */
+    UpdateResult updateOrder(Order order);
+
+    /**
+     * Sets one status on many orders, each only if it still has the version
+     * it was read with, and bumps the version of every order written. The
+     * given orders are left as they are.
+     * @param orders Orders carrying the version they were read with
+     * @param changedAt When the orders entered the new status
+     * @return IDs of the orders written; the others changed or went away since they were read
+     */
+    Set<String> updateStatuses(Collection<Order> orders, OrderStatus status, LocalDateTime changedAt);
+
     List<Order> getAllOrders();
     List<Order> findAll();
     List<Order> getOrdersByCustomer(String username);
     Order findById(String orderId);
+    List<Order> findByIds(Collection<String> orderIds);
     List<Order> findByCustomerName(String customerName);
+    List<Order> findByStatus(OrderStatus status);
+    void streamOrders(OrderFilter filter, Consumer<Order> sink);
+    OrderPage query(OrderQuery query);
+    List<Order> findCustomerHistory(String customerName);
+    List<Order> search(String query, int limit);
+    int archiveOrders(Set<OrderStatus> statuses, LocalDateTime olderThan, int limit);
+    long countArchived();
+    long countAll();
+    long countByStatus(OrderStatus status);
+    Money sumTotals();
+    long[] revenueCentsByDay(LocalDate from, int days);
     String generateOrderId();
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.laundry.repository;
+
+import com.laundry.model.CatalogCode;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Maps rows of the orders and orders_archive tables. Column indexes are
+ * looked up once per ResultSet instead of by name on every row, and each
+ * row becomes an order in one {@link Order#restore} call, skipping the
+ * setters' per-field validation: the rows were validated when written.
+ * A status label that no longer matches any status fails the read rather
+ * than passing the order off as Pending.
+ */
+public final class OrderRowMapper implements RowMapper<Order> {
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final int orderId;
+    private final int customerName;
+    private final int phone;
+    private final int address;
+    private final int laundryType;
+    private final int service;
+    private final int status;
+    private final int weight;
+    private final int total;
+    private final int pickupTime;
+    private final int orderTime;
+    private final int customerId;
+    private final int version;
+    private final int statusChangedAt;
+
+    private OrderRowMapper(ResultSet rs) throws SQLException {
+        this.orderId = rs.findColumn("order_id");
+        this.customerName = rs.findColumn("customer_name");
+        this.phone = rs.findColumn("phone");
+        this.address = rs.findColumn("address");
+        this.laundryType = rs.findColumn("laundry_type");
+        this.service = rs.findColumn("service");
+        this.status = rs.findColumn("status");
+        this.weight = rs.findColumn("weight");
+        this.total = rs.findColumn("total");
+        this.pickupTime = rs.findColumn("pickup_time");
+        this.orderTime = rs.findColumn("order_time");
+        this.customerId = rs.findColumn("customer_id");
+        this.version = rs.findColumn("version");
+        this.statusChangedAt = rs.findColumn("status_changed_at");
+    }
+
+    /**
+     * Builds a mapper for the columns of a ResultSet.
+     * @param rs ResultSet of order rows, in any column order
+     * @return Mapper for that ResultSet
+     * @throws SQLException if an order column is missing
+     */
+    public static OrderRowMapper forResultSet(ResultSet rs) throws SQLException {
+        return new OrderRowMapper(rs);
+    }
+
+    @Override
+    public Order mapRow(ResultSet rs) throws SQLException {
+        String id = rs.getString(orderId);
+        String label = rs.getString(status);
+        OrderStatus orderStatus = statusOf(label);
+        if (orderStatus == null) {
+            throw new SQLException("Unknown order status '" + label + "' stored for order " + id);
+        }
+        return Order.restore(
+            id,
+            rs.getString(customerName),
+            rs.getString(phone),
+            rs.getString(address),
+            CatalogCode.of(rs.getString(laundryType)),
+            CatalogCode.of(rs.getString(service)),
+            orderStatus,
+            rs.getDouble(weight),
+            cents(rs.getBigDecimal(total)),
+            toLocalDateTime(rs.getTimestamp(pickupTime)),
+            toLocalDateTime(rs.getTimestamp(orderTime)),
+            rs.getInt(customerId),
+            rs.getLong(version),
+            toLocalDateTime(rs.getTimestamp(statusChangedAt)));
+    }
+
+    /**
+     * Matches the stored label exactly first, which is how rows are written,
+     * and only falls back to the lenient lookup for legacy spellings.
+     * @return Status, or null if the label is missing or unknown
+     */
+    private static OrderStatus statusOf(String label) {
+        if (label == null) {
+            return null;
+        }
+        for (OrderStatus candidate : STATUSES) {
+            if (candidate.getLabel().equals(label)) {
+                return candidate;
+            }
+        }
+        return OrderStatus.fromLabel(label);
+    }
+
+    private static long cents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        // DECIMAL(10,2) arrives with scale 2, so its unscaled value is already cents
+        if (amount.scale() == 2) {
+            return amount.unscaledValue().longValueExact();
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,218 @@
+package com.laundry.repository;
+
+import com.laundry.model.Order;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Prefix index for the admin search box over order ID, customer name and phone.
+ * Each field keeps its tokens in a sorted map, so a prefix lookup is a
+ * sub-map range instead of a scan. Phone numbers are also indexed reversed so
+ * the last digits a customer reads out match as well. Updated incrementally
+ * as orders are written.
+ */
+class OrderSearchIndex {
+    private static final int ORDER_ID_WEIGHT = 8;
+    private static final int PHONE_WEIGHT = 4;
+    private static final int NAME_WEIGHT = 2;
+    private static final int PHONE_SUFFIX_WEIGHT = 1;
+
+    private final Field orderIds = new Field(ORDER_ID_WEIGHT);
+    private final Field names = new Field(NAME_WEIGHT);
+    private final Field phones = new Field(PHONE_WEIGHT);
+    private final Field phoneSuffixes = new Field(PHONE_SUFFIX_WEIGHT);
+    private final ConcurrentMap<String, Tokens> tokensById = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes an order, replacing whatever was indexed for its ID.
+     * @param order Order to index
+     */
+    void update(Order order) {
+        Tokens next = new Tokens(order);
+        Tokens previous = tokensById.put(order.getOrderId(), next);
+        if (next.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unindex(order.getOrderId(), previous);
+        }
+        orderIds.add(next.orderId, order.getOrderId());
+        for (String word : next.nameWords) {
+            names.add(word, order.getOrderId());
+        }
+        if (next.phone != null) {
+            phones.add(next.phone, order.getOrderId());
+            phoneSuffixes.add(reverse(next.phone), order.getOrderId());
+        }
+    }
+
+    /**
+     * Drops an order from the index.
+     * @param orderId ID of the order
+     */
+    void remove(String orderId) {
+        Tokens previous = tokensById.remove(orderId);
+        if (previous != null) {
+            unindex(orderId, previous);
+        }
+    }
+
+    /**
+     * Scores every order matching all query terms. A term matches a token that
+     * starts with it; exact token matches score double. Order IDs outrank phones,
+     * which outrank names.
+     * @param query Free-text query
+     * @return Matching order IDs with their scores
+     */
+    Map<String, Integer> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Integer> scores = null;
+        for (String term : terms) {
+            Map<String, Integer> termScores = new HashMap<>();
+            orderIds.collect(term, termScores);
+            names.collect(term, termScores);
+            String digits = digitsOnly(term);
+            if (!digits.isEmpty()) {
+                phones.collect(digits, termScores);
+                phoneSuffixes.collect(reverse(digits), termScores);
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                // Every term must match
+                Map<String, Integer> combined = new HashMap<>();
+                for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+                    Integer termScore = termScores.get(entry.getKey());
+                    if (termScore != null) {
+                        combined.put(entry.getKey(), entry.getValue() + termScore);
+                    }
+                }
+                scores = combined;
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private void unindex(String orderId, Tokens tokens) {
+        orderIds.remove(tokens.orderId, orderId);
+        for (String word : tokens.nameWords) {
+            names.remove(word, orderId);
+        }
+        if (tokens.phone != null) {
+            phones.remove(tokens.phone, orderId);
+            phoneSuffixes.remove(reverse(tokens.phone), orderId);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String digitsOnly(String text) {
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.length() == text.length() ? digits.toString() : "";
+    }
+
+    private static String reverse(String text) {
+        return new StringBuilder(text).reverse().toString();
+    }
+
+    /**
+     * Tokens indexed for one field: token to the IDs of orders containing it.
+     */
+    private static final class Field {
+        private final ConcurrentSkipListMap<String, Set<String>> postings = new ConcurrentSkipListMap<>();
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+
+        void add(String token, String orderId) {
+            postings.compute(token, (t, ids) -> {
+                Set<String> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                target.add(orderId);
+                return target;
+            });
+        }
+
+        void remove(String token, String orderId) {
+            postings.computeIfPresent(token, (t, ids) -> {
+                ids.remove(orderId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+
+        void collect(String prefix, Map<String, Integer> scores) {
+            // Every token starting with the prefix sorts between prefix and prefix + U+FFFF
+            for (Map.Entry<String, Set<String>> entry
+                    : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+                int score = entry.getKey().length() == prefix.length() ? weight * 2 : weight;
+                for (String orderId : entry.getValue()) {
+                    scores.merge(orderId, score, Math::max);
+                }
+            }
+        }
+    }
+
+    /**
+     * Normalized searchable tokens of one order.
+     */
+    private static final class Tokens {
+        final String orderId;
+        final List<String> nameWords;
+        final String phone;
+
+        Tokens(Order order) {
+            this.orderId = order.getOrderId().toLowerCase(Locale.ROOT);
+            this.nameWords = tokenize(order.getCustomerName());
+            String digits = order.getPhone() != null ? order.getPhone().replaceAll("\\D", "") : "";
+            this.phone = digits.isEmpty() ? null : digits;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Tokens)) return false;
+            Tokens other = (Tokens) o;
+            return orderId.equals(other.orderId) && nameWords.equals(other.nameWords)
+                && Objects.equals(phone, other.phone);
+        }
+
+        @Override
+        public int hashCode() {
+            return orderId.hashCode();
+        }
+    }
+}
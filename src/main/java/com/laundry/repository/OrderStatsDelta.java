@@ -0,0 +1,103 @@
+package com.laundry.repository;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatsRow;
+import com.laundry.model.OrderStatus;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates the changes a write makes to the order rollups, so one
+ * operation updates each affected rollup row once.
+ */
+public final class OrderStatsDelta {
+    private final Map<String, OrderStatsRow> hourly = new LinkedHashMap<>();
+    
+    /**
+     * Counts a new order in its current status.
+     * @param order Order being added
+     * @return This delta
+     */
+    public OrderStatsDelta add(Order order) {
+        return apply(order, order.getOrderStatus(), 1);
+    }
+    
+    /**
+     * Moves an order's contribution from its previous status to its current one.
+     * @param order Order whose status changed
+     * @param previous Status before the change
+     * @return This delta
+     */
+    public OrderStatsDelta moveStatus(Order order, OrderStatus previous) {
+        if (previous != order.getOrderStatus()) {
+            apply(order, previous, -1);
+            apply(order, order.getOrderStatus(), 1);
+        }
+        return this;
+    }
+    
+    public boolean isEmpty() {
+        return hourly.isEmpty();
+    }
+    
+    /**
+     * Gets the changes per hour bucket, omitting buckets that cancel out.
+     * @return Hourly delta rows
+     */
+    public List<OrderStatsRow> hourlyRows() {
+        List<OrderStatsRow> rows = new ArrayList<>(hourly.size());
+        for (OrderStatsRow row : hourly.values()) {
+            if (!row.isEmpty()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+    
+    /**
+     * Gets the changes per day bucket, omitting buckets that cancel out.
+     * @return Daily delta rows
+     */
+    public List<OrderStatsRow> dailyRows() {
+        Map<String, OrderStatsRow> daily = new LinkedHashMap<>();
+        for (OrderStatsRow row : hourly.values()) {
+            LocalDateTime day = row.getBucket().truncatedTo(ChronoUnit.DAYS);
+            OrderStatsRow dayRow = new OrderStatsRow(day, row.getService(), row.getStatus(),
+                row.getOrderCount(), row.getRevenueCents(), row.getWeight());
+            daily.merge(key(day, row.getService(), row.getStatus()), dayRow, OrderStatsRow::plus);
+        }
+        List<OrderStatsRow> rows = new ArrayList<>(daily.size());
+        for (OrderStatsRow row : daily.values()) {
+            if (!row.isEmpty()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+    
+    private OrderStatsDelta apply(Order order, OrderStatus status, int sign) {
+        LocalDateTime hour = order.getOrderTime().truncatedTo(ChronoUnit.HOURS);
+        String service = serviceOf(order);
+        OrderStatsRow row = new OrderStatsRow(hour, service, status,
+            sign, sign * order.getTotalCents(), sign * order.getWeight());
+        hourly.merge(key(hour, service, status), row, OrderStatsRow::plus);
+        return this;
+    }
+    
+    /**
+     * Gets the rollup service dimension of an order; blank when unset.
+     * @param order Order
+     * @return Service label
+     */
+    static String serviceOf(Order order) {
+        return order.getService() != null ? order.getService() : "";
+    }
+    
+    private static String key(LocalDateTime bucket, String service, OrderStatus status) {
+        return bucket + "|" + service + "|" + status.name();
+    }
+}
@@ -0,0 +1,17 @@
+package com.laundry.repository;
+
+import com.laundry.model.OrderStatsRow;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the pre-aggregated order rollups
+ * (order_stats_daily and order_stats_hourly).
+ */
+public interface OrderStatsRepository {
+    void apply(OrderStatsDelta delta);
+    List<OrderStatsRow> findDaily(LocalDate first, LocalDate last);
+    List<OrderStatsRow> findHourly(LocalDateTime from, LocalDateTime until);
+    void rebuild(OrderRepository orders);
+}
@@ -0,0 +1,38 @@
+package com.laundry.repository;
+
+import com.laundry.model.OrderStatus;
+import com.laundry.model.StageDwell;
+import com.laundry.model.StatusChange;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository interface for the append-only order status history
+ * (order_status_history). Rows are never updated; each carries the time the
+ * order entered the status it left, so dwell times need no self-join.
+ */
+public interface OrderStatusHistoryRepository {
+
+    /**
+     * Appends status changes in one batch. Call inside the unit of work that
+     * writes the orders themselves.
+     * @param changes Changes to record
+     */
+    void append(List<StatusChange> changes);
+
+    /**
+     * Gets the status changes of one order.
+     * @param orderId Order ID
+     * @return Changes, oldest first
+     */
+    List<StatusChange> findByOrder(String orderId);
+
+    /**
+     * Sums the time spent per status by stints that ended in a time range.
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range
+     * @return Dwell totals by the status that was left; statuses without stints are absent
+     */
+    Map<OrderStatus, StageDwell> dwellTimes(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,34 @@
+package com.laundry.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Repository interface for pickup slot bookings (pickup_slots): one counter
+ * of reserved pickups per slot start. Reservations are conditional
+ * increments, so terminals sharing the store can never overbook a slot.
+ */
+public interface PickupSlotRepository {
+
+    /**
+     * Takes one place in a slot if it has room.
+     * @param slotStart Start of the slot
+     * @param capacity Maximum pickups in the slot
+     * @return Pickups in the slot after this one, or -1 if the slot was full
+     */
+    int reserve(LocalDateTime slotStart, int capacity);
+
+    /**
+     * Gives back one place in a slot.
+     * @param slotStart Start of the slot
+     */
+    void release(LocalDateTime slotStart);
+
+    /**
+     * Gets the booked slots in a time range.
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range
+     * @return Reserved pickups by slot start; slots without bookings are absent
+     */
+    Map<LocalDateTime, Integer> findReserved(LocalDateTime from, LocalDateTime to);
+}
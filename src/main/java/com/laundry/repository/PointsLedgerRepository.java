@@ -0,0 +1,50 @@
+package com.laundry.repository;
+
+import com.laundry.model.PointsEntry;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the append-only loyalty points ledger
+ * (points_ledger) and its compacted per-member balance (points_balance).
+ * A balance is the compacted balance plus every entry not yet folded into it.
+ */
+public interface PointsLedgerRepository {
+
+    /**
+     * Appends an entry.
+     * @param entry Entry to append
+     * @return false if the entry's order already has an entry of the same type
+     */
+    boolean append(PointsEntry entry);
+
+    /**
+     * Redeems points for an order if the balance covers them. Idempotent per
+     * order: once an order has a redemption, later calls report success
+     * without deducting again. Run inside a unit of work so the balance check
+     * and the insert are atomic.
+     * @param username Member redeeming
+     * @param orderId Order the points are redeemed against
+     * @param points Points to redeem
+     * @return true if the order's points are redeemed, false if the balance is too low
+     */
+    boolean redeem(String username, String orderId, int points);
+
+    int getBalance(String username);
+
+    /**
+     * Gets a member's most recent entries.
+     * @param username Member
+     * @param limit Maximum number of entries
+     * @return Entries, newest first
+     */
+    List<PointsEntry> findEntries(String username, int limit);
+
+    /**
+     * Folds entries created before a cutoff into the cached balances, each
+     * entry exactly once. Entries stay in the ledger as history.
+     * @param createdBefore Only entries older than this are folded
+     * @return Number of entries folded
+     */
+    long compact(LocalDateTime createdBefore);
+}
@@ -0,0 +1,160 @@
+package com.laundry.repository;
+
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.server.RpcClient;
+import com.laundry.server.WireFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * OrderRepository of a thin-client terminal: every call goes to the order
+ * server, which runs it against its own store. Concurrent calls share HTTP
+ * requests through the {@link RpcClient}'s batching. Writes run outside any
+ * local unit of work; each is atomic on the server on its own.
+ */
+public class RemoteOrderRepository implements OrderRepository {
+    private static final String TARGET = "orders";
+
+    private final RpcClient client;
+
+    public RemoteOrderRepository(RpcClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void addOrder(Order order) {
+        order.setVersion(WireFormat.toLong(client.call(TARGET, "addOrder", WireFormat.encodeOrder(order))));
+    }
+
+    @Override
+    public void save(Order order) {
+        order.setVersion(WireFormat.toLong(client.call(TARGET, "save", WireFormat.encodeOrder(order))));
+    }
+
+    @Override
+    public void saveAll(List<Order> orders) {
+        client.call(TARGET, "saveAll", WireFormat.encodeOrders(orders));
+    }
+
+    @Override
+    public UpdateResult updateOrder(Order order) {
+        Map<?, ?> outcome = (Map<?, ?>) client.call(TARGET, "updateOrder", WireFormat.encodeOrder(order));
+        UpdateResult result = UpdateResult.valueOf((String) outcome.get("result"));
+        if (!result.isConflict()) {
+            order.setVersion(WireFormat.toLong(outcome.get("version")));
+        }
+        return result;
+    }
+
+    @Override
+    public Set<String> updateStatuses(Collection<Order> orders, OrderStatus status, LocalDateTime changedAt) {
+        return new LinkedHashSet<>(WireFormat.toStrings(client.call(TARGET, "updateStatuses",
+            WireFormat.encodeOrders(orders), status.name(), WireFormat.time(changedAt))));
+    }
+
+    @Override
+    public List<Order> getAllOrders() {
+        return WireFormat.decodeOrders(client.call(TARGET, "getAllOrders"));
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return WireFormat.decodeOrders(client.call(TARGET, "findAll"));
+    }
+
+    @Override
+    public List<Order> getOrdersByCustomer(String username) {
+        return WireFormat.decodeOrders(client.call(TARGET, "getOrdersByCustomer", username));
+    }
+
+    @Override
+    public Order findById(String orderId) {
+        return WireFormat.decodeOrder(client.call(TARGET, "findById", orderId));
+    }
+
+    @Override
+    public List<Order> findByIds(Collection<String> orderIds) {
+        return WireFormat.decodeOrders(client.call(TARGET, "findByIds", new ArrayList<>(orderIds)));
+    }
+
+    @Override
+    public List<Order> findByCustomerName(String customerName) {
+        return WireFormat.decodeOrders(client.call(TARGET, "findByCustomerName", customerName));
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return WireFormat.decodeOrders(client.call(TARGET, "findByStatus", status.name()));
+    }
+
+    /**
+     * Streams the matching orders from the server, decoding and handing over
+     * each as its line arrives, so an export holds one order at a time on
+     * either side.
+     */
+    @Override
+    public void streamOrders(OrderFilter filter, Consumer<Order> sink) {
+        client.stream(TARGET, "streamOrders", json -> sink.accept(WireFormat.decodeOrder(json)),
+            WireFormat.encodeFilter(filter));
+    }
+
+    @Override
+    public OrderPage query(OrderQuery query) {
+        return WireFormat.decodePage(client.call(TARGET, "query", WireFormat.encodeQuery(query)));
+    }
+
+    @Override
+    public List<Order> findCustomerHistory(String customerName) {
+        return WireFormat.decodeOrders(client.call(TARGET, "findCustomerHistory", customerName));
+    }
+
+    @Override
+    public List<Order> search(String query, int limit) {
+        return WireFormat.decodeOrders(client.call(TARGET, "search", query, limit));
+    }
+
+    @Override
+    public int archiveOrders(Set<OrderStatus> statuses, LocalDateTime olderThan, int limit) {
+        return (int) WireFormat.toLong(client.call(TARGET, "archiveOrders",
+            WireFormat.encodeStatuses(statuses), WireFormat.time(olderThan), limit));
+    }
+
+    @Override
+    public long countArchived() {
+        return WireFormat.toLong(client.call(TARGET, "countArchived"));
+    }
+
+    @Override
+    public long countAll() {
+        return WireFormat.toLong(client.call(TARGET, "countAll"));
+    }
+
+    @Override
+    public long countByStatus(OrderStatus status) {
+        return WireFormat.toLong(client.call(TARGET, "countByStatus", status.name()));
+    }
+
+    @Override
+    public Money sumTotals() {
+        return Money.ofCents(WireFormat.toLong(client.call(TARGET, "sumTotals")));
+    }
+
+    @Override
+    public long[] revenueCentsByDay(LocalDate from, int days) {
+        return WireFormat.toLongArray(client.call(TARGET, "revenueCentsByDay", from.toString(), days));
+    }
+
+    @Override
+    public String generateOrderId() {
+        return (String) client.call(TARGET, "generateOrderId");
+    }
+}
@@ -0,0 +1,57 @@
+package com.laundry.repository;
+
+import com.laundry.model.User;
+import com.laundry.server.RpcClient;
+import com.laundry.server.WireFormat;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * UserRepository of a thin-client terminal: every call goes to the order
+ * server, sharing HTTP requests with other concurrent calls. Users read
+ * here carry no password; see {@link com.laundry.service.RemoteAuthenticationService}.
+ */
+public class RemoteUserRepository implements UserRepository {
+    private static final String TARGET = "users";
+
+    private final RpcClient client;
+
+    public RemoteUserRepository(RpcClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void addUser(User user) {
+        user.setVersion(WireFormat.toLong(client.call(TARGET, "addUser", WireFormat.encodeUserWrite(user))));
+    }
+
+    @Override
+    public User getUser(String username) {
+        return WireFormat.decodeUser(client.call(TARGET, "getUser", username));
+    }
+
+    @Override
+    public boolean userExists(String username) {
+        return Boolean.TRUE.equals(client.call(TARGET, "userExists", username));
+    }
+
+    @Override
+    public Collection<User> getAllMembers() {
+        return WireFormat.decodeUsers(client.call(TARGET, "getAllMembers"));
+    }
+
+    @Override
+    public User findMemberByPhone(String phone) {
+        return WireFormat.decodeUser(client.call(TARGET, "findMemberByPhone", phone));
+    }
+
+    @Override
+    public UpdateResult updateUser(User user) {
+        Map<?, ?> outcome = (Map<?, ?>) client.call(TARGET, "updateUser", WireFormat.encodeUserWrite(user));
+        UpdateResult result = UpdateResult.valueOf((String) outcome.get("result"));
+        if (!result.isConflict()) {
+            user.setVersion(WireFormat.toLong(outcome.get("version")));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package com.laundry.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a ResultSet to an object. Implementations resolve
+ * their column indexes once, when built for a ResultSet, and read every row
+ * by index afterwards.
+ * @param <T> Mapped type
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    T mapRow(ResultSet rs) throws SQLException;
+    
+    /**
+     * Builds a mapper for a ResultSet, such as {@code OrderRowMapper::forResultSet}.
+     * @param <T> Mapped type
+     */
+    @FunctionalInterface
+    interface Factory<T> {
+        RowMapper<T> forResultSet(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,496 @@
+package com.laundry.repository;
+
+import com.laundry.config.TransactionContext;
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * OrderRepository that spreads orders over one store per branch. An order ID
+ * starts with the code of the branch that took it, e.g. {@code BDG-ORD042},
+ * which routes every single-order call to that branch's shard; IDs without a
+ * branch code belong to the local branch. New IDs are handed out by the local
+ * branch's shard.
+ * <p>
+ * Reads that span branches, such as HQ totals and the admin grid, are sent to
+ * every shard in parallel and merged: lists newest first, pages by the query's
+ * sort, counts and sums added up. Inside a unit of work the shards are visited
+ * on the calling thread instead, so the local shard joins the transaction.
+ * Writes to other branches' shards run on their own connections and are not
+ * part of the local transaction.
+ * <p>
+ * Every call is timed per shard; see {@link #getShardLatencies()}.
+ */
+public class ShardedOrderRepository implements OrderRepository {
+    private static final Comparator<Order> NEWEST_FIRST = Comparator
+        .comparing(Order::getOrderTime, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+        .thenComparing(Order::getOrderId, Comparator.reverseOrder());
+
+    private final String localBranch;
+    private final Map<String, OrderRepository> shards;
+    private final Map<String, ShardLatency> latencies = new LinkedHashMap<>();
+    private final ExecutorService executor;
+
+    /**
+     * @param localBranch Code of this installation's branch
+     * @param shards Order store per branch code, including the local branch
+     * @param executor Runs the per-shard calls of cross-branch reads
+     */
+    public ShardedOrderRepository(String localBranch, Map<String, OrderRepository> shards,
+                                  ExecutorService executor) {
+        this.localBranch = localBranch.toUpperCase(Locale.ROOT);
+        Map<String, OrderRepository> byBranch = new LinkedHashMap<>();
+        shards.forEach((branch, shard) -> byBranch.put(branch.toUpperCase(Locale.ROOT), shard));
+        if (!byBranch.containsKey(this.localBranch)) {
+            throw new IllegalArgumentException("No shard for local branch " + localBranch);
+        }
+        // Local branch first, so it leads in shard-by-shard walks
+        this.shards = new LinkedHashMap<>();
+        this.shards.put(this.localBranch, byBranch.remove(this.localBranch));
+        this.shards.putAll(byBranch);
+        this.shards.keySet().forEach(branch -> latencies.put(branch, new ShardLatency()));
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the branch code an order ID starts with.
+     * @param orderId Order ID, e.g. BDG-ORD042
+     * @return Upper-case branch code, or null if the ID has none
+     */
+    public static String branchOf(String orderId) {
+        int dash = orderId != null ? orderId.indexOf('-') : -1;
+        return dash > 0 ? orderId.substring(0, dash).toUpperCase(Locale.ROOT) : null;
+    }
+
+    @Override
+    public void addOrder(Order order) {
+        save(order);
+    }
+
+    @Override
+    public void save(Order order) {
+        onShard(order.getOrderId(), shard -> {
+            shard.save(order);
+            return null;
+        });
+    }
+
+    @Override
+    public void saveAll(List<Order> orders) {
+        Map<String, List<Order>> byBranch = new LinkedHashMap<>();
+        for (Order order : orders) {
+            byBranch.computeIfAbsent(routeBranch(order.getOrderId()), k -> new ArrayList<>()).add(order);
+        }
+        byBranch.forEach((branch, batch) -> timed(branch, shard -> {
+            shard.saveAll(batch);
+            return null;
+        }));
+    }
+
+    @Override
+    public UpdateResult updateOrder(Order order) {
+        return onShard(order.getOrderId(), shard -> shard.updateOrder(order));
+    }
+
+    @Override
+    public Set<String> updateStatuses(Collection<Order> orders, OrderStatus status, LocalDateTime changedAt) {
+        Map<String, List<Order>> byBranch = new LinkedHashMap<>();
+        for (Order order : orders) {
+            byBranch.computeIfAbsent(routeBranch(order.getOrderId()), k -> new ArrayList<>()).add(order);
+        }
+        Set<String> updated = new LinkedHashSet<>();
+        for (Map.Entry<String, List<Order>> batch : byBranch.entrySet()) {
+            updated.addAll(timed(batch.getKey(), shard -> shard.updateStatuses(batch.getValue(), status, changedAt)));
+        }
+        return updated;
+    }
+
+    @Override
+    public List<Order> getAllOrders() {
+        return mergeNewestFirst(scatter(OrderRepository::getAllOrders));
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return mergeNewestFirst(scatter(OrderRepository::findAll));
+    }
+
+    @Override
+    public List<Order> getOrdersByCustomer(String username) {
+        return mergeNewestFirst(scatter(shard -> shard.getOrdersByCustomer(username)));
+    }
+
+    @Override
+    public Order findById(String orderId) {
+        return onShard(orderId, shard -> shard.findById(orderId));
+    }
+
+    @Override
+    public List<Order> findByIds(Collection<String> orderIds) {
+        Map<String, List<String>> byBranch = groupIds(orderIds);
+        if (byBranch.size() == 1) {
+            Map.Entry<String, List<String>> only = byBranch.entrySet().iterator().next();
+            return timed(only.getKey(), shard -> shard.findByIds(only.getValue()));
+        }
+        List<Order> orders = new ArrayList<>(orderIds.size());
+        scatter(byBranch.keySet(), (branch, shard) -> shard.findByIds(byBranch.get(branch)))
+            .values().forEach(orders::addAll);
+        return orders;
+    }
+
+    @Override
+    public List<Order> findByCustomerName(String customerName) {
+        return mergeNewestFirst(scatter(shard -> shard.findByCustomerName(customerName)));
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return mergeNewestFirst(scatter(shard -> shard.findByStatus(status)));
+    }
+
+    /**
+     * Streams the matching orders shard by shard, local branch first. Orders
+     * are in the filter's order within a shard but not across shards.
+     */
+    @Override
+    public void streamOrders(OrderFilter filter, Consumer<Order> sink) {
+        for (String branch : shards.keySet()) {
+            timed(branch, shard -> {
+                shard.streamOrders(filter, sink);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Answers a page by asking every shard for its first offset + limit
+     * matches in parallel and merging them in the query's sort order. A shard
+     * is only asked for more rows when the merge runs through what it sent,
+     * which happens for deep pages beyond {@link OrderQuery#MAX_PAGE_SIZE}.
+     */
+    @Override
+    public OrderPage query(OrderQuery query) {
+        int wanted = query.getOffset() + query.getLimit();
+        int pageSize = Math.min(wanted, OrderQuery.MAX_PAGE_SIZE);
+        Map<String, OrderPage> firstPages = scatter(shard -> shard.query(shardPage(query, 0, pageSize)));
+
+        Comparator<Order> order = pageOrder(query);
+        PriorityQueue<PageCursor> heads = new PriorityQueue<>((a, b) -> order.compare(a.peek(), b.peek()));
+        long total = 0;
+        for (Map.Entry<String, OrderPage> page : firstPages.entrySet()) {
+            total += page.getValue().getTotalCount();
+            PageCursor cursor = new PageCursor(page.getKey(), query, pageSize, page.getValue());
+            if (cursor.peek() != null) {
+                heads.add(cursor);
+            }
+        }
+
+        List<Order> rows = new ArrayList<>(query.getLimit());
+        int skipped = 0;
+        while (rows.size() < query.getLimit() && !heads.isEmpty()) {
+            PageCursor cursor = heads.poll();
+            Order next = cursor.next();
+            if (skipped < query.getOffset()) {
+                skipped++;
+            } else {
+                rows.add(next);
+            }
+            if (cursor.peek() != null) {
+                heads.add(cursor);
+            }
+        }
+        return new OrderPage(rows, total, query.getOffset());
+    }
+
+    @Override
+    public List<Order> findCustomerHistory(String customerName) {
+        return mergeNewestFirst(scatter(shard -> shard.findCustomerHistory(customerName)));
+    }
+
+    /**
+     * Takes matches from the shards in turn, so each shard's best matches
+     * come before any shard's weaker ones.
+     */
+    @Override
+    public List<Order> search(String query, int limit) {
+        List<Iterator<Order>> results = new ArrayList<>();
+        scatter(shard -> shard.search(query, limit)).values().forEach(hits -> results.add(hits.iterator()));
+        List<Order> merged = new ArrayList<>(limit);
+        boolean more = true;
+        while (more && merged.size() < limit) {
+            more = false;
+            for (Iterator<Order> hits : results) {
+                if (hits.hasNext() && merged.size() < limit) {
+                    merged.add(hits.next());
+                    more = true;
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Archives on each shard in turn, up to the limit per shard.
+     */
+    @Override
+    public int archiveOrders(Set<OrderStatus> statuses, LocalDateTime olderThan, int limit) {
+        int archived = 0;
+        for (String branch : shards.keySet()) {
+            archived += timed(branch, shard -> shard.archiveOrders(statuses, olderThan, limit));
+        }
+        return archived;
+    }
+
+    @Override
+    public long countArchived() {
+        return scatter(OrderRepository::countArchived).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public long countAll() {
+        return scatter(OrderRepository::countAll).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public long countByStatus(OrderStatus status) {
+        return scatter(shard -> shard.countByStatus(status)).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public Money sumTotals() {
+        return scatter(OrderRepository::sumTotals).values().stream().reduce(Money.ZERO, Money::plus);
+    }
+
+    @Override
+    public long[] revenueCentsByDay(LocalDate from, int days) {
+        long[] revenue = new long[Math.max(days, 0)];
+        for (long[] shardRevenue : scatter(shard -> shard.revenueCentsByDay(from, days)).values()) {
+            for (int i = 0; i < revenue.length && i < shardRevenue.length; i++) {
+                revenue[i] += shardRevenue[i];
+            }
+        }
+        return revenue;
+    }
+
+    /**
+     * Gets a new ID from the local branch's shard, prefixed with the branch code.
+     */
+    @Override
+    public String generateOrderId() {
+        String id = timed(localBranch, OrderRepository::generateOrderId);
+        return branchOf(id) != null ? id : localBranch + "-" + id;
+    }
+
+    public String getLocalBranch() {
+        return localBranch;
+    }
+
+    /**
+     * Gets the call latency of each shard, local branch first.
+     * @return Latency by branch code
+     */
+    public Map<String, ShardLatency> getShardLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    private String routeBranch(String orderId) {
+        String branch = branchOf(orderId);
+        return branch != null && shards.containsKey(branch) ? branch : localBranch;
+    }
+
+    private <T> T onShard(String orderId, Function<OrderRepository, T> call) {
+        return timed(routeBranch(orderId), call);
+    }
+
+    private Map<String, List<String>> groupIds(Collection<String> orderIds) {
+        Map<String, List<String>> byBranch = new LinkedHashMap<>();
+        for (String orderId : orderIds) {
+            byBranch.computeIfAbsent(routeBranch(orderId), k -> new ArrayList<>()).add(orderId);
+        }
+        return byBranch;
+    }
+
+    private <T> Map<String, T> scatter(Function<OrderRepository, T> call) {
+        return scatter(shards.keySet(), (branch, shard) -> call.apply(shard));
+    }
+
+    /**
+     * Runs a call on several shards, in parallel unless a unit of work is
+     * active on this thread.
+     * @return Result by branch code, in shard order
+     */
+    private <T> Map<String, T> scatter(Collection<String> branches, BiFunction<String, OrderRepository, T> call) {
+        Map<String, T> results = new LinkedHashMap<>();
+        if (branches.size() == 1 || TransactionContext.isActive()) {
+            for (String branch : branches) {
+                results.put(branch, timed(branch, shard -> call.apply(branch, shard)));
+            }
+            return results;
+        }
+
+        Map<String, Future<T>> pending = new LinkedHashMap<>();
+        for (String branch : branches) {
+            pending.put(branch, executor.submit(() -> timed(branch, shard -> call.apply(branch, shard))));
+        }
+        try {
+            for (Map.Entry<String, Future<T>> result : pending.entrySet()) {
+                results.put(result.getKey(), result.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            pending.values().forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading order shards", e);
+        } catch (ExecutionException e) {
+            pending.values().forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Failed to read order shards", e.getCause());
+        }
+        return results;
+    }
+
+    private <T> T timed(String branch, Function<OrderRepository, T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.apply(shards.get(branch));
+        } finally {
+            latencies.get(branch).record(System.nanoTime() - start);
+        }
+    }
+
+    private static List<Order> mergeNewestFirst(Map<String, List<Order>> results) {
+        List<Order> merged = new ArrayList<>();
+        results.values().forEach(merged::addAll);
+        if (results.size() > 1) {
+            merged.sort(NEWEST_FIRST);
+        }
+        return merged;
+    }
+
+    private static OrderQuery shardPage(OrderQuery query, int offset, int limit) {
+        return OrderQuery.builder()
+            .filter(query.getFilter())
+            .sortBy(query.getSortField(), query.isAscending())
+            .page(offset, limit)
+            .build();
+    }
+
+    /**
+     * Orders rows the way the shards sort them: by the sort column, ties by
+     * order time in the same direction.
+     */
+    private static Comparator<Order> pageOrder(OrderQuery query) {
+        Comparator<Order> byTime = Comparator.comparing(Order::getOrderTime,
+            Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+        Comparator<Order> order;
+        switch (query.getSortField()) {
+            case ORDER_ID:
+                order = Comparator.comparing(Order::getOrderId);
+                break;
+            case CUSTOMER:
+                order = Comparator.comparing(Order::getCustomerName,
+                    Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)).thenComparing(byTime);
+                break;
+            case STATUS:
+                order = Comparator.comparing((Order o) -> o.getOrderStatus().getLabel()).thenComparing(byTime);
+                break;
+            default:
+                order = byTime;
+                break;
+        }
+        return query.isAscending() ? order : order.reversed();
+    }
+
+    /**
+     * Walks one shard's matches for a query, fetching further pages on demand.
+     */
+    private final class PageCursor {
+        private final String branch;
+        private final OrderQuery query;
+        private final int pageSize;
+        private final Deque<Order> buffer;
+        private int fetched;
+        private boolean exhausted;
+
+        PageCursor(String branch, OrderQuery query, int pageSize, OrderPage first) {
+            this.branch = branch;
+            this.query = query;
+            this.pageSize = pageSize;
+            this.buffer = new ArrayDeque<>(first.getOrders());
+            this.fetched = first.getOrders().size();
+            this.exhausted = fetched < pageSize;
+        }
+
+        Order peek() {
+            if (buffer.isEmpty() && !exhausted) {
+                OrderPage page = timed(branch, shard -> shard.query(shardPage(query, fetched, pageSize)));
+                buffer.addAll(page.getOrders());
+                fetched += page.getOrders().size();
+                exhausted = page.getOrders().size() < pageSize;
+            }
+            return buffer.peekFirst();
+        }
+
+        Order next() {
+            peek();
+            return buffer.pollFirst();
+        }
+    }
+
+    /**
+     * Call count and latency of one shard.
+     */
+    public static final class ShardLatency {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            calls.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCallCount() {
+            return calls.get();
+        }
+
+        public double getAverageMillis() {
+            long count = calls.get();
+            return count == 0 ? 0 : totalNanos.get() / 1_000_000.0 / count;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d avg=%.2fms max=%.2fms", getCallCount(), getAverageMillis(), getMaxMillis());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.laundry.repository;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs identical concurrent reads once. The first caller for a key runs the
+ * read; callers asking for the same key while it is in flight wait for it
+ * and get its result instead of running their own. A finished result can
+ * be handed out for a short sharing window afterwards, which covers reads
+ * that fire a moment apart, such as a manual refresh just after the
+ * auto-refresh timer.
+ * <p>
+ * Results are shared, so every caller gets its own copy and may change it
+ * freely. {@link #invalidate()} drops finished and in-flight results, so
+ * reads that start after a write never see data from before it. A write
+ * that is not visible yet, such as one in an open transaction, is bracketed
+ * by {@link #beginWrite()} and {@link #endWrite()}; until then reads run on
+ * their own and nothing is shared.
+ */
+public class SingleFlight {
+    // Finished results are only swept once this many keys are held
+    private static final int SWEEP_THRESHOLD = 256;
+
+    private final long shareNanos;
+    private final ConcurrentHashMap<Object, Flight> flights = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; a read that overlapped one is not kept
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger openWrites = new AtomicInteger();
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    /**
+     * @param shareWindow How long a finished result is handed out; zero shares in-flight reads only
+     */
+    public SingleFlight(Duration shareWindow) {
+        this.shareNanos = shareWindow.toNanos();
+    }
+
+    /**
+     * Runs a read, or joins an identical one.
+     * @param key Identifies the read, e.g. the method name and arguments
+     * @param read Runs the read
+     * @param copy Makes a caller's own copy of a shared result
+     * @return This caller's copy of the result
+     * @throws RuntimeException the read's exception, for every caller that shared it
+     */
+    public <T> T execute(Object key, Supplier<T> read, UnaryOperator<T> copy) {
+        if (openWrites.get() > 0) {
+            executions.incrementAndGet();
+            return read.get();
+        }
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight != null) {
+                if (!flight.result.isDone()) {
+                    joined.incrementAndGet();
+                    return copy.apply(await(flight));
+                }
+                if (System.nanoTime() - flight.finishedAt < shareNanos) {
+                    shared.incrementAndGet();
+                    return copy.apply(await(flight));
+                }
+                flights.remove(key, flight);
+            }
+
+            Flight mine = new Flight();
+            long startedIn = generation.get();
+            if (flights.putIfAbsent(key, mine) != null) {
+                continue; // Somebody else started it first; join theirs
+            }
+            executions.incrementAndGet();
+            T value;
+            try {
+                value = read.get();
+            } catch (RuntimeException e) {
+                flights.remove(key, mine);
+                mine.result.completeExceptionally(e);
+                throw e;
+            }
+            mine.finishedAt = System.nanoTime();
+            mine.result.complete(value);
+            if (shareNanos == 0 || generation.get() != startedIn || openWrites.get() > 0) {
+                flights.remove(key, mine);
+            } else if (flights.size() > SWEEP_THRESHOLD) {
+                sweep();
+            }
+            // Later callers copy from the stored result, so this caller gets a copy too
+            return copy.apply(value);
+        }
+    }
+
+    /**
+     * Forgets every result, finished or in flight, e.g. after a write.
+     * Callers already waiting still get the result they joined.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        flights.clear();
+    }
+    
+    /**
+     * Notes a write that other readers cannot see yet, e.g. one inside an
+     * uncommitted transaction, and drops every result. Until the matching
+     * {@link #endWrite()}, reads run on their own and are not shared, so none
+     * is kept from before the write becomes visible.
+     */
+    public void beginWrite() {
+        openWrites.incrementAndGet();
+        invalidate();
+    }
+    
+    /**
+     * Notes that a write begun with {@link #beginWrite()} has committed or
+     * rolled back, and drops every result read while it was open.
+     */
+    public void endWrite() {
+        openWrites.decrementAndGet();
+        invalidate();
+    }
+
+    /**
+     * Gets the number of reads that actually ran.
+     * @return Reads run
+     */
+    public long getExecutionCount() {
+        return executions.get();
+    }
+
+    /**
+     * Gets the number of reads suppressed because an identical one was in flight.
+     * @return Reads that joined another
+     */
+    public long getJoinedCount() {
+        return joined.get();
+    }
+
+    /**
+     * Gets the number of reads answered from a result inside the sharing window.
+     * @return Reads served from a recent result
+     */
+    public long getSharedCount() {
+        return shared.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("executed=%d joined=%d shared=%d", getExecutionCount(), getJoinedCount(), getSharedCount());
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        flights.values().removeIf(flight -> flight.result.isDone() && now - flight.finishedAt >= shareNanos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(Flight flight) {
+        try {
+            return (T) flight.result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Shared read failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for a shared read", e);
+        }
+    }
+
+    /**
+     * One read and the callers sharing it.
+     */
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        // Written before result completes; read only after it is done
+        long finishedAt;
+    }
+}
@@ -0,0 +1,66 @@
+package com.laundry.repository;
+
+import com.laundry.config.DatabaseConfig;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs declared {@link SqlStatement}s on a pool. Each call borrows a
+ * connection, from the read replica when the statement allows it, runs the
+ * statement and returns the connection; inside a unit of work the
+ * transaction's connection is used instead. Repositories that run several
+ * statements on one connection borrow it with {@link #connect}.
+ */
+final class SqlExecutor {
+    private final DatabaseConfig databaseConfig;
+
+    SqlExecutor(DatabaseConfig databaseConfig) {
+        this.databaseConfig = databaseConfig;
+    }
+
+    /**
+     * Borrows a connection suitable for a statement.
+     * @param statement Statement to be run
+     * @return Replica-routed connection for replica-safe reads, otherwise a primary connection
+     * @throws SQLException if no connection can be obtained
+     */
+    Connection connect(SqlStatement statement) throws SQLException {
+        return statement.isReplicaSafe() ? databaseConfig.getReadConnection() : databaseConfig.getConnection();
+    }
+
+    <T> T query(SqlStatement statement, SqlStatement.Binder binder,
+                SqlStatement.ResultHandler<T> handler) throws SQLException {
+        try (Connection conn = connect(statement)) {
+            return statement.query(conn, binder, handler);
+        }
+    }
+
+    <T> List<T> list(SqlStatement statement, SqlStatement.Binder binder,
+                     RowMapper.Factory<T> factory) throws SQLException {
+        return query(statement, binder, SqlStatement.rows(factory));
+    }
+
+    <T> T first(SqlStatement statement, SqlStatement.Binder binder,
+                RowMapper.Factory<T> factory) throws SQLException {
+        return query(statement, binder, SqlStatement.firstRow(factory));
+    }
+
+    long count(SqlStatement statement, SqlStatement.Binder binder) throws SQLException {
+        return query(statement, binder, SqlStatement.firstLong());
+    }
+
+    int update(SqlStatement statement, SqlStatement.Binder binder) throws SQLException {
+        try (Connection conn = connect(statement)) {
+            return statement.update(conn, binder);
+        }
+    }
+
+    <T> int[] batch(SqlStatement statement, Collection<T> items,
+                    SqlStatement.BatchBinder<T> binder) throws SQLException {
+        try (Connection conn = connect(statement)) {
+            return statement.batch(conn, items, binder);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.laundry.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A SQL statement a repository declares once, as a constant, together with
+ * whether it may read from the replica. Every execution prepares the same
+ * SQL text, so the driver's prepared statement cache hands back the
+ * statement the server already parsed on that connection.
+ * <p>
+ * Each statement times its executions, from execute until its result has
+ * been read; {@link #declared()} lists every statement for reporting.
+ * Statements whose SQL is built per call, such as IN lists, are declared
+ * once and run through {@link #withSql(String)}, which shares the timing.
+ */
+public final class SqlStatement {
+    private static final List<SqlStatement> DECLARED = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final String sql;
+    private final boolean replicaSafe;
+    private final Timing timing;
+
+    private SqlStatement(String name, String sql, boolean replicaSafe, Timing timing) {
+        this.name = name;
+        this.sql = sql;
+        this.replicaSafe = replicaSafe;
+        this.timing = timing;
+    }
+
+    /**
+     * Declares a statement that runs on the primary.
+     * @param name Name for reports, e.g. {@code orders.findById}
+     * @param sql SQL text, or a representative form for statements built per call
+     * @return Declared statement
+     */
+    static SqlStatement primary(String name, String sql) {
+        return declare(new SqlStatement(name, sql, false, new Timing()));
+    }
+
+    /**
+     * Declares a read that tolerates slightly stale data, so it may be
+     * served by the read replica.
+     * @param name Name for reports
+     * @param sql SQL text, or a representative form for statements built per call
+     * @return Declared statement
+     */
+    static SqlStatement replicaSafe(String name, String sql) {
+        return declare(new SqlStatement(name, sql, true, new Timing()));
+    }
+
+    private static SqlStatement declare(SqlStatement statement) {
+        DECLARED.add(statement);
+        return statement;
+    }
+
+    /**
+     * Gets every declared statement, in declaration order.
+     * @return Declared statements
+     */
+    public static List<SqlStatement> declared() {
+        return Collections.unmodifiableList(DECLARED);
+    }
+
+    /**
+     * Gets this statement with SQL built for one call. The copy is not
+     * declared again; its executions count towards this statement.
+     * @param sql SQL text for this call
+     * @return Statement running the given SQL
+     */
+    SqlStatement withSql(String sql) {
+        return new SqlStatement(name, sql, replicaSafe, timing);
+    }
+
+    /**
+     * Runs a query and hands its result to a handler.
+     * @param conn Connection to run on
+     * @param binder Sets the parameters
+     * @param handler Reads the result
+     * @return What the handler returned
+     * @throws SQLException if the query or the handler fails
+     */
+    <T> T query(Connection conn, Binder binder, ResultHandler<T> handler) throws SQLException {
+        return query(conn, 0, binder, handler);
+    }
+
+    /**
+     * Runs a query that streams its rows, fetching the given number per
+     * round trip, and hands its result to a handler.
+     * @param conn Connection to run on
+     * @param fetchSize Rows per round trip; 0 leaves the driver's default
+     * @param binder Sets the parameters
+     * @param handler Reads the result
+     * @return What the handler returned
+     * @throws SQLException if the query or the handler fails
+     */
+    <T> T query(Connection conn, int fetchSize, Binder binder, ResultHandler<T> handler) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            if (fetchSize > 0) {
+                stmt.setFetchSize(fetchSize);
+            }
+            binder.bind(stmt);
+            long start = System.nanoTime();
+            try (ResultSet rs = stmt.executeQuery()) {
+                return handler.handle(rs);
+            } finally {
+                timing.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Runs an insert, update or delete.
+     * @param conn Connection to run on
+     * @param binder Sets the parameters
+     * @return Number of rows changed
+     * @throws SQLException if the statement fails
+     */
+    int update(Connection conn, Binder binder) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            binder.bind(stmt);
+            long start = System.nanoTime();
+            try {
+                return stmt.executeUpdate();
+            } finally {
+                timing.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Runs the statement once per item as a single JDBC batch.
+     * @param conn Connection to run on
+     * @param items Items to bind, one execution each
+     * @param binder Sets the parameters for an item
+     * @return Rows changed by each item, in item order
+     * @throws SQLException if the batch fails
+     */
+    <T> int[] batch(Connection conn, Collection<T> items, BatchBinder<T> binder) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (T item : items) {
+                binder.bind(stmt, item);
+                stmt.addBatch();
+            }
+            long start = System.nanoTime();
+            try {
+                return stmt.executeBatch();
+            } finally {
+                timing.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Reads every row.
+     * @param factory Builds the mapper for the result
+     * @return Handler collecting the mapped rows
+     */
+    static <T> ResultHandler<List<T>> rows(RowMapper.Factory<T> factory) {
+        return rs -> {
+            RowMapper<T> mapper = factory.forResultSet(rs);
+            List<T> rows = new ArrayList<>();
+            while (rs.next()) {
+                rows.add(mapper.mapRow(rs));
+            }
+            return rows;
+        };
+    }
+
+    /**
+     * Reads the first row.
+     * @param factory Builds the mapper for the result
+     * @return Handler returning the mapped row, or null when there is none
+     */
+    static <T> ResultHandler<T> firstRow(RowMapper.Factory<T> factory) {
+        return rs -> {
+            RowMapper<T> mapper = factory.forResultSet(rs);
+            return rs.next() ? mapper.mapRow(rs) : null;
+        };
+    }
+
+    /**
+     * Hands every row to a consumer as it is read, without collecting them.
+     * @param factory Builds the mapper for the result
+     * @param sink Receives each mapped row
+     * @return Handler returning the number of rows read
+     */
+    static <T> ResultHandler<Long> eachRow(RowMapper.Factory<T> factory, Consumer<T> sink) {
+        return rs -> {
+            RowMapper<T> mapper = factory.forResultSet(rs);
+            long count = 0;
+            while (rs.next()) {
+                sink.accept(mapper.mapRow(rs));
+                count++;
+            }
+            return count;
+        };
+    }
+
+    /**
+     * Reads the first column of the first row as a number, such as a count.
+     * @return Handler returning the number, or 0 when there is no row
+     */
+    static ResultHandler<Long> firstLong() {
+        return rs -> rs.next() ? rs.getLong(1) : 0L;
+    }
+
+    public String getName() { return name; }
+    public String getSql() { return sql; }
+    public boolean isReplicaSafe() { return replicaSafe; }
+
+    /**
+     * Gets how often this statement has run.
+     * @return Executions since startup
+     */
+    public long getExecutionCount() {
+        return timing.count.get();
+    }
+
+    /**
+     * Gets the time spent running this statement and reading its results.
+     * @return Total nanoseconds since startup
+     */
+    public long getTotalNanos() {
+        return timing.totalNanos.get();
+    }
+
+    /**
+     * Gets the slowest single execution.
+     * @return Nanoseconds of the slowest execution since startup
+     */
+    public long getMaxNanos() {
+        return timing.maxNanos.get();
+    }
+
+    /**
+     * Gets the mean time of an execution.
+     * @return Mean microseconds, or 0 if the statement never ran
+     */
+    public double getAverageMicros() {
+        long count = getExecutionCount();
+        return count == 0 ? 0 : getTotalNanos() / 1000.0 / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: runs=%d avg=%.0fus max=%.0fus", name, getExecutionCount(),
+            getAverageMicros(), getMaxNanos() / 1000.0);
+    }
+
+    /**
+     * Sets the parameters of a statement.
+     */
+    @FunctionalInterface
+    interface Binder {
+        Binder NONE = stmt -> { };
+
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Sets the parameters of a statement for one item of a batch.
+     */
+    @FunctionalInterface
+    interface BatchBinder<T> {
+        void bind(PreparedStatement stmt, T item) throws SQLException;
+    }
+
+    /**
+     * Reads the result of a query.
+     */
+    @FunctionalInterface
+    interface ResultHandler<T> {
+        T handle(ResultSet rs) throws SQLException;
+    }
+
+    private static final class Timing {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
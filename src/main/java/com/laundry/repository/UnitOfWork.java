@@ -0,0 +1,18 @@
+package com.laundry.repository;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a group of repository calls as one logical operation.
+ * Database implementations bind a single connection and transaction to the
+ * work so that every repository call inside it joins the same transaction.
+ */
+public interface UnitOfWork {
+    /**
+     * Executes the work atomically.
+     * @param work Repository calls to run
+     * @return Result of the work
+     * @throws RuntimeException whatever the work throws, after rolling back
+     */
+    <T> T execute(Supplier<T> work);
+}
@@ -0,0 +1,15 @@
+package com.laundry.repository;
+
+/**
+ * Outcome of a version-checked update. A write only applies when the row
+ * still carries the version the caller read; otherwise somebody else changed
+ * (or removed) it in the meantime and the caller should reload.
+ */
+public enum UpdateResult {
+    UPDATED,
+    CONFLICT;
+
+    public boolean isConflict() {
+        return this == CONFLICT;
+    }
+}
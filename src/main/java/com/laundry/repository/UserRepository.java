@@ -12,5 +12,13 @@ public interface UserRepository {
     User getUser(String username);
     boolean userExists(String username);
     Collection<User> getAllMembers();
-    void updateUser(User user);
+    User findMemberByPhone(String phone);
+
+    /**
+     * Writes a user back if it still has the version it was read with, and
+     * bumps the version on success.
+     * @param user User carrying the version it was read with
+     * @return CONFLICT if the stored user changed or went away since it was read
+     */
+    UpdateResult updateUser(User user);
 }
\ No newline at end of file
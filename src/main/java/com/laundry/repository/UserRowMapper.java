@@ -0,0 +1,50 @@
+package com.laundry.repository;
+
+import com.laundry.model.User;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the users table, with column indexes looked up once per
+ * ResultSet.
+ */
+public final class UserRowMapper implements RowMapper<User> {
+    private final int username;
+    private final int password;
+    private final int fullName;
+    private final int phone;
+    private final int address;
+    private final int role;
+    private final int points;
+    private final int version;
+
+    private UserRowMapper(ResultSet rs) throws SQLException {
+        this.username = rs.findColumn("username");
+        this.password = rs.findColumn("password");
+        this.fullName = rs.findColumn("full_name");
+        this.phone = rs.findColumn("phone");
+        this.address = rs.findColumn("address");
+        this.role = rs.findColumn("role");
+        this.points = rs.findColumn("points");
+        this.version = rs.findColumn("version");
+    }
+
+    /**
+     * Builds a mapper for the columns of a ResultSet.
+     * @param rs ResultSet of user rows, in any column order
+     * @return Mapper for that ResultSet
+     * @throws SQLException if a user column is missing
+     */
+    public static UserRowMapper forResultSet(ResultSet rs) throws SQLException {
+        return new UserRowMapper(rs);
+    }
+
+    @Override
+    public User mapRow(ResultSet rs) throws SQLException {
+        User user = new User(rs.getString(username), rs.getString(password), rs.getString(fullName),
+            rs.getString(phone), rs.getString(address), rs.getString(role));
+        user.addPoints(rs.getInt(points));
+        user.setVersion(rs.getLong(version));
+        return user;
+    }
+}
@@ -0,0 +1,612 @@
+package com.laundry.server;
+
+import com.laundry.config.AppConfig;
+import com.laundry.config.DatabaseConfigManager;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.User;
+import com.laundry.repository.CoalescingOrderRepository;
+import com.laundry.repository.OrderRepository;
+import com.laundry.repository.SingleFlight;
+import com.laundry.repository.SqlStatement;
+import com.laundry.repository.UpdateResult;
+import com.laundry.repository.UserRepository;
+import com.laundry.service.AuthenticationService;
+import com.laundry.service.OrderService;
+import com.laundry.service.PointsService;
+import com.laundry.service.TaskExecutors;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Headless order server: hosts the order and user stores, the order service
+ * and the authentication service behind a small HTTP/JSON API, so terminals
+ * share the server's connection pool instead of each opening its own.
+ * Order placement, status moves, points, pickup bookings and reports go
+ * through the {@code service} and {@code points} targets, so the history,
+ * rollups and ledger they keep are written in the server's units of work.
+ * <p>
+ * {@code POST /api/rpc} takes a JSON array of calls
+ * {@code {"target": "orders", "method": "findById", "args": [...]}} and
+ * answers with an array of {@code {"result": ...}} or
+ * {@code {"error": ..., "type": ...}} in the same order; one failed call does
+ * not fail the others. {@code POST /api/stream} takes one such call for a
+ * result too large to hold, such as {@code orders.streamOrders}, and writes
+ * it back one JSON line per element while it is read: {@code {"item": ...}}
+ * lines, then {@code {"end": true}} or an error line. {@code GET /api/health} reports the request counts,
+ * how many duplicate reads were saved when reads are coalesced, and the
+ * timing of every SQL statement that has run.
+ * Both endpoints require the shared token as {@code Authorization: Bearer
+ * <token>}; stored passwords are never sent, so terminals log users in
+ * through {@code auth.authenticate}.
+ * Each exchange runs on its own task from {@link TaskExecutors}, a virtual
+ * thread on Java 21+.
+ */
+public class OrderServer {
+    static {
+        // Without TCP_NODELAY, small responses wait out the client's delayed ACK (~40ms each).
+        // Read once when the JDK server loads, so set it before the first HttpServer is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final OrderService orderService;
+    private final AuthenticationService authenticationService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] authorization;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * @param orderRepository Order store to serve
+     * @param userRepository User store to serve
+     * @param orderService Order service over the same stores
+     * @param authenticationService Authentication over the same users
+     * @param address Address to listen on; port 0 picks a free port
+     * @param token Shared token every request must carry
+     * @param executor Executor that runs the exchanges
+     * @throws IOException if the address cannot be bound
+     * @throws IllegalArgumentException if the token is blank
+     */
+    public OrderServer(OrderRepository orderRepository, UserRepository userRepository,
+                       OrderService orderService, AuthenticationService authenticationService,
+                       InetSocketAddress address, String token, ExecutorService executor) throws IOException {
+        if (token == null || token.trim().isEmpty()) {
+            throw new IllegalArgumentException("The order server needs a token");
+        }
+        this.authorization = ("Bearer " + token.trim()).getBytes(StandardCharsets.UTF_8);
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.orderService = orderService;
+        this.authenticationService = authenticationService;
+        this.executor = executor;
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/api/rpc", this::handleRpc);
+        server.createContext("/api/stream", this::handleStream);
+        server.createContext("/api/health", this::handleHealth);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, lets running exchanges finish for up to a
+     * second and shuts the executor down.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of HTTP requests served.
+     * @return RPC requests since start
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Gets the number of calls served, counting every call in a batch.
+     * @return Calls since start
+     */
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    private void handleRpc(HttpExchange exchange) throws IOException {
+        try {
+            if (!authorized(exchange)) {
+                respond(exchange, 401, error("Missing or wrong server token", "SecurityException"));
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, error("Use POST", "UnsupportedOperationException"));
+                return;
+            }
+            Object body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = Json.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, error(e.getMessage(), "IllegalArgumentException"));
+                return;
+            }
+            if (!(body instanceof List)) {
+                respond(exchange, 400, error("Expected an array of calls", "IllegalArgumentException"));
+                return;
+            }
+            requests.incrementAndGet();
+
+            List<?> batch = (List<?>) body;
+            List<Object> results = new ArrayList<>(batch.size());
+            for (Object element : batch) {
+                results.add(invoke(element));
+            }
+            respond(exchange, 200, results);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStream(HttpExchange exchange) throws IOException {
+        try {
+            if (!authorized(exchange)) {
+                respond(exchange, 401, error("Missing or wrong server token", "SecurityException"));
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, error("Use POST", "UnsupportedOperationException"));
+                return;
+            }
+            Object body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = Json.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, error(e.getMessage(), "IllegalArgumentException"));
+                return;
+            }
+            if (!(body instanceof Map)) {
+                respond(exchange, 400, error("Expected one call", "IllegalArgumentException"));
+                return;
+            }
+            requests.incrementAndGet();
+            calls.incrementAndGet();
+
+            Map<?, ?> call = (Map<?, ?>) body;
+            Object args = call.get("args");
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+            // Length 0 sends the body chunked, so lines leave as they are written
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8))) {
+                try {
+                    stream(String.valueOf(call.get("target")), String.valueOf(call.get("method")),
+                        args != null ? (List<?>) args : new ArrayList<>(), item -> {
+                            Map<String, Object> line = new LinkedHashMap<>();
+                            line.put("item", item);
+                            writeLine(out, line);
+                        });
+                    Map<String, Object> end = new LinkedHashMap<>();
+                    end.put("end", true);
+                    writeLine(out, end);
+                } catch (UncheckedIOException e) {
+                    // The client went away; nothing left to tell it
+                    throw e.getCause();
+                } catch (RuntimeException e) {
+                    if (!(e instanceof IllegalArgumentException || e instanceof IllegalStateException)) {
+                        System.err.println("Error serving stream: " + e.getMessage());
+                    }
+                    writeLine(out, error(e.getMessage(), e.getClass().getSimpleName()));
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Runs one streaming call, handing each result element to the sink in its JSON form.
+     * @throws IllegalArgumentException for unknown targets or methods
+     */
+    void stream(String target, String method, List<?> args, Consumer<Object> sink) {
+        if ("orders".equals(target) && "streamOrders".equals(method)) {
+            orderRepository.streamOrders(WireFormat.decodeFilter(args.get(0)),
+                order -> sink.accept(WireFormat.encodeOrder(order)));
+            return;
+        }
+        throw new IllegalArgumentException("Unknown stream: " + target + "." + method);
+    }
+
+    private static void writeLine(Writer out, Object line) {
+        try {
+            out.write(Json.write(line));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try {
+            if (!authorized(exchange)) {
+                respond(exchange, 401, error("Missing or wrong server token", "SecurityException"));
+                return;
+            }
+            Map<String, Object> health = new LinkedHashMap<>();
+            health.put("status", "UP");
+            health.put("requests", requests.get());
+            health.put("calls", calls.get());
+            if (orderRepository instanceof CoalescingOrderRepository) {
+                SingleFlight reads = ((CoalescingOrderRepository) orderRepository).getSingleFlight();
+                health.put("readsExecuted", reads.getExecutionCount());
+                health.put("readsJoined", reads.getJoinedCount());
+                health.put("readsShared", reads.getSharedCount());
+            }
+            List<Map<String, Object>> statements = new ArrayList<>();
+            for (SqlStatement statement : SqlStatement.declared()) {
+                if (statement.getExecutionCount() > 0) {
+                    Map<String, Object> timing = new LinkedHashMap<>();
+                    timing.put("name", statement.getName());
+                    timing.put("runs", statement.getExecutionCount());
+                    timing.put("avgMicros", Math.round(statement.getAverageMicros()));
+                    timing.put("maxMicros", statement.getMaxNanos() / 1000);
+                    statements.add(timing);
+                }
+            }
+            if (!statements.isEmpty()) {
+                health.put("statements", statements);
+            }
+            respond(exchange, 200, health);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        // Constant-time comparison, so response times do not reveal the token
+        return header != null && MessageDigest.isEqual(authorization, header.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Object> invoke(Object element) {
+        calls.incrementAndGet();
+        try {
+            Map<?, ?> call = (Map<?, ?>) element;
+            Object args = call.get("args");
+            Object result = dispatch(String.valueOf(call.get("target")), String.valueOf(call.get("method")),
+                args != null ? (List<?>) args : new ArrayList<>());
+            Map<String, Object> outcome = new LinkedHashMap<>();
+            outcome.put("result", result);
+            return outcome;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return error(e.getMessage(), e.getClass().getSimpleName());
+        } catch (RuntimeException e) {
+            System.err.println("Error serving call: " + e.getMessage());
+            return error(e.getMessage(), e.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Runs one call against the hosted services.
+     * @param target orders, users, service, points or auth
+     * @param method Method name
+     * @param args Arguments in their JSON form
+     * @return Result in its JSON form
+     * @throws IllegalArgumentException for unknown targets or methods
+     */
+    Object dispatch(String target, String method, List<?> args) {
+        switch (target) {
+            case "orders": return orders(method, args);
+            case "users": return users(method, args);
+            case "service": return service(method, args);
+            case "points": return points(method, args);
+            case "auth": return auth(method, args);
+            default: throw new IllegalArgumentException("Unknown target: " + target);
+        }
+    }
+
+    private Object orders(String method, List<?> args) {
+        switch (method) {
+            case "addOrder": {
+                Order order = WireFormat.decodeOrder(args.get(0));
+                orderRepository.addOrder(order);
+                return order.getVersion();
+            }
+            case "save": {
+                Order order = WireFormat.decodeOrder(args.get(0));
+                orderRepository.save(order);
+                return order.getVersion();
+            }
+            case "saveAll":
+                orderRepository.saveAll(WireFormat.decodeOrders(args.get(0)));
+                return null;
+            case "updateOrder": {
+                Order order = WireFormat.decodeOrder(args.get(0));
+                return versioned(orderRepository.updateOrder(order), order.getVersion());
+            }
+            case "updateStatuses":
+                return new ArrayList<>(orderRepository.updateStatuses(WireFormat.decodeOrders(args.get(0)),
+                    OrderStatus.valueOf((String) args.get(1)), WireFormat.parseTime(args.get(2))));
+            case "getAllOrders":
+                return WireFormat.encodeOrders(orderRepository.getAllOrders());
+            case "findAll":
+                return WireFormat.encodeOrders(orderRepository.findAll());
+            case "getOrdersByCustomer":
+                return WireFormat.encodeOrders(orderRepository.getOrdersByCustomer((String) args.get(0)));
+            case "findById":
+                return WireFormat.encodeOrder(orderRepository.findById((String) args.get(0)));
+            case "findByIds":
+                return WireFormat.encodeOrders(orderRepository.findByIds(WireFormat.toStrings(args.get(0))));
+            case "findByCustomerName":
+                return WireFormat.encodeOrders(orderRepository.findByCustomerName((String) args.get(0)));
+            case "findByStatus":
+                return WireFormat.encodeOrders(orderRepository.findByStatus(OrderStatus.valueOf((String) args.get(0))));
+            case "query":
+                return WireFormat.encodePage(orderRepository.query(WireFormat.decodeQuery(args.get(0))));
+            case "findCustomerHistory":
+                return WireFormat.encodeOrders(orderRepository.findCustomerHistory((String) args.get(0)));
+            case "search":
+                return WireFormat.encodeOrders(orderRepository.search((String) args.get(0),
+                    (int) WireFormat.toLong(args.get(1))));
+            case "archiveOrders":
+                return orderRepository.archiveOrders(new HashSet<>(WireFormat.decodeStatuses(args.get(0))),
+                    WireFormat.parseTime(args.get(1)), (int) WireFormat.toLong(args.get(2)));
+            case "countArchived":
+                return orderRepository.countArchived();
+            case "countAll":
+                return orderRepository.countAll();
+            case "countByStatus":
+                return orderRepository.countByStatus(OrderStatus.valueOf((String) args.get(0)));
+            case "sumTotals":
+                return orderRepository.sumTotals().getCents();
+            case "revenueCentsByDay":
+                return orderRepository.revenueCentsByDay(LocalDate.parse((String) args.get(0)),
+                    (int) WireFormat.toLong(args.get(1)));
+            case "generateOrderId":
+                return orderRepository.generateOrderId();
+            default:
+                throw new IllegalArgumentException("Unknown method: orders." + method);
+        }
+    }
+
+    private Object users(String method, List<?> args) {
+        switch (method) {
+            case "addUser": {
+                User user = WireFormat.decodeUser(args.get(0));
+                if (user.getPassword() == null) {
+                    throw new IllegalArgumentException("A new user needs a password");
+                }
+                userRepository.addUser(user);
+                return user.getVersion();
+            }
+            case "getUser":
+                return WireFormat.encodeUser(userRepository.getUser((String) args.get(0)));
+            case "userExists":
+                return userRepository.userExists((String) args.get(0));
+            case "getAllMembers":
+                return WireFormat.encodeUsers(userRepository.getAllMembers());
+            case "findMemberByPhone":
+                return WireFormat.encodeUser(userRepository.findMemberByPhone((String) args.get(0)));
+            case "updateUser": {
+                User user = WireFormat.decodeUser(args.get(0));
+                if (user.getPassword() == null) {
+                    // Terminals never see stored passwords; keep it unless they set a new one
+                    User stored = userRepository.getUser(user.getUsername());
+                    if (stored != null) {
+                        user.setPassword(stored.getPassword());
+                    }
+                }
+                return versioned(userRepository.updateUser(user), user.getVersion());
+            }
+            default:
+                throw new IllegalArgumentException("Unknown method: users." + method);
+        }
+    }
+
+    private Object service(String method, List<?> args) {
+        switch (method) {
+            case "createOrder":
+                return WireFormat.encodeOrder(orderService.createOrder((String) args.get(0), (String) args.get(1),
+                    (String) args.get(2), (String) args.get(3), (String) args.get(4), WireFormat.toDouble(args.get(5))));
+            case "createOrderForUser":
+                return WireFormat.encodeOrder(orderService.createOrderForUser(user((String) args.get(0)),
+                    (String) args.get(1), (String) args.get(2), (String) args.get(3), (String) args.get(4),
+                    WireFormat.toDouble(args.get(5))));
+            case "createOrderWithPickup":
+                return WireFormat.encodeOrder(orderService.createOrderForUser(user((String) args.get(0)),
+                    (String) args.get(1), (String) args.get(2), (String) args.get(3), (String) args.get(4),
+                    WireFormat.toDouble(args.get(5)), WireFormat.parseTime(args.get(6))));
+            case "getAvailablePickupSlots":
+                return WireFormat.encodePickupSlots(orderService.getAvailablePickupSlots((String) args.get(0),
+                    (int) WireFormat.toLong(args.get(1))));
+            case "importOrders": {
+                List<Order> orders = WireFormat.decodeOrders(args.get(0));
+                orderService.importOrders(orders);
+                List<Object> totals = new ArrayList<>(orders.size());
+                for (Order order : orders) {
+                    totals.add(order.getTotalCents());
+                }
+                return totals;
+            }
+            case "calculatePrice":
+                return orderService.calculatePrice((String) args.get(0), (String) args.get(1),
+                    WireFormat.toDouble(args.get(2)));
+            case "reloadPrices":
+                return orderService.reloadPrices();
+            case "archiveOrders":
+                return orderService.archiveOrders(new HashSet<>(WireFormat.decodeStatuses(args.get(0))),
+                    WireFormat.parseTime(args.get(1)), (int) WireFormat.toLong(args.get(2)));
+            case "updateOrderStatusById":
+                return orderService.updateOrderStatus((String) args.get(0), OrderStatus.valueOf((String) args.get(1)));
+            case "updateOrderStatus": {
+                Order order = WireFormat.decodeOrder(args.get(0));
+                Map<String, Object> json = versioned(
+                    orderService.updateOrderStatus(order, OrderStatus.valueOf((String) args.get(1))), order.getVersion());
+                json.put("statusChangedAt", WireFormat.time(order.getStatusChangedAt()));
+                return json;
+            }
+            case "updateStatuses":
+                return orderService.updateStatuses(WireFormat.toStrings(args.get(0)),
+                    OrderStatus.valueOf((String) args.get(1)));
+            case "getRevenueCentsByDay": {
+                List<Object> revenue = new ArrayList<>();
+                for (long cents : orderService.getRevenueCentsByDay(LocalDate.parse((String) args.get(0)),
+                        (int) WireFormat.toLong(args.get(1)))) {
+                    revenue.add(cents);
+                }
+                return revenue;
+            }
+            case "getDailyStats":
+                return WireFormat.encodeStatsRows(orderService.getDailyStats(LocalDate.parse((String) args.get(0)),
+                    LocalDate.parse((String) args.get(1))));
+            case "getHourlyStats":
+                return WireFormat.encodeStatsRows(orderService.getHourlyStats(LocalDate.parse((String) args.get(0))));
+            case "getCustomerStats":
+                return WireFormat.encodeCustomerStats(orderService.getCustomerStats((String) args.get(0)));
+            case "getStatusHistory":
+                return WireFormat.encodeStatusChanges(orderService.getStatusHistory((String) args.get(0)));
+            case "getStageDwellTimes":
+                return WireFormat.encodeDwellTimes(orderService.getStageDwellTimes(
+                    LocalDate.parse((String) args.get(0)), LocalDate.parse((String) args.get(1))));
+            case "getMachineLoads":
+                return WireFormat.encodeMachineLoads(orderService.getMachineLoads());
+            case "replanLoads":
+                orderService.replanLoads();
+                return null;
+            case "rebuildStats":
+                orderService.rebuildStats();
+                return null;
+            case "rebuildCustomerStats":
+                orderService.rebuildCustomerStats();
+                return null;
+            default:
+                throw new IllegalArgumentException("Unknown method: service." + method);
+        }
+    }
+
+    private Object points(String method, List<?> args) {
+        PointsService points = orderService.getPointsService();
+        switch (method) {
+            case "earn":
+                return points.earn((String) args.get(0), (String) args.get(1), (int) WireFormat.toLong(args.get(2)));
+            case "redeem":
+                return points.redeem((String) args.get(0), (String) args.get(1), (int) WireFormat.toLong(args.get(2)));
+            case "adjust":
+                points.adjust((String) args.get(0), (int) WireFormat.toLong(args.get(1)));
+                return null;
+            case "getBalance":
+                return points.getBalance((String) args.get(0));
+            case "getHistory":
+                return WireFormat.encodePointsEntries(points.getHistory((String) args.get(0),
+                    (int) WireFormat.toLong(args.get(1))));
+            default:
+                throw new IllegalArgumentException("Unknown method: points." + method);
+        }
+    }
+
+    private User user(String username) {
+        User user = userRepository.getUser(username);
+        if (user == null) {
+            throw new IllegalArgumentException("Unknown user: " + username);
+        }
+        return user;
+    }
+
+    private Object auth(String method, List<?> args) {
+        switch (method) {
+            case "authenticate":
+                return WireFormat.encodeUser(authenticationService.authenticate(
+                    (String) args.get(0), (String) args.get(1)));
+            case "registerUser":
+                return authenticationService.registerUser((String) args.get(0), (String) args.get(1),
+                    (String) args.get(2), (String) args.get(3), (String) args.get(4));
+            default:
+                throw new IllegalArgumentException("Unknown method: auth." + method);
+        }
+    }
+
+    private static Map<String, Object> versioned(UpdateResult result, long version) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("result", result.name());
+        json.put("version", version);
+        return json;
+    }
+
+    private static Map<String, Object> error(String message, String type) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("error", message);
+        json.put("type", type);
+        return json;
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        // A known length keeps the connection open for the client's next request
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Starts the server over the configured database on server.bind.address
+     * and server.port. The server's own database.properties must leave
+     * server.url empty and set server.token, and the database must be
+     * reachable: the server exits rather than fall back to in-memory stores.
+     */
+    public static void main(String[] args) throws IOException {
+        DatabaseConfigManager settings = DatabaseConfigManager.getInstance();
+        if (settings.getServerUrl() != null) {
+            System.err.println("server.url is set; the order server must use the database directly.");
+            System.exit(1);
+        }
+        if (settings.getServerToken() == null) {
+            System.err.println("server.token is empty; set a shared token for the order server and its terminals.");
+            System.exit(1);
+        }
+        AppConfig app = AppConfig.getInstance();
+        if (!app.isDatabaseMode()) {
+            // Terminals would be told their orders were saved into a store that dies with this process
+            System.err.println("Could not reach the database; the order server will not serve in-memory data.");
+            System.exit(1);
+        }
+        OrderServer server = new OrderServer(app.getOrderRepository(), app.getUserRepository(),
+            app.getOrderService(), app.getAuthenticationService(),
+            new InetSocketAddress(settings.getServerBindAddress(), settings.getServerPort()),
+            settings.getServerToken(), TaskExecutors.newTaskExecutor("order-server", settings.getServerThreads()));
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.println("Order server listening on " + settings.getServerBindAddress() + ":" + server.getPort()
+            + (TaskExecutors.virtualThreadsAvailable() ? " (virtual threads)" : ""));
+    }
+}
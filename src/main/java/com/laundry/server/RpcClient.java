@@ -0,0 +1,302 @@
+package com.laundry.server;
+
+import com.laundry.service.TaskExecutors;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Client side of the order server's RPC endpoint.
+ * <p>
+ * Calls made within one batch window of each other travel together as a
+ * single HTTP request, so a dashboard refresh that fires a dozen counts and
+ * lists pays for one round trip. A batch goes out early once it holds the
+ * maximum number of calls. Requests share the HTTP client's keep-alive
+ * connections, so steady traffic does not reconnect. Every request carries
+ * the server's shared token. Results too large to hold, such as exports,
+ * are streamed on a request of their own instead.
+ */
+public class RpcClient implements AutoCloseable {
+    private final URI rpcUri;
+    private final URI streamUri;
+    private final String authorization;
+    private final HttpClient httpClient;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final ScheduledExecutorService batcher;
+
+    private final Object lock = new Object();
+    private List<Call> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * @param serverUrl Base URL of the order server, e.g. http://hq:8085
+     * @param token Shared token the server expects
+     * @param batchWindow How long a call waits for others to share its request; zero sends at once
+     * @param maxBatchSize Most calls sent in one request
+     * @param timeout How long a call waits for its answer
+     */
+    public RpcClient(String serverUrl, String token, Duration batchWindow, int maxBatchSize, Duration timeout) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new IllegalArgumentException("The order server token must be set");
+        }
+        String baseUrl = serverUrl.replaceAll("/+$", "");
+        this.rpcUri = URI.create(baseUrl + "/api/rpc");
+        this.streamUri = URI.create(baseUrl + "/api/stream");
+        this.authorization = "Bearer " + token.trim();
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .build();
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.timeout = timeout;
+        this.batcher = Executors.newSingleThreadScheduledExecutor(TaskExecutors.daemonThreads("rpc-batch"));
+    }
+
+    /**
+     * Calls a method on the server and waits for its result.
+     * @param target Service on the server: orders, users or auth
+     * @param method Method name
+     * @param args Arguments, already in their JSON form
+     * @return Result in its JSON form
+     * @throws IllegalArgumentException or IllegalStateException as thrown on the server
+     * @throws RuntimeException if the server cannot be reached or fails the call
+     */
+    public Object call(String target, String method, Object... args) {
+        Call call = new Call(target, method, args);
+        calls.incrementAndGet();
+
+        List<Call> batch = null;
+        synchronized (lock) {
+            pending.add(call);
+            if (pending.size() >= maxBatchSize || batchWindowNanos == 0) {
+                batch = takePending();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                batcher.schedule(this::flush, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            send(batch);
+        }
+
+        try {
+            return call.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Order server call failed: " + target + "." + method, cause);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Order server did not answer " + target + "." + method
+                + " within " + timeout.toMillis() + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for " + target + "." + method, e);
+        }
+    }
+
+    /**
+     * Runs a streaming call on the server and hands each result element to
+     * the sink as its line arrives, so neither side holds the whole result.
+     * Streams are not batched; each travels on its own request.
+     * @param target Service on the server
+     * @param method Method name
+     * @param sink Receives each element in its JSON form
+     * @param args Arguments, already in their JSON form
+     * @throws IllegalArgumentException or IllegalStateException as thrown on the server
+     * @throws RuntimeException if the server cannot be reached, fails the call or ends the stream early
+     */
+    public void stream(String target, String method, Consumer<Object> sink, Object... args) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("target", target);
+        json.put("method", method);
+        json.put("args", Arrays.asList(args));
+        HttpRequest request = HttpRequest.newBuilder(streamUri)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .header("Authorization", authorization)
+            .POST(HttpRequest.BodyPublishers.ofString(Json.write(json)))
+            .build();
+        calls.incrementAndGet();
+        requests.incrementAndGet();
+
+        HttpResponse<Stream<String>> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        } catch (IOException e) {
+            System.err.println("Error reaching order server: " + e.getMessage());
+            throw new RuntimeException("Failed to reach order server at " + streamUri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for " + target + "." + method, e);
+        }
+        try (Stream<String> lines = response.body()) {
+            Iterator<String> it = lines.iterator();
+            if (response.statusCode() != 200) {
+                throw new RuntimeException("Order server answered HTTP " + response.statusCode()
+                    + ": " + (it.hasNext() ? it.next() : ""));
+            }
+            while (it.hasNext()) {
+                Map<?, ?> line = (Map<?, ?>) Json.parse(it.next());
+                if (line.containsKey("error")) {
+                    throw failure(target, method, line);
+                }
+                if (Boolean.TRUE.equals(line.get("end"))) {
+                    return;
+                }
+                sink.accept(line.get("item"));
+            }
+        }
+        throw new RuntimeException("Order server ended " + target + "." + method + " early");
+    }
+
+    private void flush() {
+        List<Call> batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        send(batch);
+    }
+
+    private List<Call> takePending() {
+        List<Call> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void send(List<Call> batch) {
+        List<Object> body = new ArrayList<>(batch.size());
+        for (Call call : batch) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("target", call.target);
+            json.put("method", call.method);
+            json.put("args", Arrays.asList(call.args));
+            body.add(json);
+        }
+        HttpRequest request = HttpRequest.newBuilder(rpcUri)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .header("Authorization", authorization)
+            .POST(HttpRequest.BodyPublishers.ofString(Json.write(body)))
+            .build();
+        requests.incrementAndGet();
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            if (error != null) {
+                System.err.println("Error reaching order server: " + error.getMessage());
+                failAll(batch, new RuntimeException("Failed to reach order server at " + rpcUri, error));
+                return;
+            }
+            try {
+                if (response.statusCode() != 200) {
+                    throw new RuntimeException("Order server answered HTTP " + response.statusCode()
+                        + ": " + response.body());
+                }
+                List<?> results = (List<?>) Json.parse(response.body());
+                for (int i = 0; i < batch.size(); i++) {
+                    complete(batch.get(i), (Map<?, ?>) results.get(i));
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error reading order server response: " + e.getMessage());
+                failAll(batch, e);
+            }
+        });
+    }
+
+    private static void complete(Call call, Map<?, ?> outcome) {
+        Object error = outcome.get("error");
+        if (error == null) {
+            call.result.complete(outcome.get("result"));
+            return;
+        }
+        call.result.completeExceptionally(failure(call.target, call.method, outcome));
+    }
+
+    /**
+     * Turns an error outcome back into the exception the server threw, for
+     * the argument and state errors callers handle.
+     */
+    private static RuntimeException failure(String target, String method, Map<?, ?> outcome) {
+        String message = String.valueOf(outcome.get("error"));
+        String type = String.valueOf(outcome.get("type"));
+        if ("IllegalArgumentException".equals(type)) {
+            return new IllegalArgumentException(message);
+        } else if ("IllegalStateException".equals(type)) {
+            return new IllegalStateException(message);
+        }
+        return new RuntimeException("Order server failed " + target + "." + method + ": " + message);
+    }
+
+    private static void failAll(List<Call> batch, RuntimeException error) {
+        for (Call call : batch) {
+            call.result.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Gets the number of calls made.
+     * @return Calls since the client was created
+     */
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    /**
+     * Gets the number of HTTP requests the calls were batched into.
+     * @return Requests since the client was created
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        batcher.shutdownNow();
+        flush();
+    }
+
+    /**
+     * One pending call and the future its caller waits on.
+     */
+    private static final class Call {
+        final String target;
+        final String method;
+        final Object[] args;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Call(String target, String method, Object[] args) {
+            this.target = target;
+            this.method = method;
+            this.args = args;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.laundry.server;
+
+import com.laundry.model.CustomerStats;
+import com.laundry.model.MachineLoad;
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatsRow;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.PickupSlot;
+import com.laundry.model.PointsEntry;
+import com.laundry.model.StageDwell;
+import com.laundry.model.StatusChange;
+import com.laundry.model.User;
+import com.laundry.repository.OrderFilter;
+import com.laundry.repository.OrderPage;
+import com.laundry.repository.OrderQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts orders, users, query specs and the order service's reports to
+ * and from the JSON values the order server exchanges with its clients. Totals travel as integer cents,
+ * times as ISO-8601 local date-times and statuses by enum name.
+ */
+public final class WireFormat {
+
+    private WireFormat() {
+    }
+
+    public static Map<String, Object> encodeOrder(Order order) {
+        if (order == null) {
+            return null;
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("orderId", order.getOrderId());
+        json.put("customerName", order.getCustomerName());
+        json.put("phone", order.getPhone());
+        json.put("address", order.getAddress());
+        json.put("laundryType", order.getLaundryType());
+        json.put("service", order.getService());
+        json.put("status", order.getOrderStatus().name());
+        json.put("weight", order.getWeight());
+        json.put("totalCents", order.getTotalCents());
+        json.put("pickupTime", time(order.getPickupTime()));
+        json.put("orderTime", time(order.getOrderTime()));
+        json.put("statusChangedAt", time(order.getStatusChangedAt()));
+        json.put("customerId", order.getCustomerId());
+        json.put("version", order.getVersion());
+        return json;
+    }
+
+    public static Order decodeOrder(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Map<?, ?> json = (Map<?, ?>) value;
+        Order order = new Order((String) json.get("orderId"));
+        order.setCustomerName((String) json.get("customerName"));
+        order.setPhone((String) json.get("phone"));
+        order.setAddress((String) json.get("address"));
+        order.setLaundryType((String) json.get("laundryType"));
+        order.setService((String) json.get("service"));
+        order.setStatus(OrderStatus.valueOf((String) json.get("status")));
+        order.setWeight(toDouble(json.get("weight")));
+        order.setTotal(Money.ofCents(toLong(json.get("totalCents"))));
+        order.setPickupTime(parseTime(json.get("pickupTime")));
+        order.setOrderTime(parseTime(json.get("orderTime")));
+        order.setStatusChangedAt(parseTime(json.get("statusChangedAt")));
+        order.setCustomerId((int) toLong(json.get("customerId")));
+        order.setVersion(toLong(json.get("version")));
+        return order;
+    }
+
+    public static List<Object> encodeOrders(Collection<Order> orders) {
+        List<Object> json = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            json.add(encodeOrder(order));
+        }
+        return json;
+    }
+
+    public static List<Order> decodeOrders(Object value) {
+        List<?> json = (List<?>) value;
+        List<Order> orders = new ArrayList<>(json.size());
+        for (Object element : json) {
+            orders.add(decodeOrder(element));
+        }
+        return orders;
+    }
+
+    /**
+     * Encodes a user without the password. Terminals log users in through
+     * the server, so stored passwords never leave it.
+     */
+    public static Map<String, Object> encodeUser(User user) {
+        if (user == null) {
+            return null;
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("username", user.getUsername());
+        json.put("fullName", user.getFullName());
+        json.put("phone", user.getPhone());
+        json.put("address", user.getAddress());
+        json.put("role", user.getRole());
+        json.put("points", user.getPoints());
+        json.put("version", user.getVersion());
+        return json;
+    }
+
+    /**
+     * Encodes a user a terminal adds or updates, with the password only when
+     * the terminal set one; a decoded user without it has a null password.
+     */
+    public static Map<String, Object> encodeUserWrite(User user) {
+        Map<String, Object> json = encodeUser(user);
+        if (user.getPassword() != null) {
+            json.put("password", user.getPassword());
+        }
+        return json;
+    }
+
+    public static User decodeUser(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Map<?, ?> json = (Map<?, ?>) value;
+        User user = new User((String) json.get("username"), (String) json.get("password"),
+            (String) json.get("fullName"), (String) json.get("phone"), (String) json.get("address"),
+            (String) json.get("role"));
+        user.addPoints((int) toLong(json.get("points")));
+        user.setVersion(toLong(json.get("version")));
+        return user;
+    }
+
+    public static List<Object> encodeUsers(Collection<User> users) {
+        List<Object> json = new ArrayList<>(users.size());
+        for (User user : users) {
+            json.add(encodeUser(user));
+        }
+        return json;
+    }
+
+    public static List<User> decodeUsers(Object value) {
+        List<?> json = (List<?>) value;
+        List<User> users = new ArrayList<>(json.size());
+        for (Object element : json) {
+            users.add(decodeUser(element));
+        }
+        return users;
+    }
+
+    public static Map<String, Object> encodeFilter(OrderFilter filter) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("from", time(filter.getFrom()));
+        json.put("until", time(filter.getUntil()));
+        json.put("statuses", encodeStatuses(filter.getStatuses()));
+        json.put("services", new ArrayList<>(filter.getServices()));
+        json.put("includeArchived", filter.isIncludeArchived());
+        return json;
+    }
+
+    public static OrderFilter decodeFilter(Object value) {
+        Map<?, ?> json = (Map<?, ?>) value;
+        OrderFilter.Builder builder = OrderFilter.builder()
+            .from(parseTime(json.get("from")))
+            .until(parseTime(json.get("until")))
+            .status(decodeStatuses(json.get("statuses")).toArray(new OrderStatus[0]))
+            .service(toStrings(json.get("services")).toArray(new String[0]));
+        if (Boolean.TRUE.equals(json.get("includeArchived"))) {
+            builder.includeArchived();
+        }
+        return builder.build();
+    }
+
+    public static Map<String, Object> encodeQuery(OrderQuery query) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("filter", encodeFilter(query.getFilter()));
+        json.put("sortField", query.getSortField().name());
+        json.put("ascending", query.isAscending());
+        json.put("offset", query.getOffset());
+        json.put("limit", query.getLimit());
+        return json;
+    }
+
+    public static OrderQuery decodeQuery(Object value) {
+        Map<?, ?> json = (Map<?, ?>) value;
+        return OrderQuery.builder()
+            .filter(decodeFilter(json.get("filter")))
+            .sortBy(OrderQuery.SortField.valueOf((String) json.get("sortField")), Boolean.TRUE.equals(json.get("ascending")))
+            .page((int) toLong(json.get("offset")), (int) toLong(json.get("limit")))
+            .build();
+    }
+
+    public static Map<String, Object> encodePage(OrderPage page) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("orders", encodeOrders(page.getOrders()));
+        json.put("totalCount", page.getTotalCount());
+        json.put("offset", page.getOffset());
+        return json;
+    }
+
+    public static OrderPage decodePage(Object value) {
+        Map<?, ?> json = (Map<?, ?>) value;
+        return new OrderPage(decodeOrders(json.get("orders")), toLong(json.get("totalCount")),
+            (int) toLong(json.get("offset")));
+    }
+
+    public static List<Object> encodePickupSlots(Collection<PickupSlot> slots) {
+        List<Object> json = new ArrayList<>(slots.size());
+        for (PickupSlot slot : slots) {
+            Map<String, Object> element = new LinkedHashMap<>();
+            element.put("start", time(slot.getStart()));
+            element.put("end", time(slot.getEnd()));
+            element.put("remaining", slot.getRemaining());
+            json.add(element);
+        }
+        return json;
+    }
+
+    public static List<PickupSlot> decodePickupSlots(Object value) {
+        List<PickupSlot> slots = new ArrayList<>();
+        for (Object element : (List<?>) value) {
+            Map<?, ?> json = (Map<?, ?>) element;
+            slots.add(new PickupSlot(parseTime(json.get("start")), parseTime(json.get("end")),
+                (int) toLong(json.get("remaining"))));
+        }
+        return slots;
+    }
+
+    public static List<Object> encodeStatsRows(Collection<OrderStatsRow> rows) {
+        List<Object> json = new ArrayList<>(rows.size());
+        for (OrderStatsRow row : rows) {
+            Map<String, Object> element = new LinkedHashMap<>();
+            element.put("bucket", time(row.getBucket()));
+            element.put("service", row.getService());
+            element.put("status", row.getStatus().name());
+            element.put("orderCount", row.getOrderCount());
+            element.put("revenueCents", row.getRevenueCents());
+            element.put("weight", row.getWeight());
+            json.add(element);
+        }
+        return json;
+    }
+
+    public static List<OrderStatsRow> decodeStatsRows(Object value) {
+        List<OrderStatsRow> rows = new ArrayList<>();
+        for (Object element : (List<?>) value) {
+            Map<?, ?> json = (Map<?, ?>) element;
+            rows.add(new OrderStatsRow(parseTime(json.get("bucket")), (String) json.get("service"),
+                OrderStatus.valueOf((String) json.get("status")), toLong(json.get("orderCount")),
+                toLong(json.get("revenueCents")), toDouble(json.get("weight"))));
+        }
+        return rows;
+    }
+
+    public static Map<String, Object> encodeCustomerStats(CustomerStats stats) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("customerName", stats.getCustomerName());
+        json.put("orderCount", stats.getOrderCount());
+        json.put("spendCents", stats.getSpendCents());
+        json.put("openOrders", stats.getOpenOrders());
+        json.put("lastOrderId", stats.getLastOrderId());
+        json.put("lastOrderTime", time(stats.getLastOrderTime()));
+        return json;
+    }
+
+    public static CustomerStats decodeCustomerStats(Object value) {
+        Map<?, ?> json = (Map<?, ?>) value;
+        return new CustomerStats((String) json.get("customerName"), toLong(json.get("orderCount")),
+            toLong(json.get("spendCents")), toLong(json.get("openOrders")), (String) json.get("lastOrderId"),
+            parseTime(json.get("lastOrderTime")));
+    }
+
+    public static List<Object> encodeStatusChanges(Collection<StatusChange> changes) {
+        List<Object> json = new ArrayList<>(changes.size());
+        for (StatusChange change : changes) {
+            Map<String, Object> element = new LinkedHashMap<>();
+            element.put("orderId", change.getOrderId());
+            element.put("fromStatus", change.getFromStatus().name());
+            element.put("toStatus", change.getToStatus().name());
+            element.put("enteredAt", time(change.getEnteredAt()));
+            element.put("changedAt", time(change.getChangedAt()));
+            json.add(element);
+        }
+        return json;
+    }
+
+    public static List<StatusChange> decodeStatusChanges(Object value) {
+        List<StatusChange> changes = new ArrayList<>();
+        for (Object element : (List<?>) value) {
+            Map<?, ?> json = (Map<?, ?>) element;
+            changes.add(new StatusChange((String) json.get("orderId"),
+                OrderStatus.valueOf((String) json.get("fromStatus")), OrderStatus.valueOf((String) json.get("toStatus")),
+                parseTime(json.get("enteredAt")), parseTime(json.get("changedAt"))));
+        }
+        return changes;
+    }
+
+    /**
+     * Encodes dwell totals as a list; durations travel as milliseconds.
+     */
+    public static List<Object> encodeDwellTimes(Map<OrderStatus, StageDwell> dwellTimes) {
+        List<Object> json = new ArrayList<>(dwellTimes.size());
+        for (StageDwell dwell : dwellTimes.values()) {
+            Map<String, Object> element = new LinkedHashMap<>();
+            element.put("status", dwell.getStatus().name());
+            element.put("count", dwell.getCount());
+            element.put("totalMillis", dwell.getTotal().toMillis());
+            element.put("maxMillis", dwell.getMax().toMillis());
+            json.add(element);
+        }
+        return json;
+    }
+
+    public static Map<OrderStatus, StageDwell> decodeDwellTimes(Object value) {
+        Map<OrderStatus, StageDwell> dwellTimes = new EnumMap<>(OrderStatus.class);
+        for (Object element : (List<?>) value) {
+            Map<?, ?> json = (Map<?, ?>) element;
+            OrderStatus status = OrderStatus.valueOf((String) json.get("status"));
+            dwellTimes.put(status, new StageDwell(status, toLong(json.get("count")),
+                toLong(json.get("totalMillis")), toLong(json.get("maxMillis"))));
+        }
+        return dwellTimes;
+    }
+
+    public static List<Object> encodeMachineLoads(Collection<MachineLoad> loads) {
+        List<Object> json = new ArrayList<>(loads.size());
+        for (MachineLoad load : loads) {
+            Map<String, Object> element = new LinkedHashMap<>();
+            element.put("loadId", load.getLoadId());
+            element.put("laundryType", load.getLaundryType());
+            element.put("service", load.getService());
+            element.put("capacityKg", load.getCapacityKg());
+            element.put("weightKg", load.getWeightKg());
+            element.put("orderIds", new ArrayList<>(load.getOrderIds()));
+            json.add(element);
+        }
+        return json;
+    }
+
+    public static List<MachineLoad> decodeMachineLoads(Object value) {
+        List<MachineLoad> loads = new ArrayList<>();
+        for (Object element : (List<?>) value) {
+            Map<?, ?> json = (Map<?, ?>) element;
+            loads.add(new MachineLoad(toLong(json.get("loadId")), (String) json.get("laundryType"),
+                (String) json.get("service"), toDouble(json.get("capacityKg")), toDouble(json.get("weightKg")),
+                toStrings(json.get("orderIds"))));
+        }
+        return loads;
+    }
+
+    public static List<Object> encodePointsEntries(Collection<PointsEntry> entries) {
+        List<Object> json = new ArrayList<>(entries.size());
+        for (PointsEntry entry : entries) {
+            Map<String, Object> element = new LinkedHashMap<>();
+            element.put("entryId", entry.getEntryId());
+            element.put("username", entry.getUsername());
+            element.put("orderId", entry.getOrderId());
+            element.put("type", entry.getType().name());
+            element.put("points", entry.getPoints());
+            element.put("createdAt", time(entry.getCreatedAt()));
+            json.add(element);
+        }
+        return json;
+    }
+
+    public static List<PointsEntry> decodePointsEntries(Object value) {
+        List<PointsEntry> entries = new ArrayList<>();
+        for (Object element : (List<?>) value) {
+            Map<?, ?> json = (Map<?, ?>) element;
+            entries.add(new PointsEntry(toLong(json.get("entryId")), (String) json.get("username"),
+                (String) json.get("orderId"), PointsEntry.Type.valueOf((String) json.get("type")),
+                (int) toLong(json.get("points")), parseTime(json.get("createdAt"))));
+        }
+        return entries;
+    }
+
+    public static List<Object> encodeStatuses(Collection<OrderStatus> statuses) {
+        List<Object> json = new ArrayList<>(statuses.size());
+        for (OrderStatus status : statuses) {
+            json.add(status.name());
+        }
+        return json;
+    }
+
+    public static List<OrderStatus> decodeStatuses(Object value) {
+        List<OrderStatus> statuses = new ArrayList<>();
+        for (String name : toStrings(value)) {
+            statuses.add(OrderStatus.valueOf(name));
+        }
+        return statuses;
+    }
+
+    public static String time(LocalDateTime time) {
+        return time != null ? time.toString() : null;
+    }
+
+    public static LocalDateTime parseTime(Object value) {
+        return value != null ? LocalDateTime.parse((String) value) : null;
+    }
+
+    public static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    public static double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    public static List<String> toStrings(Object value) {
+        List<String> strings = new ArrayList<>();
+        if (value != null) {
+            for (Object element : (List<?>) value) {
+                strings.add((String) element);
+            }
+        }
+        return strings;
+    }
+
+    public static long[] toLongArray(Object value) {
+        List<?> json = (List<?>) value;
+        long[] array = new long[json.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = toLong(json.get(i));
+        }
+        return array;
+    }
+}
@@ -22,7 +22,7 @@ public class AuthenticationService {
      */
     public User authenticate(String username, String password) {
         User user = userRepository.getUser(username);
-        if (user != null && user.getPassword().equals(password)) {
+        if (user != null && password != null && password.equals(user.getPassword())) {
             return user;
         }
         return null;
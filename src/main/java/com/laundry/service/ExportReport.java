@@ -0,0 +1,36 @@
+package com.laundry.service;
+
+/**
+ * Outcome of an order export: rows written, bytes produced and throughput.
+ */
+public class ExportReport {
+    private final long rowsWritten;
+    private final long bytesWritten;
+    private final long elapsedNanos;
+    
+    public ExportReport(long rowsWritten, long bytesWritten, long elapsedNanos) {
+        this.rowsWritten = rowsWritten;
+        this.bytesWritten = bytesWritten;
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public long getRowsWritten() { return rowsWritten; }
+    
+    /**
+     * Gets the size of the encoded output before any compression.
+     * @return Uncompressed bytes
+     */
+    public long getBytesWritten() { return bytesWritten; }
+    
+    public long getElapsedNanos() { return elapsedNanos; }
+    
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsWritten * 1_000_000_000.0 / elapsedNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("rows=%d bytes=%d in %.1fs (%.0f rows/sec)",
+            rowsWritten, bytesWritten, elapsedNanos / 1_000_000_000.0, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,66 @@
+package com.laundry.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk order import: row counts, throughput and the details
+ * of rejected rows (capped, so a bad file cannot exhaust memory).
+ */
+public class ImportReport {
+    private final long rowsRead;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final List<RejectedRow> rejectedRows;
+    private final long elapsedNanos;
+    
+    public ImportReport(long rowsRead, long rowsImported, long rowsRejected,
+                        List<RejectedRow> rejectedRows, long elapsedNanos) {
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.rejectedRows = Collections.unmodifiableList(rejectedRows);
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public long getRowsRead() { return rowsRead; }
+    public long getRowsImported() { return rowsImported; }
+    public long getRowsRejected() { return rowsRejected; }
+    public List<RejectedRow> getRejectedRows() { return rejectedRows; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    
+    /**
+     * Gets the import throughput over all rows read.
+     * @return Rows per second
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("read=%d imported=%d rejected=%d in %.1fs (%.0f rows/sec)",
+            rowsRead, rowsImported, rowsRejected, elapsedNanos / 1_000_000_000.0, getRowsPerSecond());
+    }
+    
+    /**
+     * A row that failed validation or could not be inserted.
+     */
+    public static class RejectedRow {
+        private final long lineNumber;
+        private final String reason;
+        
+        public RejectedRow(long lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+        
+        public long getLineNumber() { return lineNumber; }
+        public String getReason() { return reason; }
+        
+        @Override
+        public String toString() {
+            return "line " + lineNumber + ": " + reason;
+        }
+    }
+}
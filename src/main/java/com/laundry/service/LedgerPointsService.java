@@ -0,0 +1,125 @@
+package com.laundry.service;
+
+import com.laundry.model.PointsEntry;
+import com.laundry.repository.PointsLedgerRepository;
+import com.laundry.repository.UnitOfWork;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loyalty points on top of the append-only ledger: earning, redemption,
+ * manual adjustments and the periodic compaction of balances.
+ */
+public class LedgerPointsService implements PointsService {
+    // Entries younger than this are left for the next compaction run
+    private static final Duration COMPACTION_GRACE = Duration.ofMinutes(1);
+
+    private final PointsLedgerRepository ledger;
+    private final UnitOfWork unitOfWork;
+    private ScheduledExecutorService scheduler;
+
+    public LedgerPointsService(PointsLedgerRepository ledger, UnitOfWork unitOfWork) {
+        this.ledger = ledger;
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * Records points earned by an order. Earning twice for the same order is a no-op.
+     * @param username Member earning the points
+     * @param orderId Order that earned them
+     * @param points Points earned
+     * @return true if the points were recorded now
+     */
+    @Override
+    public boolean earn(String username, String orderId, int points) {
+        if (points <= 0) {
+            return false;
+        }
+        return ledger.append(PointsEntry.of(username, orderId, PointsEntry.Type.EARN, points));
+    }
+
+    /**
+     * Redeems points against an order. Safe to retry: an order is only ever
+     * charged once.
+     * @param username Member redeeming
+     * @param orderId Order the points are redeemed against
+     * @param points Points to redeem
+     * @return true if the order's points are redeemed, false if the balance is too low
+     */
+    @Override
+    public boolean redeem(String username, String orderId, int points) {
+        if (points <= 0) {
+            throw new IllegalArgumentException("Points to redeem must be positive");
+        }
+        return unitOfWork.execute(() -> ledger.redeem(username, orderId, points));
+    }
+
+    /**
+     * Records a manual correction, positive or negative.
+     * @param username Member
+     * @param points Signed points
+     */
+    @Override
+    public void adjust(String username, int points) {
+        if (points != 0) {
+            ledger.append(PointsEntry.of(username, null, PointsEntry.Type.ADJUST, points));
+        }
+    }
+
+    @Override
+    public int getBalance(String username) {
+        return ledger.getBalance(username);
+    }
+
+    /**
+     * Gets a member's most recent ledger entries.
+     * @param username Member
+     * @param limit Maximum number of entries
+     * @return Entries, newest first
+     */
+    @Override
+    public List<PointsEntry> getHistory(String username, int limit) {
+        return ledger.findEntries(username, limit);
+    }
+
+    /**
+     * Folds settled ledger entries into the cached balances.
+     * @return Number of entries folded
+     */
+    public long compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(COMPACTION_GRACE);
+        return unitOfWork.execute(() -> ledger.compact(cutoff));
+    }
+
+    /**
+     * Runs compaction periodically on a background daemon thread.
+     * @param interval Time between runs
+     */
+    public synchronized void startCompaction(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(TaskExecutors.daemonThreads("points-compactor"));
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (RuntimeException e) {
+                System.err.println("Error compacting points ledger: " + e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic compaction.
+     */
+    public synchronized void stopCompaction() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.laundry.service;
+
+import com.laundry.model.MachineLoad;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Plans washer and dryer loads for Pending orders. Orders only share a machine
+ * with orders of the same laundry type and service tier, and are packed by
+ * weight into loads no heavier than the machine capacity for their type.
+ * <p>
+ * Arriving orders go best-fit into the load whose free space fits them most
+ * tightly. Each group keeps its loads in a set ordered by free space, so the
+ * fit is one ceiling lookup, O(log n), and no other load moves. Orders that
+ * leave Pending are taken out of their load. Removals leave gaps behind, so
+ * {@link #replan} repacks everything, heaviest first.
+ * <p>
+ * Weights are tracked in grams to keep the arithmetic exact.
+ */
+public class LoadPlanner {
+    private static final double DEFAULT_CAPACITY_KG = 8.0;
+
+    private final long defaultCapacityGrams;
+    private final Map<String, Long> capacityGramsByType = new HashMap<>();
+
+    private final Map<String, Group> groups = new HashMap<>();
+    private final Map<String, Load> loadsByOrder = new HashMap<>();
+    private long nextLoadId = 1;
+
+    public LoadPlanner() {
+        this(DEFAULT_CAPACITY_KG, Collections.emptyMap());
+    }
+
+    /**
+     * @param defaultCapacityKg Machine capacity for laundry types without their own
+     * @param capacityKgByType Machine capacity by laundry type, keyed by {@link #typeKey}
+     */
+    public LoadPlanner(double defaultCapacityKg, Map<String, Double> capacityKgByType) {
+        this.defaultCapacityGrams = grams(defaultCapacityKg);
+        capacityKgByType.forEach((type, kg) -> capacityGramsByType.put(typeKey(type), grams(kg)));
+    }
+
+    /**
+     * Normalizes a laundry type for capacity lookups, e.g. "Dry Clean" to "dry-clean".
+     * @param laundryType Laundry type label
+     * @return Lower-case key with words joined by dashes
+     */
+    public static String typeKey(String laundryType) {
+        if (laundryType == null) {
+            return "";
+        }
+        return laundryType.trim().toLowerCase(Locale.ROOT)
+            .replaceAll("[^a-z0-9]+", "-")
+            .replaceAll("^-|-$", "");
+    }
+
+    /**
+     * Plans a new Pending order into a load. Orders already planned or not
+     * Pending are ignored.
+     * @param order Order to plan
+     * @return true if the order was added to the plan
+     */
+    public synchronized boolean add(Order order) {
+        if (order.getOrderStatus() != OrderStatus.PENDING || loadsByOrder.containsKey(order.getOrderId())) {
+            return false;
+        }
+        place(order);
+        return true;
+    }
+
+    /**
+     * Takes an order out of the plan, e.g. once it leaves Pending.
+     * @param orderId Order ID
+     * @return true if the order was planned
+     */
+    public synchronized boolean remove(String orderId) {
+        Load load = loadsByOrder.remove(orderId);
+        if (load == null) {
+            return false;
+        }
+        Group group = load.group;
+        group.loads.remove(load);
+        load.usedGrams -= load.orders.remove(orderId);
+        if (!load.orders.isEmpty()) {
+            group.loads.add(load);
+        } else if (group.loads.isEmpty()) {
+            groups.remove(group.key);
+        }
+        return true;
+    }
+
+    /**
+     * Throws the plan away and packs the given orders from scratch, heaviest
+     * first, which closes the gaps incremental removals leave behind.
+     * @param orders Orders to plan; only Pending ones are used
+     */
+    public synchronized void replan(Collection<Order> orders) {
+        groups.clear();
+        loadsByOrder.clear();
+        List<Order> pending = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            if (order.getOrderStatus() == OrderStatus.PENDING) {
+                pending.add(order);
+            }
+        }
+        pending.sort(Comparator.comparingDouble(Order::getWeight).reversed());
+        for (Order order : pending) {
+            if (!loadsByOrder.containsKey(order.getOrderId())) {
+                place(order);
+            }
+        }
+    }
+
+    /**
+     * Gets the current plan.
+     * @return Loads by laundry type and tier, fullest first within each
+     */
+    public synchronized List<MachineLoad> getLoads() {
+        List<MachineLoad> loads = new ArrayList<>(loadsByOrder.size());
+        for (Group group : groups.values()) {
+            for (Load load : group.loads) {
+                loads.add(new MachineLoad(load.loadId, group.laundryType, group.service,
+                    group.capacityGrams / 1000.0, load.usedGrams / 1000.0, new ArrayList<>(load.orders.keySet())));
+            }
+        }
+        loads.sort(Comparator.comparing(MachineLoad::getLaundryType)
+            .thenComparing(MachineLoad::getService)
+            .thenComparing(Comparator.comparingDouble(MachineLoad::getFill).reversed()));
+        return loads;
+    }
+
+    public synchronized int getLoadCount() {
+        int count = 0;
+        for (Group group : groups.values()) {
+            count += group.loads.size();
+        }
+        return count;
+    }
+
+    public synchronized int getPlannedOrderCount() {
+        return loadsByOrder.size();
+    }
+
+    private void place(Order order) {
+        String key = typeKey(order.getLaundryType()) + "|" + String.valueOf(order.getService()).toLowerCase(Locale.ROOT);
+        Group group = groups.computeIfAbsent(key, k -> new Group(k, order.getLaundryType(), order.getService(),
+            capacityGramsByType.getOrDefault(typeKey(order.getLaundryType()), defaultCapacityGrams)));
+
+        long weight = Math.max(0, grams(order.getWeight()));
+        Load load = group.loads.ceiling(Load.probe(weight));
+        if (load == null) {
+            // Nothing has room: start a load, alone if the order is heavier than the machine
+            load = new Load(nextLoadId++, group);
+        } else {
+            group.loads.remove(load);
+        }
+        load.orders.put(order.getOrderId(), weight);
+        load.usedGrams += weight;
+        group.loads.add(load);
+        loadsByOrder.put(order.getOrderId(), load);
+    }
+
+    private static long grams(double kg) {
+        return Math.round(kg * 1000);
+    }
+
+    /**
+     * Orders of one laundry type and tier, with their loads ordered by free space.
+     */
+    private static final class Group {
+        final String key;
+        final String laundryType;
+        final String service;
+        final long capacityGrams;
+        final TreeSet<Load> loads = new TreeSet<>(
+            Comparator.comparingLong(Load::freeGrams).thenComparingLong(load -> load.loadId));
+
+        Group(String key, String laundryType, String service, long capacityGrams) {
+            this.key = key;
+            this.laundryType = laundryType;
+            this.service = service;
+            this.capacityGrams = capacityGrams;
+        }
+    }
+
+    private static final class Load {
+        final long loadId;
+        final Group group;
+        final Map<String, Long> orders = new LinkedHashMap<>();
+        long usedGrams;
+        // Only set on probes, which have no group
+        private final long probeFree;
+
+        Load(long loadId, Group group) {
+            this.loadId = loadId;
+            this.group = group;
+            this.probeFree = 0;
+        }
+
+        private Load(long free) {
+            this.loadId = Long.MIN_VALUE;
+            this.group = null;
+            this.probeFree = free;
+        }
+
+        /**
+         * Gets a search key that sorts before every load with at least this much room.
+         */
+        static Load probe(long freeGrams) {
+            return new Load(freeGrams);
+        }
+
+        long freeGrams() {
+            return group != null ? group.capacityGrams - usedGrams : probeFree;
+        }
+    }
+}
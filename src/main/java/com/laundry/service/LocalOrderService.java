@@ -0,0 +1,679 @@
+package com.laundry.service;
+
+import com.laundry.model.CustomerStats;
+import com.laundry.model.MachineLoad;
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatsRow;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.PickupSlot;
+import com.laundry.model.StageDwell;
+import com.laundry.model.StatusChange;
+import com.laundry.model.User;
+import com.laundry.repository.CustomerStatsDelta;
+import com.laundry.repository.CustomerStatsRepository;
+import com.laundry.repository.DirectUnitOfWork;
+import com.laundry.repository.InMemoryCustomerStatsRepository;
+import com.laundry.repository.InMemoryOrderStatsRepository;
+import com.laundry.repository.InMemoryOrderStatusHistoryRepository;
+import com.laundry.repository.InMemoryPickupSlotRepository;
+import com.laundry.repository.InMemoryPointsLedgerRepository;
+import com.laundry.repository.OrderFilter;
+import com.laundry.repository.OrderPage;
+import com.laundry.repository.OrderQuery;
+import com.laundry.repository.OrderRepository;
+import com.laundry.repository.OrderStatsDelta;
+import com.laundry.repository.OrderStatsRepository;
+import com.laundry.repository.OrderStatusHistoryRepository;
+import com.laundry.repository.UnitOfWork;
+import com.laundry.repository.UpdateResult;
+import com.laundry.repository.UserRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * OrderService over local stores: pricing, rollups, history, points and
+ * pickup bookings are written in the configured unit of work.
+ */
+public class LocalOrderService implements OrderService {
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final PricingEngine pricingEngine;
+    private final UnitOfWork unitOfWork;
+    private final OrderStatsRepository statsRepository;
+    private final CustomerStatsRepository customerStatsRepository;
+    private final PointsService pointsService;
+    private final OrderStatusHistoryRepository historyRepository;
+    private final PickupScheduler pickupScheduler;
+    private final LoadPlanner loadPlanner;
+    
+    public LocalOrderService(OrderRepository orderRepository, UserRepository userRepository) {
+        this(builder(orderRepository, userRepository));
+    }
+    
+    private LocalOrderService(Builder builder) {
+        this.orderRepository = builder.orderRepository;
+        this.userRepository = builder.userRepository;
+        this.pricingEngine = builder.pricingEngine != null ? builder.pricingEngine : PricingEngine.fromClasspath();
+        this.unitOfWork = builder.unitOfWork;
+        this.statsRepository = builder.statsRepository;
+        this.customerStatsRepository = builder.customerStatsRepository;
+        this.pointsService = builder.pointsService != null
+            ? builder.pointsService : new LedgerPointsService(new InMemoryPointsLedgerRepository(), builder.unitOfWork);
+        this.historyRepository = builder.historyRepository;
+        this.pickupScheduler = builder.pickupScheduler != null
+            ? builder.pickupScheduler : PickupScheduler.builder(new InMemoryPickupSlotRepository()).build();
+        this.loadPlanner = builder.loadPlanner;
+    }
+    
+    /**
+     * Starts building a service over the given repositories. Collaborators
+     * that are not set default to in-memory stores and a direct unit of work.
+     * @param orderRepository Order store
+     * @param userRepository User store
+     * @return Builder
+     */
+    public static Builder builder(OrderRepository orderRepository, UserRepository userRepository) {
+        return new Builder(orderRepository, userRepository);
+    }
+    
+    /**
+     * Creates a new order with the given details.
+     * @param customerName Name of the customer
+     * @param phone Customer's phone number
+     * @param address Customer's address
+     * @param laundryType Type of laundry service
+     * @param service Service level (Regular/Express)
+     * @param weight Weight of laundry in kg
+     * @return The created Order object
+     */
+    @Override
+    public Order createOrder(String customerName, String phone, String address,
+                           String laundryType, String service, double weight) {
+        return placeOrder(customerName, phone, address, laundryType, service, weight, null);
+    }
+    
+    /**
+     * Creates a new order for a logged-in user.
+     * @param user The logged-in user
+     * @param phone Customer's phone number
+     * @param address Customer's address
+     * @param laundryType Type of laundry service
+     * @param service Service level (Regular/Express)
+     * @param weight Weight of laundry in kg
+     * @return Created order
+     */
+    @Override
+    public Order createOrderForUser(User user, String phone, String address,
+                                  String laundryType, String service, double weight) {
+        // Store username for proper linking
+        return placeOrder(user.getUsername(), phone, address, laundryType, service, weight, null);
+    }
+    
+    /**
+     * Creates a new order for a logged-in user and books its pickup. The slot
+     * is reserved in the same unit of work as the order insert.
+     * @param user The logged-in user
+     * @param phone Customer's phone number
+     * @param address Customer's address
+     * @param laundryType Type of laundry service
+     * @param service Service level, which sets the earliest pickup
+     * @param weight Weight of laundry in kg
+     * @param pickupSlotStart Start of the wanted pickup slot, or null for the earliest free one
+     * @return Created order, picked up at the start of its slot
+     * @throws IllegalStateException if the slot was taken meanwhile or no slot is free
+     */
+    @Override
+    public Order createOrderForUser(User user, String phone, String address, String laundryType,
+                                    String service, double weight, LocalDateTime pickupSlotStart) {
+        return unitOfWork.execute(() -> {
+            PickupSlot slot = pickupScheduler.reserve(service, pickupSlotStart, LocalDateTime.now());
+            if (slot == null) {
+                throw new IllegalStateException(pickupSlotStart != null
+                    ? "The chosen pickup slot is no longer available"
+                    : "No pickup slot is available");
+            }
+            try {
+                return placeOrder(user.getUsername(), phone, address, laundryType, service, weight, slot.getStart());
+            } catch (RuntimeException e) {
+                // A direct unit of work does not roll the reservation back by itself
+                pickupScheduler.release(slot.getStart());
+                throw e;
+            }
+        });
+    }
+    
+    /**
+     * Gets the next pickup slots with room for a service tier, after
+     * reloading bookings made from other terminals.
+     * @param service Service level
+     * @param limit Maximum number of slots
+     * @return Free slots, earliest first
+     */
+    @Override
+    public List<PickupSlot> getAvailablePickupSlots(String service, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        pickupScheduler.refresh(now);
+        return pickupScheduler.availableSlots(service, now, limit);
+    }
+    
+    /**
+     * Inserts the order and awards points in one unit of work, so a failed
+     * insert never leaves points behind and a failed points update rolls the
+     * insert back. The stored order is then planned into a machine load.
+     */
+    private Order placeOrder(String customerName, String phone, String address,
+                             String laundryType, String service, double weight,
+                             LocalDateTime pickupTime) {
+        Order placed = unitOfWork.execute(() -> {
+            String orderId = orderRepository.generateOrderId();
+            Order order = new Order(orderId);
+            order.setCustomerName(customerName);
+            order.setPhone(phone);
+            order.setAddress(address);
+            order.setLaundryType(laundryType);
+            order.setService(service);
+            order.setWeight(weight);
+            order.setPickupTime(pickupTime);
+            
+            // Calculate total from the price matrix
+            order.setTotal(pricingEngine.quote(laundryType, service, weight));
+            
+            orderRepository.addOrder(order);
+            statsRepository.apply(new OrderStatsDelta().add(order));
+            customerStatsRepository.apply(new CustomerStatsDelta().add(order));
+            
+            // Award points to existing member if found
+            awardPointsToUser(phone, order);
+            return order;
+        });
+        loadPlanner.add(placed);
+        return placed;
+    }
+    
+    /**
+     * Awards points to the member with the order's phone number.
+     * Points are calculated as total / 1000 and appended to the points
+     * ledger; the member's row is only read.
+     * @param phone User's phone number
+     * @param order Order earning the points
+     */
+    private void awardPointsToUser(String phone, Order order) {
+        User user = userRepository.findMemberByPhone(phone);
+        if (user != null) {
+            int points = (int) (order.getTotalCents() / 100_000);
+            pointsService.earn(user.getUsername(), order.getOrderId(), points);
+        }
+    }
+    
+    /**
+     * Prices and inserts a batch of already validated orders, such as rows
+     * from a bulk import, in one unit of work. Imported orders do not award points.
+     * @param orders Orders to price and insert
+     */
+    @Override
+    public void importOrders(List<Order> orders) {
+        pricingEngine.applyAll(orders);
+        OrderStatsDelta delta = new OrderStatsDelta();
+        CustomerStatsDelta customerDelta = new CustomerStatsDelta();
+        for (Order order : orders) {
+            delta.add(order);
+            customerDelta.add(order);
+        }
+        unitOfWork.execute(() -> {
+            orderRepository.saveAll(orders);
+            statsRepository.apply(delta);
+            customerStatsRepository.apply(customerDelta);
+            return null;
+        });
+        for (Order order : orders) {
+            loadPlanner.add(order);
+        }
+    }
+    
+    /**
+     * Calculates the total price for a given laundry order.
+     * @param laundryType Type of laundry service
+     * @param service Service level
+     * @param weight Weight of laundry in kg
+     * @return Total price in Rupiah
+     */
+    @Override
+    public double calculatePrice(String laundryType, String service, double weight) {
+        return pricingEngine.quote(laundryType, service, weight).toRupiah();
+    }
+    
+    /**
+     * Gets the loyalty points service that orders earn into.
+     * @return Points service
+     */
+    @Override
+    public PointsService getPointsService() {
+        return pointsService;
+    }
+    
+    /**
+     * Gets the pricing engine used for quotes.
+     * @return Pricing engine
+     */
+    public PricingEngine getPricingEngine() {
+        return pricingEngine;
+    }
+    
+    @Override
+    public boolean reloadPrices() {
+        return pricingEngine.reload();
+    }
+
+    /**
+     * Retrieves all orders in the system.
+     * @return List of all orders
+     */
+    @Override
+    public List<Order> getAllOrders() {
+        return orderRepository.getAllOrders();
+    }
+    
+    /**
+     * Retrieves orders for a specific customer.
+     * @param username Customer's username
+     * @return List of orders for the customer
+     */
+    @Override
+    public List<Order> getOrdersByCustomer(String username) {
+        return orderRepository.getOrdersByCustomer(username);
+    }
+    
+    /**
+     * Streams orders matching a filter, oldest first, without loading them all.
+     * @param filter Order-time range and statuses to include
+     * @param sink Receives each order in turn
+     */
+    @Override
+    public void streamOrders(OrderFilter filter, Consumer<Order> sink) {
+        orderRepository.streamOrders(filter, sink);
+    }
+    
+    /**
+     * Gets a customer's complete order history, including archived orders.
+     * @param username Customer's username
+     * @return Orders, newest first
+     */
+    @Override
+    public List<Order> getCustomerHistory(String username) {
+        return orderRepository.findCustomerHistory(username);
+    }
+    
+    /**
+     * Reads one page of live orders, filtered and sorted by the repository.
+     * @param query Query spec
+     * @return Page of orders
+     */
+    @Override
+    public OrderPage queryOrders(OrderQuery query) {
+        return orderRepository.query(query);
+    }
+    
+    /**
+     * Searches live orders by order ID, customer name or phone.
+     * @param query Search text
+     * @param limit Maximum number of results
+     * @return Matching orders, best match first
+     */
+    @Override
+    public List<Order> searchOrders(String query, int limit) {
+        return orderRepository.search(query, limit);
+    }
+    
+    /**
+     * Moves one chunk of old orders in the given statuses to the archive tier.
+     * @param statuses Statuses eligible for archiving
+     * @param olderThan Only orders placed before this time are moved
+     * @param limit Maximum number of orders to move
+     * @return Number of orders moved
+     */
+    @Override
+    public int archiveOrders(Set<OrderStatus> statuses, LocalDateTime olderThan, int limit) {
+        return unitOfWork.execute(() -> orderRepository.archiveOrders(statuses, olderThan, limit));
+    }
+    
+    /**
+     * Counts all orders in the system.
+     * @return Number of orders
+     */
+    @Override
+    public long getOrderCount() {
+        return orderRepository.countAll();
+    }
+    
+    /**
+     * Counts orders in any of the given statuses.
+     * @param statuses Statuses to include
+     * @return Number of matching orders
+     */
+    @Override
+    public long countOrdersByStatus(OrderStatus... statuses) {
+        long count = 0;
+        for (OrderStatus status : statuses) {
+            count += orderRepository.countByStatus(status);
+        }
+        return count;
+    }
+    
+    /**
+     * Sums the totals of all orders.
+     * @return Total revenue
+     */
+    @Override
+    public Money getTotalRevenue() {
+        return orderRepository.sumTotals();
+    }
+    
+    /**
+     * Gets revenue per day for a date range.
+     * @param from First day of the range
+     * @param days Number of days in the range
+     * @return Revenue in cents per day, index 0 being {@code from}
+     */
+    @Override
+    public long[] getRevenueCentsByDay(LocalDate from, int days) {
+        long[] revenue = new long[Math.max(days, 0)];
+        if (days <= 0) {
+            return revenue;
+        }
+        for (OrderStatsRow row : statsRepository.findDaily(from, from.plusDays(days - 1))) {
+            int day = (int) (row.getBucket().toLocalDate().toEpochDay() - from.toEpochDay());
+            revenue[day] += row.getRevenueCents();
+        }
+        return revenue;
+    }
+    
+    /**
+     * Gets order count, revenue and weight per day, service and status,
+     * read from the daily rollup.
+     * @param first First day, inclusive
+     * @param last Last day, inclusive
+     * @return Rollup rows ordered by day, service and status
+     */
+    @Override
+    public List<OrderStatsRow> getDailyStats(LocalDate first, LocalDate last) {
+        return statsRepository.findDaily(first, last);
+    }
+    
+    /**
+     * Gets order count, revenue and weight per hour, service and status
+     * for one day, read from the hourly rollup.
+     * @param day Day to report
+     * @return Rollup rows ordered by hour, service and status
+     */
+    @Override
+    public List<OrderStatsRow> getHourlyStats(LocalDate day) {
+        return statsRepository.findHourly(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+    
+    /**
+     * Gets a customer's order summary: order count, lifetime spend, open
+     * orders and most recent order, read from one customer_stats row.
+     * @param customerName Customer's username
+     * @return Summary, empty if the customer has no orders
+     */
+    @Override
+    public CustomerStats getCustomerStats(String customerName) {
+        return customerStatsRepository.find(customerName);
+    }
+    
+    /**
+     * Gets the status changes of an order, oldest first.
+     * @param orderId Order ID
+     * @return Status history
+     */
+    @Override
+    public List<StatusChange> getStatusHistory(String orderId) {
+        return historyRepository.findByOrder(orderId);
+    }
+    
+    /**
+     * Gets how long orders spent in each status, counting the stints that
+     * ended between two dates.
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @return Dwell totals by status
+     */
+    @Override
+    public Map<OrderStatus, StageDwell> getStageDwellTimes(LocalDate from, LocalDate to) {
+        return historyRepository.dwellTimes(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+    
+    /**
+     * Gets the planned machine loads for the Pending orders.
+     * @return Loads by laundry type and tier, fullest first within each
+     */
+    @Override
+    public List<MachineLoad> getMachineLoads() {
+        return loadPlanner.getLoads();
+    }
+    
+    /**
+     * Repacks the machine loads from the stored Pending orders, e.g. at
+     * startup or to close the gaps left by orders that moved on.
+     */
+    @Override
+    public void replanLoads() {
+        loadPlanner.replan(orderRepository.findByStatus(OrderStatus.PENDING));
+    }
+    
+    /**
+     * Recomputes the per-customer summaries from the stored orders.
+     */
+    @Override
+    public void rebuildCustomerStats() {
+        unitOfWork.execute(() -> {
+            customerStatsRepository.rebuild(orderRepository);
+            return null;
+        });
+    }
+    
+    /**
+     * Recomputes the rollups from the stored orders, e.g. after a bulk load
+     * that bypassed the service or to backfill a new installation.
+     */
+    @Override
+    public void rebuildStats() {
+        unitOfWork.execute(() -> {
+            statsRepository.rebuild(orderRepository);
+            return null;
+        });
+    }
+    
+    /**
+     * Updates the status of an existing order.
+     * @param orderId ID of the order to update
+     * @param newStatus New status for the order
+     * @return true if update was successful, false if the order is missing
+     *         or cannot move to the new status
+     */
+    @Override
+    public boolean updateOrderStatus(String orderId, OrderStatus newStatus) {
+        return unitOfWork.execute(() -> {
+            Order order = orderRepository.findById(orderId);
+            if (order == null || !order.getOrderStatus().canMoveTo(newStatus)) {
+                return false;
+            }
+            return updateOrderStatus(order, newStatus) == UpdateResult.UPDATED;
+        });
+    }
+    
+    /**
+     * Moves an order the caller already holds, such as a row in the admin grid,
+     * to a new status. The write is checked against the version the order was
+     * read with, so nothing is read again; if someone else changed the order
+     * in the meantime it is left untouched and CONFLICT is returned.
+     * The move is recorded in the status history in the same unit of work.
+     * @param order Order as the caller last read it
+     * @param newStatus New status for the order
+     * @return UPDATED, or CONFLICT if the caller's copy is stale
+     * @throws IllegalStateException if the order cannot move to the new status
+     */
+    @Override
+    public UpdateResult updateOrderStatus(Order order, OrderStatus newStatus) {
+        OrderStatus previous = order.getOrderStatus();
+        if (!previous.canMoveTo(newStatus)) {
+            throw new IllegalStateException("Order " + order.getOrderId() + " cannot move from "
+                + previous.getLabel() + " to " + newStatus.getLabel());
+        }
+        if (previous == newStatus) {
+            return UpdateResult.UPDATED;
+        }
+        UpdateResult updated = unitOfWork.execute(() -> {
+            LocalDateTime enteredAt = order.getStatusChangedAt();
+            LocalDateTime now = LocalDateTime.now();
+            order.setStatus(newStatus);
+            order.setStatusChangedAt(now);
+            UpdateResult result = orderRepository.updateOrder(order);
+            if (result.isConflict()) {
+                order.setStatus(previous);
+                order.setStatusChangedAt(enteredAt);
+                return result;
+            }
+            historyRepository.append(List.of(
+                new StatusChange(order.getOrderId(), previous, newStatus, enteredAt, now)));
+            statsRepository.apply(new OrderStatsDelta().moveStatus(order, previous));
+            customerStatsRepository.apply(new CustomerStatsDelta().moveStatus(order, previous));
+            return result;
+        });
+        if (updated == UpdateResult.UPDATED) {
+            // No status leads back to Pending, so a moved order leaves the plan for good
+            loadPlanner.remove(order.getOrderId());
+        }
+        return updated;
+    }
+    
+    /**
+     * Sets the same status on many orders in one batched write, plus one
+     * batched insert into the status history. Orders that cannot move to the
+     * new status are skipped, as are orders changed elsewhere after they
+     * were read here.
+     * @param orderIds IDs of the orders to update
+     * @param newStatus New status for the orders
+     * @return Number of orders updated
+     */
+    @Override
+    public int updateStatuses(Collection<String> orderIds, OrderStatus newStatus) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        List<String> changed = new ArrayList<>(orderIds.size());
+        int updated = unitOfWork.execute(() -> {
+            // Read the current statuses once so the rollups can move each order
+            List<Order> moving = new ArrayList<>(orderIds.size());
+            for (Order order : orderRepository.findByIds(orderIds)) {
+                OrderStatus previous = order.getOrderStatus();
+                if (previous != newStatus && previous.canMoveTo(newStatus)) {
+                    moving.add(order);
+                }
+            }
+            if (moving.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            // Each write is conditioned on the version read above; an order changed
+            // in between keeps its newer state and stays out of history and rollups
+            Set<String> written = orderRepository.updateStatuses(moving, newStatus, now);
+            OrderStatsDelta delta = new OrderStatsDelta();
+            CustomerStatsDelta customerDelta = new CustomerStatsDelta();
+            List<StatusChange> history = new ArrayList<>(written.size());
+            for (Order order : moving) {
+                if (!written.contains(order.getOrderId())) {
+                    continue;
+                }
+                OrderStatus previous = order.getOrderStatus();
+                history.add(new StatusChange(order.getOrderId(), previous, newStatus,
+                    order.getStatusChangedAt(), now));
+                order.setStatus(newStatus);
+                delta.moveStatus(order, previous);
+                customerDelta.moveStatus(order, previous);
+                changed.add(order.getOrderId());
+            }
+            if (!history.isEmpty()) {
+                historyRepository.append(history);
+                statsRepository.apply(delta);
+                customerStatsRepository.apply(customerDelta);
+            }
+            return history.size();
+        });
+        changed.forEach(loadPlanner::remove);
+        return updated;
+    }
+
+    public static final class Builder {
+        private final OrderRepository orderRepository;
+        private final UserRepository userRepository;
+        private PricingEngine pricingEngine;
+        private UnitOfWork unitOfWork = new DirectUnitOfWork();
+        private OrderStatsRepository statsRepository = new InMemoryOrderStatsRepository();
+        private CustomerStatsRepository customerStatsRepository = new InMemoryCustomerStatsRepository();
+        private PointsService pointsService;
+        private OrderStatusHistoryRepository historyRepository = new InMemoryOrderStatusHistoryRepository();
+        private PickupScheduler pickupScheduler;
+        private LoadPlanner loadPlanner = new LoadPlanner();
+        
+        private Builder(OrderRepository orderRepository, UserRepository userRepository) {
+            this.orderRepository = orderRepository;
+            this.userRepository = userRepository;
+        }
+        
+        public Builder pricingEngine(PricingEngine pricingEngine) {
+            this.pricingEngine = pricingEngine;
+            return this;
+        }
+        
+        /**
+         * Sets the unit of work for multi-store writes. The default points
+         * service runs in the same unit of work.
+         */
+        public Builder unitOfWork(UnitOfWork unitOfWork) {
+            this.unitOfWork = unitOfWork;
+            return this;
+        }
+        
+        public Builder statsRepository(OrderStatsRepository statsRepository) {
+            this.statsRepository = statsRepository;
+            return this;
+        }
+        
+        public Builder customerStatsRepository(CustomerStatsRepository customerStatsRepository) {
+            this.customerStatsRepository = customerStatsRepository;
+            return this;
+        }
+        
+        public Builder pointsService(PointsService pointsService) {
+            this.pointsService = pointsService;
+            return this;
+        }
+        
+        public Builder historyRepository(OrderStatusHistoryRepository historyRepository) {
+            this.historyRepository = historyRepository;
+            return this;
+        }
+        
+        public Builder pickupScheduler(PickupScheduler pickupScheduler) {
+            this.pickupScheduler = pickupScheduler;
+            return this;
+        }
+        
+        public Builder loadPlanner(LoadPlanner loadPlanner) {
+            this.loadPlanner = loadPlanner;
+            return this;
+        }
+        
+        public LocalOrderService build() {
+            return new LocalOrderService(this);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.laundry.service;
+
+import com.laundry.model.OrderStatus;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that keeps the live order table small.
+ * Moves Completed and Cancelled orders older than a configurable age to the
+ * archive tier in fixed-size chunks, each in its own unit of work, pausing
+ * between chunks so archiving never competes hard with the counter staff.
+ */
+public class OrderArchiver {
+    public static final Set<OrderStatus> TERMINAL_STATUSES =
+        Collections.unmodifiableSet(EnumSet.of(OrderStatus.COMPLETED, OrderStatus.CANCELLED));
+    
+    private final OrderService orderService;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final Duration pause;
+    private ScheduledExecutorService scheduler;
+    
+    /**
+     * @param orderService Service that moves the orders
+     * @param maxAge Orders placed longer ago than this are archived
+     * @param batchSize Orders moved per chunk
+     * @param pause Delay between chunks
+     */
+    public OrderArchiver(OrderService orderService, Duration maxAge, int batchSize, Duration pause) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.orderService = orderService;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+    
+    /**
+     * Archives every eligible order, one chunk at a time.
+     * @return Number of orders moved
+     */
+    public int runOnce() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+        int total = 0;
+        
+        while (true) {
+            int moved = orderService.archiveOrders(TERMINAL_STATUSES, cutoff, batchSize);
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        
+        if (total > 0) {
+            System.out.println("Archived " + total + " orders placed before " + cutoff);
+        }
+        return total;
+    }
+    
+    /**
+     * Runs the job periodically on a background daemon thread.
+     * @param interval Time between runs
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(TaskExecutors.daemonThreads("order-archiver"));
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (RuntimeException e) {
+                System.err.println("Error archiving orders: " + e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Stops the periodic job.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.laundry.service;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams orders from a CSV file into the order store.
+ * The caller's thread reads and validates one line at a time and hands
+ * fixed-size batches to a bounded queue; worker threads price and insert each
+ * batch through {@link OrderService#importOrders(List)}. When the workers fall
+ * behind the queue fills and the reader blocks, so memory stays flat however
+ * large the file is.
+ *
+ * <p>The first line is a header. Required columns: order_id, customer_name,
+ * phone, laundry_type, service, weight. Optional: address, status, order_time
+ * (ISO-8601). A batch the store rejects is retried row by row so one bad row
+ * (for example a duplicate order ID) only rejects itself.
+ */
+public class OrderCsvImporter {
+    private static final String[] REQUIRED_COLUMNS = {
+        "order_id", "customer_name", "phone", "laundry_type", "service", "weight"
+    };
+    private static final int MAX_REJECTION_DETAILS = 1000;
+    private static final List<Order> END_OF_INPUT = Collections.emptyList();
+
+    private final OrderService orderService;
+    private final int batchSize;
+    private final int workers;
+    private final int queueCapacity;
+
+    public OrderCsvImporter(OrderService orderService) {
+        this(orderService, 500, 4, 8);
+    }
+
+    /**
+     * @param orderService Service used to price and insert orders
+     * @param batchSize Rows per repository insert
+     * @param workers Number of concurrent insert workers
+     * @param queueCapacity Batches allowed to wait for a worker
+     */
+    public OrderCsvImporter(OrderService orderService, int batchSize, int workers, int queueCapacity) {
+        if (batchSize <= 0 || workers <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Batch size, workers and queue capacity must be positive");
+        }
+        this.orderService = orderService;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Imports a UTF-8 CSV file.
+     * @param file File to import
+     * @return Import report
+     * @throws IOException if the file cannot be read
+     */
+    public ImportReport importFile(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader);
+        }
+    }
+
+    /**
+     * Imports CSV text from a reader. The reader is not closed.
+     * @param source CSV source
+     * @return Import report
+     * @throws IOException if the source cannot be read
+     */
+    public ImportReport importFrom(Reader source) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = source instanceof BufferedReader
+            ? (BufferedReader) source : new BufferedReader(source);
+        Progress progress = new Progress();
+
+        String header = reader.readLine();
+        if (header == null) {
+            return progress.toReport(System.nanoTime() - start);
+        }
+        Map<String, Integer> columns = indexColumns(parseLine(header));
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+
+        BlockingQueue<List<Order>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService executor = TaskExecutors.newTaskExecutor("csv-import", workers);
+        List<Future<?>> consumers = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            consumers.add(executor.submit(() -> {
+                consume(queue, progress);
+                return null;
+            }));
+        }
+
+        try {
+            List<Order> batch = new ArrayList<>(batchSize);
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                progress.rowsRead.incrementAndGet();
+                try {
+                    Order order = toOrder(parseLine(line), columns);
+                    progress.lineNumbers.put(order.getOrderId(), lineNumber);
+                    batch.add(order);
+                } catch (IllegalArgumentException e) {
+                    progress.reject(lineNumber, e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    put(queue, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                put(queue, batch);
+            }
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                put(queue, END_OF_INPUT);
+            }
+            for (Future<?> consumer : consumers) {
+                try {
+                    consumer.get();
+                } catch (Exception e) {
+                    System.err.println("Import worker failed: " + e.getMessage());
+                }
+            }
+            executor.shutdown();
+        }
+
+        return progress.toReport(System.nanoTime() - start);
+    }
+
+    private void consume(BlockingQueue<List<Order>> queue, Progress progress) throws InterruptedException {
+        while (true) {
+            List<Order> batch = queue.take();
+            if (batch == END_OF_INPUT) {
+                return;
+            }
+            try {
+                orderService.importOrders(batch);
+                progress.imported(batch);
+            } catch (RuntimeException batchFailure) {
+                // Isolate the offending rows
+                for (Order order : batch) {
+                    try {
+                        orderService.importOrders(Collections.singletonList(order));
+                        progress.imported(Collections.singletonList(order));
+                    } catch (RuntimeException rowFailure) {
+                        progress.reject(progress.lineNumbers.remove(order.getOrderId()),
+                            "Insert failed: " + rootMessage(rowFailure));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void put(BlockingQueue<List<Order>> queue, List<Order> batch) {
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+    private static Order toOrder(List<String> fields, Map<String, Integer> columns) {
+        String orderId = required(fields, columns, "order_id");
+        Order order = new Order(orderId);
+        order.setCustomerName(required(fields, columns, "customer_name"));
+        order.setPhone(required(fields, columns, "phone"));
+        order.setAddress(field(fields, columns, "address"));
+        order.setLaundryType(required(fields, columns, "laundry_type"));
+        order.setService(required(fields, columns, "service"));
+
+        String weightText = required(fields, columns, "weight");
+        double weight;
+        try {
+            weight = Double.parseDouble(weightText);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid weight: " + weightText);
+        }
+        if (!(weight > 0)) {
+            throw new IllegalArgumentException("Weight must be positive: " + weightText);
+        }
+        order.setWeight(weight);
+
+        String status = field(fields, columns, "status");
+        if (status != null) {
+            OrderStatus parsed = OrderStatus.fromLabel(status);
+            if (parsed == null) {
+                throw new IllegalArgumentException("Unknown status: " + status);
+            }
+            order.setStatus(parsed);
+        }
+
+        String orderTime = field(fields, columns, "order_time");
+        if (orderTime != null) {
+            try {
+                order.setOrderTime(LocalDateTime.parse(orderTime));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid order_time: " + orderTime);
+            }
+        }
+        return order;
+    }
+
+    private static String required(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Map<String, Integer> indexColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        return columns;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and "" escapes.
+     * @param line CSV line
+     * @return Field values
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    /**
+     * Counters shared between the reader and the workers. Line numbers are
+     * held only for rows still waiting to be inserted.
+     */
+    private static final class Progress {
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong rowsImported = new AtomicLong();
+        final AtomicLong rowsRejected = new AtomicLong();
+        final Map<String, Long> lineNumbers = new ConcurrentHashMap<>();
+        final List<ImportReport.RejectedRow> rejections = new ArrayList<>();
+
+        void imported(List<Order> orders) {
+            rowsImported.addAndGet(orders.size());
+            for (Order order : orders) {
+                lineNumbers.remove(order.getOrderId());
+            }
+        }
+
+        void reject(Long lineNumber, String reason) {
+            rowsRejected.incrementAndGet();
+            synchronized (rejections) {
+                if (rejections.size() < MAX_REJECTION_DETAILS) {
+                    rejections.add(new ImportReport.RejectedRow(lineNumber != null ? lineNumber : -1, reason));
+                }
+            }
+        }
+
+        ImportReport toReport(long elapsedNanos) {
+            synchronized (rejections) {
+                return new ImportReport(rowsRead.get(), rowsImported.get(), rowsRejected.get(),
+                    new ArrayList<>(rejections), elapsedNanos);
+            }
+        }
+    }
+}
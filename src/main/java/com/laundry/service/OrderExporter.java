@@ -0,0 +1,239 @@
+package com.laundry.service;
+
+import com.laundry.model.Order;
+import com.laundry.repository.OrderFilter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes orders to CSV or JSON as they stream out of the repository.
+ * Each row is encoded into one fixed-size byte buffer that is drained to a
+ * channel when full, so heap use does not grow with the number of orders.
+ * The CSV layout matches what {@link OrderCsvImporter} reads back.
+ */
+public class OrderExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long PROGRESS_INTERVAL = 10_000;
+    private static final String[] COLUMNS = {
+        "order_id", "customer_name", "phone", "address", "laundry_type", "service",
+        "weight", "status", "total", "order_time", "pickup_time"
+    };
+    
+    /**
+     * Output formats.
+     */
+    public enum Format { CSV, JSON }
+    
+    private final OrderService orderService;
+    
+    public OrderExporter(OrderService orderService) {
+        this.orderService = orderService;
+    }
+    
+    /**
+     * Exports to a file, replacing it if it exists.
+     * @param file Target file
+     * @param format Output format
+     * @param gzip Whether to gzip the output
+     * @param filter Orders to include
+     * @param progress Called with the running row count every 10,000 rows, may be null
+     * @return Export report
+     * @throws IOException if writing fails
+     */
+    public ExportReport export(Path file, Format format, boolean gzip, OrderFilter filter,
+                               LongConsumer progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (!gzip) {
+                return export(channel, format, filter, progress);
+            }
+            try (GZIPOutputStream compressed = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+                ExportReport report = export(Channels.newChannel(compressed), format, filter, progress);
+                compressed.finish();
+                return report;
+            }
+        }
+    }
+    
+    /**
+     * Exports to an open channel. The channel is not closed.
+     * @param channel Target channel
+     * @param format Output format
+     * @param filter Orders to include
+     * @param progress Called with the running row count every 10,000 rows, may be null
+     * @return Export report
+     * @throws IOException if writing fails
+     */
+    public ExportReport export(WritableByteChannel channel, Format format, OrderFilter filter,
+                               LongConsumer progress) throws IOException {
+        long start = System.nanoTime();
+        ChannelWriter out = new ChannelWriter(channel);
+        StringBuilder line = new StringBuilder(256);
+        long[] rows = {0};
+        
+        out.write(format == Format.CSV ? String.join(",", COLUMNS) + "\n" : "[");
+        try {
+            orderService.streamOrders(filter, order -> {
+                line.setLength(0);
+                if (format == Format.CSV) {
+                    appendCsv(line, order);
+                } else {
+                    line.append(rows[0] == 0 ? "\n" : ",\n");
+                    appendJson(line, order);
+                }
+                try {
+                    out.write(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+                if (progress != null && rows[0] % PROGRESS_INTERVAL == 0) {
+                    progress.accept(rows[0]);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (format == Format.JSON) {
+            out.write(rows[0] == 0 ? "]\n" : "\n]\n");
+        }
+        out.flush();
+        
+        if (progress != null && rows[0] % PROGRESS_INTERVAL != 0) {
+            progress.accept(rows[0]);
+        }
+        return new ExportReport(rows[0], out.bytesWritten, System.nanoTime() - start);
+    }
+    
+    private static void appendCsv(StringBuilder line, Order order) {
+        Object[] values = values(order);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String value = values[i] != null ? values[i].toString() : "";
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        line.append('\n');
+    }
+    
+    private static void appendJson(StringBuilder line, Order order) {
+        Object[] values = values(order);
+        line.append("  {");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(", ");
+            }
+            line.append('"').append(COLUMNS[i]).append("\": ");
+            Object value = values[i];
+            if (value == null) {
+                line.append("null");
+            } else if (value instanceof Number) {
+                line.append(value);
+            } else {
+                appendJsonString(line, value.toString());
+            }
+        }
+        line.append('}');
+    }
+    
+    private static void appendJsonString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': line.append("\\\""); break;
+                case '\\': line.append("\\\\"); break;
+                case '\n': line.append("\\n"); break;
+                case '\r': line.append("\\r"); break;
+                case '\t': line.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+    
+    private static Object[] values(Order order) {
+        return new Object[]{
+            order.getOrderId(),
+            order.getCustomerName(),
+            order.getPhone(),
+            order.getAddress(),
+            order.getLaundryType(),
+            order.getService(),
+            order.getWeight(),
+            order.getStatus(),
+            order.getTotalAmount().toBigDecimal(),
+            timestamp(order.getOrderTime()),
+            timestamp(order.getPickupTime())
+        };
+    }
+    
+    private static String timestamp(LocalDateTime time) {
+        return time != null ? time.toString() : null;
+    }
+    
+    /**
+     * Encodes text as UTF-8 into one reusable buffer and drains it to the channel.
+     */
+    private static final class ChannelWriter {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private long bytesWritten;
+        
+        ChannelWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+        
+        void write(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isError()) {
+                    result.throwException();
+                } else {
+                    return;
+                }
+            }
+        }
+        
+        void flush() throws IOException {
+            drain();
+        }
+        
+        private void drain() throws IOException {
+            buffer.flip();
+            bytesWritten += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -1,173 +1,143 @@
 package com.laundry.service;
 
+import com.laundry.model.CustomerStats;
+import com.laundry.model.MachineLoad;
+import com.laundry.model.Money;
 import com.laundry.model.Order;
+import com.laundry.model.OrderStatsRow;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.PickupSlot;
+import com.laundry.model.StageDwell;
+import com.laundry.model.StatusChange;
 import com.laundry.model.User;
-import com.laundry.repository.OrderRepository;
-import com.laundry.repository.UserRepository;
+import com.laundry.repository.OrderFilter;
+import com.laundry.repository.OrderPage;
+import com.laundry.repository.OrderQuery;
+import com.laundry.repository.UpdateResult;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
- * Service class for handling order operations.
- * Contains business logic for order management and pricing.
+ * Order operations: placing and pricing orders, status moves, pickup
+ * bookings, points and the reports over the order history. Implemented by
+ * {@link LocalOrderService} over local stores and by
+ * {@link RemoteOrderService}, which runs every call on the order server.
  */
-public class OrderService {
-    private final OrderRepository orderRepository;
-    private final UserRepository userRepository;
-    
-    public OrderService(OrderRepository orderRepository, UserRepository userRepository) {
-        this.orderRepository = orderRepository;
-        this.userRepository = userRepository;
-    }
-    
+public interface OrderService {
+
     /**
-     * Creates a new order with the given details.
-     * @param customerName Name of the customer
-     * @param phone Customer's phone number
-     * @param address Customer's address
-     * @param laundryType Type of laundry service
-     * @param service Service level (Regular/Express)
-     * @param weight Weight of laundry in kg
-     * @return The created Order object
+     * Creates an order for a walk-in customer.
+     * @return Created order
      */
-    public Order createOrder(String customerName, String phone, String address,
-                           String laundryType, String service, double weight) {
-        String orderId = orderRepository.generateOrderId();
-        Order order = new Order(orderId);
-        order.setCustomerName(customerName);
-        order.setPhone(phone);
-        order.setAddress(address);
-        order.setLaundryType(laundryType);
-        order.setService(service);
-        order.setWeight(weight);
-        
-        // Calculate total based on service and weight
-        double pricePerKg = getPricePerKg(laundryType, service);
-        order.setTotal(weight * pricePerKg);
-        
-        // Award points to existing user if found
-        awardPointsToUser(phone, order.getTotal());
-        
-        orderRepository.addOrder(order);
-        return order;
-    }
-    
+    Order createOrder(String customerName, String phone, String address,
+                      String laundryType, String service, double weight);
+
     /**
-     * Creates a new order for a logged-in user.
-     * @param user The logged-in user
-     * @param phone Customer's phone number
-     * @param address Customer's address
-     * @param laundryType Type of laundry service
-     * @param service Service level (Regular/Express)
-     * @param weight Weight of laundry in kg
+     * Creates an order for a logged-in user, without booking a pickup.
      * @return Created order
      */
-    public Order createOrderForUser(User user, String phone, String address,
-                                  String laundryType, String service, double weight) {
-        String orderId = orderRepository.generateOrderId();
-        Order order = new Order(orderId);
-        order.setCustomerName(user.getUsername()); // Store username for proper linking
-        order.setPhone(phone);
-        order.setAddress(address);
-        order.setLaundryType(laundryType);
-        order.setService(service);
-        order.setWeight(weight);
-        
-        // Calculate total based on service and weight
-        double pricePerKg = getPricePerKg(laundryType, service);
-        order.setTotal(weight * pricePerKg);
-        
-        // Award points to the user
-        awardPointsToUser(phone, order.getTotal());
-        
-        orderRepository.addOrder(order);
-        return order;
-    }
-    
+    Order createOrderForUser(User user, String phone, String address,
+                             String laundryType, String service, double weight);
+
     /**
-     * Calculates price per kg based on laundry type and service level.
-     * @param laundryType Type of laundry service
-     * @param service Service level
-     * @return Price per kg in Rupiah
+     * Creates an order for a logged-in user and books its pickup slot.
+     * @param pickupSlotStart Start of the wanted slot, or null for the earliest free one
+     * @return Created order
+     * @throws IllegalStateException if the slot was taken meanwhile or no slot is free
      */
-    private double getPricePerKg(String laundryType, String service) {
-        // Pricing logic based on service type
-        switch (service) {
-            case "Wash & Dry":
-                if ("Express".equals(laundryType)) {
-                    return 8000; // Express Wash & Dry
-                } else {
-                    return 5000; // Regular Wash & Dry
-                }
-            case "Dry Clean":
-                return 15000; // Dry Clean service
-            case "Wash Only":
-                return 3000; // Wash Only service
-            default:
-                return 5000; // Default price for unknown services
-        }
-    }
-    
+    Order createOrderForUser(User user, String phone, String address, String laundryType,
+                             String service, double weight, LocalDateTime pickupSlotStart);
+
+    List<PickupSlot> getAvailablePickupSlots(String service, int limit);
+
     /**
-     * Awards points to a user based on order total.
-     * Points are calculated as total / 1000.
-     * @param phone User's phone number
-     * @param total Order total amount
+     * Prices and inserts already validated orders; their totals are set on return.
      */
-    private void awardPointsToUser(String phone, double total) {
-        // Find user by phone number
-        for (com.laundry.model.User user : userRepository.getAllMembers()) {
-            if (phone.equals(user.getPhone())) {
-                int points = (int) (total / 1000);
-                user.addPoints(points);
-                // Save the updated user with new points to the database
-                userRepository.updateUser(user);
-                break;
-            }
-        }
-    }
-    
+    void importOrders(List<Order> orders);
+
+    double calculatePrice(String laundryType, String service, double weight);
+
     /**
-     * Calculates the total price for a given laundry order.
-     * @param laundryType Type of laundry service
-     * @param service Service level
-     * @param weight Weight of laundry in kg
-     * @return Total price in Rupiah
+     * Reloads the price matrix orders are priced with.
+     * @return true if the matrix was reloaded, false if the old one was kept
      */
-    public double calculatePrice(String laundryType, String service, double weight) {
-        double pricePerKg = getPricePerKg(laundryType, service);
-        return weight * pricePerKg;
-    }
+    boolean reloadPrices();
+
+    PointsService getPointsService();
+
+    List<Order> getAllOrders();
+
+    List<Order> getOrdersByCustomer(String username);
+
+    void streamOrders(OrderFilter filter, Consumer<Order> sink);
+
+    List<Order> getCustomerHistory(String username);
+
+    OrderPage queryOrders(OrderQuery query);
+
+    List<Order> searchOrders(String query, int limit);
+
+    int archiveOrders(Set<OrderStatus> statuses, LocalDateTime olderThan, int limit);
+
+    long getOrderCount();
+
+    long countOrdersByStatus(OrderStatus... statuses);
+
+    Money getTotalRevenue();
+
+    long[] getRevenueCentsByDay(LocalDate from, int days);
+
+    List<OrderStatsRow> getDailyStats(LocalDate first, LocalDate last);
+
+    List<OrderStatsRow> getHourlyStats(LocalDate day);
+
+    CustomerStats getCustomerStats(String customerName);
+
+    List<StatusChange> getStatusHistory(String orderId);
+
+    Map<OrderStatus, StageDwell> getStageDwellTimes(LocalDate from, LocalDate to);
+
+    List<MachineLoad> getMachineLoads();
+
+    void replanLoads();
+
+    void rebuildCustomerStats();
+
+    void rebuildStats();
 
     /**
-     * Retrieves all orders in the system.
-     * @return List of all orders
+     * Updates the status of an existing order from its label.
+     * @return true if the order moved, false for an unknown label or a
+     *         missing order that cannot move
      */
-    public List<Order> getAllOrders() {
-        return orderRepository.getAllOrders();
+    default boolean updateOrderStatus(String orderId, String newStatus) {
+        OrderStatus status = OrderStatus.fromLabel(newStatus);
+        if (status == null) {
+            return false;
+        }
+        return updateOrderStatus(orderId, status);
     }
-    
+
+    boolean updateOrderStatus(String orderId, OrderStatus newStatus);
+
     /**
-     * Retrieves orders for a specific customer.
-     * @param username Customer's username
-     * @return List of orders for the customer
+     * Moves an order the caller already holds, checked against the version
+     * it was read with. On success the order carries the new status, status
+     * time and version.
+     * @return UPDATED, or CONFLICT if the caller's copy is stale
+     * @throws IllegalStateException if the order cannot move to the new status
      */
-    public List<Order> getOrdersByCustomer(String username) {
-        return orderRepository.getOrdersByCustomer(username);
-    }
-    
+    UpdateResult updateOrderStatus(Order order, OrderStatus newStatus);
+
     /**
-     * Updates the status of an existing order.
-     * @param orderId ID of the order to update
-     * @param newStatus New status for the order
-     * @return true if update was successful, false otherwise
+     * Sets the same status on many orders, skipping those that cannot move
+     * or changed since they were read.
+     * @return Number of orders updated
      */
-    public boolean updateOrderStatus(String orderId, String newStatus) {
-        Order order = orderRepository.findById(orderId);
-        if (order != null) {
-            order.setStatus(newStatus);
-            orderRepository.updateOrder(order);
-            return true;
-        }
-        return false;
-    }
-}
\ No newline at end of file
+    int updateStatuses(Collection<String> orderIds, OrderStatus newStatus);
+}
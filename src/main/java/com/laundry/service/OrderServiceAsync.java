@@ -0,0 +1,188 @@
+package com.laundry.service;
+
+import com.laundry.model.CustomerStats;
+import com.laundry.model.MachineLoad;
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.PickupSlot;
+import com.laundry.model.StageDwell;
+import com.laundry.model.User;
+import com.laundry.repository.OrderPage;
+import com.laundry.repository.OrderQuery;
+import com.laundry.repository.UpdateResult;
+import com.laundry.repository.UserRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Asynchronous facade over OrderService for use from Swing listeners.
+ * Calls run on a dedicated executor (virtual threads when available) and
+ * return CompletableFutures. At most {@code maxConcurrency} calls touch the
+ * repositories at once, matching the connection pool size. Every call has a
+ * timeout, and cancelling a returned future interrupts the running call.
+ */
+public class OrderServiceAsync {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    
+    private final OrderService orderService;
+    private final UserRepository userRepository;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Duration defaultTimeout;
+    
+    public OrderServiceAsync(OrderService orderService, UserRepository userRepository, int maxConcurrency) {
+        this(orderService, userRepository, maxConcurrency, DEFAULT_TIMEOUT);
+    }
+    
+    public OrderServiceAsync(OrderService orderService, UserRepository userRepository,
+                             int maxConcurrency, Duration defaultTimeout) {
+        this.orderService = orderService;
+        this.userRepository = userRepository;
+        this.executor = TaskExecutors.newTaskExecutor("order-service", maxConcurrency);
+        this.permits = new Semaphore(Math.max(maxConcurrency, 1), true);
+        this.defaultTimeout = defaultTimeout;
+    }
+    
+    /**
+     * Runs an arbitrary OrderService call asynchronously.
+     * @param operation Call to run against the service
+     * @param timeout Time allowed before the future fails with a TimeoutException
+     * @return Future completed with the call's result
+     */
+    public <T> CompletableFuture<T> call(Function<OrderService, T> operation, Duration timeout) {
+        return submit(() -> operation.apply(orderService), timeout);
+    }
+    
+    public CompletableFuture<List<Order>> getAllOrders() {
+        return submit(orderService::getAllOrders, defaultTimeout);
+    }
+    
+    public CompletableFuture<List<Order>> getOrdersByCustomer(String username) {
+        return submit(() -> orderService.getOrdersByCustomer(username), defaultTimeout);
+    }
+    
+    public CompletableFuture<Long> getOrderCount() {
+        return submit(orderService::getOrderCount, defaultTimeout);
+    }
+    
+    public CompletableFuture<Long> countOrdersByStatus(OrderStatus... statuses) {
+        return submit(() -> orderService.countOrdersByStatus(statuses), defaultTimeout);
+    }
+    
+    public CompletableFuture<Money> getTotalRevenue() {
+        return submit(orderService::getTotalRevenue, defaultTimeout);
+    }
+    
+    public CompletableFuture<OrderPage> queryOrders(OrderQuery query) {
+        return submit(() -> orderService.queryOrders(query), defaultTimeout);
+    }
+    
+    public CompletableFuture<CustomerStats> getCustomerStats(String customerName) {
+        return submit(() -> orderService.getCustomerStats(customerName), defaultTimeout);
+    }
+    
+    public CompletableFuture<Map<OrderStatus, StageDwell>> getStageDwellTimes(LocalDate from, LocalDate to) {
+        return submit(() -> orderService.getStageDwellTimes(from, to), defaultTimeout);
+    }
+    
+    public CompletableFuture<List<MachineLoad>> getMachineLoads() {
+        return submit(orderService::getMachineLoads, defaultTimeout);
+    }
+    
+    public CompletableFuture<List<PickupSlot>> getAvailablePickupSlots(String service, int limit) {
+        return submit(() -> orderService.getAvailablePickupSlots(service, limit), defaultTimeout);
+    }
+    
+    public CompletableFuture<Integer> getPointsBalance(String username) {
+        return submit(() -> orderService.getPointsService().getBalance(username), defaultTimeout);
+    }
+    
+    public CompletableFuture<Boolean> reloadPrices() {
+        return submit(() -> orderService.reloadPrices(), defaultTimeout);
+    }
+    
+    public CompletableFuture<List<Order>> searchOrders(String query, int limit) {
+        return submit(() -> orderService.searchOrders(query, limit), defaultTimeout);
+    }
+    
+    public CompletableFuture<Collection<User>> getAllMembers() {
+        return submit(userRepository::getAllMembers, defaultTimeout);
+    }
+    
+    public CompletableFuture<Boolean> updateOrderStatus(String orderId, String newStatus) {
+        return submit(() -> orderService.updateOrderStatus(orderId, newStatus), defaultTimeout);
+    }
+    
+    public CompletableFuture<UpdateResult> updateOrderStatus(Order order, OrderStatus newStatus) {
+        return submit(() -> orderService.updateOrderStatus(order, newStatus), defaultTimeout);
+    }
+    
+    public CompletableFuture<Integer> updateStatuses(Collection<String> orderIds, OrderStatus newStatus) {
+        return submit(() -> orderService.updateStatuses(orderIds, newStatus), defaultTimeout);
+    }
+    
+    public CompletableFuture<Order> createOrderForUser(User user, String phone, String address,
+                                                      String laundryType, String service, double weight) {
+        return submit(() -> orderService.createOrderForUser(user, phone, address, laundryType, service, weight),
+                      defaultTimeout);
+    }
+    
+    /**
+     * Gets the number of calls that can start right now without waiting.
+     * @return Free permits
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+    
+    /**
+     * Stops accepting calls and interrupts running ones.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private <T> CompletableFuture<T> submit(Callable<T> task, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        
+        Future<?> running = executor.submit(() -> {
+            boolean acquired = false;
+            try {
+                permits.acquire();
+                acquired = true;
+                if (!result.isDone()) {
+                    result.complete(task.call());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.cancel(false);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                if (acquired) {
+                    permits.release();
+                }
+            }
+        });
+        
+        // Timeouts and caller cancellation both interrupt the worker
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+              .whenComplete((value, error) -> {
+                  if (error != null) {
+                      running.cancel(true);
+                  }
+              });
+        return result;
+    }
+}
@@ -0,0 +1,312 @@
+package com.laundry.service;
+
+import com.laundry.model.PickupSlot;
+import com.laundry.repository.PickupSlotRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Books order pickups into fixed-length slots within opening hours, each slot
+ * taking a limited number of pickups. Each service tier has a lead time, the
+ * time the laundry needs before it can be picked up.
+ * <p>
+ * Slots are numbered consecutively across opening hours only. The scheduler
+ * keeps an interval index of runs of full slots, merging adjacent runs, so the
+ * slot after a run always has room. That makes the earliest slot with room at
+ * or after any point one floor lookup, O(log n) in the number of runs.
+ * <p>
+ * The index is a local view. The repository's conditional reserve decides
+ * whether a booking goes through, so terminals sharing the store never
+ * double-book. When another terminal has filled a slot, the reservation here
+ * fails, the slot is marked full and the next one is tried.
+ */
+public class PickupScheduler {
+    private final PickupSlotRepository repository;
+    private final int slotMinutes;
+    private final int capacity;
+    private final int openHour;
+    private final int slotsPerDay;
+    private final int horizonDays;
+    private final Map<String, Duration> leadTimes;
+    private final Duration defaultLeadTime;
+
+    // Runs of full slots: first slot number -> slot number just after the run
+    private final TreeMap<Long, Long> fullRuns = new TreeMap<>();
+    // Pickups booked per slot number, for slots known to have bookings
+    private final Map<Long, Integer> reserved = new HashMap<>();
+
+    private PickupScheduler(Builder builder) {
+        this.repository = builder.repository;
+        this.slotMinutes = builder.slotMinutes;
+        this.capacity = builder.capacity;
+        this.openHour = builder.openHour;
+        this.slotsPerDay = (builder.closeHour - builder.openHour) * 60 / builder.slotMinutes;
+        this.horizonDays = builder.horizonDays;
+        this.leadTimes = new HashMap<>(builder.leadTimes);
+        this.defaultLeadTime = builder.defaultLeadTime;
+    }
+
+    public static Builder builder(PickupSlotRepository repository) {
+        return new Builder(repository);
+    }
+
+    /**
+     * Finds the earliest slot with room that a tier's lead time allows.
+     * @param tier Service tier, e.g. Regular or Express
+     * @param now Current time
+     * @return Earliest feasible slot, or null if none is free within the horizon
+     */
+    public PickupSlot earliestSlot(String tier, LocalDateTime now) {
+        List<PickupSlot> slots = availableSlots(tier, now, 1);
+        return slots.isEmpty() ? null : slots.get(0);
+    }
+
+    /**
+     * Lists the first slots with room that a tier's lead time allows.
+     * @param tier Service tier
+     * @param now Current time
+     * @param limit Maximum number of slots
+     * @return Feasible slots, earliest first
+     */
+    public synchronized List<PickupSlot> availableSlots(String tier, LocalDateTime now, int limit) {
+        List<PickupSlot> slots = new ArrayList<>();
+        long last = horizonEnd(now);
+        long slot = slotAtOrAfter(now.plus(leadTime(tier)));
+        while (slots.size() < limit) {
+            slot = firstOpen(slot);
+            if (slot >= last) {
+                break;
+            }
+            slots.add(toSlot(slot));
+            slot++;
+        }
+        return slots;
+    }
+
+    /**
+     * Reserves a pickup. With no requested slot the earliest feasible one is
+     * taken, moving on if another terminal fills it first.
+     * @param tier Service tier
+     * @param requestedStart Start of the wanted slot, or null for the earliest
+     * @param now Current time
+     * @return Reserved slot, or null if the requested slot is full or not
+     *         allowed for the tier, or nothing is free within the horizon
+     */
+    public PickupSlot reserve(String tier, LocalDateTime requestedStart, LocalDateTime now) {
+        long earliest = slotAtOrAfter(now.plus(leadTime(tier)));
+        long last = horizonEnd(now);
+
+        if (requestedStart != null) {
+            long slot = slotAtOrAfter(requestedStart);
+            if (slot < earliest || slot >= last || !slotStart(slot).equals(requestedStart)) {
+                return null;
+            }
+            return tryReserve(slot);
+        }
+
+        while (true) {
+            long slot;
+            synchronized (this) {
+                slot = firstOpen(earliest);
+            }
+            if (slot >= last) {
+                return null;
+            }
+            PickupSlot booked = tryReserve(slot);
+            if (booked != null) {
+                return booked;
+            }
+            // The slot is marked full now, so the next lookup skips it
+            earliest = slot + 1;
+        }
+    }
+
+    /**
+     * Gives back a reserved pickup, e.g. when the order it was for is not placed.
+     * @param slotStart Start of the slot
+     */
+    public void release(LocalDateTime slotStart) {
+        repository.release(slotStart);
+        long slot = slotAtOrAfter(slotStart);
+        synchronized (this) {
+            reserved.computeIfPresent(slot, (key, count) -> count > 1 ? count - 1 : null);
+            markFree(slot);
+        }
+    }
+
+    /**
+     * Reloads the bookings within the horizon from the repository, picking up
+     * slots other terminals filled or freed.
+     * @param now Current time
+     */
+    public void refresh(LocalDateTime now) {
+        long first = slotAtOrAfter(now);
+        Map<LocalDateTime, Integer> bookings = repository.findReserved(slotStart(first), slotStart(horizonEnd(now)));
+        synchronized (this) {
+            fullRuns.clear();
+            reserved.clear();
+            for (Map.Entry<LocalDateTime, Integer> booking : bookings.entrySet()) {
+                long slot = slotAtOrAfter(booking.getKey());
+                reserved.put(slot, booking.getValue());
+                if (booking.getValue() >= capacity) {
+                    markFull(slot);
+                }
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private PickupSlot tryReserve(long slot) {
+        int count = repository.reserve(slotStart(slot), capacity);
+        synchronized (this) {
+            reserved.put(slot, count < 0 ? capacity : count);
+            if (count < 0 || count >= capacity) {
+                markFull(slot);
+            }
+            return count < 0 ? null : toSlot(slot);
+        }
+    }
+
+    private Duration leadTime(String tier) {
+        return tier != null ? leadTimes.getOrDefault(tier.toLowerCase(Locale.ROOT), defaultLeadTime) : defaultLeadTime;
+    }
+
+    /**
+     * Gets the first slot at or after a slot number that has room.
+     */
+    private long firstOpen(long slot) {
+        Map.Entry<Long, Long> run = fullRuns.floorEntry(slot);
+        return run != null && run.getValue() > slot ? run.getValue() : slot;
+    }
+
+    private void markFull(long slot) {
+        Map.Entry<Long, Long> lower = fullRuns.floorEntry(slot);
+        if (lower != null && lower.getValue() > slot) {
+            return;
+        }
+        long start = lower != null && lower.getValue() == slot ? lower.getKey() : slot;
+        Long higherEnd = fullRuns.remove(slot + 1);
+        fullRuns.put(start, higherEnd != null ? higherEnd : slot + 1);
+    }
+
+    private void markFree(long slot) {
+        Map.Entry<Long, Long> run = fullRuns.floorEntry(slot);
+        if (run == null || run.getValue() <= slot) {
+            return;
+        }
+        fullRuns.remove(run.getKey());
+        if (run.getKey() < slot) {
+            fullRuns.put(run.getKey(), slot);
+        }
+        if (slot + 1 < run.getValue()) {
+            fullRuns.put(slot + 1, run.getValue());
+        }
+    }
+
+    private PickupSlot toSlot(long slot) {
+        LocalDateTime start = slotStart(slot);
+        return new PickupSlot(start, start.plusMinutes(slotMinutes), capacity - reserved.getOrDefault(slot, 0));
+    }
+
+    /**
+     * Numbers the first slot starting at or after a time.
+     */
+    private long slotAtOrAfter(LocalDateTime time) {
+        LocalDate day = time.toLocalDate();
+        long slotNanos = Duration.ofMinutes(slotMinutes).toNanos();
+        long sinceOpen = Duration.between(day.atTime(openHour, 0), time).toNanos();
+        long slotOfDay = sinceOpen <= 0 ? 0 : (sinceOpen + slotNanos - 1) / slotNanos;
+        if (slotOfDay >= slotsPerDay) {
+            // After closing: first slot of the next day
+            return (day.toEpochDay() + 1) * slotsPerDay;
+        }
+        return day.toEpochDay() * slotsPerDay + slotOfDay;
+    }
+
+    private LocalDateTime slotStart(long slot) {
+        return LocalDate.ofEpochDay(Math.floorDiv(slot, slotsPerDay))
+            .atTime(openHour, 0)
+            .plusMinutes(Math.floorMod(slot, slotsPerDay) * (long) slotMinutes);
+    }
+
+    private long horizonEnd(LocalDateTime now) {
+        return (now.toLocalDate().toEpochDay() + horizonDays) * slotsPerDay;
+    }
+
+    /**
+     * Builder for PickupScheduler. Defaults to hourly slots of 10 pickups
+     * from 08:00 to 20:00, two weeks ahead, with 48/24/6 hour lead times for
+     * Regular/Express/Premium.
+     */
+    public static final class Builder {
+        private final PickupSlotRepository repository;
+        private int slotMinutes = 60;
+        private int capacity = 10;
+        private int openHour = 8;
+        private int closeHour = 20;
+        private int horizonDays = 14;
+        private final Map<String, Duration> leadTimes = new HashMap<>();
+        private Duration defaultLeadTime = Duration.ofHours(48);
+
+        private Builder(PickupSlotRepository repository) {
+            this.repository = repository;
+            leadTime("Regular", Duration.ofHours(48));
+            leadTime("Express", Duration.ofHours(24));
+            leadTime("Premium", Duration.ofHours(6));
+        }
+
+        public Builder slotMinutes(int slotMinutes) {
+            this.slotMinutes = slotMinutes;
+            return this;
+        }
+
+        public Builder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder openingHours(int openHour, int closeHour) {
+            this.openHour = openHour;
+            this.closeHour = closeHour;
+            return this;
+        }
+
+        public Builder horizonDays(int horizonDays) {
+            this.horizonDays = horizonDays;
+            return this;
+        }
+
+        /**
+         * Sets how long after ordering a tier's laundry can be picked up.
+         * Tiers without a lead time use the Regular one.
+         */
+        public Builder leadTime(String tier, Duration leadTime) {
+            leadTimes.put(tier.toLowerCase(Locale.ROOT), leadTime);
+            if ("regular".equalsIgnoreCase(tier)) {
+                defaultLeadTime = leadTime;
+            }
+            return this;
+        }
+
+        public PickupScheduler build() {
+            if (slotMinutes <= 0 || capacity <= 0 || horizonDays <= 0) {
+                throw new IllegalArgumentException("Slot length, capacity and horizon must be positive");
+            }
+            if (openHour < 0 || closeHour > 24 || openHour >= closeHour
+                    || (closeHour - openHour) * 60 % slotMinutes != 0) {
+                throw new IllegalArgumentException("Opening hours must divide into whole slots");
+            }
+            return new PickupScheduler(this);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.laundry.service;
+
+import com.laundry.model.PointsEntry;
+import java.util.List;
+
+/**
+ * Loyalty points of members. Implemented by {@link LedgerPointsService}
+ * over a points ledger and by {@link RemotePointsService}, which runs every
+ * call on the order server.
+ */
+public interface PointsService {
+
+    /**
+     * Records points earned by an order. Earning twice for the same order is a no-op.
+     * @return true if the points were recorded now
+     */
+    boolean earn(String username, String orderId, int points);
+
+    /**
+     * Redeems points against an order; an order is only ever charged once.
+     * @return true if the order's points are redeemed, false if the balance is too low
+     */
+    boolean redeem(String username, String orderId, int points);
+
+    /**
+     * Records a manual correction, positive or negative.
+     */
+    void adjust(String username, int points);
+
+    int getBalance(String username);
+
+    /**
+     * Gets a member's most recent ledger entries, newest first.
+     */
+    List<PointsEntry> getHistory(String username, int limit);
+}
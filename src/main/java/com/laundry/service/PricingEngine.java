@@ -0,0 +1,147 @@
+package com.laundry.service;
+
+import com.laundry.model.CatalogCode;
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.PriceMatrix;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Table-driven pricing for laundry orders.
+ * Holds the current {@link PriceMatrix} in an atomic reference; {@link #reload()}
+ * builds a new matrix from the source and swaps it in, so quotes in flight
+ * always see one consistent table. {@link #startRefresh(Duration)} reloads
+ * on a schedule so price changes reach running terminals.
+ */
+public class PricingEngine {
+    private static final String PRICING_RESOURCE = "pricing.properties";
+    
+    private final Supplier<PriceMatrix> source;
+    private final AtomicReference<PriceMatrix> matrix;
+    private ScheduledExecutorService scheduler;
+    
+    /**
+     * Creates an engine and loads the first matrix from the source.
+     * @param source Loader returning a fresh matrix on each call
+     */
+    public PricingEngine(Supplier<PriceMatrix> source) {
+        this.source = source;
+        this.matrix = new AtomicReference<>(source.get());
+    }
+    
+    /**
+     * Creates an engine backed by the bundled pricing.properties file.
+     * @return Pricing engine
+     */
+    public static PricingEngine fromClasspath() {
+        return new PricingEngine(PricingEngine::loadClasspathMatrix);
+    }
+    
+    /**
+     * Loads the bundled pricing.properties price matrix.
+     * @return Parsed matrix
+     * @throws IllegalStateException if the file is missing or unreadable
+     */
+    public static PriceMatrix loadClasspathMatrix() {
+        Properties properties = new Properties();
+        try (InputStream input = PricingEngine.class.getClassLoader().getResourceAsStream(PRICING_RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException(PRICING_RESOURCE + " not found on classpath");
+            }
+            properties.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load " + PRICING_RESOURCE, e);
+        }
+        return PriceMatrix.fromProperties(properties);
+    }
+    
+    /**
+     * Rebuilds the matrix from the source and swaps it in atomically.
+     * The current matrix is kept if loading fails.
+     * @return true if a new matrix was loaded
+     */
+    public boolean reload() {
+        try {
+            matrix.set(source.get());
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Error reloading price matrix: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Starts reloading the matrix in the background at a fixed delay.
+     * Calling it again while running has no effect.
+     * @param interval Delay between reloads
+     */
+    public synchronized void startRefresh(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(TaskExecutors.daemonThreads("price-refresh"));
+        scheduler.scheduleWithFixedDelay(this::reload, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Stops the periodic reload.
+     */
+    public synchronized void stopRefresh() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+    
+    /**
+     * Gets the matrix currently used for quotes.
+     * @return Current price matrix
+     */
+    public PriceMatrix getMatrix() {
+        return matrix.get();
+    }
+    
+    /**
+     * Gets the price per kg for a laundry type and service tier.
+     * @param laundryType Laundry type
+     * @param service Service tier
+     * @return Price per kg
+     */
+    public Money pricePerKg(String laundryType, String service) {
+        return Money.ofCents(matrix.get().centsPerKg(CatalogCode.of(laundryType), CatalogCode.of(service)));
+    }
+    
+    /**
+     * Quotes the total for one order.
+     * @param laundryType Laundry type
+     * @param service Service tier
+     * @param weight Weight in kg
+     * @return Total price
+     */
+    public Money quote(String laundryType, String service, double weight) {
+        return Money.ofCents(matrix.get().quoteCents(CatalogCode.of(laundryType), CatalogCode.of(service), weight));
+    }
+    
+    /**
+     * Prices many orders against a single matrix snapshot and sets their totals.
+     * @param orders Orders to price
+     */
+    public void applyAll(List<Order> orders) {
+        PriceMatrix snapshot = matrix.get();
+        for (Order order : orders) {
+            order.setTotal(Money.ofCents(snapshot.quoteCents(
+                order.getLaundryTypeCode(), order.getServiceCode(), order.getWeight())));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.laundry.service;
+
+import com.laundry.model.User;
+import com.laundry.repository.UserRepository;
+import com.laundry.server.RpcClient;
+import com.laundry.server.WireFormat;
+
+/**
+ * AuthenticationService of a thin-client terminal. The order server never
+ * hands out stored passwords, so logins and registrations are checked on
+ * the server rather than against the users this terminal reads.
+ */
+public class RemoteAuthenticationService extends AuthenticationService {
+    private static final String TARGET = "auth";
+
+    private final RpcClient client;
+
+    public RemoteAuthenticationService(UserRepository userRepository, RpcClient client) {
+        super(userRepository);
+        this.client = client;
+    }
+
+    @Override
+    public User authenticate(String username, String password) {
+        return WireFormat.decodeUser(client.call(TARGET, "authenticate", username, password));
+    }
+
+    @Override
+    public boolean registerUser(String username, String password, String fullName,
+                                String phone, String address) {
+        return Boolean.TRUE.equals(client.call(TARGET, "registerUser", username, password, fullName, phone, address));
+    }
+}
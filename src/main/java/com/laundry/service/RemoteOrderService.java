@@ -0,0 +1,248 @@
+package com.laundry.service;
+
+import com.laundry.model.CustomerStats;
+import com.laundry.model.MachineLoad;
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatsRow;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.PickupSlot;
+import com.laundry.model.StageDwell;
+import com.laundry.model.StatusChange;
+import com.laundry.model.User;
+import com.laundry.repository.OrderFilter;
+import com.laundry.repository.OrderPage;
+import com.laundry.repository.OrderQuery;
+import com.laundry.repository.OrderRepository;
+import com.laundry.repository.UpdateResult;
+import com.laundry.server.RpcClient;
+import com.laundry.server.WireFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * OrderService of a thin-client terminal. Placing orders, pricing, moving
+ * statuses, archiving, booking pickups, points and the reports over history,
+ * rollups and machine loads all run in the order server's service, so they
+ * are written in its units of work and shared by every terminal. Plain order
+ * reads go through the terminal's order repository, itself remote.
+ */
+public class RemoteOrderService implements OrderService {
+    private static final String TARGET = "service";
+
+    private final OrderRepository orderRepository;
+    private final RpcClient client;
+    private final PointsService pointsService;
+
+    /**
+     * @param orderRepository Store for plain order reads, normally a RemoteOrderRepository
+     * @param client Client of the order server
+     */
+    public RemoteOrderService(OrderRepository orderRepository, RpcClient client) {
+        this.orderRepository = orderRepository;
+        this.client = client;
+        this.pointsService = new RemotePointsService(client);
+    }
+
+    @Override
+    public Order createOrder(String customerName, String phone, String address,
+                             String laundryType, String service, double weight) {
+        return WireFormat.decodeOrder(client.call(TARGET, "createOrder",
+            customerName, phone, address, laundryType, service, weight));
+    }
+
+    @Override
+    public Order createOrderForUser(User user, String phone, String address,
+                                    String laundryType, String service, double weight) {
+        return WireFormat.decodeOrder(client.call(TARGET, "createOrderForUser",
+            user.getUsername(), phone, address, laundryType, service, weight));
+    }
+
+    @Override
+    public Order createOrderForUser(User user, String phone, String address, String laundryType,
+                                    String service, double weight, LocalDateTime pickupSlotStart) {
+        return WireFormat.decodeOrder(client.call(TARGET, "createOrderWithPickup",
+            user.getUsername(), phone, address, laundryType, service, weight, WireFormat.time(pickupSlotStart)));
+    }
+
+    @Override
+    public List<PickupSlot> getAvailablePickupSlots(String service, int limit) {
+        return WireFormat.decodePickupSlots(client.call(TARGET, "getAvailablePickupSlots", service, limit));
+    }
+
+    /**
+     * Imports the orders on the server, which prices them with its own
+     * matrix; the totals it charged are copied back onto the given orders.
+     */
+    @Override
+    public void importOrders(List<Order> orders) {
+        List<?> totals = (List<?>) client.call(TARGET, "importOrders", WireFormat.encodeOrders(orders));
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).setTotal(Money.ofCents(WireFormat.toLong(totals.get(i))));
+        }
+    }
+
+    @Override
+    public double calculatePrice(String laundryType, String service, double weight) {
+        return WireFormat.toDouble(client.call(TARGET, "calculatePrice", laundryType, service, weight));
+    }
+
+    /**
+     * Reloads the server's price matrix, which every order is priced with.
+     */
+    @Override
+    public boolean reloadPrices() {
+        return Boolean.TRUE.equals(client.call(TARGET, "reloadPrices"));
+    }
+
+    @Override
+    public PointsService getPointsService() {
+        return pointsService;
+    }
+
+    @Override
+    public List<Order> getAllOrders() {
+        return orderRepository.getAllOrders();
+    }
+
+    @Override
+    public List<Order> getOrdersByCustomer(String username) {
+        return orderRepository.getOrdersByCustomer(username);
+    }
+
+    @Override
+    public void streamOrders(OrderFilter filter, Consumer<Order> sink) {
+        orderRepository.streamOrders(filter, sink);
+    }
+
+    @Override
+    public List<Order> getCustomerHistory(String username) {
+        return orderRepository.findCustomerHistory(username);
+    }
+
+    @Override
+    public OrderPage queryOrders(OrderQuery query) {
+        return orderRepository.query(query);
+    }
+
+    @Override
+    public List<Order> searchOrders(String query, int limit) {
+        return orderRepository.search(query, limit);
+    }
+
+    @Override
+    public int archiveOrders(Set<OrderStatus> statuses, LocalDateTime olderThan, int limit) {
+        return (int) WireFormat.toLong(client.call(TARGET, "archiveOrders",
+            WireFormat.encodeStatuses(statuses), WireFormat.time(olderThan), limit));
+    }
+
+    @Override
+    public long getOrderCount() {
+        return orderRepository.countAll();
+    }
+
+    @Override
+    public long countOrdersByStatus(OrderStatus... statuses) {
+        long count = 0;
+        for (OrderStatus status : statuses) {
+            count += orderRepository.countByStatus(status);
+        }
+        return count;
+    }
+
+    @Override
+    public Money getTotalRevenue() {
+        return orderRepository.sumTotals();
+    }
+
+    @Override
+    public long[] getRevenueCentsByDay(LocalDate from, int days) {
+        if (days <= 0) {
+            return new long[0];
+        }
+        return WireFormat.toLongArray(client.call(TARGET, "getRevenueCentsByDay", from.toString(), days));
+    }
+
+    @Override
+    public List<OrderStatsRow> getDailyStats(LocalDate first, LocalDate last) {
+        return WireFormat.decodeStatsRows(client.call(TARGET, "getDailyStats", first.toString(), last.toString()));
+    }
+
+    @Override
+    public List<OrderStatsRow> getHourlyStats(LocalDate day) {
+        return WireFormat.decodeStatsRows(client.call(TARGET, "getHourlyStats", day.toString()));
+    }
+
+    @Override
+    public CustomerStats getCustomerStats(String customerName) {
+        return WireFormat.decodeCustomerStats(client.call(TARGET, "getCustomerStats", customerName));
+    }
+
+    @Override
+    public List<StatusChange> getStatusHistory(String orderId) {
+        return WireFormat.decodeStatusChanges(client.call(TARGET, "getStatusHistory", orderId));
+    }
+
+    @Override
+    public Map<OrderStatus, StageDwell> getStageDwellTimes(LocalDate from, LocalDate to) {
+        return WireFormat.decodeDwellTimes(client.call(TARGET, "getStageDwellTimes", from.toString(), to.toString()));
+    }
+
+    @Override
+    public List<MachineLoad> getMachineLoads() {
+        return WireFormat.decodeMachineLoads(client.call(TARGET, "getMachineLoads"));
+    }
+
+    @Override
+    public void replanLoads() {
+        client.call(TARGET, "replanLoads");
+    }
+
+    @Override
+    public void rebuildCustomerStats() {
+        client.call(TARGET, "rebuildCustomerStats");
+    }
+
+    @Override
+    public void rebuildStats() {
+        client.call(TARGET, "rebuildStats");
+    }
+
+    @Override
+    public boolean updateOrderStatus(String orderId, OrderStatus newStatus) {
+        return Boolean.TRUE.equals(client.call(TARGET, "updateOrderStatusById", orderId, newStatus.name()));
+    }
+
+    /**
+     * Moves the order on the server, checked against the version the caller
+     * read. On success the caller's copy takes the new status, status time
+     * and version, as it does locally.
+     */
+    @Override
+    public UpdateResult updateOrderStatus(Order order, OrderStatus newStatus) {
+        Map<?, ?> outcome = (Map<?, ?>) client.call(TARGET, "updateOrderStatus",
+            WireFormat.encodeOrder(order), newStatus.name());
+        UpdateResult result = UpdateResult.valueOf((String) outcome.get("result"));
+        if (!result.isConflict()) {
+            order.setStatus(newStatus);
+            order.setStatusChangedAt(WireFormat.parseTime(outcome.get("statusChangedAt")));
+            order.setVersion(WireFormat.toLong(outcome.get("version")));
+        }
+        return result;
+    }
+
+    @Override
+    public int updateStatuses(Collection<String> orderIds, OrderStatus newStatus) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        return (int) WireFormat.toLong(client.call(TARGET, "updateStatuses",
+            new ArrayList<>(orderIds), newStatus.name()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.laundry.service;
+
+import com.laundry.model.PointsEntry;
+import com.laundry.server.RpcClient;
+import com.laundry.server.WireFormat;
+import java.util.List;
+
+/**
+ * PointsService of a thin-client terminal: every call runs on the order
+ * server against its ledger, so all terminals see the same balances.
+ * Compaction is the server's job.
+ */
+public class RemotePointsService implements PointsService {
+    private static final String TARGET = "points";
+
+    private final RpcClient client;
+
+    public RemotePointsService(RpcClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public boolean earn(String username, String orderId, int points) {
+        return Boolean.TRUE.equals(client.call(TARGET, "earn", username, orderId, points));
+    }
+
+    @Override
+    public boolean redeem(String username, String orderId, int points) {
+        return Boolean.TRUE.equals(client.call(TARGET, "redeem", username, orderId, points));
+    }
+
+    @Override
+    public void adjust(String username, int points) {
+        client.call(TARGET, "adjust", username, points);
+    }
+
+    @Override
+    public int getBalance(String username) {
+        return (int) WireFormat.toLong(client.call(TARGET, "getBalance", username));
+    }
+
+    @Override
+    public List<PointsEntry> getHistory(String username, int limit) {
+        return WireFormat.decodePointsEntries(client.call(TARGET, "getHistory", username, limit));
+    }
+}
@@ -0,0 +1,75 @@
+package com.laundry.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors for blocking service calls.
+ * Uses one virtual thread per task when the runtime provides them (Java 21+),
+ * otherwise a fixed pool of daemon platform threads.
+ */
+public final class TaskExecutors {
+    
+    private TaskExecutors() {
+    }
+    
+    /**
+     * Creates an executor for blocking tasks.
+     * @param name Thread name prefix
+     * @param platformThreads Pool size used when virtual threads are unavailable
+     * @return Executor service
+     */
+    public static ExecutorService newTaskExecutor(String name, int platformThreads) {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        if (virtual != null) {
+            return virtual;
+        }
+        return Executors.newFixedThreadPool(Math.max(platformThreads, 1), daemonThreads(name));
+    }
+    
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     * @return true on Java 21 or newer
+     */
+    public static boolean virtualThreadsAvailable() {
+        return findVirtualThreadFactoryMethod() != null;
+    }
+    
+    /**
+     * Creates a thread factory for named daemon threads.
+     * @param name Thread name prefix
+     * @return Thread factory
+     */
+    public static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static ExecutorService newVirtualThreadExecutor() {
+        Method factory = findVirtualThreadFactoryMethod();
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+    
+    private static Method findVirtualThreadFactoryMethod() {
+        try {
+            // Looked up reflectively so the code still compiles for Java 11
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.laundry.tools;
+
+import com.laundry.config.AppConfig;
+
+/**
+ * Command-line entry point that runs the order archiving job once, using
+ * the archive.* settings from database.properties.
+ */
+public class ArchiveOrders {
+    
+    public static void main(String[] args) {
+        AppConfig appConfig = AppConfig.getInstance();
+        appConfig.getOrderArchiver().stop();
+        
+        System.out.println("Archiving old Completed/Cancelled orders...");
+        int moved = appConfig.getOrderArchiver().runOnce();
+        System.out.println("Moved " + moved + " orders; "
+            + appConfig.getOrderRepository().countArchived() + " orders now archived.");
+        System.exit(0);
+    }
+}
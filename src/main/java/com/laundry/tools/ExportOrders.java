@@ -0,0 +1,71 @@
+package com.laundry.tools;
+
+import com.laundry.config.AppConfig;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.OrderFilter;
+import com.laundry.service.ExportReport;
+import com.laundry.service.OrderExporter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+/**
+ * Command-line entry point for streaming order exports.
+ * Usage: ExportOrders &lt;file&gt; [--json] [--gzip] [--archived] [--from yyyy-mm-dd] [--to yyyy-mm-dd] [--status Ready,...]
+ */
+public class ExportOrders {
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ExportOrders <file> [--json] [--gzip] [--archived] [--from yyyy-mm-dd] "
+                + "[--to yyyy-mm-dd] [--status Ready,...]");
+            System.exit(1);
+        }
+        
+        Path file = Paths.get(args[0]);
+        OrderExporter.Format format = OrderExporter.Format.CSV;
+        boolean gzip = false;
+        LocalDate from = null;
+        LocalDate to = null;
+        OrderFilter.Builder filter = OrderFilter.builder();
+        
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--json":
+                    format = OrderExporter.Format.JSON;
+                    break;
+                case "--gzip":
+                    gzip = true;
+                    break;
+                case "--archived":
+                    filter.includeArchived();
+                    break;
+                case "--from":
+                    from = LocalDate.parse(args[++i]);
+                    break;
+                case "--to":
+                    to = LocalDate.parse(args[++i]);
+                    break;
+                case "--status":
+                    for (String label : args[++i].split(",")) {
+                        OrderStatus status = OrderStatus.fromLabel(label);
+                        if (status == null) {
+                            throw new IllegalArgumentException("Unknown status: " + label);
+                        }
+                        filter.status(status);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        filter.days(from, to);
+        
+        OrderExporter exporter = new OrderExporter(AppConfig.getInstance().getOrderService());
+        System.out.println("Exporting to " + file + "...");
+        ExportReport report = exporter.export(file, format, gzip, filter.build(),
+            rows -> System.out.println("  " + rows + " rows"));
+        System.out.println(report);
+        System.exit(0);
+    }
+}
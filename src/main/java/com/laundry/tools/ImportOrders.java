@@ -0,0 +1,40 @@
+package com.laundry.tools;
+
+import com.laundry.config.AppConfig;
+import com.laundry.service.ImportReport;
+import com.laundry.service.OrderCsvImporter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point for bulk CSV order imports.
+ * Usage: ImportOrders &lt;file.csv&gt; [batchSize] [workers]
+ */
+public class ImportOrders {
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ImportOrders <file.csv> [batchSize] [workers]");
+            System.exit(1);
+        }
+        
+        Path file = Paths.get(args[0]);
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        
+        OrderCsvImporter importer = new OrderCsvImporter(
+            AppConfig.getInstance().getOrderService(), batchSize, workers, workers * 2);
+        
+        System.out.println("Importing " + file + "...");
+        ImportReport report = importer.importFile(file);
+        System.out.println(report);
+        for (ImportReport.RejectedRow row : report.getRejectedRows()) {
+            System.out.println("  rejected " + row);
+        }
+        if (report.getRowsRejected() > report.getRejectedRows().size()) {
+            System.out.println("  ... " + (report.getRowsRejected() - report.getRejectedRows().size())
+                + " more rejected rows not shown");
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,21 @@
+package com.laundry.tools;
+
+import com.laundry.config.AppConfig;
+import com.laundry.service.OrderService;
+
+/**
+ * Command-line entry point that backfills or rebuilds the customer_stats
+ * summaries from the orders and orders_archive tables.
+ */
+public class RebuildCustomerStats {
+    
+    public static void main(String[] args) {
+        OrderService orderService = AppConfig.getInstance().getOrderService();
+        
+        System.out.println("Rebuilding customer summaries...");
+        long start = System.nanoTime();
+        orderService.rebuildCustomerStats();
+        System.out.printf("Customer summaries rebuilt in %.1fs%n", (System.nanoTime() - start) / 1_000_000_000.0);
+        System.exit(0);
+    }
+}
@@ -0,0 +1,21 @@
+package com.laundry.tools;
+
+import com.laundry.config.AppConfig;
+import com.laundry.service.OrderService;
+
+/**
+ * Command-line entry point that backfills or rebuilds the
+ * order_stats_daily and order_stats_hourly rollups from the orders table.
+ */
+public class RebuildOrderStats {
+    
+    public static void main(String[] args) {
+        OrderService orderService = AppConfig.getInstance().getOrderService();
+        
+        System.out.println("Rebuilding order rollups...");
+        long start = System.nanoTime();
+        orderService.rebuildStats();
+        System.out.printf("Order rollups rebuilt in %.1fs%n", (System.nanoTime() - start) / 1_000_000_000.0);
+        System.exit(0);
+    }
+}
@@ -0,0 +1,40 @@
+package com.laundry.tools;
+
+import com.laundry.config.AppConfig;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.CoalescingOrderRepository;
+import com.laundry.repository.OrderRepository;
+import com.laundry.repository.ShardedOrderRepository;
+import java.util.Map;
+
+/**
+ * Command-line entry point that prints HQ totals across all branch shards,
+ * followed by the latency of each shard.
+ */
+public class ShardReport {
+    
+    public static void main(String[] args) {
+        OrderRepository orderRepository = AppConfig.getInstance().getOrderRepository();
+        if (orderRepository instanceof CoalescingOrderRepository) {
+            orderRepository = ((CoalescingOrderRepository) orderRepository).getDelegate();
+        }
+        if (!(orderRepository instanceof ShardedOrderRepository)) {
+            System.out.println("Orders are not sharded; set branch.code and shards in database.properties.");
+            System.exit(0);
+        }
+        ShardedOrderRepository shards = (ShardedOrderRepository) orderRepository;
+        
+        long start = System.nanoTime();
+        System.out.println("Orders:  " + shards.countAll());
+        System.out.println("Active:  " + (shards.countByStatus(OrderStatus.PENDING)
+            + shards.countByStatus(OrderStatus.PROCESSING)));
+        System.out.println("Revenue: " + shards.sumTotals().format());
+        System.out.printf("Totals gathered in %.1fms%n", (System.nanoTime() - start) / 1_000_000.0);
+        
+        for (Map.Entry<String, ShardedOrderRepository.ShardLatency> shard : shards.getShardLatencies().entrySet()) {
+            String local = shard.getKey().equals(shards.getLocalBranch()) ? " (local)" : "";
+            System.out.println(shard.getKey() + local + ": " + shard.getValue());
+        }
+        System.exit(0);
+    }
+}
@@ -1,7 +1,14 @@
 package com.laundry.ui.panels;
 
 import com.laundry.config.AppConfig;
+import com.laundry.model.MachineLoad;
+import com.laundry.model.Money;
 import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.User;
+import com.laundry.repository.OrderFilter;
+import com.laundry.repository.OrderPage;
+import com.laundry.repository.OrderQuery;
 import com.laundry.repository.UserRepository;
 import com.laundry.service.OrderService;
 import com.laundry.ui.components.UIComponentFactory;
@@ -10,10 +17,21 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableCellRenderer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.event.TableModelListener;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.swing.Timer;
 
 /**
@@ -25,13 +43,35 @@ public class AdminDashboardPanel extends BasePanel {
     private JTable orderTable;
     private DefaultTableCellRenderer cellRenderer;
     private Timer autoRefreshTimer;
+    private static final int SEARCH_LIMIT = 200;
+    private Timer searchDebounceTimer;
+    private volatile String searchQuery = "";
+    
+    // Grid query pushed down to the repository: filter, sort and page
+    private static final int PAGE_SIZE = 100;
+    private static final String[] COLUMN_NAMES = {"Order ID", "Customer", "Phone", "Service", "Status", "Total"};
+    private static final OrderQuery.SortField[] COLUMN_SORT = {
+        OrderQuery.SortField.ORDER_ID, OrderQuery.SortField.CUSTOMER, OrderQuery.SortField.PHONE,
+        OrderQuery.SortField.SERVICE, OrderQuery.SortField.STATUS, OrderQuery.SortField.TOTAL
+    };
+    private volatile OrderFilter gridFilter = OrderFilter.all();
+    private volatile OrderQuery.SortField sortField = OrderQuery.SortField.ORDER_TIME;
+    private volatile boolean sortAscending;
+    private volatile int pageOffset;
+    private JLabel pageLabel;
+    private JButton previousPageButton;
+    private JButton nextPageButton;
+    // Orders behind the grid rows, as read; status edits are version-checked against them
+    private final List<Order> displayedOrders = new ArrayList<>();
+    private JLabel noticeLabel;
+    private Timer noticeTimer;
+    private final List<CompletableFuture<?>> inFlightLoads = new ArrayList<>();
     
     public AdminDashboardPanel() {
         super();
         
         // Initialize table components
-        String[] columns = {"Order ID", "Customer", "Phone", "Service", "Status", "Total"};
-        tableModel = new DefaultTableModel(columns, 0) {
+        tableModel = new DefaultTableModel(COLUMN_NAMES, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
                 return column == 4; // Only status column is editable
@@ -40,16 +80,14 @@ public class AdminDashboardPanel extends BasePanel {
         
         // Initialize orderTable first
         orderTable = new JTable(tableModel);
+        orderTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         
         setupTable();
         
         initializePanel();
         
         // Initialize auto-refresh timer (refresh every 5 seconds)
-        autoRefreshTimer = new Timer(5000, e -> {
-            refreshTable();
-            updateStats();
-        });
+        autoRefreshTimer = new Timer(5000, e -> refreshDashboard());
         autoRefreshTimer.start();
     }
     
@@ -76,11 +114,15 @@ public class AdminDashboardPanel extends BasePanel {
         // Table and buttons
         JScrollPane tableScrollPane = createOrderTable();
         JPanel buttonPanel = createButtonPanel();
+        JPanel controlsPanel = new JPanel(new GridLayout(2, 1));
+        controlsPanel.add(buttonPanel);
+        controlsPanel.add(createFilterPanel());
         
         // Combine table and buttons
         JPanel tablePanel = new JPanel(new BorderLayout());
-        tablePanel.add(buttonPanel, BorderLayout.NORTH);
+        tablePanel.add(controlsPanel, BorderLayout.NORTH);
         tablePanel.add(tableScrollPane, BorderLayout.CENTER);
+        tablePanel.add(createPagerPanel(), BorderLayout.SOUTH);
         
         // Create a container for header and stats
         JPanel topPanel = new JPanel(new BorderLayout());
@@ -91,23 +133,22 @@ public class AdminDashboardPanel extends BasePanel {
         add(topPanel, BorderLayout.NORTH);
         add(tablePanel, BorderLayout.CENTER);
         
-        refreshTable();
+        refreshDashboard();
     }
     
 
     
     private JPanel createStatsPanel() {
+        return createStatsPanel("-", "-", "-", "-");
+    }
+    
+    private JPanel createStatsPanel(String totalOrders, String activeOrders, String customers, String revenue) {
         JPanel statsPanel = createStyledPanel(new GridLayout(1, 4, 20, 0));
         
-        List<Order> allOrders = orderService.getAllOrders();
-        
-        statsPanel.add(UIComponentFactory.createCard("Total Orders", String.valueOf(allOrders.size())));
-        statsPanel.add(UIComponentFactory.createCard("Active Orders", String.valueOf(
-            allOrders.stream().filter(o -> "Pending".equals(o.getStatus()) || "In Progress".equals(o.getStatus())).count())));
-        statsPanel.add(UIComponentFactory.createCard("Total Customers", String.valueOf(
-            userRepository.getAllMembers().size())));
-        statsPanel.add(UIComponentFactory.createCard("Revenue", "Rp " + String.format("%,.0f", 
-            allOrders.stream().mapToDouble(Order::getTotal).sum())));
+        statsPanel.add(UIComponentFactory.createCard("Total Orders", totalOrders));
+        statsPanel.add(UIComponentFactory.createCard("Active Orders", activeOrders));
+        statsPanel.add(UIComponentFactory.createCard("Total Customers", customers));
+        statsPanel.add(UIComponentFactory.createCard("Revenue", revenue));
         
         return statsPanel;
     }
@@ -156,35 +197,85 @@ public class AdminDashboardPanel extends BasePanel {
         // Simpan renderer untuk diterapkan nanti
         this.cellRenderer = renderer;
         
-        // Status combo box for editing
-        JComboBox<String> statusCombo = new JComboBox<>(new String[]{
-            "Pending", "Processing", "Ready", "Completed", "Cancelled"
+        // Header clicks sort on the server; unindexed columns are not sortable
+        orderTable.getTableHeader().setReorderingAllowed(false);
+        orderTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = orderTable.convertColumnIndexToModel(
+                    orderTable.getTableHeader().columnAtPoint(e.getPoint()));
+                if (column >= 0) {
+                    sortByColumn(column);
+                }
+            }
         });
-        DefaultCellEditor statusEditor = new DefaultCellEditor(statusCombo);
+        
+        // Status combo box for editing
+        JComboBox<String> statusCombo = new JComboBox<>();
+        DefaultCellEditor statusEditor = new DefaultCellEditor(statusCombo) {
+            @Override
+            public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected,
+                                                         int row, int column) {
+                // Offer only the moves the transition table allows from the row's status
+                OrderStatus current = OrderStatus.fromLabel((String) value);
+                DefaultComboBoxModel<String> choices = new DefaultComboBoxModel<>();
+                for (OrderStatus status : OrderStatus.values()) {
+                    if (current == null || current.canMoveTo(status)) {
+                        choices.addElement(status.getLabel());
+                    }
+                }
+                statusCombo.setModel(choices);
+                return super.getTableCellEditorComponent(table, value, isSelected, row, column);
+            }
+        };
         orderTable.getColumnModel().getColumn(4).setCellEditor(statusEditor);
         
         // Add table model listener to save changes automatically
         tableModel.addTableModelListener(e -> {
             if (e.getColumn() == 4) { // Status column
                 int row = e.getFirstRow();
-                String orderId = (String) tableModel.getValueAt(row, 0);
-                String newStatus = (String) tableModel.getValueAt(row, 4);
-                
-                if (orderService.updateOrderStatus(orderId, newStatus)) {
-                    updateStats(); // Refresh statistics
-                    JOptionPane.showMessageDialog(this, 
-                        "Order status updated successfully!", 
-                        "Success", 
-                        JOptionPane.INFORMATION_MESSAGE);
-                } else {
+                OrderStatus newStatus = OrderStatus.fromLabel((String) tableModel.getValueAt(row, 4));
+                if (row < displayedOrders.size() && newStatus != null) {
+                    updateOrderStatus(displayedOrders.get(row), newStatus);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Saves a status edited in the grid without blocking the EDT. If the order
+     * changed since the grid loaded it, the edit is dropped and the grid
+     * reloads in place with a notice instead of a dialog.
+     */
+    private void updateOrderStatus(Order order, OrderStatus newStatus) {
+        if (order.getOrderStatus() == newStatus) {
+            return;
+        }
+        orderServiceAsync.updateOrderStatus(order, newStatus)
+            .whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    reportLoadFailure(error);
                     JOptionPane.showMessageDialog(this, 
                         "Failed to update order status!", 
                         "Error", 
                         JOptionPane.ERROR_MESSAGE);
                     refreshTable(); // Revert changes
+                } else if (result.isConflict()) {
+                    showNotice("Order " + order.getOrderId() + " was changed elsewhere; showing the latest data.");
+                    refreshDashboard();
+                } else {
+                    showNotice("Order " + order.getOrderId() + " set to " + newStatus.getLabel() + ".");
+                    updateStats(); // Refresh statistics
                 }
-            }
-        });
+            }));
+    }
+    
+    /**
+     * Shows a short message next to the pager that clears itself.
+     */
+    private void showNotice(String message) {
+        noticeLabel.setText(message);
+        noticeTimer.restart();
     }
     
     private JScrollPane createOrderTable() {
@@ -197,8 +288,7 @@ public class AdminDashboardPanel extends BasePanel {
         
         JButton refreshButton = UIComponentFactory.createStyledButton("Refresh", new Color(52, 152, 219));
         refreshButton.addActionListener(e -> {
-            refreshTable();
-            updateStats();
+            refreshDashboard();
             JOptionPane.showMessageDialog(this, 
                 "Data refreshed successfully!", 
                 "Refresh", 
@@ -217,17 +307,335 @@ public class AdminDashboardPanel extends BasePanel {
             }
         });
         
+        // Search box; typing is debounced so a burst of keystrokes issues one query
+        JTextField searchField = new JTextField(15);
+        searchField.setToolTipText("Search by order ID, customer name or phone");
+        searchDebounceTimer = new Timer(250, e -> {
+            searchQuery = searchField.getText().trim();
+            refreshDashboard();
+        });
+        searchDebounceTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchDebounceTimer.restart();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchDebounceTimer.restart();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchDebounceTimer.restart();
+            }
+        });
+        
+        // Bulk status action for the selected rows
+        JComboBox<String> bulkStatusCombo = new JComboBox<>();
+        for (OrderStatus status : OrderStatus.values()) {
+            bulkStatusCombo.addItem(status.getLabel());
+        }
+        JButton bulkUpdateButton = UIComponentFactory.createStyledButton("Set Status for Selected", new Color(155, 89, 182));
+        bulkUpdateButton.addActionListener(e ->
+            applyStatusToSelected(OrderStatus.fromLabel((String) bulkStatusCombo.getSelectedItem()), bulkUpdateButton));
+        
+        buttonPanel.add(new JLabel("Search:"));
+        buttonPanel.add(searchField);
+        buttonPanel.add(new JLabel("Selected orders:"));
+        buttonPanel.add(bulkStatusCombo);
+        buttonPanel.add(bulkUpdateButton);
+        buttonPanel.add(createMachineLoadsButton());
+        buttonPanel.add(createReloadPricesButton());
         buttonPanel.add(autoRefreshButton);
         buttonPanel.add(refreshButton);
         return buttonPanel;
     }
     
+    private JButton createMachineLoadsButton() {
+        JButton loadsButton = UIComponentFactory.createStyledButton("Machine Loads", new Color(52, 73, 94));
+        loadsButton.addActionListener(e -> {
+            loadsButton.setEnabled(false);
+            orderServiceAsync.getMachineLoads()
+                .whenComplete((loads, error) -> SwingUtilities.invokeLater(() -> {
+                    loadsButton.setEnabled(true);
+                    if (error != null) {
+                        reportLoadFailure(error);
+                        return;
+                    }
+                    showMachineLoads(loads);
+                }));
+        });
+        return loadsButton;
+    }
+    
+    private JButton createReloadPricesButton() {
+        JButton reloadButton = UIComponentFactory.createStyledButton("Reload Prices", new Color(230, 126, 34));
+        reloadButton.addActionListener(e -> {
+            reloadButton.setEnabled(false);
+            orderServiceAsync.reloadPrices()
+                .whenComplete((reloaded, error) -> SwingUtilities.invokeLater(() -> {
+                    reloadButton.setEnabled(true);
+                    if (error != null) {
+                        reportLoadFailure(error);
+                    } else if (reloaded) {
+                        showNotice("Price matrix reloaded.");
+                    } else {
+                        showNotice("Prices could not be reloaded; the previous prices stay in effect.");
+                    }
+                }));
+        });
+        return reloadButton;
+    }
+    
+    /**
+     * Shows the planned machine loads for the Pending orders in a dialog.
+     */
+    private void showMachineLoads(List<MachineLoad> loads) {
+        DefaultTableModel model = new DefaultTableModel(
+            new String[]{"Load", "Laundry Type", "Service", "Weight (kg)", "Fill", "Orders"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (MachineLoad load : loads) {
+            model.addRow(new Object[]{
+                load.getLoadId(),
+                load.getLaundryType(),
+                load.getService(),
+                String.format("%.1f / %.1f", load.getWeightKg(), load.getCapacityKg()),
+                String.format("%.0f%%", load.getFill() * 100),
+                String.join(", ", load.getOrderIds())
+            });
+        }
+        JScrollPane scrollPane = new JScrollPane(new JTable(model));
+        scrollPane.setPreferredSize(new Dimension(720, 360));
+        JOptionPane.showMessageDialog(this, scrollPane,
+            "Machine Loads (" + loads.size() + ")",
+            JOptionPane.PLAIN_MESSAGE);
+    }
+    
+    private JPanel createFilterPanel() {
+        JPanel filterPanel = createStyledPanel(new FlowLayout(FlowLayout.RIGHT));
+        filterPanel.setBorder(BorderFactory.createEmptyBorder(0, 20, 10, 20));
+        
+        JComboBox<String> statusFilter = new JComboBox<>();
+        statusFilter.addItem("All statuses");
+        for (OrderStatus status : OrderStatus.values()) {
+            statusFilter.addItem(status.getLabel());
+        }
+        JComboBox<String> serviceFilter = new JComboBox<>(new String[]{"All services", "Regular", "Express", "Premium"});
+        JTextField fromField = new JTextField(8);
+        fromField.setToolTipText("First day, yyyy-MM-dd");
+        JTextField toField = new JTextField(8);
+        toField.setToolTipText("Last day, yyyy-MM-dd");
+        
+        JButton applyButton = UIComponentFactory.createStyledButton("Apply Filter", new Color(52, 152, 219));
+        applyButton.addActionListener(e -> {
+            OrderFilter.Builder filter = OrderFilter.builder();
+            if (statusFilter.getSelectedIndex() > 0) {
+                filter.status(OrderStatus.fromLabel((String) statusFilter.getSelectedItem()));
+            }
+            if (serviceFilter.getSelectedIndex() > 0) {
+                filter.service((String) serviceFilter.getSelectedItem());
+            }
+            try {
+                filter.days(parseDay(fromField.getText()), parseDay(toField.getText()));
+            } catch (DateTimeParseException ex) {
+                JOptionPane.showMessageDialog(this,
+                    "Dates must be in yyyy-MM-dd format.",
+                    "Filter",
+                    JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            gridFilter = filter.build();
+            pageOffset = 0;
+            refreshTable();
+        });
+        
+        filterPanel.add(new JLabel("Status:"));
+        filterPanel.add(statusFilter);
+        filterPanel.add(new JLabel("Service:"));
+        filterPanel.add(serviceFilter);
+        filterPanel.add(new JLabel("From:"));
+        filterPanel.add(fromField);
+        filterPanel.add(new JLabel("To:"));
+        filterPanel.add(toField);
+        filterPanel.add(applyButton);
+        return filterPanel;
+    }
+    
+    private static LocalDate parseDay(String text) {
+        String trimmed = text.trim();
+        return trimmed.isEmpty() ? null : LocalDate.parse(trimmed);
+    }
+    
+    private JPanel createPagerPanel() {
+        JPanel pagerPanel = createStyledPanel(new FlowLayout(FlowLayout.RIGHT));
+        
+        previousPageButton = UIComponentFactory.createStyledButton("< Prev", new Color(52, 152, 219));
+        previousPageButton.addActionListener(e -> {
+            pageOffset = Math.max(0, pageOffset - PAGE_SIZE);
+            refreshTable();
+        });
+        nextPageButton = UIComponentFactory.createStyledButton("Next >", new Color(52, 152, 219));
+        nextPageButton.addActionListener(e -> {
+            pageOffset += PAGE_SIZE;
+            refreshTable();
+        });
+        pageLabel = new JLabel("-");
+        noticeLabel = new JLabel(" ");
+        noticeLabel.setForeground(new Color(192, 57, 43));
+        noticeTimer = new Timer(6000, e -> noticeLabel.setText(" "));
+        noticeTimer.setRepeats(false);
+        
+        pagerPanel.add(noticeLabel);
+        pagerPanel.add(pageLabel);
+        pagerPanel.add(previousPageButton);
+        pagerPanel.add(nextPageButton);
+        return pagerPanel;
+    }
+    
+    /**
+     * Sorts the grid by a column: a second click on the same column flips the
+     * direction. Columns without a database index are left unsorted.
+     */
+    private void sortByColumn(int column) {
+        OrderQuery.SortField field = COLUMN_SORT[column];
+        if (!field.isIndexed()) {
+            return;
+        }
+        sortAscending = field != sortField || !sortAscending;
+        sortField = field;
+        pageOffset = 0;
+        
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            String marker = COLUMN_SORT[i] == sortField ? (sortAscending ? " \u25B2" : " \u25BC") : "";
+            orderTable.getColumnModel().getColumn(i).setHeaderValue(COLUMN_NAMES[i] + marker);
+        }
+        orderTable.getTableHeader().repaint();
+        refreshTable();
+    }
+    
+    /**
+     * Applies one status to every selected row with a single batched update,
+     * then refreshes the dashboard once.
+     */
+    private void applyStatusToSelected(OrderStatus status, JButton trigger) {
+        int[] selectedRows = orderTable.getSelectedRows();
+        if (selectedRows.length == 0 || status == null) {
+            JOptionPane.showMessageDialog(this,
+                "Select one or more orders first.",
+                "Bulk Update",
+                JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        
+        List<String> orderIds = new ArrayList<>(selectedRows.length);
+        for (int viewRow : selectedRows) {
+            orderIds.add((String) tableModel.getValueAt(orderTable.convertRowIndexToModel(viewRow), 0));
+        }
+        
+        trigger.setEnabled(false);
+        orderServiceAsync.updateStatuses(orderIds, status)
+            .whenComplete((updated, error) -> SwingUtilities.invokeLater(() -> {
+                trigger.setEnabled(true);
+                refreshDashboard();
+                if (error != null) {
+                    reportLoadFailure(error);
+                    JOptionPane.showMessageDialog(this,
+                        "Failed to update order status!",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                        updated + " order(s) set to " + status.getLabel() + ".",
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
+                }
+            }));
+    }
+    
+    /**
+     * Reloads the order table and statistics. Orders, counts, revenue and
+     * member count are fetched in parallel off the EDT and applied together;
+     * a load still in flight from an earlier refresh is cancelled.
+     */
+    public void refreshDashboard() {
+        cancelInFlightLoads();
+        
+        CompletableFuture<OrderPage> orders = track(loadOrders());
+        CompletableFuture<Long> orderCount = track(orderServiceAsync.getOrderCount());
+        CompletableFuture<Long> activeCount = track(orderServiceAsync.countOrdersByStatus(
+            OrderStatus.PENDING, OrderStatus.PROCESSING));
+        CompletableFuture<Money> revenue = track(orderServiceAsync.getTotalRevenue());
+        CompletableFuture<Collection<User>> members = track(orderServiceAsync.getAllMembers());
+        
+        CompletableFuture.allOf(orders, orderCount, activeCount, revenue, members)
+            .whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    reportLoadFailure(error);
+                    return;
+                }
+                populateTable(orders.join());
+                replaceStatsPanel(createStatsPanel(
+                    String.valueOf(orderCount.join()),
+                    String.valueOf(activeCount.join()),
+                    String.valueOf(members.join().size()),
+                    revenue.join().format()));
+            }));
+    }
+    
     /**
      * Refreshes the order table with current data.
      */
     public void refreshTable() {
+        track(loadOrders())
+            .whenComplete((orders, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    reportLoadFailure(error);
+                } else {
+                    populateTable(orders);
+                }
+            }));
+    }
+    
+    /**
+     * Loads the orders to show: every order, or the best matches for the
+     * current search text.
+     */
+    private CompletableFuture<OrderPage> loadOrders() {
+        String query = searchQuery;
+        if (!query.isEmpty()) {
+            return orderServiceAsync.searchOrders(query, SEARCH_LIMIT)
+                .thenApply(orders -> new OrderPage(orders, orders.size(), 0));
+        }
+        return orderServiceAsync.queryOrders(OrderQuery.builder()
+            .filter(gridFilter)
+            .sortBy(sortField, sortAscending)
+            .page(pageOffset, PAGE_SIZE)
+            .build());
+    }
+    
+    private void populateTable(OrderPage page) {
+        List<Order> orders = page.getOrders();
         tableModel.setRowCount(0);
-        List<Order> orders = orderService.getAllOrders();
+        
+        if (orders.isEmpty() && page.hasPreviousPage()) {
+            // Rows on this page were archived or moved on; the next refresh steps back
+            pageOffset = Math.max(0, pageOffset - PAGE_SIZE);
+        }
+        pageLabel.setText(orders.isEmpty()
+            ? "No orders"
+            : (page.getOffset() + 1) + "-" + (page.getOffset() + orders.size()) + " of " + page.getTotalCount());
+        // Duplicate reads saved by the single-flight layer, e.g. refresh and timer firing together
+        pageLabel.setToolTipText("Reads " + AppConfig.getInstance().getReadCoalescer());
+        previousPageButton.setEnabled(page.hasPreviousPage());
+        nextPageButton.setEnabled(page.hasNextPage());
+        displayedOrders.clear();
+        displayedOrders.addAll(orders);
         
         for (Order order : orders) {
             Object[] row = {
@@ -236,7 +644,7 @@ public class AdminDashboardPanel extends BasePanel {
                 order.getPhone(),
                 order.getLaundryType() + " - " + order.getService(),
                 order.getStatus(),
-                "Rp " + String.format("%,.0f", order.getTotal())
+                order.getTotalAmount().format()
             };
             tableModel.addRow(row);
         }
@@ -253,6 +661,27 @@ public class AdminDashboardPanel extends BasePanel {
      * Updates the statistics panel with current data.
      */
     public void updateStats() {
+        CompletableFuture<Long> orderCount = track(orderServiceAsync.getOrderCount());
+        CompletableFuture<Long> activeCount = track(orderServiceAsync.countOrdersByStatus(
+            OrderStatus.PENDING, OrderStatus.PROCESSING));
+        CompletableFuture<Money> revenue = track(orderServiceAsync.getTotalRevenue());
+        CompletableFuture<Collection<User>> members = track(orderServiceAsync.getAllMembers());
+        
+        CompletableFuture.allOf(orderCount, activeCount, revenue, members)
+            .whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    reportLoadFailure(error);
+                    return;
+                }
+                replaceStatsPanel(createStatsPanel(
+                    String.valueOf(orderCount.join()),
+                    String.valueOf(activeCount.join()),
+                    String.valueOf(members.join().size()),
+                    revenue.join().format()));
+            }));
+    }
+    
+    private void replaceStatsPanel(JPanel newStatsPanel) {
         // Find and update the stats panel within topPanel
         Component[] components = getComponents();
         for (Component comp : components) {
@@ -265,7 +694,6 @@ public class AdminDashboardPanel extends BasePanel {
                         if (panel.getLayout() instanceof GridLayout) {
                             // Found the stats panel, replace it
                             topPanel.remove(panel);
-                            JPanel newStatsPanel = createStatsPanel();
                             newStatsPanel.setPreferredSize(new Dimension(0, 120));
                             topPanel.add(newStatsPanel, BorderLayout.CENTER);
                             topPanel.revalidate();
@@ -280,6 +708,36 @@ public class AdminDashboardPanel extends BasePanel {
         repaint();
     }
     
+    private <T> CompletableFuture<T> track(CompletableFuture<T> load) {
+        synchronized (inFlightLoads) {
+            inFlightLoads.add(load);
+        }
+        load.whenComplete((value, error) -> {
+            synchronized (inFlightLoads) {
+                inFlightLoads.remove(load);
+            }
+        });
+        return load;
+    }
+    
+    private void cancelInFlightLoads() {
+        List<CompletableFuture<?>> loads;
+        synchronized (inFlightLoads) {
+            loads = new ArrayList<>(inFlightLoads);
+        }
+        for (CompletableFuture<?> load : loads) {
+            load.cancel(true);
+        }
+    }
+    
+    private void reportLoadFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        if (!(cause instanceof CancellationException)) {
+            System.err.println("Error refreshing admin dashboard: " + cause.getMessage());
+        }
+    }
+    
     /**
      * Stops the auto-refresh timer.
      */
@@ -3,6 +3,7 @@ package com.laundry.ui.panels;
 import com.laundry.config.AppConfig;
 import com.laundry.repository.UserRepository;
 import com.laundry.service.OrderService;
+import com.laundry.service.OrderServiceAsync;
 import com.laundry.ui.components.UIComponentFactory;
 
 import javax.swing.*;
@@ -19,6 +20,7 @@ public abstract class BasePanel extends JPanel {
     protected static final Color LOGOUT_BUTTON_COLOR = new Color(231, 76, 60);
     
     protected final OrderService orderService;
+    protected final OrderServiceAsync orderServiceAsync;
     protected final UserRepository userRepository;
     protected ActionListener logoutListener;
     
@@ -27,6 +29,7 @@ public abstract class BasePanel extends JPanel {
      */
     public BasePanel() {
         this.orderService = AppConfig.getInstance().getOrderService();
+        this.orderServiceAsync = AppConfig.getInstance().getOrderServiceAsync();
         this.userRepository = AppConfig.getInstance().getUserRepository();
         
         setLayout(new BorderLayout());
@@ -1,8 +1,12 @@
 package com.laundry.ui.panels;
 
+import com.laundry.model.CustomerStats;
+import com.laundry.model.PointsEntry;
 import com.laundry.model.User;
 import com.laundry.model.Order;
+import com.laundry.model.PickupSlot;
 import com.laundry.service.OrderService;
+import com.laundry.service.PointsService;
 import com.laundry.repository.UserRepository;
 import com.laundry.config.AppConfig;
 import com.laundry.ui.components.UIComponentFactory;
@@ -14,14 +18,22 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Member dashboard panel for customer interface.
  * Provides access to member features like orders, points, and profile.
  */
 public class MemberDashboardPanel extends BasePanel {
+    private static final int PICKUP_CHOICES = 12;
+    private static final String EARLIEST_PICKUP = "Earliest available";
+    private static final String PICKUP_LOAD = "pickupLoad";
+    private static final DateTimeFormatter PICKUP_FORMAT = DateTimeFormatter.ofPattern("EEE dd MMM HH:mm");
+    
     private User currentUser;
+    private JLabel pointsLabel;
     
     public MemberDashboardPanel() {
         super();
@@ -54,11 +66,66 @@ public class MemberDashboardPanel extends BasePanel {
         // Header
         JPanel headerPanel = createHeaderPanel();
         
+        // Order summary, filled in from the customer's customer_stats row
+        JPanel summaryPanel = createSummaryPanel(null);
+        summaryPanel.setPreferredSize(new Dimension(0, 120));
+        
         // Content
         JPanel contentPanel = createContentPanel();
         
-        add(headerPanel, BorderLayout.NORTH);
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(headerPanel, BorderLayout.NORTH);
+        topPanel.add(summaryPanel, BorderLayout.CENTER);
+        
+        add(topPanel, BorderLayout.NORTH);
         add(contentPanel, BorderLayout.CENTER);
+        
+        if (currentUser != null) {
+            loadSummary(topPanel, summaryPanel);
+        }
+    }
+    
+    private JPanel createSummaryPanel(CustomerStats stats) {
+        JPanel summaryPanel = createStyledPanel(new GridLayout(1, 4, 20, 0));
+        
+        summaryPanel.add(UIComponentFactory.createCard("Orders",
+            stats != null ? String.valueOf(stats.getOrderCount()) : "-"));
+        summaryPanel.add(UIComponentFactory.createCard("Lifetime Spend",
+            stats != null ? stats.getLifetimeSpend().format() : "-"));
+        summaryPanel.add(UIComponentFactory.createCard("Open Orders",
+            stats != null ? String.valueOf(stats.getOpenOrders()) : "-"));
+        summaryPanel.add(UIComponentFactory.createCard("Last Order",
+            stats != null && stats.getLastOrderId() != null ? stats.getLastOrderId() : "-"));
+        
+        return summaryPanel;
+    }
+    
+    /**
+     * Reads the member's summary row and points balance off the EDT and
+     * swaps them into the dashboard.
+     */
+    private void loadSummary(JPanel topPanel, JPanel placeholder) {
+        JLabel points = pointsLabel;
+        CompletableFuture<CustomerStats> summary = orderServiceAsync.getCustomerStats(currentUser.getUsername());
+        CompletableFuture<Integer> balance = orderServiceAsync.getPointsBalance(currentUser.getUsername());
+        CompletableFuture.allOf(summary, balance)
+            .whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    System.err.println("Error loading order summary: " + error.getMessage());
+                    return;
+                }
+                if (placeholder.getParent() != topPanel) {
+                    return; // Dashboard rebuilt since the load started
+                }
+                points.setText("Check your loyalty points: " + balance.join());
+                CustomerStats stats = summary.join();
+                JPanel summaryPanel = createSummaryPanel(stats);
+                summaryPanel.setPreferredSize(placeholder.getPreferredSize());
+                topPanel.remove(placeholder);
+                topPanel.add(summaryPanel, BorderLayout.CENTER);
+                topPanel.revalidate();
+                topPanel.repaint();
+            }));
     }
     
 
@@ -71,9 +138,10 @@ public class MemberDashboardPanel extends BasePanel {
             e -> showNewOrderDialog()));
         contentPanel.add(createMenuCard("Order History", "View your order history", 
             e -> showOrderHistoryDialog()));
-        contentPanel.add(createMenuCard("Points", "Check your loyalty points: " + 
-            (currentUser != null ? currentUser.getPoints() : 0), 
-            e -> showPointsDialog()));
+        JPanel pointsCard = createMenuCard("Points", "Check your loyalty points: -",
+            e -> showPointsDialog());
+        pointsLabel = (JLabel) ((BorderLayout) pointsCard.getLayout()).getLayoutComponent(BorderLayout.CENTER);
+        contentPanel.add(pointsCard);
         contentPanel.add(createMenuCard("Profile", "Update your profile information", 
             e -> showProfileDialog()));
         
@@ -141,7 +209,7 @@ public class MemberDashboardPanel extends BasePanel {
     
     private void showNewOrderDialog() {
         JDialog dialog = new JDialog((JFrame) SwingUtilities.getWindowAncestor(this), "New Order", true);
-        dialog.setSize(500, 400);
+        dialog.setSize(500, 450);
         dialog.setLocationRelativeTo(this);
         
         JPanel panel = new JPanel(new GridBagLayout());
@@ -155,6 +223,9 @@ public class MemberDashboardPanel extends BasePanel {
         JComboBox<String> serviceCombo = new JComboBox<>(new String[]{"Cuci Setrika", "Cuci Kering", "Setrika Saja"});
         JComboBox<String> typeCombo = new JComboBox<>(new String[]{"Regular", "Express", "Premium"});
         JTextField weightField = new JTextField("1.0", 20);
+        JComboBox<Object> pickupCombo = new JComboBox<>();
+        loadPickupSlots(pickupCombo, (String) typeCombo.getSelectedItem());
+        typeCombo.addActionListener(e -> loadPickupSlots(pickupCombo, (String) typeCombo.getSelectedItem()));
         
         // Add components
         gbc.gridx = 0; gbc.gridy = 0;
@@ -182,6 +253,11 @@ public class MemberDashboardPanel extends BasePanel {
         gbc.gridx = 1;
         panel.add(weightField, gbc);
         
+        gbc.gridx = 0; gbc.gridy = 5;
+        panel.add(new JLabel("Pickup:"), gbc);
+        gbc.gridx = 1;
+        panel.add(pickupCombo, gbc);
+        
         // Buttons
         JPanel buttonPanel = new JPanel(new FlowLayout());
         JButton createButton = new JButton("Create Order");
@@ -196,18 +272,21 @@ public class MemberDashboardPanel extends BasePanel {
                 }
                 
                 double weight = Double.parseDouble(weightField.getText());
+                Object pickup = pickupCombo.getSelectedItem();
                 Order order = orderService.createOrderForUser(
                     currentUser,
                     phoneField.getText(),
                     addressField.getText(),
                     (String) serviceCombo.getSelectedItem(),
                     (String) typeCombo.getSelectedItem(),
-                    weight
+                    weight,
+                    pickup instanceof PickupSlot ? ((PickupSlot) pickup).getStart() : null
                 );
                 
                 JOptionPane.showMessageDialog(dialog, 
                     "Order created successfully!\nOrder ID: " + order.getOrderId() + 
-                    "\nTotal: Rp " + String.format("%,.0f", order.getTotal()),
+                    "\nTotal: " + order.getTotalAmount().format() +
+                    "\nPickup: " + order.getPickupTime().format(PICKUP_FORMAT),
                     "Success", JOptionPane.INFORMATION_MESSAGE);
                 dialog.dispose();
                 
@@ -216,6 +295,11 @@ public class MemberDashboardPanel extends BasePanel {
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(dialog, "Please enter a valid weight!", 
                     "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (IllegalStateException ex) {
+                // Slot filled from another terminal: offer what is left
+                JOptionPane.showMessageDialog(dialog, ex.getMessage() + ". Please pick another slot.", 
+                    "Pickup Unavailable", JOptionPane.WARNING_MESSAGE);
+                loadPickupSlots(pickupCombo, (String) typeCombo.getSelectedItem());
             }
         });
         
@@ -224,7 +308,7 @@ public class MemberDashboardPanel extends BasePanel {
         buttonPanel.add(createButton);
         buttonPanel.add(cancelButton);
         
-        gbc.gridx = 0; gbc.gridy = 5;
+        gbc.gridx = 0; gbc.gridy = 6;
         gbc.gridwidth = 2;
         gbc.anchor = GridBagConstraints.CENTER;
         panel.add(buttonPanel, gbc);
@@ -233,6 +317,31 @@ public class MemberDashboardPanel extends BasePanel {
         dialog.setVisible(true);
     }
     
+    /**
+     * Fills the pickup picker with the next free slots for a service tier,
+     * loaded off the EDT. The first choice lets the scheduler take the
+     * earliest slot at the moment the order is placed.
+     */
+    private void loadPickupSlots(JComboBox<Object> pickupCombo, String tier) {
+        pickupCombo.removeAllItems();
+        pickupCombo.addItem(EARLIEST_PICKUP);
+        Object load = new Object();
+        pickupCombo.putClientProperty(PICKUP_LOAD, load);
+        orderServiceAsync.getAvailablePickupSlots(tier, PICKUP_CHOICES)
+            .whenComplete((slots, error) -> SwingUtilities.invokeLater(() -> {
+                if (pickupCombo.getClientProperty(PICKUP_LOAD) != load) {
+                    return; // Tier changed since the load started
+                }
+                if (error != null) {
+                    System.err.println("Error loading pickup slots: " + error.getMessage());
+                    return;
+                }
+                for (PickupSlot slot : slots) {
+                    pickupCombo.addItem(slot);
+                }
+            }));
+    }
+    
     private void showOrderHistoryDialog() {
         JDialog dialog = new JDialog((JFrame) SwingUtilities.getWindowAncestor(this), "Order History", true);
         dialog.setSize(700, 400);
@@ -243,7 +352,7 @@ public class MemberDashboardPanel extends BasePanel {
         JTable table = new JTable(model);
         
         if (currentUser != null) {
-            List<Order> orders = orderService.getOrdersByCustomer(currentUser.getUsername());
+            List<Order> orders = orderService.getCustomerHistory(currentUser.getUsername());
             for (Order order : orders) {
                 Object[] row = {
                     order.getOrderId(),
@@ -251,7 +360,7 @@ public class MemberDashboardPanel extends BasePanel {
                     order.getService(),
                     order.getWeight() + " kg",
                     order.getStatus(),
-                    "Rp " + String.format("%,.0f", order.getTotal()),
+                    order.getTotalAmount().format(),
                     order.getOrderTime().toLocalDate().toString()
                 };
                 model.addRow(row);
@@ -271,7 +380,21 @@ public class MemberDashboardPanel extends BasePanel {
     }
     
     private void showPointsDialog() {
-        String message = "Current Points: " + (currentUser != null ? currentUser.getPoints() : 0) + "\n\n" +
+        StringBuilder recent = new StringBuilder();
+        int balance = 0;
+        if (currentUser != null) {
+            PointsService pointsService = orderService.getPointsService();
+            balance = pointsService.getBalance(currentUser.getUsername());
+            for (PointsEntry entry : pointsService.getHistory(currentUser.getUsername(), 5)) {
+                recent.append("  ").append(entry.getType()).append(' ').append(entry.getPoints());
+                if (entry.getOrderId() != null) {
+                    recent.append(" (").append(entry.getOrderId()).append(')');
+                }
+                recent.append('\n');
+            }
+        }
+        String message = "Current Points: " + balance + "\n\n" +
+                       (recent.length() > 0 ? "Recent activity:\n" + recent + "\n" : "") +
                        "Points are earned with each order:\n" +
                        "- Regular orders: 10 points\n" +
                        "- Express orders: 15 points\n" +
@@ -336,7 +459,19 @@ public class MemberDashboardPanel extends BasePanel {
                     }
                     
                     // Save changes to database
-                    userRepository.updateUser(currentUser);
+                    if (userRepository.updateUser(currentUser).isConflict()) {
+                        // Changed from another counter since login: start over from the stored profile
+                        User stored = userRepository.getUser(currentUser.getUsername());
+                        if (stored != null) {
+                            currentUser = stored;
+                        }
+                        JOptionPane.showMessageDialog(dialog,
+                            "Your profile was changed elsewhere and has been reloaded. Please review and try again.",
+                            "Profile Changed", JOptionPane.WARNING_MESSAGE);
+                        dialog.dispose();
+                        updateDashboard();
+                        return;
+                    }
                     
                     JOptionPane.showMessageDialog(dialog, "Profile updated successfully!", 
                         "Success", JOptionPane.INFORMATION_MESSAGE);
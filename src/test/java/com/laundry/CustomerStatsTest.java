@@ -0,0 +1,83 @@
+package com.laundry;
+
+import com.laundry.model.CustomerStats;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryCustomerStatsRepository;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the incrementally maintained per-customer summaries.
+ */
+class CustomerStatsTest {
+
+    private InMemoryOrderRepository orderRepository;
+    private InMemoryCustomerStatsRepository customerStatsRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        customerStatsRepository = new InMemoryCustomerStatsRepository();
+        orderService = LocalOrderService.builder(orderRepository, new InMemoryUserRepository())
+            .customerStatsRepository(customerStatsRepository)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should track order count, spend, open orders and last order")
+    void testWritesUpdateSummary() {
+        Order first = orderService.createOrder("john", "0811", "Addr", "Wash & Dry", "Regular", 2.0);
+        Order second = orderService.createOrder("john", "0811", "Addr", "Wash & Dry", "Regular", 1.0);
+        orderService.createOrder("jane", "0812", "Addr", "Wash & Dry", "Regular", 1.0);
+
+        CustomerStats stats = orderService.getCustomerStats("john");
+        assertEquals(2, stats.getOrderCount());
+        assertEquals(first.getTotalCents() + second.getTotalCents(), stats.getSpendCents());
+        assertEquals(2, stats.getOpenOrders());
+        assertEquals(second.getOrderId(), stats.getLastOrderId());
+
+        orderService.updateOrderStatus(first.getOrderId(), OrderStatus.COMPLETED);
+        orderService.updateStatuses(List.of(second.getOrderId()), OrderStatus.CANCELLED);
+
+        stats = orderService.getCustomerStats("john");
+        assertEquals(2, stats.getOrderCount());
+        assertEquals(first.getTotalCents(), stats.getSpendCents());
+        assertEquals(0, stats.getOpenOrders());
+        assertEquals(second.getOrderId(), stats.getLastOrderId());
+
+        assertEquals(0, orderService.getCustomerStats("nobody").getOrderCount());
+    }
+
+    @Test
+    @DisplayName("Should rebuild summaries to match incremental maintenance")
+    void testRebuildMatchesIncremental() {
+        Order first = orderService.createOrder("john", "0811", "Addr", "Wash & Dry", "Regular", 2.0);
+        orderService.createOrder("john", "0811", "Addr", "Wash & Dry", "Express", 1.0);
+        orderService.updateOrderStatus(first.getOrderId(), OrderStatus.CANCELLED);
+        CustomerStats incremental = orderService.getCustomerStats("john");
+
+        // An order written straight to the repository is only picked up by a rebuild
+        Order direct = new Order("DIRECT1");
+        direct.setCustomerName("john");
+        direct.setTotal(5000.0);
+        orderRepository.save(direct);
+        assertEquals(2, orderService.getCustomerStats("john").getOrderCount());
+
+        orderService.rebuildCustomerStats();
+        CustomerStats rebuilt = orderService.getCustomerStats("john");
+        assertEquals(incremental.getOrderCount() + 1, rebuilt.getOrderCount());
+        assertEquals(incremental.getSpendCents() + direct.getTotalCents(), rebuilt.getSpendCents());
+        assertEquals(incremental.getOpenOrders() + 1, rebuilt.getOpenOrders());
+    }
+}
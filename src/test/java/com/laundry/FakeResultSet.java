@@ -0,0 +1,101 @@
+package com.laundry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Forward-only ResultSet over in-memory rows, for mapping tests and
+ * benchmarks without a database. Like the MySQL driver it looks column
+ * labels up case-insensitively and hands out fresh String, BigDecimal and
+ * Timestamp objects on every get. Row templates repeat, so a few rows can
+ * stand in for millions.
+ */
+final class FakeResultSet implements InvocationHandler {
+    private final Object[][] templates;
+    private final int rowCount;
+    private final Map<String, Integer> columnIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private int cursor = -1;
+    private boolean lastNull;
+
+    private FakeResultSet(String[] columns, Object[][] templates, int rowCount) {
+        for (int i = 0; i < columns.length; i++) {
+            columnIndex.put(columns[i], i + 1);
+        }
+        this.templates = templates;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * @param columns Column labels, in select order
+     * @param templates Row values, cycled through
+     * @param rowCount Number of rows the ResultSet returns
+     */
+    static ResultSet of(String[] columns, Object[][] templates, int rowCount) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+            new Class<?>[]{ResultSet.class}, new FakeResultSet(columns, templates, rowCount));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "next":
+                return ++cursor < rowCount;
+            case "findColumn":
+                return column(args[0]);
+            case "wasNull":
+                return lastNull;
+            case "close":
+                return null;
+            case "getString": {
+                Object value = value(args[0]);
+                return value != null ? new String(value.toString().toCharArray()) : null;
+            }
+            case "getBigDecimal": {
+                Object value = value(args[0]);
+                return value != null ? new BigDecimal(value.toString()) : null;
+            }
+            case "getTimestamp": {
+                Object value = value(args[0]);
+                return value != null ? new Timestamp(((Timestamp) value).getTime()) : null;
+            }
+            case "getDouble": {
+                Object value = value(args[0]);
+                return value != null ? ((Number) value).doubleValue() : 0.0;
+            }
+            case "getInt": {
+                Object value = value(args[0]);
+                return value != null ? ((Number) value).intValue() : 0;
+            }
+            case "getLong": {
+                Object value = value(args[0]);
+                return value != null ? ((Number) value).longValue() : 0L;
+            }
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private int column(Object labelOrIndex) throws SQLException {
+        if (labelOrIndex instanceof Integer) {
+            return (Integer) labelOrIndex;
+        }
+        Integer index = columnIndex.get((String) labelOrIndex);
+        if (index == null) {
+            throw new SQLException("Column '" + labelOrIndex + "' not found.");
+        }
+        return index;
+    }
+
+    private Object value(Object labelOrIndex) throws SQLException {
+        Object value = templates[cursor % templates.length][column(labelOrIndex) - 1];
+        lastNull = value == null;
+        return value;
+    }
+}
@@ -0,0 +1,141 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency tests for InMemoryOrderRepository indexes.
+ */
+class InMemoryOrderRepositoryStressTest {
+
+    private static final int WRITERS = 8;
+    private static final int ORDERS_PER_WRITER = 2000;
+    private static final OrderStatus[] STATUSES = {
+        OrderStatus.PENDING, OrderStatus.PROCESSING, OrderStatus.READY, OrderStatus.COMPLETED
+    };
+
+    private InMemoryOrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+    }
+
+    @Test
+    @DisplayName("Should keep indexes consistent under concurrent writers and readers")
+    void testConcurrentWritersKeepIndexesConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Writers insert their own orders and then cycle them through every status
+        for (int w = 0; w < WRITERS; w++) {
+            final int writer = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ORDERS_PER_WRITER; i++) {
+                    Order order = new Order(orderRepository.generateOrderId());
+                    order.setCustomerName("Customer " + writer);
+                    order.setPhone("08" + writer);
+                    order.setTotal(1000.0);
+                    orderRepository.addOrder(order);
+
+                    for (OrderStatus status : STATUSES) {
+                        order.setStatus(status);
+                        orderRepository.updateOrder(order);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Readers hammer every index while writes are in flight
+        for (int r = 0; r < 2; r++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    orderRepository.findAll();
+                    orderRepository.findByStatus(OrderStatus.PENDING);
+                    orderRepository.findByCustomerName("Customer 0");
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int expected = WRITERS * ORDERS_PER_WRITER;
+        List<Order> all = orderRepository.findAll();
+        assertEquals(expected, all.size());
+        assertEquals(expected, orderRepository.size());
+
+        // Order IDs are unique across writers
+        Set<String> ids = new HashSet<>();
+        for (Order order : all) {
+            assertTrue(ids.add(order.getOrderId()), "Duplicate order ID " + order.getOrderId());
+        }
+
+        // Every order ended in the last status and appears in exactly that index
+        assertEquals(expected, orderRepository.findByStatus(OrderStatus.COMPLETED).size());
+        assertTrue(orderRepository.findByStatus(OrderStatus.PENDING).isEmpty());
+        assertTrue(orderRepository.findByStatus(OrderStatus.PROCESSING).isEmpty());
+        assertTrue(orderRepository.findByStatus(OrderStatus.READY).isEmpty());
+
+        for (int w = 0; w < WRITERS; w++) {
+            assertEquals(ORDERS_PER_WRITER, orderRepository.findByCustomerName("Customer " + w).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should list orders newest first")
+    void testNewestFirstListing() throws InterruptedException {
+        Order older = new Order("ORD001");
+        older.setCustomerName("John Doe");
+        Thread.sleep(5);
+        Order newer = new Order("ORD002");
+        newer.setCustomerName("John Doe");
+
+        orderRepository.save(older);
+        orderRepository.save(newer);
+
+        List<Order> all = orderRepository.findAll();
+        assertEquals("ORD002", all.get(0).getOrderId());
+        assertEquals("ORD001", all.get(1).getOrderId());
+        assertEquals("ORD002", orderRepository.findRecent(1).get(0).getOrderId());
+        assertEquals("ORD002", orderRepository.findByCustomerName("John Doe").get(0).getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should move order between customer indexes on update")
+    void testCustomerReindexOnUpdate() {
+        Order order = new Order("ORD001");
+        order.setCustomerName("John Doe");
+        orderRepository.save(order);
+
+        order.setCustomerName("Jane Smith");
+        orderRepository.updateOrder(order);
+
+        assertTrue(orderRepository.findByCustomerName("John Doe").isEmpty());
+        assertEquals(1, orderRepository.findByCustomerName("Jane Smith").size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.laundry;
+
+import com.laundry.config.JdbcUnitOfWork;
+import com.laundry.config.TransactionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcUnitOfWork transaction handling.
+ */
+class JdbcUnitOfWorkTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private JdbcUnitOfWork unitOfWork;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        unitOfWork = new JdbcUnitOfWork(dataSource);
+    }
+
+    @Test
+    @DisplayName("Should commit once on one borrowed connection")
+    void testCommitOnSuccess() throws SQLException {
+        String result = unitOfWork.execute(() -> {
+            assertTrue(TransactionContext.isActive());
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertFalse(TransactionContext.isActive());
+        verify(dataSource, times(1)).getConnection();
+        verify(connection).setAutoCommit(false);
+        verify(connection).commit();
+        verify(connection, never()).rollback();
+        verify(connection).close();
+        assertEquals(1, unitOfWork.getUnitCount());
+        assertEquals(0, unitOfWork.getRollbackCount());
+    }
+
+    @Test
+    @DisplayName("Should run completion actions after commit or rollback, once the connection is released")
+    void testCompletionActions() throws SQLException {
+        List<String> events = new ArrayList<>();
+        doAnswer(invocation -> events.add("commit")).when(connection).commit();
+        doAnswer(invocation -> events.add("close")).when(connection).close();
+
+        unitOfWork.execute(() -> {
+            TransactionContext.afterCompletion(() -> events.add("action"));
+            assertTrue(events.isEmpty());
+            return null;
+        });
+        assertEquals(List.of("commit", "close", "action"), events);
+
+        events.clear();
+        assertThrows(IllegalStateException.class, () -> unitOfWork.execute(() -> {
+            TransactionContext.afterCompletion(() -> events.add("action"));
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(List.of("close", "action"), events);
+
+        // Outside a unit of work the action runs right away
+        events.clear();
+        TransactionContext.afterCompletion(() -> events.add("action"));
+        assertEquals(List.of("action"), events);
+    }
+
+    @Test
+    @DisplayName("Should roll back and rethrow when the work fails")
+    void testRollbackOnFailure() throws SQLException {
+        assertThrows(IllegalStateException.class, () -> unitOfWork.execute(() -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertFalse(TransactionContext.isActive());
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).close();
+        assertEquals(1, unitOfWork.getRollbackCount());
+    }
+
+    @Test
+    @DisplayName("Should join an outer unit of work instead of starting another")
+    void testNestedUnitJoinsOuter() throws SQLException {
+        unitOfWork.execute(() -> unitOfWork.execute(() -> null));
+
+        verify(dataSource, times(1)).getConnection();
+        verify(connection, times(1)).commit();
+        assertEquals(1, unitOfWork.getUnitCount());
+    }
+}
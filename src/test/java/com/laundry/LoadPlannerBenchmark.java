@@ -0,0 +1,65 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.service.LoadPlanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Times a full machine load replan and incremental arrivals over open orders.
+ * Run manually: java -cp target/classes:target/test-classes com.laundry.LoadPlannerBenchmark [orders]
+ */
+public class LoadPlannerBenchmark {
+    private static final int ITERATIONS = 50;
+    
+    public static void main(String[] args) {
+        int orderCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        String[] types = {"Wash & Dry", "Dry Clean", "Wash Only", "Cuci Setrika", "Cuci Kering"};
+        String[] tiers = {"Regular", "Express", "Premium"};
+        
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order(String.format("ORD%06d", i));
+            order.setLaundryType(types[i % types.length]);
+            order.setService(tiers[(i / types.length) % tiers.length]);
+            order.setWeight(0.5 + (i * 7919 % 60) / 10.0);
+            orders.add(order);
+        }
+        LoadPlanner planner = new LoadPlanner(8.0, Map.of("dry-clean", 5.0));
+        
+        System.out.println("Open orders: " + orderCount + ", iterations: " + ITERATIONS);
+        
+        report("full replan", () -> {
+            planner.replan(orders);
+            return planner.getLoadCount();
+        });
+        report("add " + orderCount + " incrementally", () -> {
+            planner.replan(List.of());
+            for (Order order : orders) {
+                planner.add(order);
+            }
+            return planner.getLoadCount();
+        });
+        report("remove + add one order", () -> {
+            Order order = orders.get(orderCount / 2);
+            planner.remove(order.getOrderId());
+            planner.add(order);
+            return planner.getLoadCount();
+        });
+    }
+    
+    private static void report(String name, java.util.function.Supplier<Object> task) {
+        Object sink = null;
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            sink = task.get(); // warm-up
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = task.get();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+        System.out.printf("%-28s %10.3f ms/op  (%s loads)%n", name, millis, sink);
+    }
+}
@@ -0,0 +1,149 @@
+package com.laundry;
+
+import com.laundry.model.MachineLoad;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.service.LoadPlanner;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for planning Pending orders into machine loads.
+ */
+class LoadPlannerTest {
+
+    private int nextId = 1;
+
+    private Order order(String laundryType, String service, double weight) {
+        Order order = new Order("ORD" + (nextId++));
+        order.setLaundryType(laundryType);
+        order.setService(service);
+        order.setWeight(weight);
+        return order;
+    }
+
+    @Test
+    @DisplayName("Should only put orders of the same laundry type and tier together")
+    void testGroupsByTypeAndTier() {
+        LoadPlanner planner = new LoadPlanner(8.0, Map.of());
+        planner.add(order("Wash & Dry", "Regular", 2.0));
+        planner.add(order("Wash & Dry", "Express", 2.0));
+        planner.add(order("Dry Clean", "Regular", 2.0));
+        planner.add(order("Wash & Dry", "Regular", 3.0));
+
+        List<MachineLoad> loads = planner.getLoads();
+        assertEquals(3, loads.size());
+        for (MachineLoad load : loads) {
+            if (load.getLaundryType().equals("Wash & Dry") && load.getService().equals("Regular")) {
+                assertEquals(5.0, load.getWeightKg(), 0.001);
+                assertEquals(2, load.getOrderIds().size());
+            } else {
+                assertEquals(1, load.getOrderIds().size());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should put each order into the load it fits most tightly")
+    void testBestFit() {
+        LoadPlanner planner = new LoadPlanner(10.0, Map.of("Dry Clean", 5.0));
+        planner.add(order("Wash Only", "Regular", 6.0)); // load A, 4 kg left
+        planner.add(order("Wash Only", "Regular", 7.5)); // load B, 2.5 kg left
+        Order small = order("Wash Only", "Regular", 2.0);
+        planner.add(small);
+
+        List<MachineLoad> loads = planner.getLoads();
+        assertEquals(2, loads.size());
+        MachineLoad fullest = loads.get(0);
+        assertEquals(9.5, fullest.getWeightKg(), 0.001);
+        assertTrue(fullest.getOrderIds().contains(small.getOrderId()));
+
+        // Dry Clean has its own 5 kg machine
+        planner.add(order("Dry Clean", "Regular", 3.0));
+        planner.add(order("Dry Clean", "Regular", 3.0));
+        long dryCleanLoads = planner.getLoads().stream()
+            .filter(load -> load.getLaundryType().equals("Dry Clean"))
+            .peek(load -> assertEquals(5.0, load.getCapacityKg(), 0.001))
+            .count();
+        assertEquals(2, dryCleanLoads);
+    }
+
+    @Test
+    @DisplayName("Should give an order heavier than the machine a load of its own")
+    void testOversizedOrder() {
+        LoadPlanner planner = new LoadPlanner(8.0, Map.of());
+        planner.add(order("Wash & Dry", "Regular", 12.0));
+        planner.add(order("Wash & Dry", "Regular", 1.0));
+
+        List<MachineLoad> loads = planner.getLoads();
+        assertEquals(2, loads.size());
+        assertEquals(1.5, loads.get(0).getFill(), 0.001);
+        assertEquals(1, loads.get(0).getOrderIds().size());
+    }
+
+    @Test
+    @DisplayName("Should update incrementally and repack on replan")
+    void testIncrementalAndReplan() {
+        LoadPlanner planner = new LoadPlanner(8.0, Map.of());
+        List<Order> orders = new ArrayList<>();
+        for (double weight : new double[]{5, 4, 3, 3, 1}) {
+            Order order = order("Wash & Dry", "Regular", weight);
+            orders.add(order);
+            assertTrue(planner.add(order));
+        }
+        assertFalse(planner.add(orders.get(0)));
+        // In arrival order: [5, 3], [4, 3, 1]
+        assertEquals(2, planner.getLoadCount());
+
+        // Removing a whole load's orders drops the load
+        assertTrue(planner.remove(orders.get(0).getOrderId()));
+        assertTrue(planner.remove(orders.get(2).getOrderId()));
+        assertFalse(planner.remove(orders.get(2).getOrderId()));
+        assertEquals(1, planner.getLoadCount());
+        assertEquals(3, planner.getPlannedOrderCount());
+
+        // Processing orders are not planned
+        Order processing = order("Wash & Dry", "Regular", 1.0);
+        processing.setStatus(OrderStatus.PROCESSING);
+        assertFalse(planner.add(processing));
+
+        // Heaviest first fills each load before opening another
+        orders.add(processing);
+        planner.replan(orders);
+        assertEquals(5, planner.getPlannedOrderCount());
+        List<MachineLoad> loads = planner.getLoads();
+        assertEquals(2, loads.size());
+        assertEquals(8.0, loads.get(0).getWeightKg(), 0.001);
+        assertEquals(8.0, loads.get(1).getWeightKg(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should keep the plan in step with placed and processed orders")
+    void testOrderServiceKeepsPlan() {
+        InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+        OrderService orderService = new LocalOrderService(orderRepository, new InMemoryUserRepository());
+
+        Order first = orderService.createOrder("John", "0811", "Addr", "Wash & Dry", "Regular", 3.0);
+        orderService.createOrder("Jane", "0812", "Addr", "Wash & Dry", "Regular", 4.0);
+        assertEquals(1, orderService.getMachineLoads().size());
+        assertEquals(7.0, orderService.getMachineLoads().get(0).getWeightKg(), 0.001);
+
+        assertTrue(orderService.updateOrderStatus(first.getOrderId(), OrderStatus.PROCESSING));
+        assertEquals(4.0, orderService.getMachineLoads().get(0).getWeightKg(), 0.001);
+
+        orderService.replanLoads();
+        assertEquals(1, orderService.getMachineLoads().size());
+        assertEquals(List.of(orderRepository.findByStatus(OrderStatus.PENDING).get(0).getOrderId()),
+            orderService.getMachineLoads().get(0).getOrderIds());
+    }
+}
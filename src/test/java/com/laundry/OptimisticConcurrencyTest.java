@@ -0,0 +1,132 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.User;
+import com.laundry.repository.InMemoryCustomerStatsRepository;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryOrderStatusHistoryRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.repository.UpdateResult;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for version-checked updates of orders and users.
+ */
+class OptimisticConcurrencyTest {
+
+    private InMemoryOrderRepository orderRepository;
+    private InMemoryCustomerStatsRepository customerStatsRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        customerStatsRepository = new InMemoryCustomerStatsRepository();
+        orderService = LocalOrderService.builder(orderRepository, new InMemoryUserRepository())
+            .customerStatsRepository(customerStatsRepository)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should reject an order update made from a stale copy")
+    void testStaleOrderConflicts() {
+        Order order = orderService.createOrder("john", "0811", "Addr", "Wash & Dry", "Regular", 2.0);
+        Order staleCopy = order.copy();
+
+        assertEquals(UpdateResult.UPDATED, orderService.updateOrderStatus(order, OrderStatus.PROCESSING));
+        assertEquals(1, order.getVersion());
+
+        assertEquals(UpdateResult.CONFLICT, orderService.updateOrderStatus(staleCopy, OrderStatus.CANCELLED));
+        assertEquals(OrderStatus.PENDING, staleCopy.getOrderStatus());
+        assertEquals(OrderStatus.PROCESSING, orderRepository.findById(order.getOrderId()).getOrderStatus());
+
+        // The losing write must not move the summaries either
+        assertEquals(order.getTotalCents(), customerStatsRepository.find("john").getSpendCents());
+        assertEquals(1, customerStatsRepository.find("john").getOpenOrders());
+    }
+
+    @Test
+    @DisplayName("Should bump versions on bulk status changes")
+    void testBulkUpdateBumpsVersion() {
+        Order order = orderService.createOrder("john", "0811", "Addr", "Wash & Dry", "Regular", 2.0);
+        Order staleCopy = order.copy();
+
+        orderService.updateStatuses(List.of(order.getOrderId()), OrderStatus.READY);
+
+        assertEquals(UpdateResult.CONFLICT, orderRepository.updateOrder(staleCopy));
+        assertEquals(UpdateResult.CONFLICT, orderRepository.updateOrder(new Order("ORD-MISSING")));
+    }
+
+    @Test
+    @DisplayName("Should leave an order changed during a bulk update out of the write, history and summaries")
+    void testBulkUpdateSkipsOrdersChangedAfterRead() {
+        InMemoryOrderRepository racingRepository = new InMemoryOrderRepository() {
+            @Override
+            public List<Order> findByIds(Collection<String> orderIds) {
+                List<Order> read = super.findByIds(orderIds);
+                // Another terminal cancels the first order right after the bulk read
+                Order other = super.findById(read.get(0).getOrderId());
+                other.setStatus(OrderStatus.CANCELLED);
+                super.updateOrder(other);
+                return read;
+            }
+        };
+        InMemoryOrderStatusHistoryRepository historyRepository = new InMemoryOrderStatusHistoryRepository();
+        OrderService service = LocalOrderService.builder(racingRepository, new InMemoryUserRepository())
+            .customerStatsRepository(customerStatsRepository)
+            .historyRepository(historyRepository)
+            .build();
+        Order cancelled = service.createOrder("john", "0811", "Addr", "Wash & Dry", "Regular", 2.0);
+        Order moved = service.createOrder("john", "0811", "Addr", "Wash & Dry", "Regular", 3.0);
+
+        assertEquals(1, service.updateStatuses(List.of(cancelled.getOrderId(), moved.getOrderId()), OrderStatus.READY));
+
+        assertEquals(OrderStatus.CANCELLED, racingRepository.findById(cancelled.getOrderId()).getOrderStatus());
+        assertEquals(OrderStatus.READY, racingRepository.findById(moved.getOrderId()).getOrderStatus());
+        assertTrue(historyRepository.findByOrder(cancelled.getOrderId()).isEmpty());
+        assertEquals(1, historyRepository.findByOrder(moved.getOrderId()).size());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies, so an order read before a bulk change conflicts")
+    void testReadsAreSnapshots() {
+        Order created = orderService.createOrder("john", "0811", "Addr", "Wash & Dry", "Regular", 2.0);
+        Order read = orderRepository.findById(created.getOrderId());
+
+        read.setAddress("Scribbled");
+        assertEquals("Addr", orderRepository.findById(created.getOrderId()).getAddress());
+
+        orderService.updateStatuses(List.of(created.getOrderId()), OrderStatus.READY);
+        assertEquals(OrderStatus.PENDING, read.getOrderStatus());
+        assertEquals(0, read.getVersion());
+        assertEquals(UpdateResult.CONFLICT, orderService.updateOrderStatus(read, OrderStatus.CANCELLED));
+        assertEquals(OrderStatus.READY, orderRepository.findById(created.getOrderId()).getOrderStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject a user update made from a stale copy")
+    void testStaleUserConflicts() {
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        User user = new User("john", "123", "John Doe", "0811", "Addr", "MEMBER");
+        userRepository.addUser(user);
+        User staleCopy = new User("john", "123", "John Doe", "0811", "Addr", "MEMBER");
+
+        user.setAddress("New Addr");
+        assertEquals(UpdateResult.UPDATED, userRepository.updateUser(user));
+        assertEquals(1, user.getVersion());
+
+        staleCopy.setPhone("0899");
+        assertEquals(UpdateResult.CONFLICT, userRepository.updateUser(staleCopy));
+        assertEquals("0811", userRepository.getUser("john").getPhone());
+    }
+}
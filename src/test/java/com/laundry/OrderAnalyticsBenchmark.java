@@ -0,0 +1,73 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.OrderColumnStore;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Compares stream aggregations over Order objects with the column store loops.
+ * Run manually: java -cp target/classes:target/test-classes com.laundry.OrderAnalyticsBenchmark [orders]
+ */
+public class OrderAnalyticsBenchmark {
+    private static final int ITERATIONS = 50;
+    
+    public static void main(String[] args) {
+        int orderCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        String[] statuses = {"Pending", "Processing", "Ready", "Completed", "Cancelled"};
+        
+        InMemoryOrderRepository repository = new InMemoryOrderRepository();
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order(repository.generateOrderId());
+            order.setCustomerName("Customer " + (i % 1000));
+            order.setService(i % 2 == 0 ? "Wash & Dry" : "Dry Clean");
+            order.setLaundryType(i % 3 == 0 ? "Express" : "Regular");
+            order.setStatus(statuses[i % statuses.length]);
+            order.setWeight(1 + (i % 10));
+            order.setTotal(5000.0 * (1 + (i % 10)));
+            repository.save(order);
+        }
+        
+        List<Order> orders = repository.findAll();
+        OrderColumnStore store = repository.getColumnStore();
+        LocalDate from = LocalDate.now().minusDays(30);
+        
+        System.out.println("Orders: " + orderCount + ", iterations: " + ITERATIONS);
+        
+        report("revenue (stream)", () -> orders.stream().mapToDouble(Order::getTotal).sum());
+        report("revenue (columns)", store::totalRevenueCents);
+        
+        report("count Pending (stream)", () -> orders.stream().filter(o -> "Pending".equals(o.getStatus())).count());
+        report("count Pending (columns)", () -> store.countByStatus(OrderStatus.PENDING));
+        
+        report("revenue by day (stream)", () -> {
+            double[] revenue = new double[31];
+            orders.stream()
+                  .filter(o -> !o.getOrderTime().toLocalDate().isBefore(from))
+                  .forEach(o -> {
+                      int day = (int) (o.getOrderTime().toLocalDate().toEpochDay() - from.toEpochDay());
+                      if (day < revenue.length) {
+                          revenue[day] += o.getTotal();
+                      }
+                  });
+            return revenue[30];
+        });
+        report("revenue by day (columns)", () -> store.revenueCentsByDay(from, 31)[30]);
+    }
+    
+    private static void report(String name, java.util.function.Supplier<Object> task) {
+        Object sink = null;
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            sink = task.get(); // warm-up
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = task.get();
+        }
+        double micros = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+        System.out.printf("%-28s %10.1f us/op  (%s)%n", name, micros, sink);
+    }
+}
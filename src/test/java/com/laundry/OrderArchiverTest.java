@@ -0,0 +1,92 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.repository.OrderFilter;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderArchiver;
+import com.laundry.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for moving old terminal orders to the archive tier.
+ */
+class OrderArchiverTest {
+
+    private InMemoryOrderRepository orderRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        orderService = new LocalOrderService(orderRepository, new InMemoryUserRepository());
+    }
+
+    private Order addOrder(String id, OrderStatus status, int daysAgo) {
+        Order order = new Order(id);
+        order.setCustomerName("john");
+        order.setTotal(1000.0);
+        order.setStatus(status);
+        order.setOrderTime(LocalDateTime.now().minusDays(daysAgo));
+        orderRepository.save(order);
+        return order;
+    }
+
+    @Test
+    @DisplayName("Should archive only old Completed and Cancelled orders, in chunks")
+    void testArchivesOldTerminalOrders() {
+        for (int i = 0; i < 7; i++) {
+            addOrder("OLD" + i, i % 2 == 0 ? OrderStatus.COMPLETED : OrderStatus.CANCELLED, 100 + i);
+        }
+        addOrder("RECENT", OrderStatus.COMPLETED, 5);
+        addOrder("OPEN", OrderStatus.READY, 200);
+
+        OrderArchiver archiver = new OrderArchiver(orderService, Duration.ofDays(90), 3, Duration.ZERO);
+        assertEquals(7, archiver.runOnce());
+
+        assertEquals(2, orderRepository.countAll());
+        assertEquals(7, orderRepository.countArchived());
+        assertNull(orderRepository.findById("OLD0"));
+        assertNotNull(orderRepository.findById("RECENT"));
+        assertNotNull(orderRepository.findById("OPEN"));
+        assertEquals(2, orderRepository.findByCustomerName("john").size());
+        assertEquals(1, orderRepository.countByStatus(OrderStatus.COMPLETED));
+        assertEquals(2000, orderRepository.sumTotals().getCents() / 100);
+
+        // Nothing left to move
+        assertEquals(0, archiver.runOnce());
+    }
+
+    @Test
+    @DisplayName("Should read archived orders only when asked")
+    void testHistoryCoversBothTiers() {
+        addOrder("OLD1", OrderStatus.COMPLETED, 120);
+        addOrder("NEW1", OrderStatus.PENDING, 1);
+        new OrderArchiver(orderService, Duration.ofDays(90), 10, Duration.ZERO).runOnce();
+
+        List<Order> history = orderService.getCustomerHistory("john");
+        assertEquals(2, history.size());
+        assertEquals("NEW1", history.get(0).getOrderId());
+        assertEquals("OLD1", history.get(1).getOrderId());
+        assertEquals(1, orderService.getOrdersByCustomer("john").size());
+
+        List<String> streamed = new ArrayList<>();
+        orderRepository.streamOrders(OrderFilter.all(), o -> streamed.add(o.getOrderId()));
+        assertEquals(List.of("NEW1"), streamed);
+
+        streamed.clear();
+        orderRepository.streamOrders(OrderFilter.builder().includeArchived().build(), o -> streamed.add(o.getOrderId()));
+        assertEquals(List.of("OLD1", "NEW1"), streamed);
+    }
+}
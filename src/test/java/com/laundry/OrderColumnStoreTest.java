@@ -0,0 +1,89 @@
+package com.laundry;
+
+import com.laundry.model.CatalogCode;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.OrderColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar analytics store behind InMemoryOrderRepository.
+ */
+class OrderColumnStoreTest {
+    
+    private InMemoryOrderRepository orderRepository;
+    
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        String[] statuses = {"Pending", "Processing", "Completed"};
+        String[] services = {"Wash & Dry", "Dry Clean", "Wash Only"};
+        for (int i = 0; i < 3000; i++) {
+            Order order = new Order(orderRepository.generateOrderId());
+            order.setCustomerName("Customer " + (i % 50));
+            order.setLaundryType(i % 2 == 0 ? "Regular" : "Express");
+            order.setService(services[i % services.length]);
+            order.setStatus(statuses[i % statuses.length]);
+            order.setWeight(1 + (i % 7));
+            order.setTotal(1000.0 * (1 + (i % 9)));
+            orderRepository.save(order);
+        }
+    }
+    
+    @Test
+    @DisplayName("Should match stream aggregations over Order objects")
+    void testAggregationsMatchStreams() {
+        List<Order> orders = orderRepository.findAll();
+        OrderColumnStore store = orderRepository.getColumnStore();
+        
+        assertEquals(orders.size(), store.size());
+        assertEquals(orders.stream().mapToLong(Order::getTotalCents).sum(), store.totalRevenueCents());
+        assertEquals(orders.stream().filter(o -> "Pending".equals(o.getStatus())).count(),
+                     store.countByStatus(OrderStatus.PENDING));
+        assertEquals(orders.stream().filter(o -> "Dry Clean".equals(o.getService()))
+                           .mapToLong(Order::getTotalCents).sum(),
+                     store.revenueCentsByService(CatalogCode.DRY_CLEAN));
+        assertEquals(orders.stream().filter(o -> "Express".equals(o.getLaundryType()))
+                           .mapToDouble(Order::getWeight).sum(),
+                     store.weightByLaundryType(CatalogCode.EXPRESS), 0.001);
+        
+        Map<OrderStatus, Integer> counts = store.countsByStatus();
+        assertEquals(1000, counts.get(OrderStatus.PENDING));
+        assertEquals(1000, counts.get(OrderStatus.PROCESSING));
+        assertEquals(1000, counts.get(OrderStatus.COMPLETED));
+        assertEquals(0, store.countByStatus(OrderStatus.CANCELLED));
+    }
+    
+    @Test
+    @DisplayName("Should bucket revenue by order day")
+    void testRevenueByDay() {
+        LocalDate today = LocalDate.now();
+        long[] revenue = orderRepository.revenueCentsByDay(today.minusDays(1), 3);
+        
+        assertEquals(3, revenue.length);
+        assertEquals(0, revenue[0]);
+        assertEquals(orderRepository.sumTotals().getCents(), revenue[1] + revenue[2]);
+    }
+    
+    @Test
+    @DisplayName("Should overwrite columns when an order is updated")
+    void testUpdateOverwritesRow() {
+        Order order = orderRepository.findById("ORD001");
+        long pendingBefore = orderRepository.countByStatus(OrderStatus.PENDING);
+        
+        order.setStatus("Completed");
+        orderRepository.updateOrder(order);
+        
+        assertEquals(3000, orderRepository.getColumnStore().size());
+        assertEquals(pendingBefore - 1, orderRepository.countByStatus(OrderStatus.PENDING));
+    }
+}
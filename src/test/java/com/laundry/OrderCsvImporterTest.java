@@ -0,0 +1,114 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.service.ImportReport;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderCsvImporter;
+import com.laundry.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderCsvImporter.
+ */
+class OrderCsvImporterTest {
+
+    private InMemoryOrderRepository orderRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        orderService = new LocalOrderService(orderRepository, new InMemoryUserRepository());
+    }
+
+    @Test
+    @DisplayName("Should import, price and reject rows with line numbers")
+    void testImportValidatesAndPrices() throws IOException {
+        String csv = "order_id,customer_name,phone,address,laundry_type,service,weight,status,order_time\n"
+            + "IMP001,\"Doe, John\",0811,Jl. A,Wash & Dry,Regular,2,,2024-01-05T10:15:00\n"
+            + "IMP002,Jane,0812,,Dry Clean,Express,1.5,Ready,\n"
+            + "IMP003,Bad Weight,0813,,Wash Only,Regular,heavy,,\n"
+            + "\n"
+            + "IMP004,Bad Status,0814,,Wash Only,Regular,1,Lost,\n"
+            + ",No Id,0815,,Wash Only,Regular,1,,\n";
+
+        ImportReport report = new OrderCsvImporter(orderService, 1, 2, 1).importFrom(new StringReader(csv));
+
+        assertEquals(5, report.getRowsRead());
+        assertEquals(2, report.getRowsImported());
+        assertEquals(3, report.getRowsRejected());
+        assertEquals(4, report.getRejectedRows().get(0).getLineNumber());
+
+        Order first = orderRepository.findById("IMP001");
+        assertEquals("Doe, John", first.getCustomerName());
+        assertEquals(10000.0, first.getTotal());
+        assertEquals(LocalDateTime.of(2024, 1, 5, 10, 15), first.getOrderTime());
+
+        Order second = orderRepository.findById("IMP002");
+        assertEquals(OrderStatus.READY, second.getOrderStatus());
+        assertEquals(22500.0, second.getTotal());
+    }
+
+    @Test
+    @DisplayName("Should stream many rows through small batches")
+    void testImportManyRows() throws IOException {
+        StringBuilder csv = new StringBuilder("order_id,customer_name,phone,laundry_type,service,weight\n");
+        for (int i = 0; i < 5000; i++) {
+            csv.append("IMP").append(i).append(",Customer ").append(i % 10)
+               .append(",08").append(i).append(",Wash & Dry,Regular,1\n");
+        }
+
+        ImportReport report = new OrderCsvImporter(orderService, 100, 4, 2).importFrom(new StringReader(csv.toString()));
+
+        assertEquals(5000, report.getRowsImported());
+        assertEquals(0, report.getRowsRejected());
+        assertEquals(5000, orderRepository.size());
+        assertTrue(report.getRowsPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Should reject only the rows the store refuses")
+    void testFailedBatchIsRetriedRowByRow() throws IOException {
+        InMemoryOrderRepository refusing = new InMemoryOrderRepository() {
+            @Override
+            public void save(Order order) {
+                if (order.getOrderId().equals("IMP002")) {
+                    throw new RuntimeException("duplicate key");
+                }
+                super.save(order);
+            }
+        };
+        OrderService service = new LocalOrderService(refusing, new InMemoryUserRepository());
+        String csv = "order_id,customer_name,phone,laundry_type,service,weight\n"
+            + "IMP001,A,0811,Wash & Dry,Regular,1\n"
+            + "IMP002,B,0812,Wash & Dry,Regular,1\n"
+            + "IMP003,C,0813,Wash & Dry,Regular,1\n";
+
+        ImportReport report = new OrderCsvImporter(service, 10, 1, 1).importFrom(new StringReader(csv));
+
+        assertEquals(2, report.getRowsImported());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals(3, report.getRejectedRows().get(0).getLineNumber());
+        assertTrue(report.getRejectedRows().get(0).getReason().contains("duplicate key"));
+        assertNotNull(refusing.findById("IMP003"));
+    }
+
+    @Test
+    @DisplayName("Should refuse files without the required columns")
+    void testMissingColumnsRejected() {
+        OrderCsvImporter importer = new OrderCsvImporter(orderService);
+        assertThrows(IllegalArgumentException.class,
+            () -> importer.importFrom(new StringReader("order_id,customer_name\nIMP001,A\n")));
+    }
+}
@@ -0,0 +1,129 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.repository.OrderFilter;
+import com.laundry.service.ExportReport;
+import com.laundry.service.ImportReport;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderCsvImporter;
+import com.laundry.service.OrderExporter;
+import com.laundry.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderExporter.
+ */
+class OrderExporterTest {
+
+    private InMemoryOrderRepository orderRepository;
+    private OrderService orderService;
+    private OrderExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        orderService = new LocalOrderService(orderRepository, new InMemoryUserRepository());
+        exporter = new OrderExporter(orderService);
+
+        addOrder("ORD001", "Doe, \"Johnny\"", LocalDateTime.of(2024, 1, 1, 9, 0), OrderStatus.COMPLETED);
+        addOrder("ORD002", "Jane", LocalDateTime.of(2024, 1, 2, 9, 0), OrderStatus.READY);
+        addOrder("ORD003", "Budi", LocalDateTime.of(2024, 1, 3, 9, 0), OrderStatus.READY);
+    }
+
+    private void addOrder(String id, String customer, LocalDateTime time, OrderStatus status) {
+        Order order = new Order(id);
+        order.setCustomerName(customer);
+        order.setPhone("0811");
+        order.setAddress("Jl. Merdeka 1");
+        order.setLaundryType("Wash & Dry");
+        order.setService("Regular");
+        order.setWeight(2.0);
+        order.setTotal(10000.0);
+        order.setStatus(status);
+        order.setOrderTime(time);
+        orderRepository.save(order);
+    }
+
+    @Test
+    @DisplayName("Should export CSV oldest first that imports back unchanged")
+    void testCsvRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ExportReport report = exporter.export(Channels.newChannel(bytes), OrderExporter.Format.CSV,
+            OrderFilter.all(), null);
+
+        String csv = bytes.toString(StandardCharsets.UTF_8);
+        assertEquals(3, report.getRowsWritten());
+        assertEquals(csv.getBytes(StandardCharsets.UTF_8).length, report.getBytesWritten());
+        assertTrue(csv.split("\n")[1].startsWith("ORD001,\"Doe, \"\"Johnny\"\"\""));
+
+        InMemoryOrderRepository target = new InMemoryOrderRepository();
+        ImportReport imported = new OrderCsvImporter(new LocalOrderService(target, new InMemoryUserRepository()))
+            .importFrom(new StringReader(csv));
+        assertEquals(3, imported.getRowsImported());
+        Order copy = target.findById("ORD001");
+        assertEquals("Doe, \"Johnny\"", copy.getCustomerName());
+        assertEquals(OrderStatus.COMPLETED, copy.getOrderStatus());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 9, 0), copy.getOrderTime());
+    }
+
+    @Test
+    @DisplayName("Should apply date-range and status filters")
+    void testFilteredJsonExport() throws IOException {
+        OrderFilter filter = OrderFilter.builder()
+            .days(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 2))
+            .status(OrderStatus.READY)
+            .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ExportReport report = exporter.export(Channels.newChannel(bytes), OrderExporter.Format.JSON, filter, null);
+
+        String json = bytes.toString(StandardCharsets.UTF_8);
+        assertEquals(1, report.getRowsWritten());
+        assertTrue(json.startsWith("[\n  {\"order_id\": \"ORD002\""));
+        assertTrue(json.contains("\"weight\": 2.0"));
+        assertTrue(json.endsWith("}\n]\n"));
+    }
+
+    @Test
+    @DisplayName("Should gzip file output and report progress")
+    void testGzipFileExport(@TempDir Path dir) throws IOException {
+        for (int i = 4; i <= 25_000; i++) {
+            addOrder(String.format("ORD%05d", i), "Bulk", LocalDateTime.of(2024, 2, 1, 0, 0).plusMinutes(i),
+                OrderStatus.PENDING);
+        }
+        Path file = dir.resolve("orders.csv.gz");
+        List<Long> progress = new ArrayList<>();
+
+        ExportReport report = exporter.export(file, OrderExporter.Format.CSV, true, OrderFilter.all(), progress::add);
+
+        assertEquals(25_000, report.getRowsWritten());
+        assertEquals(List.of(10_000L, 20_000L, 25_000L), progress);
+        try (InputStreamReader reader = new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8)) {
+            ImportReport imported = new OrderCsvImporter(
+                new LocalOrderService(new InMemoryOrderRepository(), new InMemoryUserRepository())).importFrom(reader);
+            assertEquals(25_000, imported.getRowsImported());
+        }
+    }
+}
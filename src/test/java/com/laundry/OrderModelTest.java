@@ -0,0 +1,65 @@
+package com.laundry;
+
+import com.laundry.model.CatalogCode;
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the typed Order fields: status, catalogue codes and money.
+ */
+class OrderModelTest {
+    
+    @Test
+    @DisplayName("Should parse status labels including the legacy alias")
+    void testStatusLabels() {
+        assertEquals(OrderStatus.PENDING, OrderStatus.fromLabel("Pending"));
+        assertEquals(OrderStatus.READY, OrderStatus.fromLabel(" ready "));
+        assertEquals(OrderStatus.PROCESSING, OrderStatus.fromLabel("In Progress"));
+        assertNull(OrderStatus.fromLabel("Lost"));
+        assertNull(OrderStatus.fromLabel(null));
+    }
+    
+    @Test
+    @DisplayName("Should reject unknown status labels on orders")
+    void testRejectUnknownStatus() {
+        Order order = new Order("ORD001");
+        
+        assertThrows(IllegalArgumentException.class, () -> order.setStatus("Lost"));
+        order.setStatus("   ");
+        assertEquals(OrderStatus.PENDING, order.getOrderStatus());
+    }
+    
+    @Test
+    @DisplayName("Should share catalogue codes between orders")
+    void testCatalogCodesAreInterned() {
+        Order first = new Order("ORD001");
+        Order second = new Order("ORD002");
+        first.setService(new String("Dry Clean"));
+        second.setService("Dry Clean");
+        
+        assertSame(first.getServiceCode(), second.getServiceCode());
+        assertSame(CatalogCode.DRY_CLEAN, first.getServiceCode());
+        assertEquals("Dry Clean", first.getService());
+    }
+    
+    @Test
+    @DisplayName("Should keep money sums exact")
+    void testMoneyIsExact() {
+        Money sum = Money.ZERO;
+        for (int i = 0; i < 10; i++) {
+            sum = sum.plus(Money.ofRupiah(0.1));
+        }
+        
+        assertEquals(Money.ofRupiah(1.0), sum);
+        assertEquals(Money.ofCents(250050), Money.of(new BigDecimal("2500.50")));
+        assertEquals(Money.ofRupiah(12500), Money.ofRupiah(5000).times(2.5));
+        assertEquals("Rp " + String.format("%,.0f", 25000.0), Money.ofRupiah(25000).format());
+    }
+}
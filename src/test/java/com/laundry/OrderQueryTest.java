@@ -0,0 +1,110 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.OrderFilter;
+import com.laundry.repository.OrderPage;
+import com.laundry.repository.OrderQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for paged, filtered and sorted order queries.
+ */
+class OrderQueryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private InMemoryOrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        addOrder("ORD001", "Carol", "Regular", OrderStatus.PENDING, 0);
+        addOrder("ORD002", "Alice", "Express", OrderStatus.READY, 1);
+        addOrder("ORD003", "Bob", "Regular", OrderStatus.COMPLETED, 2);
+        addOrder("ORD004", "Alice", "Regular", OrderStatus.PENDING, 3);
+        addOrder("ORD005", "Bob", "Express", OrderStatus.PROCESSING, 4);
+    }
+
+    private void addOrder(String id, String name, String service, OrderStatus status, int day) {
+        Order order = new Order(id);
+        order.setCustomerName(name);
+        order.setService(service);
+        order.setStatus(status);
+        order.setOrderTime(BASE.plusDays(day));
+        orderRepository.save(order);
+    }
+
+    private List<String> ids(OrderPage page) {
+        return page.getOrders().stream().map(Order::getOrderId).collect(Collectors.toList());
+    }
+
+    private OrderPage query(OrderQuery.SortField field, boolean ascending, OrderFilter filter) {
+        return orderRepository.query(OrderQuery.builder().filter(filter).sortBy(field, ascending).build());
+    }
+
+    @Test
+    @DisplayName("Should sort by each indexed column with order time as tie-breaker")
+    void testSorting() {
+        assertEquals(List.of("ORD005", "ORD004", "ORD003", "ORD002", "ORD001"),
+            ids(query(OrderQuery.SortField.ORDER_TIME, false, OrderFilter.all())));
+        assertEquals(List.of("ORD001", "ORD002", "ORD003", "ORD004", "ORD005"),
+            ids(query(OrderQuery.SortField.ORDER_ID, true, OrderFilter.all())));
+        assertEquals(List.of("ORD002", "ORD004", "ORD003", "ORD005", "ORD001"),
+            ids(query(OrderQuery.SortField.CUSTOMER, true, OrderFilter.all())));
+        // Status sorts by label: Completed, Pending, Processing, Ready
+        assertEquals(List.of("ORD002", "ORD005", "ORD004", "ORD001", "ORD003"),
+            ids(query(OrderQuery.SortField.STATUS, false, OrderFilter.all())));
+    }
+
+    @Test
+    @DisplayName("Should filter by status, service and day range")
+    void testFiltering() {
+        OrderFilter active = OrderFilter.builder().status(OrderStatus.PENDING, OrderStatus.PROCESSING).build();
+        assertEquals(List.of("ORD001", "ORD004", "ORD005"),
+            ids(query(OrderQuery.SortField.ORDER_TIME, true, active)));
+
+        OrderFilter regular = OrderFilter.builder().service("Regular")
+            .days(BASE.toLocalDate().plusDays(1), BASE.toLocalDate().plusDays(3)).build();
+        assertEquals(List.of("ORD004", "ORD003"),
+            ids(query(OrderQuery.SortField.ORDER_TIME, false, regular)));
+        assertEquals(List.of("ORD003", "ORD004"),
+            ids(query(OrderQuery.SortField.CUSTOMER, false, regular)));
+    }
+
+    @Test
+    @DisplayName("Should page through matches and report the total")
+    void testPaging() {
+        OrderQuery first = OrderQuery.builder().sortBy(OrderQuery.SortField.ORDER_ID, true).page(0, 2).build();
+        OrderPage page = orderRepository.query(first);
+        assertEquals(List.of("ORD001", "ORD002"), ids(page));
+        assertEquals(5, page.getTotalCount());
+        assertFalse(page.hasPreviousPage());
+        assertTrue(page.hasNextPage());
+
+        OrderPage last = orderRepository.query(
+            OrderQuery.builder().sortBy(OrderQuery.SortField.ORDER_ID, true).page(4, 2).build());
+        assertEquals(List.of("ORD005"), ids(last));
+        assertFalse(last.hasNextPage());
+    }
+
+    @Test
+    @DisplayName("Should reject sorts and pages no index can answer")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class,
+            () -> OrderQuery.builder().sortBy(OrderQuery.SortField.TOTAL, true).build());
+        assertThrows(IllegalArgumentException.class,
+            () -> OrderQuery.builder().page(0, OrderQuery.MAX_PAGE_SIZE + 1).build());
+        assertThrows(IllegalArgumentException.class,
+            () -> OrderQuery.builder().filter(OrderFilter.builder().includeArchived().build()).build());
+    }
+}
@@ -0,0 +1,83 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the admin order search index.
+ */
+class OrderSearchTest {
+
+    private InMemoryOrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        addOrder("ORD001", "John Doe", "081234567890", 3);
+        addOrder("ORD002", "Jane Smith", "081298765432", 2);
+        addOrder("ORD003", "Johnny Walker", "085500011122", 1);
+    }
+
+    private Order addOrder(String id, String name, String phone, int daysAgo) {
+        Order order = new Order(id);
+        order.setCustomerName(name);
+        order.setPhone(phone);
+        order.setOrderTime(LocalDateTime.now().minusDays(daysAgo));
+        orderRepository.save(order);
+        return order;
+    }
+
+    private List<String> search(String query) {
+        return orderRepository.search(query, 10).stream()
+            .map(Order::getOrderId)
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should match name, ID and phone prefixes and phone suffixes")
+    void testPrefixMatching() {
+        assertEquals(List.of("ORD003", "ORD001"), search("joh"));
+        assertEquals(List.of("ORD002"), search("ord002"));
+        assertEquals(List.of("ORD002", "ORD001"), search("0812"));
+        assertEquals(List.of("ORD003"), search("1122"));
+        assertEquals(List.of("ORD001"), search("john doe"));
+        assertTrue(search("smith john").isEmpty());
+        assertTrue(search("   ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank exact matches first and respect the limit")
+    void testRanking() {
+        // "john" is an exact word for ORD001 but only a prefix of "johnny"
+        assertEquals("ORD001", search("john").get(0));
+        assertEquals(1, orderRepository.search("ord", 1).size());
+        assertEquals("ORD003", orderRepository.search("ord", 1).get(0).getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should follow renames and drop archived orders")
+    void testIncrementalUpdates() {
+        Order order = orderRepository.findById("ORD002");
+        order.setCustomerName("Jane Brown");
+        order.setStatus(OrderStatus.COMPLETED);
+        orderRepository.updateOrder(order);
+
+        assertTrue(search("smith").isEmpty());
+        assertEquals(List.of("ORD002"), search("brown"));
+
+        orderRepository.archiveOrders(EnumSet.of(OrderStatus.COMPLETED), LocalDateTime.now(), 10);
+        assertTrue(search("brown").isEmpty());
+        assertTrue(search("ord002").isEmpty());
+    }
+}
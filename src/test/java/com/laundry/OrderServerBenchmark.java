@@ -0,0 +1,108 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.repository.OrderQuery;
+import com.laundry.repository.RemoteOrderRepository;
+import com.laundry.server.OrderServer;
+import com.laundry.server.RpcClient;
+import com.laundry.service.AuthenticationService;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.TaskExecutors;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures order server throughput over loopback: terminal-like callers mix
+ * lookups, counts and grid pages through RemoteOrderRepository, with and
+ * without request batching.
+ * Run manually: java -cp target/classes:target/test-classes com.laundry.OrderServerBenchmark [callers] [seconds]
+ */
+public class OrderServerBenchmark {
+    private static final int ORDERS = 10_000;
+    private static final String TOKEN = "bench-token";
+
+    public static void main(String[] args) throws Exception {
+        int callers = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        InMemoryOrderRepository store = new InMemoryOrderRepository();
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Order> seed = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(String.format("ORD%06d", i));
+            order.setCustomerName("Customer " + (i % 500));
+            order.setPhone("0811" + i);
+            order.setAddress("Jl. Merdeka No. " + i);
+            order.setLaundryType("Wash & Dry");
+            order.setService(i % 3 == 0 ? "Express" : "Regular");
+            order.setWeight(1 + i % 7);
+            order.setTotal(7000.0 * (1 + i % 7));
+            order.setStatus(OrderStatus.values()[i % OrderStatus.values().length]);
+            order.setOrderTime(start.plusMinutes(i * 4L));
+            seed.add(order);
+        }
+        store.saveAll(seed);
+        InMemoryUserRepository users = new InMemoryUserRepository();
+
+        OrderServer server = new OrderServer(store, users, new LocalOrderService(store, users), new AuthenticationService(users),
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), TOKEN,
+            TaskExecutors.newTaskExecutor("bench-server", 64));
+        server.start();
+        String url = "http://localhost:" + server.getPort();
+        System.out.println("Orders: " + ORDERS + ", callers: " + callers + ", seconds: " + seconds
+            + ", virtual threads: " + TaskExecutors.virtualThreadsAvailable());
+
+        run("warm-up", new RpcClient(url, TOKEN, Duration.ofMillis(1), 64, Duration.ofSeconds(30)), callers, 1);
+        run("no batching", new RpcClient(url, TOKEN, Duration.ZERO, 1, Duration.ofSeconds(30)), callers, seconds);
+        run("batch 1ms", new RpcClient(url, TOKEN, Duration.ofMillis(1), 64, Duration.ofSeconds(30)), callers, seconds);
+        run("batch 2ms", new RpcClient(url, TOKEN, Duration.ofMillis(2), 64, Duration.ofSeconds(30)), callers, seconds);
+
+        server.stop();
+        System.exit(0);
+    }
+
+    private static void run(String name, RpcClient client, int callers, int seconds) throws Exception {
+        RemoteOrderRepository orders = new RemoteOrderRepository(client);
+        OrderQuery page = OrderQuery.builder().page(0, 50).build();
+        AtomicLong ops = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int c = 0; c < callers; c++) {
+            int caller = c;
+            workers.add(executor.submit(() -> {
+                int i = caller;
+                while (System.nanoTime() < deadline) {
+                    switch (i++ % 4) {
+                        case 0: orders.findById(String.format("ORD%06d", i % ORDERS)); break;
+                        case 1: orders.countByStatus(OrderStatus.PENDING); break;
+                        case 2: orders.query(page); break;
+                        default: orders.countAll();
+                    }
+                    ops.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        client.close();
+
+        System.out.printf("%-12s %10.0f calls/s  %6.1f calls/request%n", name,
+            ops.get() / (double) seconds, client.getCallCount() / (double) Math.max(client.getRequestCount(), 1));
+    }
+}
@@ -0,0 +1,349 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.PickupSlot;
+import com.laundry.model.User;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryPickupSlotRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.repository.OrderFilter;
+import com.laundry.repository.OrderPage;
+import com.laundry.repository.OrderQuery;
+import com.laundry.repository.RemoteOrderRepository;
+import com.laundry.repository.RemoteUserRepository;
+import com.laundry.repository.UpdateResult;
+import com.laundry.server.Json;
+import com.laundry.server.OrderServer;
+import com.laundry.server.RpcClient;
+import com.laundry.service.AuthenticationService;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderService;
+import com.laundry.service.PickupScheduler;
+import com.laundry.service.PricingEngine;
+import com.laundry.service.RemoteAuthenticationService;
+import com.laundry.service.RemoteOrderService;
+import com.laundry.service.TaskExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the headless order server and its thin-client repositories and services.
+ */
+class OrderServerTest {
+
+    private static final String TOKEN = "test-token";
+
+    private InMemoryOrderRepository serverOrders;
+    private InMemoryUserRepository serverUsers;
+    private OrderService serverService;
+    private AtomicInteger serverPriceLoads;
+    private OrderServer server;
+    private RpcClient client;
+    private RemoteOrderRepository orders;
+    private RemoteUserRepository users;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverOrders = new InMemoryOrderRepository();
+        serverUsers = new InMemoryUserRepository();
+        // One pickup per slot, so a second booking of the same slot must fail
+        serverPriceLoads = new AtomicInteger();
+        serverService = LocalOrderService.builder(serverOrders, serverUsers)
+            .pricingEngine(new PricingEngine(() -> {
+                serverPriceLoads.incrementAndGet();
+                return PricingEngine.loadClasspathMatrix();
+            }))
+            .pickupScheduler(PickupScheduler.builder(new InMemoryPickupSlotRepository()).capacity(1).build())
+            .build();
+        server = new OrderServer(serverOrders, serverUsers, serverService, new AuthenticationService(serverUsers),
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), TOKEN,
+            TaskExecutors.newTaskExecutor("test-server", 8));
+        server.start();
+        client = new RpcClient(url(), TOKEN, Duration.ofMillis(5), 64, Duration.ofSeconds(10));
+        orders = new RemoteOrderRepository(client);
+        users = new RemoteUserRepository(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getPort();
+    }
+
+    private static Order order(String id, String customer, OrderStatus status, LocalDateTime time) {
+        Order order = new Order(id);
+        order.setCustomerName(customer);
+        order.setPhone("0811");
+        order.setAddress("Jl. \"Merdeka\" No. 1\n");
+        order.setLaundryType("Wash & Dry");
+        order.setService("Express");
+        order.setWeight(2.5);
+        order.setTotal(17500.25);
+        order.setStatus(status);
+        order.setOrderTime(time);
+        order.setPickupTime(time.plusDays(1));
+        return order;
+    }
+
+    @Test
+    @DisplayName("Should round-trip orders through the server, including version checks")
+    void testOrderRoundTrip() {
+        LocalDateTime time = LocalDateTime.of(2024, 3, 4, 9, 15, 30);
+        orders.save(order("ORD001", "John Doe", OrderStatus.PENDING, time));
+
+        Order loaded = orders.findById("ORD001");
+        assertEquals("John Doe", loaded.getCustomerName());
+        assertEquals("Jl. \"Merdeka\" No. 1\n", loaded.getAddress());
+        assertEquals("Wash & Dry", loaded.getLaundryType());
+        assertEquals(1750025, loaded.getTotalCents());
+        assertEquals(time, loaded.getOrderTime());
+        assertEquals(time.plusDays(1), loaded.getPickupTime());
+        assertNull(orders.findById("ORD404"));
+
+        Order stale = orders.findById("ORD001");
+        loaded.setStatus(OrderStatus.PROCESSING);
+        assertEquals(UpdateResult.UPDATED, orders.updateOrder(loaded));
+        assertEquals(serverOrders.findById("ORD001").getVersion(), loaded.getVersion());
+        assertEquals(UpdateResult.CONFLICT, orders.updateOrder(stale));
+        assertEquals(OrderStatus.PROCESSING, orders.findById("ORD001").getOrderStatus());
+    }
+
+    @Test
+    @DisplayName("Should answer queries, counts and totals like the server's store")
+    void testQueriesMatchServer() {
+        LocalDateTime time = LocalDateTime.of(2024, 3, 4, 8, 0);
+        for (int i = 0; i < 30; i++) {
+            serverOrders.save(order(String.format("ORD%03d", i), "Customer " + (i % 3),
+                i % 2 == 0 ? OrderStatus.PENDING : OrderStatus.COMPLETED, time.plusHours(i)));
+        }
+
+        OrderQuery query = OrderQuery.builder()
+            .filter(OrderFilter.builder().status(OrderStatus.PENDING).build())
+            .sortBy(OrderQuery.SortField.ORDER_TIME, true)
+            .page(5, 4)
+            .build();
+        OrderPage expected = serverOrders.query(query);
+        OrderPage page = orders.query(query);
+        assertEquals(expected.getTotalCount(), page.getTotalCount());
+        assertEquals(ids(expected.getOrders()), ids(page.getOrders()));
+
+        assertEquals(serverOrders.countAll(), orders.countAll());
+        assertEquals(15, orders.countByStatus(OrderStatus.COMPLETED));
+        assertEquals(serverOrders.sumTotals(), orders.sumTotals());
+        assertArrayEquals(serverOrders.revenueCentsByDay(time.toLocalDate(), 3),
+            orders.revenueCentsByDay(time.toLocalDate(), 3));
+        assertEquals(ids(serverOrders.findByCustomerName("Customer 1")), ids(orders.findByCustomerName("Customer 1")));
+
+        List<Order> streamed = new ArrayList<>();
+        orders.streamOrders(OrderFilter.all(), streamed::add);
+        assertEquals(30, streamed.size());
+    }
+
+    @Test
+    @DisplayName("Should stream exports line by line in the server's order")
+    void testStreamOrders() {
+        LocalDateTime time = LocalDateTime.of(2024, 3, 4, 8, 0);
+        for (int i = 0; i < 5000; i++) {
+            serverOrders.save(order(String.format("ORD%05d", i), "Customer " + (i % 7),
+                i % 3 == 0 ? OrderStatus.PENDING : OrderStatus.COMPLETED, time.plusMinutes(i)));
+        }
+        OrderFilter filter = OrderFilter.builder().status(OrderStatus.PENDING).build();
+
+        List<Order> expected = new ArrayList<>();
+        serverOrders.streamOrders(filter, expected::add);
+        List<Order> streamed = new ArrayList<>();
+        orders.streamOrders(filter, streamed::add);
+        assertEquals(1667, streamed.size());
+        assertEquals(ids(expected), ids(streamed));
+        assertEquals(expected.get(0).getTotalCents(), streamed.get(0).getTotalCents());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> client.stream("orders", "getAllOrders", item -> { }));
+    }
+
+    @Test
+    @DisplayName("Should keep user versions and surface server-side argument errors")
+    void testUsersAndErrors() {
+        users.addUser(new User("john", "123", "John Doe", "0811", "Addr", "MEMBER"));
+        User john = users.getUser("john");
+        john.addPoints(40);
+        assertEquals(UpdateResult.UPDATED, users.updateUser(john));
+        assertEquals(40, users.findMemberByPhone("0811").getPoints());
+        assertTrue(users.userExists("john"));
+        assertEquals(1, users.getAllMembers().size());
+
+        assertThrows(IllegalArgumentException.class, () -> client.call("orders", "dropTable"));
+        // The failed call does not break the client for later ones
+        assertEquals(0, orders.countArchived());
+    }
+
+    @Test
+    @DisplayName("Should refuse requests without the token and keep stored passwords on the server")
+    void testTokenAndPasswords() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        for (String header : new String[]{null, "Bearer wrong"}) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url() + "/api/rpc"))
+                .POST(HttpRequest.BodyPublishers.ofString("[{\"target\": \"users\", \"method\": \"getAllMembers\"}]"));
+            if (header != null) {
+                request.header("Authorization", header);
+            }
+            assertEquals(401, http.send(request.build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+        }
+        try (RpcClient intruder = new RpcClient(url(), "wrong", Duration.ZERO, 1, Duration.ofSeconds(10))) {
+            assertThrows(RuntimeException.class, () -> new RemoteOrderRepository(intruder).countAll());
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> new RpcClient(url(), " ", Duration.ZERO, 1, Duration.ofSeconds(10)));
+
+        AuthenticationService auth = new RemoteAuthenticationService(users, client);
+        assertTrue(auth.registerUser("john", "123", "John Doe", "0811", "Addr"));
+        assertNull(users.getUser("john").getPassword());
+        assertNull(auth.authenticate("john", "wrong"));
+        User john = auth.authenticate("john", "123");
+        assertEquals("John Doe", john.getFullName());
+        assertNull(john.getPassword());
+
+        // A profile update without a new password keeps the stored one
+        john.setAddress("New Addr");
+        assertEquals(UpdateResult.UPDATED, users.updateUser(john));
+        assertEquals("123", serverUsers.getUser("john").getPassword());
+        john.setPassword("456");
+        assertEquals(UpdateResult.UPDATED, users.updateUser(john));
+        assertNotNull(auth.authenticate("john", "456"));
+    }
+
+    @Test
+    @DisplayName("Should share points, pickup bookings, history and rollups between terminals")
+    void testTerminalsShareServiceState() {
+        serverUsers.addUser(new User("john", "123", "John Doe", "0811", "Addr", "MEMBER"));
+        User john = serverUsers.getUser("john");
+        try (RpcClient otherClient = new RpcClient(url(), TOKEN, Duration.ofMillis(5), 64, Duration.ofSeconds(10))) {
+            OrderService first = new RemoteOrderService(orders, client);
+            OrderService second = new RemoteOrderService(new RemoteOrderRepository(otherClient), otherClient);
+
+            PickupSlot slot = first.getAvailablePickupSlots("Express", 3).get(0);
+            Order order = first.createOrderForUser(john, "0811", "Addr", "Wash & Dry", "Express", 2.0, slot.getStart());
+            assertEquals(slot.getStart(), order.getPickupTime());
+            assertNotNull(serverOrders.findById(order.getOrderId()));
+
+            // The slot is full for every terminal, not just the one that booked it
+            assertNotEquals(slot.getStart(), second.getAvailablePickupSlots("Express", 3).get(0).getStart());
+            assertThrows(IllegalStateException.class, () ->
+                second.createOrderForUser(john, "0811", "Addr", "Wash & Dry", "Express", 1.0, slot.getStart()));
+
+            int balance = second.getPointsService().getBalance("john");
+            assertTrue(balance > 0);
+            assertEquals(serverService.getPointsService().getBalance("john"), balance);
+            assertEquals(order.getOrderId(), second.getPointsService().getHistory("john", 1).get(0).getOrderId());
+
+            Order stale = second.getAllOrders().get(0);
+            assertEquals(UpdateResult.UPDATED, first.updateOrderStatus(order, OrderStatus.PROCESSING));
+            assertEquals(serverOrders.findById(order.getOrderId()).getVersion(), order.getVersion());
+            assertEquals(UpdateResult.CONFLICT, second.updateOrderStatus(stale, OrderStatus.CANCELLED));
+            assertThrows(IllegalStateException.class, () -> first.updateOrderStatus(order, OrderStatus.PENDING));
+            assertEquals(1, second.updateStatuses(List.of(order.getOrderId()), OrderStatus.READY));
+
+            assertEquals(2, second.getStatusHistory(order.getOrderId()).size());
+            assertEquals(1, second.getStageDwellTimes(LocalDate.now(), LocalDate.now()).get(OrderStatus.PENDING).getCount());
+            assertEquals(1, second.getCustomerStats("john").getOrderCount());
+            assertEquals(order.getTotalCents(), second.getCustomerStats("john").getSpendCents());
+            assertEquals(serverService.getDailyStats(LocalDate.now(), LocalDate.now()).size(),
+                second.getDailyStats(LocalDate.now(), LocalDate.now()).size());
+            assertArrayEquals(serverService.getRevenueCentsByDay(LocalDate.now(), 1),
+                first.getRevenueCentsByDay(LocalDate.now(), 1));
+            assertTrue(second.getMachineLoads().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should price, reload prices and archive with the server's service")
+    void testPricingAndArchivingRunOnServer() {
+        OrderService terminal = new RemoteOrderService(orders, client);
+        assertEquals(serverService.calculatePrice("Wash & Dry", "Express", 2.5),
+            terminal.calculatePrice("Wash & Dry", "Express", 2.5));
+
+        assertTrue(terminal.reloadPrices());
+        assertEquals(2, serverPriceLoads.get());
+
+        LocalDateTime old = LocalDateTime.of(2023, 1, 10, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            serverOrders.save(order("ORD00" + i, "John Doe", i < 2 ? OrderStatus.COMPLETED : OrderStatus.PENDING, old));
+        }
+        assertEquals(2, terminal.archiveOrders(Set.of(OrderStatus.COMPLETED), old.plusDays(1), 10));
+        assertEquals(2, serverOrders.countArchived());
+        assertEquals(1, terminal.getOrderCount());
+    }
+
+    @Test
+    @DisplayName("Should batch concurrent calls into fewer HTTP requests")
+    void testConcurrentCallsShareRequests() throws Exception {
+        serverOrders.save(order("ORD001", "John Doe", OrderStatus.PENDING, LocalDateTime.now()));
+        int callers = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return orders.countAll();
+            }));
+        }
+        start.countDown();
+        for (Future<Long> result : results) {
+            assertEquals(1L, result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(callers, server.getCallCount());
+        assertTrue(server.getRequestCount() < callers,
+            "expected batching, got " + server.getRequestCount() + " requests");
+    }
+
+    @Test
+    @DisplayName("Should write and parse JSON with escapes and nesting")
+    void testJson() {
+        Object parsed = Json.parse("{\"a\": [1, -2.5e1, true, null, \"x\\\"y\\u00e9\\n\"], \"b\": {}}");
+        Map<?, ?> object = (Map<?, ?>) parsed;
+        assertEquals(List.of(1L, -25.0, true), ((List<?>) object.get("a")).subList(0, 3));
+        assertEquals("x\"yé\n", ((List<?>) object.get("a")).get(4));
+        assertEquals(parsed, Json.parse(Json.write(parsed)));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[1, 2"));
+    }
+
+    private static List<String> ids(List<Order> orders) {
+        List<String> ids = new ArrayList<>();
+        for (Order order : orders) {
+            ids.add(order.getOrderId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,140 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderService;
+import com.laundry.service.OrderServiceAsync;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderServiceAsync.
+ */
+class OrderServiceAsyncTest {
+    
+    private OrderService orderService;
+    private OrderServiceAsync orderServiceAsync;
+    
+    @BeforeEach
+    void setUp() {
+        orderService = new LocalOrderService(new InMemoryOrderRepository(), new InMemoryUserRepository());
+        orderServiceAsync = new OrderServiceAsync(orderService, new InMemoryUserRepository(), 2);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        orderServiceAsync.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should fan out independent reads in parallel")
+    void testParallelReads() throws Exception {
+        orderService.createOrder("John Doe", "081111111111", "Address", "Regular", "Wash & Dry", 2.0);
+        
+        CompletableFuture<List<Order>> orders = orderServiceAsync.getAllOrders();
+        CompletableFuture<Long> count = orderServiceAsync.getOrderCount();
+        CompletableFuture.allOf(orders, count).get(5, TimeUnit.SECONDS);
+        
+        assertEquals(1, orders.join().size());
+        assertEquals(1L, count.join());
+    }
+    
+    @Test
+    @DisplayName("Should never run more calls at once than the concurrency limit")
+    void testBoundedConcurrency() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+        
+        for (int i = 0; i < 10; i++) {
+            calls.add(orderServiceAsync.call(service -> {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                sleep(50);
+                running.decrementAndGet();
+                return now;
+            }, Duration.ofSeconds(10)));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture<?>[]::new)).get(10, TimeUnit.SECONDS);
+        
+        assertTrue(maxRunning.get() <= 2, "Ran " + maxRunning.get() + " calls at once");
+    }
+    
+    @Test
+    @DisplayName("Should fail slow calls with a timeout and interrupt them")
+    void testTimeout() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        
+        CompletableFuture<Object> slow = orderServiceAsync.call(service -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }, Duration.ofMillis(100));
+        
+        ExecutionException error = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof TimeoutException);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    @DisplayName("Should interrupt a call when its future is cancelled")
+    void testCancellation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch finished = new CountDownLatch(1);
+        
+        CompletableFuture<Object> call = orderServiceAsync.call(service -> {
+            started.countDown();
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+            return null;
+        }, Duration.ofSeconds(10));
+        
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        call.cancel(true);
+        
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+        assertTrue(call.isCancelled());
+        assertEquals(2, waitForPermits(2));
+    }
+    
+    private int waitForPermits(int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && orderServiceAsync.availablePermits() < expected; i++) {
+            Thread.sleep(10);
+        }
+        return orderServiceAsync.availablePermits();
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package com.laundry;
 
 import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
 import com.laundry.model.User;
 import com.laundry.repository.InMemoryOrderRepository;
 import com.laundry.repository.InMemoryUserRepository;
 import com.laundry.repository.OrderRepository;
 import com.laundry.repository.UserRepository;
+import com.laundry.service.LocalOrderService;
 import com.laundry.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,7 +32,7 @@ class OrderServiceTest {
     void setUp() {
         orderRepository = new InMemoryOrderRepository();
         userRepository = new InMemoryUserRepository();
-        orderService = new OrderService(orderRepository, userRepository);
+        orderService = new LocalOrderService(orderRepository, userRepository);
         
         // Create test user
         testUser = new User("testuser", "password", "Test User", "081234567890", "Test Address", "MEMBER");
@@ -120,9 +123,10 @@ class OrderServiceTest {
         
         // Then
         assertEquals(3, allOrders.size());
-        assertTrue(allOrders.contains(order1));
-        assertTrue(allOrders.contains(order2));
-        assertTrue(allOrders.contains(order3));
+        List<String> ids = allOrders.stream().map(Order::getOrderId).collect(Collectors.toList());
+        assertTrue(ids.contains(order1.getOrderId()));
+        assertTrue(ids.contains(order2.getOrderId()));
+        assertTrue(ids.contains(order3.getOrderId()));
     }
     
     @Test
@@ -141,9 +145,10 @@ class OrderServiceTest {
         
         // Then
         assertEquals(2, johnOrders.size());
-        assertTrue(johnOrders.contains(order1));
-        assertTrue(johnOrders.contains(order2));
-        assertFalse(johnOrders.contains(order3));
+        List<String> ids = johnOrders.stream().map(Order::getOrderId).collect(Collectors.toList());
+        assertTrue(ids.contains(order1.getOrderId()));
+        assertTrue(ids.contains(order2.getOrderId()));
+        assertFalse(ids.contains(order3.getOrderId()));
     }
     
     @Test
@@ -177,18 +182,19 @@ class OrderServiceTest {
     @DisplayName("Should award points to existing user after order creation")
     void testAwardPointsToExistingUser() {
         // Given
-        assertEquals(0, testUser.getPoints()); // Initial points
+        assertEquals(0, orderService.getPointsService().getBalance("testuser")); // Initial points
         
         // When
         Order order = orderService.createOrder("Test User", "081234567890", "Test Address",
                                               "Regular", "Wash & Dry", 5.0);
         
         // Then
-        User updatedUser = userRepository.getUser("testuser");
-        assertTrue(updatedUser.getPoints() > 0); // Points should be awarded
+        int balance = orderService.getPointsService().getBalance("testuser");
+        assertTrue(balance > 0); // Points should be awarded
         
         // Points calculation: total / 1000 = 25000 / 1000 = 25 points
-        assertEquals(25, updatedUser.getPoints());
+        assertEquals(25, balance);
+        assertEquals(order.getOrderId(), orderService.getPointsService().getHistory("testuser", 1).get(0).getOrderId());
     }
     
     @Test
@@ -203,7 +209,7 @@ class OrderServiceTest {
         assertEquals("Non Existent User", order.getCustomerName());
         
         // Original user points should remain unchanged
-        assertEquals(0, testUser.getPoints());
+        assertEquals(0, orderService.getPointsService().getBalance("testuser"));
     }
     
     @Test
@@ -249,7 +255,7 @@ class OrderServiceTest {
     @DisplayName("Should accumulate points from multiple orders")
     void testAccumulatePointsFromMultipleOrders() {
         // Given
-        assertEquals(0, testUser.getPoints());
+        assertEquals(0, orderService.getPointsService().getBalance("testuser"));
         
         // When - Create multiple orders
         orderService.createOrder("Test User", "081234567890", "Test Address", "Regular", "Wash & Dry", 2.0); // 10000 -> 10 points
@@ -257,7 +263,45 @@ class OrderServiceTest {
         orderService.createOrder("Test User", "081234567890", "Test Address", "Regular", "Wash Only", 3.0); // 9000 -> 9 points
         
         // Then
-        User updatedUser = userRepository.getUser("testuser");
-        assertEquals(34, updatedUser.getPoints()); // 10 + 15 + 9 = 34 points
+        assertEquals(34, orderService.getPointsService().getBalance("testuser")); // 10 + 15 + 9 = 34 points
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Should not award points when the order insert fails")
+    void testFailedInsertAwardsNoPoints() {
+        // Given
+        OrderRepository failingRepository = new InMemoryOrderRepository() {
+            @Override
+            public void addOrder(Order order) {
+                throw new RuntimeException("insert failed");
+            }
+        };
+        OrderService service = new LocalOrderService(failingRepository, userRepository);
+        
+        // When
+        assertThrows(RuntimeException.class, () -> service.createOrderForUser(
+            testUser, "081234567890", "Test Address", "Regular", "Wash & Dry", 5.0));
+        
+        // Then
+        assertEquals(0, service.getPointsService().getBalance("testuser"));
+    }
+    
+    @Test
+    @DisplayName("Should update the status of many orders at once")
+    void testUpdateStatusesInBulk() {
+        // Given
+        Order first = orderService.createOrder("Test User", "081234567890", "Test Address", "Regular", "Wash & Dry", 1.0);
+        Order second = orderService.createOrder("Test User", "081234567890", "Test Address", "Regular", "Wash & Dry", 2.0);
+        Order untouched = orderService.createOrder("Test User", "081234567890", "Test Address", "Regular", "Wash & Dry", 3.0);
+        
+        // When
+        int updated = orderService.updateStatuses(
+            List.of(first.getOrderId(), second.getOrderId(), "ORD999"), OrderStatus.READY);
+        
+        // Then
+        assertEquals(2, updated);
+        assertEquals(2, orderRepository.findByStatus(OrderStatus.READY).size());
+        assertEquals(OrderStatus.PENDING, orderRepository.findById(untouched.getOrderId()).getOrderStatus());
+        assertEquals(1, orderService.countOrdersByStatus(OrderStatus.PENDING));
+    }
+}
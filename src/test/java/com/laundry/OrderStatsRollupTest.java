@@ -0,0 +1,104 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatsRow;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryOrderStatsRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the incrementally maintained order rollups.
+ */
+class OrderStatsRollupTest {
+
+    private InMemoryOrderRepository orderRepository;
+    private InMemoryOrderStatsRepository statsRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        statsRepository = new InMemoryOrderStatsRepository();
+        orderService = LocalOrderService.builder(orderRepository, new InMemoryUserRepository())
+            .statsRepository(statsRepository)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should count new orders in the current day and hour")
+    void testCreationUpdatesRollups() {
+        orderService.createOrder("A", "0811", "Addr", "Wash & Dry", "Regular", 2.0);
+        orderService.createOrder("B", "0812", "Addr", "Wash & Dry", "Regular", 1.0);
+        orderService.createOrder("C", "0813", "Addr", "Dry Clean", "Express", 1.0);
+
+        LocalDate today = LocalDate.now();
+        List<OrderStatsRow> daily = orderService.getDailyStats(today, today);
+        assertEquals(2, daily.size());
+        assertEquals("Express", daily.get(0).getService());
+        assertEquals(1, daily.get(0).getOrderCount());
+        assertEquals("Regular", daily.get(1).getService());
+        assertEquals(2, daily.get(1).getOrderCount());
+        assertEquals(1_500_000, daily.get(1).getRevenueCents());
+        assertEquals(3.0, daily.get(1).getWeight(), 1e-9);
+
+        long hourlyOrders = orderService.getHourlyStats(today).stream().mapToLong(OrderStatsRow::getOrderCount).sum();
+        assertEquals(3, hourlyOrders);
+        assertEquals(3_000_000, orderService.getRevenueCentsByDay(today, 1)[0]);
+    }
+
+    @Test
+    @DisplayName("Should move orders between status rows on status change")
+    void testStatusChangeMovesRollups() {
+        Order first = orderService.createOrder("A", "0811", "Addr", "Wash & Dry", "Regular", 2.0);
+        Order second = orderService.createOrder("B", "0812", "Addr", "Wash & Dry", "Regular", 2.0);
+
+        orderService.updateOrderStatus(first.getOrderId(), OrderStatus.PROCESSING);
+        orderService.updateStatuses(List.of(first.getOrderId(), second.getOrderId()), OrderStatus.READY);
+
+        LocalDate today = LocalDate.now();
+        List<OrderStatsRow> daily = orderService.getDailyStats(today, today);
+        assertEquals(1, daily.size());
+        assertEquals(OrderStatus.READY, daily.get(0).getStatus());
+        assertEquals(2, daily.get(0).getOrderCount());
+        assertEquals(2_000_000, daily.get(0).getRevenueCents());
+    }
+
+    @Test
+    @DisplayName("Should rebuild rollups from orders written outside the service")
+    void testRebuildBackfillsRollups() {
+        for (int day = 1; day <= 3; day++) {
+            Order order = new Order("ORD00" + day);
+            order.setService("Regular");
+            order.setTotal(1000.0 * day);
+            order.setWeight(1.0);
+            order.setOrderTime(LocalDateTime.of(2024, 3, day, 10, 30));
+            orderRepository.save(order);
+        }
+        assertTrue(orderService.getDailyStats(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)).isEmpty());
+
+        orderService.rebuildStats();
+
+        long[] revenue = orderService.getRevenueCentsByDay(LocalDate.of(2024, 3, 1), 4);
+        assertArrayEquals(new long[]{100_000, 200_000, 300_000, 0}, revenue);
+        List<OrderStatsRow> hourly = orderService.getHourlyStats(LocalDate.of(2024, 3, 2));
+        assertEquals(1, hourly.size());
+        assertEquals(LocalDateTime.of(2024, 3, 2, 10, 0), hourly.get(0).getBucket());
+
+        // Rebuilding again must not double count
+        orderService.rebuildStats();
+        assertEquals(1, orderService.getDailyStats(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 2))
+            .get(0).getOrderCount());
+    }
+}
@@ -0,0 +1,104 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.StageDwell;
+import com.laundry.model.StatusChange;
+import com.laundry.repository.DirectUnitOfWork;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryOrderStatusHistoryRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the order status transition table and the status history log.
+ */
+class OrderStatusHistoryTest {
+
+    private InMemoryOrderRepository orderRepository;
+    private InMemoryOrderStatusHistoryRepository historyRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        historyRepository = new InMemoryOrderStatusHistoryRepository();
+        DirectUnitOfWork unitOfWork = new DirectUnitOfWork();
+        orderService = LocalOrderService.builder(orderRepository, new InMemoryUserRepository())
+            .unitOfWork(unitOfWork)
+            .historyRepository(historyRepository)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should only allow forward moves and cancellation of open orders")
+    void testTransitionTable() {
+        assertTrue(OrderStatus.PENDING.canMoveTo(OrderStatus.PROCESSING));
+        assertTrue(OrderStatus.PENDING.canMoveTo(OrderStatus.READY));
+        assertTrue(OrderStatus.READY.canMoveTo(OrderStatus.CANCELLED));
+        assertTrue(OrderStatus.READY.canMoveTo(OrderStatus.READY));
+        assertFalse(OrderStatus.READY.canMoveTo(OrderStatus.PROCESSING));
+        assertFalse(OrderStatus.COMPLETED.canMoveTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.CANCELLED.canMoveTo(OrderStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("Should reject illegal moves and record legal ones")
+    void testServiceValidatesAndRecords() {
+        Order order = orderService.createOrder("john", "0811", "Addr", "Wash & Dry", "Regular", 2.0);
+        Order other = orderService.createOrder("jane", "0812", "Addr", "Wash & Dry", "Regular", 1.0);
+
+        assertTrue(orderService.updateOrderStatus(order.getOrderId(), OrderStatus.PROCESSING));
+        assertTrue(orderService.updateOrderStatus(order.getOrderId(), OrderStatus.COMPLETED));
+        assertFalse(orderService.updateOrderStatus(order.getOrderId(), OrderStatus.PENDING));
+        Order completed = orderRepository.findById(order.getOrderId());
+        assertThrows(IllegalStateException.class,
+            () -> orderService.updateOrderStatus(completed, OrderStatus.CANCELLED));
+
+        // The completed order is skipped, the pending one moves
+        assertEquals(1, orderService.updateStatuses(
+            List.of(order.getOrderId(), other.getOrderId()), OrderStatus.CANCELLED));
+        assertEquals(OrderStatus.COMPLETED, orderRepository.findById(order.getOrderId()).getOrderStatus());
+
+        List<StatusChange> history = orderService.getStatusHistory(order.getOrderId());
+        assertEquals(2, history.size());
+        assertEquals(OrderStatus.PENDING, history.get(0).getFromStatus());
+        assertEquals(OrderStatus.PROCESSING, history.get(1).getFromStatus());
+        assertEquals(OrderStatus.COMPLETED, history.get(1).getToStatus());
+        assertEquals(history.get(0).getChangedAt(), history.get(1).getEnteredAt());
+        assertEquals(1, orderService.getStatusHistory(other.getOrderId()).size());
+    }
+
+    @Test
+    @DisplayName("Should sum dwell time per stage for stints ending in range")
+    void testDwellTimes() {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 8, 0);
+        historyRepository.append(List.of(
+            new StatusChange("ORD001", OrderStatus.PENDING, OrderStatus.PROCESSING, start, start.plusMinutes(30)),
+            new StatusChange("ORD001", OrderStatus.PROCESSING, OrderStatus.READY,
+                start.plusMinutes(30), start.plusHours(3)),
+            new StatusChange("ORD002", OrderStatus.PENDING, OrderStatus.PROCESSING, start, start.plusMinutes(90)),
+            new StatusChange("ORD003", OrderStatus.PENDING, OrderStatus.PROCESSING,
+                start.minusDays(2), start.minusDays(1))));
+
+        Map<OrderStatus, StageDwell> dwell = historyRepository.dwellTimes(start, start.plusDays(1));
+
+        StageDwell pending = dwell.get(OrderStatus.PENDING);
+        assertEquals(2, pending.getCount());
+        assertEquals(Duration.ofMinutes(60), pending.getAverage());
+        assertEquals(Duration.ofMinutes(90), pending.getMax());
+        assertEquals(Duration.ofMinutes(150), dwell.get(OrderStatus.PROCESSING).getTotal());
+        assertFalse(dwell.containsKey(OrderStatus.READY));
+    }
+}
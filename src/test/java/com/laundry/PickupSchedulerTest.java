@@ -0,0 +1,141 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.PickupSlot;
+import com.laundry.model.User;
+import com.laundry.repository.DirectUnitOfWork;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.InMemoryPickupSlotRepository;
+import com.laundry.repository.InMemoryUserRepository;
+import com.laundry.service.LocalOrderService;
+import com.laundry.service.OrderService;
+import com.laundry.service.PickupScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for capacity-aware pickup slot scheduling.
+ */
+class PickupSchedulerTest {
+
+    // A Monday
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 4, 7, 0);
+
+    private InMemoryPickupSlotRepository slotRepository;
+
+    @BeforeEach
+    void setUp() {
+        slotRepository = new InMemoryPickupSlotRepository();
+    }
+
+    @Test
+    @DisplayName("Should find the earliest slot within opening hours after the tier's lead time")
+    void testEarliestSlotRespectsLeadTime() {
+        PickupScheduler scheduler = PickupScheduler.builder(slotRepository).build();
+        LocalDateTime evening = LocalDateTime.of(2024, 3, 4, 19, 30);
+
+        // Premium: 6 hours lands at night, so the next morning
+        assertEquals(LocalDateTime.of(2024, 3, 5, 8, 0), scheduler.earliestSlot("Premium", evening).getStart());
+        // Express: 24 hours lands after closing, so the morning after
+        assertEquals(LocalDateTime.of(2024, 3, 6, 8, 0), scheduler.earliestSlot("Express", evening).getStart());
+        // Regular: 48 hours from 07:00 is before opening
+        assertEquals(LocalDateTime.of(2024, 3, 6, 8, 0), scheduler.earliestSlot("Regular", NOW).getStart());
+    }
+
+    @Test
+    @DisplayName("Should skip full slots and reuse released places")
+    void testSkipsFullSlots() {
+        PickupScheduler scheduler = PickupScheduler.builder(slotRepository)
+            .capacity(2)
+            .leadTime("Express", Duration.ZERO)
+            .build();
+
+        List<LocalDateTime> booked = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            booked.add(scheduler.reserve("Express", null, NOW).getStart());
+        }
+        LocalDateTime eight = NOW.withHour(8);
+        assertEquals(List.of(eight, eight, eight.plusHours(1), eight.plusHours(1), eight.plusHours(2)), booked);
+
+        PickupSlot next = scheduler.earliestSlot("Express", NOW);
+        assertEquals(eight.plusHours(2), next.getStart());
+        assertEquals(1, next.getRemaining());
+        assertNull(scheduler.reserve("Express", eight, NOW));
+
+        scheduler.release(eight.plusHours(1));
+        assertEquals(eight.plusHours(1), scheduler.earliestSlot("Express", NOW).getStart());
+    }
+
+    @Test
+    @DisplayName("Should never overbook under concurrent reservations")
+    void testConcurrentReservations() throws Exception {
+        // Four hourly slots of three pickups today, nothing after
+        PickupScheduler scheduler = PickupScheduler.builder(slotRepository)
+            .openingHours(8, 12)
+            .capacity(3)
+            .horizonDays(1)
+            .leadTime("Express", Duration.ZERO)
+            .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PickupSlot>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return scheduler.reserve("Express", null, NOW);
+            }));
+        }
+        start.countDown();
+
+        int reserved = 0;
+        for (Future<PickupSlot> result : results) {
+            if (result.get(30, TimeUnit.SECONDS) != null) {
+                reserved++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(12, reserved);
+        Map<LocalDateTime, Integer> counts = slotRepository.findReserved(NOW, NOW.plusDays(1));
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertEquals(3, count));
+        assertNull(scheduler.earliestSlot("Express", NOW));
+    }
+
+    @Test
+    @DisplayName("Should book the pickup together with the order")
+    void testOrderGetsPickupSlot() {
+        DirectUnitOfWork unitOfWork = new DirectUnitOfWork();
+        PickupScheduler scheduler = PickupScheduler.builder(slotRepository).capacity(1).build();
+        OrderService orderService = LocalOrderService.builder(new InMemoryOrderRepository(), new InMemoryUserRepository())
+            .unitOfWork(unitOfWork)
+            .pickupScheduler(scheduler)
+            .build();
+        User user = new User("john", "123", "John Doe", "0811", "Addr", "MEMBER");
+
+        Order first = orderService.createOrderForUser(user, "0811", "Addr", "Wash & Dry", "Premium", 1.0, null);
+        assertNotNull(first.getPickupTime());
+        assertTrue(first.getPickupTime().isAfter(LocalDateTime.now().plusHours(6).minusMinutes(1)));
+
+        // The single place in that slot is gone, so asking for it again fails
+        assertThrows(IllegalStateException.class, () -> orderService.createOrderForUser(
+            user, "0811", "Addr", "Wash & Dry", "Premium", 1.0, first.getPickupTime()));
+        Order second = orderService.createOrderForUser(user, "0811", "Addr", "Wash & Dry", "Premium", 1.0, null);
+        assertTrue(second.getPickupTime().isAfter(first.getPickupTime()));
+    }
+}
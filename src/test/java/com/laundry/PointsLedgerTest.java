@@ -0,0 +1,104 @@
+package com.laundry;
+
+import com.laundry.model.PointsEntry;
+import com.laundry.repository.DirectUnitOfWork;
+import com.laundry.repository.InMemoryPointsLedgerRepository;
+import com.laundry.service.LedgerPointsService;
+import com.laundry.service.PointsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the append-only loyalty points ledger.
+ */
+class PointsLedgerTest {
+
+    private InMemoryPointsLedgerRepository ledger;
+    private PointsService pointsService;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new InMemoryPointsLedgerRepository();
+        pointsService = new LedgerPointsService(ledger, new DirectUnitOfWork());
+    }
+
+    @Test
+    @DisplayName("Should earn and redeem at most once per order")
+    void testIdempotentPerOrder() {
+        assertTrue(pointsService.earn("john", "ORD001", 30));
+        assertFalse(pointsService.earn("john", "ORD001", 30));
+        assertEquals(30, pointsService.getBalance("john"));
+
+        assertTrue(pointsService.redeem("john", "ORD002", 20));
+        assertTrue(pointsService.redeem("john", "ORD002", 20));
+        assertEquals(10, pointsService.getBalance("john"));
+
+        assertFalse(pointsService.redeem("john", "ORD003", 20));
+        pointsService.adjust("john", 15);
+        assertEquals(25, pointsService.getBalance("john"));
+
+        List<PointsEntry> history = pointsService.getHistory("john", 10);
+        assertEquals(3, history.size());
+        assertEquals(PointsEntry.Type.ADJUST, history.get(0).getType());
+        assertEquals(-20, history.get(1).getPoints());
+    }
+
+    @Test
+    @DisplayName("Should never overdraw under concurrent redemptions")
+    void testConcurrentRedemption() throws Exception {
+        pointsService.earn("john", "ORD000", 100);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String orderId = "RED" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return pointsService.redeem("john", orderId, 10);
+            }));
+        }
+        start.countDown();
+
+        int redeemed = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                redeemed++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(10, redeemed);
+        assertEquals(0, pointsService.getBalance("john"));
+    }
+
+    @Test
+    @DisplayName("Should keep balances when folding entries into the cache")
+    void testCompactionPreservesBalance() {
+        pointsService.earn("john", "ORD001", 40);
+        pointsService.earn("jane", "ORD002", 25);
+        pointsService.redeem("john", "ORD003", 15);
+
+        assertEquals(0, ledger.compact(LocalDateTime.now().minusHours(1)));
+        assertEquals(3, ledger.compact(LocalDateTime.now().plusSeconds(1)));
+        assertEquals(25, pointsService.getBalance("john"));
+        assertEquals(25, pointsService.getBalance("jane"));
+
+        // New entries after compaction still count, and history is kept
+        pointsService.earn("john", "ORD004", 5);
+        assertEquals(30, pointsService.getBalance("john"));
+        assertEquals(3, pointsService.getHistory("john", 10).size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.laundry;
+
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.PriceMatrix;
+import com.laundry.service.PricingEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PricingEngine and PriceMatrix.
+ */
+class PricingEngineTest {
+    
+    private PricingEngine pricingEngine;
+    
+    @BeforeEach
+    void setUp() {
+        pricingEngine = PricingEngine.fromClasspath();
+    }
+    
+    @Test
+    @DisplayName("Should price the member dialog's laundry type and tier")
+    void testMemberDialogCombinations() {
+        assertEquals(Money.ofRupiah(7000), pricingEngine.pricePerKg("Cuci Setrika", "Regular"));
+        assertEquals(Money.ofRupiah(10000), pricingEngine.pricePerKg("Cuci Setrika", "Express"));
+        assertEquals(Money.ofRupiah(8000), pricingEngine.pricePerKg("Setrika Saja", "Premium"));
+    }
+    
+    @Test
+    @DisplayName("Should accept tier and laundry type in either order")
+    void testSwappedArguments() {
+        assertEquals(pricingEngine.pricePerKg("Cuci Kering", "Express"),
+                     pricingEngine.pricePerKg("Express", "Cuci Kering"));
+        assertEquals(Money.ofRupiah(8000), pricingEngine.pricePerKg("Express", "Wash & Dry"));
+    }
+    
+    @Test
+    @DisplayName("Should fall back to default and Regular prices")
+    void testFallbackPrices() {
+        assertEquals(Money.ofRupiah(5000), pricingEngine.pricePerKg("Regular", "Unknown Service"));
+        assertEquals(Money.ofRupiah(15000), pricingEngine.pricePerKg("Dry Clean", "Unknown Tier"));
+    }
+    
+    @Test
+    @DisplayName("Should apply weight brackets")
+    void testWeightBrackets() {
+        PriceMatrix matrix = PriceMatrix.builder()
+            .price("Wash & Dry", "Regular", Money.ofRupiah(5000))
+            .bracket(10, 90)
+            .bracket(20, 80)
+            .build();
+        PricingEngine engine = new PricingEngine(() -> matrix);
+        
+        assertEquals(Money.ofRupiah(25000), engine.quote("Wash & Dry", "Regular", 5));
+        assertEquals(Money.ofRupiah(45000), engine.quote("Wash & Dry", "Regular", 10));
+        assertEquals(Money.ofRupiah(100000), engine.quote("Wash & Dry", "Regular", 25));
+    }
+    
+    @Test
+    @DisplayName("Should swap the matrix atomically on reload")
+    void testReloadSwapsMatrix() {
+        AtomicInteger version = new AtomicInteger(1);
+        PricingEngine engine = new PricingEngine(() -> PriceMatrix.builder()
+            .price("Wash & Dry", "Regular", Money.ofRupiah(1000 * version.get()))
+            .build());
+        
+        assertEquals(Money.ofRupiah(1000), engine.pricePerKg("Wash & Dry", "Regular"));
+        PriceMatrix before = engine.getMatrix();
+        
+        version.set(2);
+        assertTrue(engine.reload());
+        
+        assertNotSame(before, engine.getMatrix());
+        assertEquals(Money.ofRupiah(2000), engine.pricePerKg("Wash & Dry", "Regular"));
+    }
+    
+    @Test
+    @DisplayName("Should keep the current matrix when a reload fails")
+    void testFailedReloadKeepsMatrix() {
+        AtomicInteger loads = new AtomicInteger();
+        PricingEngine engine = new PricingEngine(() -> {
+            if (loads.incrementAndGet() > 1) {
+                throw new IllegalStateException("price_matrix unavailable");
+            }
+            return PriceMatrix.builder().price("Wash & Dry", "Regular", Money.ofRupiah(1000)).build();
+        });
+        PriceMatrix before = engine.getMatrix();
+        
+        assertFalse(engine.reload());
+        
+        assertSame(before, engine.getMatrix());
+    }
+    
+    @Test
+    @DisplayName("Should price many orders in one call")
+    void testApplyAll() {
+        Order first = new Order("ORD001");
+        first.setLaundryType("Cuci Setrika");
+        first.setService("Express");
+        first.setWeight(2.0);
+        Order second = new Order("ORD002");
+        second.setLaundryType("Regular");
+        second.setService("Dry Clean");
+        second.setWeight(1.5);
+        
+        pricingEngine.applyAll(Arrays.asList(first, second));
+        
+        assertEquals(Money.ofRupiah(20000), first.getTotalAmount());
+        assertEquals(Money.ofRupiah(22500), second.getTotalAmount());
+    }
+}
@@ -0,0 +1,93 @@
+package com.laundry;
+
+import com.laundry.config.JdbcUnitOfWork;
+import com.laundry.config.ReplicaRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for routing reads between the primary and the read replica.
+ */
+class ReplicaRouterTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReplicaRouter router;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        router = new ReplicaRouter(primary, replica, Duration.ofSeconds(5), Duration.ofMillis(200));
+    }
+
+    @Test
+    @DisplayName("Should read from the primary until the replica's lag is known and small")
+    void testLagAware() throws SQLException {
+        assertSame(primaryConnection, router.getReadConnection());
+
+        router.recordLag(40);
+        assertSame(replicaConnection, router.getReadConnection());
+
+        router.recordLag(8_000);
+        assertSame(primaryConnection, router.getReadConnection());
+        assertEquals(1, router.getReplicaReadCount());
+        assertEquals(2, router.getPrimaryReadCount());
+    }
+
+    @Test
+    @DisplayName("Should keep reads on the primary for a short window after a write")
+    void testReadYourWrites() throws Exception {
+        router.recordLag(0);
+        router.recordWrite();
+        assertFalse(router.isReplicaUsable());
+        assertSame(primaryConnection, router.getReadConnection());
+
+        Thread.sleep(250);
+        assertSame(replicaConnection, router.getReadConnection());
+    }
+
+    @Test
+    @DisplayName("Should join the primary transaction inside a unit of work")
+    void testUnitOfWorkReadsPrimary() throws SQLException {
+        router.recordLag(0);
+        Connection inside = new JdbcUnitOfWork(primary).execute(() -> {
+            try {
+                return router.getReadConnection();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertNotSame(replicaConnection, inside);
+        verify(replica, never()).getConnection();
+        verify(primary, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is down")
+    void testReplicaDown() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        router.recordLag(0);
+
+        assertSame(primaryConnection, router.getReadConnection());
+        assertEquals(Long.MAX_VALUE, router.getReplicaLagMillis());
+        assertSame(primaryConnection, router.getReadConnection());
+        verify(replica, times(1)).getConnection();
+    }
+}
@@ -0,0 +1,110 @@
+package com.laundry;
+
+import com.laundry.model.Money;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.OrderRowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Times mapping a large order scan by column name through the setters versus
+ * through {@link OrderRowMapper}, over an in-memory ResultSet.
+ * Run manually: java -cp target/classes:target/test-classes com.laundry.RowMapperBenchmark [rows]
+ */
+public class RowMapperBenchmark {
+    private static final int ITERATIONS = 5;
+    private static final String[] COLUMNS = {
+        "order_id", "customer_name", "phone", "address", "laundry_type", "service", "status",
+        "weight", "total", "pickup_time", "order_time", "customer_id", "version", "status_changed_at"
+    };
+
+    public static void main(String[] args) throws SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] types = {"Wash & Dry", "Dry Clean", "Wash Only"};
+        String[] tiers = {"Regular", "Express", "Premium"};
+        OrderStatus[] statuses = OrderStatus.values();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+        Object[][] templates = new Object[64][];
+        for (int i = 0; i < templates.length; i++) {
+            Timestamp ordered = Timestamp.valueOf(base.plusMinutes(i * 37L));
+            templates[i] = new Object[]{
+                String.format("ORD%06d", i), "Customer " + i, "08" + (1000000 + i), "Jl. Merdeka No. " + i,
+                types[i % types.length], tiers[i % tiers.length], statuses[i % statuses.length].getLabel(),
+                1.0 + i % 7, (7000 + i * 250) + ".00", i % 3 == 0 ? null : ordered, ordered, i, (long) i % 5,
+                ordered
+            };
+        }
+
+        System.out.println("Rows: " + rows + ", iterations: " + ITERATIONS);
+        for (int round = 0; round < 2; round++) {
+            String suffix = round == 0 ? " (warm-up)" : "";
+            report("by name + setters" + suffix, () -> {
+                ResultSet rs = FakeResultSet.of(COLUMNS, templates, rows);
+                long sink = 0;
+                while (rs.next()) {
+                    sink += mapByName(rs).getTotalCents();
+                }
+                return sink;
+            });
+            report("OrderRowMapper" + suffix, () -> {
+                ResultSet rs = FakeResultSet.of(COLUMNS, templates, rows);
+                OrderRowMapper mapper = OrderRowMapper.forResultSet(rs);
+                long sink = 0;
+                while (rs.next()) {
+                    sink += mapper.mapRow(rs).getTotalCents();
+                }
+                return sink;
+            });
+        }
+    }
+
+    /** The mapping DatabaseOrderRepository used before OrderRowMapper. */
+    private static Order mapByName(ResultSet rs) throws SQLException {
+        Order order = new Order(rs.getString("order_id"));
+        order.setCustomerName(rs.getString("customer_name"));
+        order.setPhone(rs.getString("phone"));
+        order.setAddress(rs.getString("address"));
+        order.setLaundryType(rs.getString("laundry_type"));
+        order.setService(rs.getString("service"));
+        OrderStatus status = OrderStatus.fromLabel(rs.getString("status"));
+        if (status != null) {
+            order.setStatus(status);
+        }
+        order.setWeight(rs.getDouble("weight"));
+        order.setTotal(Money.of(rs.getBigDecimal("total")));
+        order.setCustomerId(rs.getInt("customer_id"));
+        order.setVersion(rs.getLong("version"));
+        Timestamp statusChangedAt = rs.getTimestamp("status_changed_at");
+        if (statusChangedAt != null) {
+            order.setStatusChangedAt(statusChangedAt.toLocalDateTime());
+        }
+        Timestamp orderTimestamp = rs.getTimestamp("order_time");
+        if (orderTimestamp != null) {
+            order.setOrderTime(orderTimestamp.toLocalDateTime());
+        }
+        Timestamp pickupTimestamp = rs.getTimestamp("pickup_time");
+        if (pickupTimestamp != null) {
+            order.setPickupTime(pickupTimestamp.toLocalDateTime());
+        }
+        return order;
+    }
+
+    private interface Scan {
+        long run() throws SQLException;
+    }
+
+    private static void report(String name, Scan scan) throws SQLException {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += scan.run();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+        System.out.printf("%-30s %10.1f ms/scan  (checksum %d)%n", name, millis, sink);
+    }
+}
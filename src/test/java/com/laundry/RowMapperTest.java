@@ -0,0 +1,115 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.model.User;
+import com.laundry.repository.OrderRowMapper;
+import com.laundry.repository.UserRowMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the index-based ResultSet row mappers.
+ */
+class RowMapperTest {
+
+    // Deliberately not in table order: indexes come from the labels
+    private static final String[] ORDER_COLUMNS = {
+        "status_changed_at", "order_id", "customer_name", "phone", "address", "laundry_type", "service",
+        "status", "weight", "total", "pickup_time", "ORDER_TIME", "customer_id", "version"
+    };
+
+    private static final LocalDateTime ORDERED = LocalDateTime.of(2024, 1, 15, 9, 30, 5);
+
+    @Test
+    @DisplayName("Should map every order column, including the stored order time")
+    void testMapsAllOrderColumns() throws SQLException {
+        Object[] row = {
+            Timestamp.valueOf(ORDERED.plusHours(2)), "ORD042", "John Doe", "0811", "Jl. Merdeka No. 1",
+            "Wash & Dry", "Express", "Processing", 2.5, "17500.25", null, Timestamp.valueOf(ORDERED), 7, 3L
+        };
+        List<Order> orders = mapOrders(new Object[][]{row}, 2);
+
+        assertEquals(2, orders.size());
+        Order order = orders.get(0);
+        assertEquals("ORD042", order.getOrderId());
+        assertEquals("John Doe", order.getCustomerName());
+        assertEquals("0811", order.getPhone());
+        assertEquals("Jl. Merdeka No. 1", order.getAddress());
+        assertEquals("Wash & Dry", order.getLaundryType());
+        assertEquals("Express", order.getService());
+        assertEquals(OrderStatus.PROCESSING, order.getOrderStatus());
+        assertEquals(2.5, order.getWeight());
+        assertEquals(1750025, order.getTotalCents());
+        assertNull(order.getPickupTime());
+        assertEquals(ORDERED, order.getOrderTime());
+        assertEquals(ORDERED.plusHours(2), order.getStatusChangedAt());
+        assertEquals(7, order.getCustomerId());
+        assertEquals(3, order.getVersion());
+        assertNotSame(order, orders.get(1));
+    }
+
+    @Test
+    @DisplayName("Should read legacy status labels and reject unknown ones")
+    void testStatusFallbacks() throws SQLException {
+        Object[][] rows = {
+            {null, "ORD001", "A", "1", "X", "Wash & Dry", "Regular", "In Progress", 1.0, "1000.5", null,
+                Timestamp.valueOf(ORDERED), 0, 0L}
+        };
+        List<Order> orders = mapOrders(rows, 1);
+
+        assertEquals(OrderStatus.PROCESSING, orders.get(0).getOrderStatus());
+        assertEquals(100050, orders.get(0).getTotalCents());
+        // Without a status change the order time stands in
+        assertEquals(ORDERED, orders.get(0).getStatusChangedAt());
+
+        // An unknown label must not be passed off as Pending and written back as such
+        for (String label : new String[]{"Lost", null}) {
+            Object[][] unknown = {
+                {null, "ORD002", "B", "2", "Y", "Wash & Dry", "Regular", label, 1.0, "1000", null,
+                    Timestamp.valueOf(ORDERED), 0, 0L}
+            };
+            SQLException error = assertThrows(SQLException.class, () -> mapOrders(unknown, 1));
+            assertTrue(error.getMessage().contains("ORD002"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should map user rows and reject result sets missing a column")
+    void testMapsUsers() throws SQLException {
+        String[] columns = {"username", "password", "full_name", "phone", "address", "role", "points", "version"};
+        ResultSet rs = FakeResultSet.of(columns,
+            new Object[][]{{"john", "123", "John Doe", "0811", "Addr", "MEMBER", 40, 5L}}, 1);
+        UserRowMapper mapper = UserRowMapper.forResultSet(rs);
+        assertTrue(rs.next());
+        User user = mapper.mapRow(rs);
+
+        assertEquals("john", user.getUsername());
+        assertEquals("John Doe", user.getFullName());
+        assertEquals("MEMBER", user.getRole());
+        assertEquals(40, user.getPoints());
+        assertEquals(5, user.getVersion());
+
+        ResultSet partial = FakeResultSet.of(new String[]{"username"}, new Object[][]{{"john"}}, 1);
+        assertThrows(SQLException.class, () -> UserRowMapper.forResultSet(partial));
+    }
+
+    private static List<Order> mapOrders(Object[][] rows, int rowCount) throws SQLException {
+        ResultSet rs = FakeResultSet.of(ORDER_COLUMNS, rows, rowCount);
+        OrderRowMapper mapper = OrderRowMapper.forResultSet(rs);
+        List<Order> orders = new ArrayList<>();
+        while (rs.next()) {
+            orders.add(mapper.mapRow(rs));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,143 @@
+package com.laundry;
+
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.OrderFilter;
+import com.laundry.repository.OrderPage;
+import com.laundry.repository.OrderQuery;
+import com.laundry.repository.OrderRepository;
+import com.laundry.repository.ShardedOrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for routing orders to branch shards and merging cross-branch reads.
+ */
+class ShardedOrderRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+    private static final String[] BRANCHES = {"JKT", "BDG", "SBY"};
+
+    private Map<String, InMemoryOrderRepository> shards;
+    private ExecutorService executor;
+    private ShardedOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        shards = new LinkedHashMap<>();
+        for (String branch : BRANCHES) {
+            shards.put(branch, new InMemoryOrderRepository());
+        }
+        executor = Executors.newFixedThreadPool(3);
+        repository = new ShardedOrderRepository("jkt", new LinkedHashMap<String, OrderRepository>(shards), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private Order order(String id, String customer, OrderStatus status, int minutes, double total) {
+        Order order = new Order(id);
+        order.setCustomerName(customer);
+        order.setStatus(status);
+        order.setOrderTime(BASE.plusMinutes(minutes));
+        order.setTotal(total);
+        return order;
+    }
+
+    private List<String> ids(List<Order> orders) {
+        return orders.stream().map(Order::getOrderId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should route orders to the shard of the branch code in their ID")
+    void testRoutesByBranchCode() {
+        String newId = repository.generateOrderId();
+        assertTrue(newId.startsWith("JKT-"));
+
+        repository.save(order(newId, "Alice", OrderStatus.PENDING, 0, 10000));
+        repository.save(order("BDG-ORD001", "Bob", OrderStatus.PENDING, 1, 20000));
+        // No branch code, or an unknown one: local branch
+        repository.save(order("ORD900", "Carol", OrderStatus.PENDING, 2, 30000));
+
+        assertEquals(2, shards.get("JKT").size());
+        assertEquals(1, shards.get("BDG").size());
+        assertEquals(0, shards.get("SBY").size());
+        assertEquals("Bob", repository.findById("BDG-ORD001").getCustomerName());
+        assertNull(repository.findById("SBY-ORD001"));
+
+        assertEquals(Set.of("BDG-ORD001", newId), repository.updateStatuses(
+            repository.findByIds(List.of("BDG-ORD001", newId)), OrderStatus.PROCESSING, BASE));
+        assertEquals(OrderStatus.PROCESSING, shards.get("BDG").findById("BDG-ORD001").getOrderStatus());
+        assertEquals(2, repository.findByIds(List.of("BDG-ORD001", newId, "SBY-ORD404")).size());
+    }
+
+    @Test
+    @DisplayName("Should add up counts, sums and revenue across shards")
+    void testAggregatesAcrossShards() {
+        repository.save(order("JKT-ORD001", "Alice", OrderStatus.PENDING, 0, 10000));
+        repository.save(order("BDG-ORD001", "Bob", OrderStatus.PENDING, 1, 20000));
+        repository.save(order("SBY-ORD001", "Carol", OrderStatus.COMPLETED, 24 * 60, 30000));
+
+        assertEquals(3, repository.countAll());
+        assertEquals(2, repository.countByStatus(OrderStatus.PENDING));
+        assertEquals(60000_00L, repository.sumTotals().getCents());
+        long[] revenue = repository.revenueCentsByDay(LocalDate.of(2025, 1, 1), 2);
+        assertEquals(30000_00L, revenue[0]);
+        assertEquals(30000_00L, revenue[1]);
+        assertEquals(List.of("SBY-ORD001", "BDG-ORD001", "JKT-ORD001"), ids(repository.findAll()));
+
+        repository.getShardLatencies().values().forEach(latency -> assertTrue(latency.getCallCount() > 0));
+    }
+
+    @Test
+    @DisplayName("Should merge pages across shards as one store would return them")
+    void testMergesPages() {
+        InMemoryOrderRepository single = new InMemoryOrderRepository();
+        String[] customers = {"Alice", "bob", "Carol", "Dave"};
+        for (int i = 0; i < 1500; i++) {
+            String branch = BRANCHES[(i * 7) % 3];
+            Order order = order(String.format("%s-ORD%04d", branch, i), customers[i % 4],
+                OrderStatus.values()[i % 5], i, 1000);
+            repository.save(order);
+            single.save(order(order.getOrderId(), order.getCustomerName(), order.getOrderStatus(), i, 1000));
+        }
+
+        int[][] pages = {{0, 20}, {35, 50}, {1200, 100}};
+        for (OrderQuery.SortField field : new OrderQuery.SortField[]{
+                OrderQuery.SortField.ORDER_TIME, OrderQuery.SortField.ORDER_ID,
+                OrderQuery.SortField.CUSTOMER, OrderQuery.SortField.STATUS}) {
+            for (boolean ascending : new boolean[]{true, false}) {
+                for (int[] page : pages) {
+                    OrderQuery query = OrderQuery.builder()
+                        .filter(OrderFilter.builder().status(OrderStatus.PENDING, OrderStatus.READY,
+                            OrderStatus.COMPLETED).build())
+                        .sortBy(field, ascending)
+                        .page(page[0], page[1])
+                        .build();
+                    OrderPage expected = single.query(query);
+                    OrderPage actual = repository.query(query);
+                    assertEquals(expected.getTotalCount(), actual.getTotalCount());
+                    assertEquals(ids(expected.getOrders()), ids(actual.getOrders()),
+                        field + (ascending ? " asc " : " desc ") + page[0]);
+                }
+            }
+        }
+    }
+}
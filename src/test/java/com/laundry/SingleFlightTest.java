@@ -0,0 +1,159 @@
+package com.laundry;
+
+import com.laundry.config.JdbcUnitOfWork;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.CoalescingOrderRepository;
+import com.laundry.repository.InMemoryOrderRepository;
+import com.laundry.repository.SingleFlight;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for single-flight coalescing of identical reads.
+ */
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should run concurrent identical reads once and give each caller its own copy")
+    void testConcurrentReadsRunOnce() throws Exception {
+        SingleFlight flights = new SingleFlight(Duration.ZERO);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> flights.execute("all", () -> {
+                runs.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of("ORD001", "ORD002");
+            }, list -> new ArrayList<>(list))));
+        }
+        // Let every caller find the read in flight before it finishes
+        while (flights.getJoinedCount() < callers - 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        List<List<String>> lists = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            lists.add(result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, runs.get());
+        assertEquals(1, flights.getExecutionCount());
+        assertEquals(callers - 1, flights.getJoinedCount());
+        for (List<String> list : lists) {
+            assertEquals(List.of("ORD001", "ORD002"), list);
+        }
+        assertNotSame(lists.get(0), lists.get(1));
+
+        // Nothing is kept once the read is done
+        flights.execute("all", runs::incrementAndGet, UnaryOperator.identity());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should share a finished result inside the window until invalidated")
+    void testSharingWindow() {
+        SingleFlight flights = new SingleFlight(Duration.ofHours(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals(1, flights.execute("count", runs::incrementAndGet, UnaryOperator.identity()));
+        assertEquals(1, flights.execute("count", runs::incrementAndGet, UnaryOperator.identity()));
+        assertEquals(1, flights.getSharedCount());
+        assertEquals(2, flights.execute("other", () -> runs.incrementAndGet(), UnaryOperator.identity()));
+
+        flights.invalidate();
+        assertEquals(3, flights.execute("count", runs::incrementAndGet, UnaryOperator.identity()));
+    }
+
+    @Test
+    @DisplayName("Should not keep failed reads")
+    void testFailureIsNotShared() {
+        SingleFlight flights = new SingleFlight(Duration.ofHours(1));
+        assertThrows(IllegalStateException.class, () -> flights.execute("count", () -> {
+            throw new IllegalStateException("database down");
+        }, UnaryOperator.identity()));
+        assertEquals("ok", flights.execute("count", () -> "ok", UnaryOperator.identity()));
+    }
+
+    @Test
+    @DisplayName("Should hand out independent orders and see this process's own writes")
+    void testRepositoryCopiesAndInvalidation() {
+        CoalescingOrderRepository repository = new CoalescingOrderRepository(
+            new InMemoryOrderRepository(), new SingleFlight(Duration.ofHours(1)));
+        Order order = new Order("ORD001");
+        order.setCustomerName("John Doe");
+        repository.save(order);
+
+        Order first = repository.getAllOrders().get(0);
+        first.setStatus(OrderStatus.COMPLETED);
+        assertEquals(OrderStatus.PENDING, repository.getAllOrders().get(0).getOrderStatus());
+        assertEquals(1, repository.countByStatus(OrderStatus.PENDING));
+
+        repository.save(new Order("ORD002"));
+        assertEquals(2, repository.getAllOrders().size());
+        assertEquals(2, repository.countByStatus(OrderStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("Should not share reads while a write transaction is open and drop them once it commits")
+    void testWriteInTransactionInvalidatesAfterCommit() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+        JdbcUnitOfWork unitOfWork = new JdbcUnitOfWork(dataSource);
+        SingleFlight flights = new SingleFlight(Duration.ofHours(1));
+        CoalescingOrderRepository repository = new CoalescingOrderRepository(new InMemoryOrderRepository(), flights);
+        ExecutorService otherTerminal = Executors.newSingleThreadExecutor();
+
+        try {
+            assertEquals(0, repository.countAll());
+            unitOfWork.execute(() -> {
+                repository.save(new Order("ORD001"));
+                // Reads on other threads before the commit must not be kept
+                for (int i = 0; i < 2; i++) {
+                    try {
+                        otherTerminal.submit(repository::countAll).get(5, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return null;
+            });
+            long runs = flights.getExecutionCount();
+            assertEquals(3, runs);
+            assertEquals(0, flights.getSharedCount());
+
+            assertEquals(1, otherTerminal.submit(repository::countAll).get(5, TimeUnit.SECONDS));
+            assertEquals(1, repository.countAll());
+            assertEquals(runs + 1, flights.getExecutionCount());
+            assertEquals(1, flights.getSharedCount());
+        } finally {
+            otherTerminal.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.laundry;
+
+import com.laundry.config.DatabaseConfig;
+import com.laundry.model.Order;
+import com.laundry.model.OrderStatus;
+import com.laundry.repository.DatabaseOrderRepository;
+import com.laundry.repository.DatabasePointsLedgerRepository;
+import com.laundry.repository.SqlStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for running the declared statements of the database repositories
+ * over a mocked pool.
+ */
+class SqlStatementTest {
+
+    private static final String[] ORDER_COLUMNS = {
+        "order_id", "customer_name", "phone", "address", "laundry_type", "service", "status",
+        "weight", "total", "pickup_time", "order_time", "customer_id", "version", "status_changed_at"
+    };
+
+    private DatabaseConfig databaseConfig;
+    private Connection primary;
+    private Connection read;
+    private PreparedStatement stmt;
+    private DatabaseOrderRepository repository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        databaseConfig = mock(DatabaseConfig.class);
+        primary = mock(Connection.class);
+        read = mock(Connection.class);
+        stmt = mock(PreparedStatement.class);
+        when(databaseConfig.getConnection()).thenReturn(primary);
+        when(databaseConfig.getReadConnection()).thenReturn(read);
+        for (Connection conn : List.of(primary, read)) {
+            when(conn.prepareStatement(anyString())).thenReturn(stmt);
+            when(conn.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(stmt);
+        }
+        repository = new DatabaseOrderRepository(databaseConfig);
+    }
+
+    @Test
+    @DisplayName("Should run a declared statement on the primary, map its row and time it")
+    void testFindByIdIsTimed() throws SQLException {
+        when(stmt.executeQuery()).thenReturn(orderRows(1));
+        SqlStatement findById = declared("orders.findById");
+        long runs = findById.getExecutionCount();
+
+        Order order = repository.findById("ORD001");
+
+        assertEquals("ORD001", order.getOrderId());
+        verify(primary).prepareStatement(eq(findById.getSql()), anyInt(), anyInt());
+        verify(stmt).setString(1, "ORD001");
+        verify(stmt).close();
+        verify(primary).close();
+        assertEquals(runs + 1, findById.getExecutionCount());
+        assertTrue(findById.getTotalNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Should send replica-safe reads through the read connection")
+    void testReplicaSafeReads() throws SQLException {
+        when(stmt.executeQuery()).thenReturn(orderRows(3));
+
+        assertEquals(3, repository.findAll().size());
+
+        assertTrue(declared("orders.findAll").isReplicaSafe());
+        assertFalse(declared("orders.findById").isReplicaSafe());
+        verify(read).close();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Should pad ID lists so similar lengths share one statement")
+    void testIdListsArePadded() throws SQLException {
+        when(stmt.executeQuery()).thenAnswer(invocation -> orderRows(0));
+
+        repository.findByIds(List.of("A", "B", "C"));
+        repository.findByIds(List.of("A", "B", "C", "D"));
+
+        String padded = "SELECT * FROM orders WHERE order_id IN (?, ?, ?, ?)";
+        verify(primary, times(2)).prepareStatement(eq(padded), anyInt(), anyInt());
+        // The last ID fills the padding slot
+        verify(stmt, times(2)).setString(3, "C");
+        verify(stmt, times(1)).setString(4, "C");
+        verify(stmt, times(1)).setString(4, "D");
+    }
+
+    @Test
+    @DisplayName("Should count failed executions and report them as before")
+    void testFailuresAreCounted() throws SQLException {
+        when(stmt.executeUpdate()).thenThrow(new SQLException("Deadlock"));
+        SqlStatement update = declared("orders.update");
+        long runs = update.getExecutionCount();
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> repository.updateOrder(new Order("ORD001")));
+
+        assertEquals("Failed to update order", error.getMessage());
+        assertEquals(runs + 1, update.getExecutionCount());
+        verify(databaseConfig, never()).recordWrite();
+        verify(primary).close();
+    }
+
+    @Test
+    @DisplayName("Should archive in a transaction of its own and roll a failed chunk back")
+    void testArchiveIsAtomicOnItsOwn() throws SQLException {
+        when(primary.getAutoCommit()).thenReturn(true);
+        when(stmt.executeQuery()).thenAnswer(invocation ->
+            FakeResultSet.of(new String[]{"order_id"}, new Object[][]{{"ORD001"}, {"ORD002"}}, 2));
+        when(stmt.executeUpdate()).thenReturn(2);
+        LocalDateTime cutoff = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        assertEquals(2, repository.archiveOrders(Set.of(OrderStatus.COMPLETED), cutoff, 10));
+        verify(primary).setAutoCommit(false);
+        verify(primary).commit();
+        verify(primary).prepareStatement(
+            "INSERT IGNORE INTO orders_archive SELECT * FROM orders WHERE order_id IN (?, ?)");
+
+        // The copy went through but the delete failed: neither may stay
+        when(stmt.executeUpdate()).thenReturn(2).thenThrow(new SQLException("Lock wait timeout"));
+        assertThrows(RuntimeException.class,
+            () -> repository.archiveOrders(Set.of(OrderStatus.COMPLETED), cutoff, 10));
+        verify(primary).rollback();
+        verify(primary, times(1)).commit();
+        verify(primary, times(2)).setAutoCommit(true);
+    }
+
+    @Test
+    @DisplayName("Should fold ledger entries by their own state, on one session at a time")
+    void testCompactionFoldsClaimedEntries() throws SQLException {
+        DatabasePointsLedgerRepository ledger = new DatabasePointsLedgerRepository(databaseConfig);
+        LocalDateTime cutoff = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(stmt.executeQuery()).thenAnswer(invocation ->
+            FakeResultSet.of(new String[]{"locked"}, new Object[][]{{1}}, 1));
+        when(stmt.executeUpdate()).thenReturn(3);
+
+        assertEquals(3, ledger.compact(cutoff));
+        InOrder inOrder = inOrder(primary);
+        inOrder.verify(primary).prepareStatement("SELECT GET_LOCK(?, 0)");
+        inOrder.verify(primary).prepareStatement(
+            "UPDATE points_ledger SET compacted = 1 WHERE compacted = 0 AND created_at < ?");
+        inOrder.verify(primary).prepareStatement(
+            "INSERT INTO points_balance (username, balance) SELECT username, SUM(points) FROM points_ledger "
+            + "WHERE compacted = 1 GROUP BY username ON DUPLICATE KEY UPDATE balance = balance + VALUES(balance)");
+        inOrder.verify(primary).prepareStatement("UPDATE points_ledger SET compacted = 2 WHERE compacted = 1");
+        inOrder.verify(primary).prepareStatement("SELECT RELEASE_LOCK(?)");
+
+        // Another session holds the lock: nothing is claimed
+        when(stmt.executeQuery()).thenAnswer(invocation ->
+            FakeResultSet.of(new String[]{"locked"}, new Object[][]{{0}}, 1));
+        assertEquals(0, ledger.compact(cutoff));
+        verify(primary, times(1)).prepareStatement(
+            "UPDATE points_ledger SET compacted = 1 WHERE compacted = 0 AND created_at < ?");
+    }
+
+    private static SqlStatement declared(String name) {
+        return SqlStatement.declared().stream()
+            .filter(statement -> statement.getName().equals(name))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static ResultSet orderRows(int count) {
+        Timestamp ordered = Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 10, 0));
+        Object[] row = {"ORD001", "John Doe", "0811", "Addr", "Wash & Dry", "Regular", "Pending",
+            2.0, "14000.00", null, ordered, 0, 0L, ordered};
+        return FakeResultSet.of(ORDER_COLUMNS, new Object[][]{row}, count);
+    }
+}